@@ -0,0 +1,87 @@
+import tournament.Entrant;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The command line arguments shared by the programs that play AIs against each other with no
+ * windows: a number of games, the board (hex or square), then two or more AIs (easy, medium or
+ * hard).
+ */
+final class HeadlessArguments {
+  private final int games;
+  private final boolean hexagonal;
+  private final List<Entrant> entrants;
+
+  //made only by parse, once the arguments are known to be valid
+  private HeadlessArguments(int games, boolean hexagonal, List<Entrant> entrants) {
+    this.games = games;
+    this.hexagonal = hexagonal;
+    this.entrants = Collections.unmodifiableList(entrants);
+  }
+
+  /**
+   * Reads the given command line arguments, printing what is wrong with them if they are not
+   * valid.
+   * @param args the command line arguments
+   * @param minGames the fewest games that may be asked for
+   * @return the arguments read, or null if they are not valid
+   */
+  static HeadlessArguments parse(String[] args, int minGames) {
+    if (args.length < 4) {
+      System.out.println("Must provide a number of games, a board, and at least two AIs.");
+      return null;
+    }
+    int games;
+    try {
+      games = Integer.parseInt(args[0]);
+    } catch (NumberFormatException e) {
+      games = -1;
+    }
+    if (games < minGames) {
+      System.out.println(minGames == 1
+          ? "The number of games must be a positive whole number."
+          : "The number of games must be a whole number of at least " + minGames + ".");
+      return null;
+    }
+    if (!args[1].equals("hex") && !args[1].equals("square")) {
+      System.out.println("The two available boards are hex and square.");
+      return null;
+    }
+    List<Entrant> entrants = new ArrayList<>();
+    for (int i = 2; i < args.length; i++) {
+      Entrant entrant = Entrant.forAi(args[i]);
+      if (entrant == null) {
+        System.out.println("The three available AIs are easy, medium, and hard.");
+        return null;
+      }
+      entrants.add(entrant);
+    }
+    return new HeadlessArguments(games, args[1].equals("hex"), entrants);
+  }
+
+  /**
+   * Returns the number of games asked for.
+   * @return the number of games
+   */
+  int getGames() {
+    return this.games;
+  }
+
+  /**
+   * Returns whether the games are played on the hexagonal board rather than the square one.
+   * @return true for the hexagonal board, false for the square one
+   */
+  boolean isHexagonal() {
+    return this.hexagonal;
+  }
+
+  /**
+   * Returns the AIs to play, in the order they were given.
+   * @return an unmodifiable list of the AIs
+   */
+  List<Entrant> getEntrants() {
+    return this.entrants;
+  }
+}
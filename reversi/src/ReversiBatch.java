@@ -0,0 +1,115 @@
+import model.BasicReversi;
+import model.PlayerColor;
+import model.ReversiModel;
+import model.SquareBasicReversi;
+import tournament.Entrant;
+import tournament.Match;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays large batches of games between AIs with no windows, to compare how the AIs do against
+ * each other. Every game is played on its own model by two controllers with views that show
+ * nothing, from start to finish on one of a pool of threads the size of the number of cores, so
+ * batches use the whole machine. The AIs always make the same move in the same position, so
+ * each game starts from its own opening of a few random moves, as tournament matches do, and
+ * the games of a batch differ. For each matchup it reports how many games and moves were
+ * played a second, and how many games black won, white won and drew.
+ */
+public final class ReversiBatch {
+  //the random moves each game starts with
+  private static final int OPENING_MOVES = 4;
+  private static final long SEED = 2024;
+
+  /**
+   * Plays the batches given by the command line arguments: the number of games to play in each
+   * matchup, the board (hex or square), then two or more AIs (easy, medium or hard). Every AI
+   * plays every other AI in the list, once as black and once as white.
+   * For example, "1000 hex easy hard" plays 1000 games of easy against hard on the standard
+   * hexagonal board, then 1000 of hard against easy.
+   * @param args command line arguments giving the batches to play
+   * @throws InterruptedException if interrupted while waiting for the games to finish
+   */
+  public static void main(String[] args) throws InterruptedException {
+    HeadlessArguments arguments = HeadlessArguments.parse(args, 1);
+    if (arguments == null) {
+      return;
+    }
+    int games = arguments.getGames();
+    List<Entrant> players = arguments.getEntrants();
+
+    int threads = Runtime.getRuntime().availableProcessors();
+    System.out.println("Playing " + games + " games a matchup on " + threads + " threads.");
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      for (int black = 0; black < players.size(); black++) {
+        for (int white = 0; white < players.size(); white++) {
+          if (black != white) {
+            playMatchup(pool, games, arguments.isHexagonal(), players.get(black),
+                players.get(white));
+          }
+        }
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  //plays the given number of games between the two AIs on the pool, each from its own opening,
+  //waits for them all to finish, and prints how they went
+  private static void playMatchup(ExecutorService pool, int games, boolean hexagonal,
+                                  Entrant black, Entrant white) throws InterruptedException {
+    Match match = new Match(black, white, hexagonal, OPENING_MOVES, SEED);
+    int startingDiscs = countDiscs(hexagonal ? new BasicReversi() : new SquareBasicReversi());
+    //the number of games each player won, plus draws, and the number of moves made in them all
+    LongAdder[] results = {new LongAdder(), new LongAdder(), new LongAdder()};
+    LongAdder moves = new LongAdder();
+    long start = System.nanoTime();
+    List<Future<?>> futures = new ArrayList<>(games);
+    for (int game = 0; game < games; game++) {
+      long opening = SEED + game;
+      futures.add(pool.submit(() -> {
+        //the game runs from one flat loop on this thread, and is over when playGame returns
+        ReversiModel model = match.playGame(0, opening);
+        results[model.getCurrentWinner()].increment();
+        //every move, including those of the opening, places one disc, and passes place none
+        moves.add(countDiscs(model) - startingDiscs);
+      }));
+    }
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("A game between " + black + " and " + white
+            + " failed.", e.getCause());
+      }
+    }
+    double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+    System.out.printf("%s (black) vs %s (white): %d games in %.2fs, %.0f games/s, "
+        + "%.0f moves/s%n", black, white, games, seconds, games / seconds, moves.sum() / seconds);
+    System.out.printf("  black won %s, white won %s, drawn %s%n",
+        percent(results[0].sum(), games), percent(results[1].sum(), games),
+        percent(results[2].sum(), games));
+  }
+
+  //returns the number of discs on the board of the given model
+  private static int countDiscs(ReversiModel model) {
+    int discs = 0;
+    for (PlayerColor color : PlayerColor.values()) {
+      discs += model.getPlayerScore(color);
+    }
+    return discs;
+  }
+
+  //formats a count of games with its share of all the games played
+  private static String percent(long count, int games) {
+    return String.format("%d (%.1f%%)", count, 100.0 * count / games);
+  }
+}
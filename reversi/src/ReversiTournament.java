@@ -0,0 +1,107 @@
+import tournament.Entrant;
+import tournament.Match;
+import tournament.MatchResult;
+import tournament.RatingList;
+import tournament.Sprt;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs a round-robin tournament between AIs with no windows, to measure how much stronger one
+ * AI is than another, and how much longer it takes to move, when their strategies change.
+ * Every pair of AIs plays a match of games in pairs with swapped colors from random openings,
+ * which stops early once a sequential probability ratio test can tell whether the first AI of
+ * the pair is ELO1 points stronger than the second or no stronger at all. Each match reports its
+ * results, the Elo difference they suggest with its 95% confidence interval, what the test
+ * decided, and how long each AI took a move. The tournament ends with an Elo rating for each
+ * AI, fitted to the results of every match at once, with its 95% confidence interval and the
+ * AI's total score.
+ */
+public final class ReversiTournament {
+  //the random moves each game starts with
+  private static final int OPENING_MOVES = 4;
+  //the hypotheses of the test, and its chances of accepting the wrong one
+  private static final double ELO0 = 0;
+  private static final double ELO1 = 50;
+  private static final double ALPHA = 0.05;
+  private static final double BETA = 0.05;
+  private static final long SEED = 2024;
+
+  /**
+   * Runs the tournament given by the command line arguments: the most games to play in each
+   * match, the board (hex or square), then two or more AIs (easy, medium or hard).
+   * For example, "2000 hex easy medium hard" plays up to 2000 games between each pair of the
+   * three AIs on the standard hexagonal board.
+   * @param args command line arguments giving the tournament to run
+   * @throws InterruptedException if interrupted while waiting for the games to finish
+   */
+  public static void main(String[] args) throws InterruptedException {
+    HeadlessArguments arguments = HeadlessArguments.parse(args, 2);
+    if (arguments == null) {
+      return;
+    }
+    int games = arguments.getGames();
+    boolean hexagonal = arguments.isHexagonal();
+    List<Entrant> entrants = arguments.getEntrants();
+
+    Sprt sprt = new Sprt(ELO0, ELO1, ALPHA, BETA);
+    RatingList ratings = new RatingList(entrants.size());
+    double[] totals = new double[entrants.size()];
+    int[] played = new int[entrants.size()];
+    ExecutorService pool =
+        Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    try {
+      for (int a = 0; a < entrants.size(); a++) {
+        for (int b = a + 1; b < entrants.size(); b++) {
+          Match match = new Match(entrants.get(a), entrants.get(b), hexagonal, OPENING_MOVES,
+              SEED);
+          long start = System.nanoTime();
+          MatchResult result = match.play(pool, games, sprt);
+          double seconds = (System.nanoTime() - start) / 1e9;
+          report(entrants.get(a), entrants.get(b), match, result, seconds, sprt);
+          ratings.add(a, b, result);
+          double score = result.getScore() * result.getGames();
+          totals[a] += score;
+          totals[b] += result.getGames() - score;
+          played[a] += result.getGames();
+          played[b] += result.getGames();
+        }
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    System.out.println("Ratings, fitted to every match:");
+    for (int i = 0; i < entrants.size(); i++) {
+      double[] interval = ratings.getRatingInterval(i);
+      //adding 0 turns a rating of -0 into 0
+      System.out.printf("  %s: Elo %+.0f [%+.0f, %+.0f], score %.1f / %d%n", entrants.get(i),
+          ratings.getRating(i) + 0.0, interval[0], interval[1], totals[i], played[i]);
+    }
+  }
+
+  //prints the results of a match
+  private static void report(Entrant first, Entrant second, Match match, MatchResult result,
+                             double seconds, Sprt sprt) {
+    double[] interval = result.getEloInterval();
+    //adding 0 turns an even score's -0 into 0
+    System.out.printf("%s vs %s: %s in %.1fs, score %.1f%%, Elo %+.0f [%+.0f, %+.0f]%n",
+        first, second, result, seconds, 100 * result.getScore(), result.getElo() + 0.0,
+        interval[0], interval[1]);
+    String decision;
+    switch (match.getDecision()) {
+      case H0:
+        decision = first + " is not " + ELO1 + " Elo stronger";
+        break;
+      case H1:
+        decision = first + " is at least " + ELO1 + " Elo stronger";
+        break;
+      default:
+        decision = "undecided";
+    }
+    System.out.printf("  %s: %s (LLR %.2f); %s %.3f ms/move, %s %.3f ms/move%n", sprt,
+        decision, sprt.getLlr(result), first, match.getMillisPerMove(0), second,
+        match.getMillisPerMove(1));
+  }
+}
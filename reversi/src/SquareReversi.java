@@ -5,10 +5,15 @@ import controller.player.HumanPlayer;
 import controller.player.MediumAIPlayer;
 import controller.player.HardAIPlayer;
 import model.BasicReversi;
+import model.ConcurrentReversiModel;
 import model.ReversiModel;
 import view.gui.ReversiView;
 import view.gui.SquareReversiFrame;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import javax.swing.SwingUtilities;
+
 /**
  * Runs a two-player game of square reversi with full GUI and AI capabilities.
  */
@@ -24,13 +29,25 @@ public class SquareReversi {
       System.out.println("Must provide at least two player types.");
       return;
     }
-    ReversiModel model = new BasicReversi();
+    //the AIs read the model from their own thread while the views draw it, so it is one that
+    //many threads can read. it publishes the answers to every query once per change, so the views,
+    //players and controllers asking the same questions every turn reuse them without a cache
+    ReversiModel model = new ConcurrentReversiModel(new BasicReversi());
     ReversiView viewPlayer1 = new SquareReversiFrame(model);
     ReversiView viewPlayer2 = new SquareReversiFrame(model);
     Player player1 = setPlayer(args[0], model);
     Player player2 = setPlayer(args[1], model);
-    ReversiController controller1 = new ReversiController(model, player1, viewPlayer1);
-    ReversiController controller2 = new ReversiController(model, player2, viewPlayer2);
+    //turns are taken on the Swing event thread, and the AIs think on a thread of their own so the
+    //windows keep responding while they do
+    Executor worker = Executors.newSingleThreadExecutor(task -> {
+      Thread thread = new Thread(task, "reversi-ai");
+      thread.setDaemon(true);
+      return thread;
+    });
+    ReversiController controller1 = new ReversiController(model, player1, viewPlayer1,
+        SwingUtilities::invokeLater, worker);
+    ReversiController controller2 = new ReversiController(model, player2, viewPlayer2,
+        SwingUtilities::invokeLater, worker);
     model.startGame();
   }
 
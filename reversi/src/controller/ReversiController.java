@@ -5,6 +5,9 @@ import model.Coordinate;
 import model.ReversiModel;
 import view.gui.ReversiView;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * A controller for a player to interact with the model and view in a game of Reversi.
  * There is a controller for each player, and a unique view for each controller.
@@ -12,6 +15,11 @@ import view.gui.ReversiView;
  * the model, as well as AI players (who interface directly with the controller) the view
  * and model in order to ensure that the game is represented correctly in the view as
  * dictated by the model.
+ * Turns are taken on an executor rather than straight from the model's notification, and
+ * players work out their moves on another, which by default is the thread taking the turn. Given
+ * a worker executor of its own, a controller asks its player for a move there, and the game's
+ * thread is free while the player thinks; the move is then handed back to the turn executor to
+ * be made, so the model is only ever changed from the thread the game is played on.
  */
 public class ReversiController implements ViewEventListener, ModelEventListener {
   //represents the game's model
@@ -20,9 +28,17 @@ public class ReversiController implements ViewEventListener, ModelEventListener
   private final Player player;
   //represents the view that is associated with and communicates with this controller
   private final ReversiView view;
+  //runs this controller's turns and makes its player's moves, on the thread the game is played on
+  private final Executor turns;
+  //works out the player's moves, which may be on another thread
+  private final Executor worker;
   //represents whether it is this controller's turn, as opposed to the other player's controller
   //not final because whose turn it is obviously changes every turn
   private boolean myTurn;
+  //the move the player is working out, if any, and whether the player has quit the game.
+  //volatile since a player can quit from any thread
+  private volatile CompletableFuture<Pair<MoveType, Coordinate>> pending;
+  private volatile boolean quit;
 
   /**
    * Constructs a controller. Inputs must be non-null - if the view or model is null,
@@ -31,10 +47,41 @@ public class ReversiController implements ViewEventListener, ModelEventListener
    * a message using the view before quitting.
    * When it constructs itself, the controller must add itself as a listener to both the
    * model and its respective view.
+   * The controller runs its turns on a scheduler of its own; to run every turn of a game from
+   * one loop, give the controllers of the game the same scheduler with the other constructor.
    */
   public ReversiController(ReversiModel model, Player player, ReversiView view) {
-    if (model == null || view == null) {
-      throw new IllegalArgumentException("Model and view inputs to controller must be non-null.");
+    this(model, player, view, new TurnScheduler());
+  }
+
+  /**
+   * Constructs a controller that runs its turns on the given scheduler, which is usually shared
+   * with the other controller of the game. When the model says it is this controller's turn,
+   * the turn is queued on the scheduler rather than taken right away, so that an AI's move is
+   * made after every listener has heard of the turn before it, and a game of AIs runs turn by
+   * turn from the scheduler's loop instead of one turn inside another.
+   * Inputs are checked as in the other constructor, and the scheduler must be non-null too.
+   */
+  public ReversiController(ReversiModel model, Player player, ReversiView view,
+                           TurnScheduler scheduler) {
+    this(model, player, view, scheduler, Runnable::run);
+  }
+
+  /**
+   * Constructs a controller that takes its turns on one executor and has its player work out
+   * its moves on another. A slow AI then only holds up the worker, not the thread the game is
+   * played on. Every turn, and every move the player works out, is made on the turn executor,
+   * so it should hand tasks to the one thread the game is played on and run them one at a time,
+   * such as SwingUtilities::invokeLater for a game with a GUI. Since the player reads the model
+   * from the worker while the game's thread may be drawing it, the model should be one that
+   * can be read from many threads at once, such as a ConcurrentReversiModel.
+   * Inputs are checked as in the other constructors, and both executors must be non-null too.
+   */
+  public ReversiController(ReversiModel model, Player player, ReversiView view,
+                           Executor turns, Executor worker) {
+    if (model == null || view == null || turns == null || worker == null) {
+      throw new IllegalArgumentException(
+          "Model, view and executor inputs to controller must be non-null.");
     }
     this.view = view;
     if (player == null) {
@@ -43,14 +90,31 @@ public class ReversiController implements ViewEventListener, ModelEventListener
     }
     this.model = model;
     this.player = player;
+    this.turns = turns;
+    this.worker = worker;
     //add this controller as a listener to the view and model
     this.view.addListener(this);
     this.model.addListener(this);
     this.myTurn = false;
+    this.pending = null;
+    this.quit = false;
+  }
+
+  /**
+   * Takes this controller's player out of the game, for when they leave it or it is abandoned.
+   * A move the player is working out is cancelled, and thrown away if it is finished anyway, and
+   * the player is not asked for any more moves. The game itself is left as it is.
+   */
+  public void quit() {
+    this.quit = true;
+    cancelPendingMove();
   }
 
   @Override
   public String moveMade(Coordinate coordinate) {
+    if (this.quit) {
+      return "You have quit the game.";
+    }
     if (!this.myTurn) {
       return "It is not your turn :(";
     }
@@ -79,9 +143,14 @@ public class ReversiController implements ViewEventListener, ModelEventListener
       return;
     }
     this.myTurn = !this.myTurn;
+    if (!this.myTurn) {
+      //a move still being worked out is not wanted once the turn has been taken some other way
+      cancelPendingMove();
+    }
     if (this.myTurn) {
       this.view.displayPopup("It's your turn!");
-      checkTurn();
+      //take the turn once the model has finished telling every listener about the last one
+      this.turns.execute(this::checkTurn);
     }
   }
 
@@ -90,12 +159,30 @@ public class ReversiController implements ViewEventListener, ModelEventListener
   //with the view, and so the method simply returns if it detects that its player is a human on
   //its turn. If the player is an AI, it needs to either move or pass. To do so, we check the Pair
   //to see whether the AI has found a valid move. If it has, the model moves there.
-  //otherwise, it passes.
+  //otherwise, it passes. the player works out its move on the worker, and the move is made on
+  //the turn executor once it is ready.
   private void checkTurn() {
-    if (!myTurn) {
+    if (!this.myTurn || this.quit) {
+      return;
+    }
+    CompletableFuture<Pair<MoveType, Coordinate>> future = this.player.moveAsync(this.worker);
+    this.pending = future;
+    future.whenComplete((pair, error) -> this.turns.execute(() -> takeTurn(future, pair, error)));
+  }
+
+  //makes the move the player worked out, unless it is no longer wanted because the game ended
+  //or the player quit. a player that failed to work one out passes, so the game goes on
+  private void takeTurn(CompletableFuture<Pair<MoveType, Coordinate>> future,
+                        Pair<MoveType, Coordinate> pair, Throwable error) {
+    if (this.pending != future || future.isCancelled() || this.quit || !this.myTurn) {
+      return;
+    }
+    this.pending = null;
+    if (error != null) {
+      this.view.displayPopup("Your player could not decide on a move, so it passed.");
+      this.model.pass();
       return;
     }
-    Pair<MoveType, Coordinate> pair = player.move();
     MoveType type = pair.getFirst();
     Coordinate coordinate = pair.getSecond();
     if (type.equals(MoveType.HUMAN)) {
@@ -115,6 +202,7 @@ public class ReversiController implements ViewEventListener, ModelEventListener
   //independently of one another using dispose so that both players are notified that
   //the game is over.
   private void handleGameOver() {
+    cancelPendingMove();
     switch (model.getCurrentWinner()) {
       case 0:
         this.view.displayPopup("Game ended!\nWinner: Black");
@@ -130,4 +218,13 @@ public class ReversiController implements ViewEventListener, ModelEventListener
     }
     this.view.removeView();
   }
-}
\ No newline at end of file
+
+  //cancels the move the player is working out, if any
+  private void cancelPendingMove() {
+    CompletableFuture<Pair<MoveType, Coordinate>> future = this.pending;
+    this.pending = null;
+    if (future != null) {
+      future.cancel(false);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package controller;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the turns of a game one after another from a flat loop, rather than from inside the turn
+ * before them. Without it, an AI's move notifies the model's listeners, which starts the other
+ * player's turn, whose move notifies the listeners again, and so on, so that a whole game of AIs
+ * is one call stack that gets deeper every turn, and listeners hear of each turn in the middle
+ * of the next one.
+ * Tasks given to a scheduler are queued. If no task of the scheduler is running, the caller
+ * runs the queue until it is empty; otherwise the task is left for the loop that is already
+ * running it to pick up once the current task returns. Every task runs on the stack of the
+ * loop, so however long a game is, a turn never runs more than one task deep, and every listener
+ * has heard of a turn before the next one starts.
+ * Controllers of the same game should share a scheduler. Tasks can be given from any thread,
+ * and run on the thread that is running the loop at the time.
+ */
+public final class TurnScheduler implements Executor {
+  //the tasks waiting to run, in the order they were given
+  private final Queue<Runnable> tasks;
+  //whether some thread is running the queue. guarded by tasks
+  private boolean running;
+
+  /**
+   * Constructs a scheduler with no tasks waiting.
+   */
+  public TurnScheduler() {
+    this.tasks = new ArrayDeque<>();
+    this.running = false;
+  }
+
+  /**
+   * Queues the given task, and runs it along with any others queued after it unless the
+   * scheduler is already running its tasks, in which case it returns right away and the task
+   * runs once those queued before it have.
+   * If a task throws, the exception is passed on to the caller that was running the queue, and
+   * the tasks after it are left queued until another task is given.
+   * @param task the task to run
+   * @throws IllegalArgumentException if the task is null
+   */
+  @Override
+  public void execute(Runnable task) {
+    if (task == null) {
+      throw new IllegalArgumentException("Cannot schedule a null task.");
+    }
+    synchronized (this.tasks) {
+      this.tasks.add(task);
+      if (this.running) {
+        return;
+      }
+      this.running = true;
+    }
+    boolean finished = false;
+    try {
+      while (true) {
+        Runnable next;
+        synchronized (this.tasks) {
+          next = this.tasks.poll();
+          if (next == null) {
+            this.running = false;
+            finished = true;
+            return;
+          }
+        }
+        next.run();
+      }
+    } finally {
+      //a task threw, so let the next caller run the rest
+      if (!finished) {
+        synchronized (this.tasks) {
+          this.running = false;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the number of tasks queued that have not started yet.
+   * @return the number of waiting tasks
+   */
+  public int getPendingTasks() {
+    synchronized (this.tasks) {
+      return this.tasks.size();
+    }
+  }
+}
@@ -40,4 +40,4 @@ public class HardAIPlayer implements Player {
       return new Pair<>(MoveType.VALID, moveList.get(0));
     }
   }
-}
\ No newline at end of file
+}
@@ -4,6 +4,9 @@ import controller.MoveType;
 import controller.Pair;
 import model.Coordinate;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * A representation of a human Reversi player.
  * Mostly a stub, because the human player will never interact with the controller through this class;
@@ -14,4 +17,13 @@ public class HumanPlayer implements Player {
   public Pair<MoveType, Coordinate> move() {
     return new Pair<>(MoveType.HUMAN, null);
   }
-}
\ No newline at end of file
+
+  @Override
+  public CompletableFuture<Pair<MoveType, Coordinate>> moveAsync(Executor executor) {
+    if (executor == null) {
+      throw new IllegalArgumentException("Cannot work out a move on a null executor.");
+    }
+    //the human moves through the view, so there is nothing to wait for
+    return CompletableFuture.completedFuture(move());
+  }
+}
@@ -39,4 +39,4 @@ public class MediumAIPlayer implements Player {
       return new Pair<>(MoveType.VALID, moveList.get(0));
     }
   }
-}
\ No newline at end of file
+}
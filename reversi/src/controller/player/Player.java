@@ -4,6 +4,9 @@ import controller.MoveType;
 import controller.Pair;
 import model.Coordinate;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * An interface for a player in a game of Reversi. This interface is very broad
  * and can be implemented by both AI and human players and simply provides the ability
@@ -18,4 +21,23 @@ public interface Player {
    * @return a MoveType (VALID, NOVALID, HUMAN) and a Coordinate (null or the move to make)
    */
   Pair<MoveType, Coordinate> move();
+
+  /**
+   * Starts working out a move on the given executor and returns right away, so that a slow
+   * player does not hold up the thread whose turn it is, such as the Swing event thread.
+   * The future completes with the same Pair move would return. By default, move is called on
+   * the executor; players with nothing to work out, such as humans, may instead complete the
+   * future before returning without using the executor.
+   * Cancelling the future means the move is no longer wanted; a move already being worked out
+   * may still run to the end, but its result is thrown away.
+   * @param executor the executor to work out the move on
+   * @return a future of the player's move
+   * @throws IllegalArgumentException if the executor is null
+   */
+  default CompletableFuture<Pair<MoveType, Coordinate>> moveAsync(Executor executor) {
+    if (executor == null) {
+      throw new IllegalArgumentException("Cannot work out a move on a null executor.");
+    }
+    return CompletableFuture.supplyAsync(this::move, executor);
+  }
 }
@@ -0,0 +1,126 @@
+package model;
+
+/**
+ * An immutable snapshot of a game of Reversi at one moment: the discs on the board, whose turn
+ * it was, and everything needed to tell whether the game was over.
+ * Snapshots are made by a model's snapshot method, and never change after that, however the
+ * game goes on, so they can be kept as a history of the game, replayed, or handed to another
+ * thread to analyze while the game continues.
+ * The board of a snapshot shares every part that has not changed with the snapshot taken
+ * before it, so taking a snapshot after each move costs time and memory in proportion to the
+ * number of discs the move placed and flipped, not the size of the board.
+ * A snapshot is read the same way as a model's {@link BoardView}, and its version is the
+ * version the model's board had when it was taken.
+ */
+public final class BoardSnapshot implements BoardView {
+  private final int boardSize;
+  //whether the board is hexagonal, in which case the corners of the grid are not on the board
+  private final boolean hexagonal;
+  private final PersistentCells cells;
+  private final long version;
+  private final long positionKey;
+  private final int currentPlayerIndex;
+  private final int passCount;
+  private final int blackScore;
+  private final int whiteScore;
+  private final int emptyTiles;
+
+  //snapshots are only made by models, which pass in a copy of their own state
+  BoardSnapshot(int boardSize, boolean hexagonal, PersistentCells cells, long version,
+                long positionKey, int currentPlayerIndex, int passCount, int blackScore,
+                int whiteScore, int emptyTiles) {
+    this.boardSize = boardSize;
+    this.hexagonal = hexagonal;
+    this.cells = cells;
+    this.version = version;
+    this.positionKey = positionKey;
+    this.currentPlayerIndex = currentPlayerIndex;
+    this.passCount = passCount;
+    this.blackScore = blackScore;
+    this.whiteScore = whiteScore;
+    this.emptyTiles = emptyTiles;
+  }
+
+  //the persistent cells of this snapshot, for the model to build the next snapshot from
+  PersistentCells cells() {
+    return this.cells;
+  }
+
+  //the number of passes in a row just made when this snapshot was taken, for a GameState
+  int passCount() {
+    return this.passCount;
+  }
+
+  @Override
+  public int getBoardSize() {
+    return this.boardSize;
+  }
+
+  @Override
+  public long getVersion() {
+    return this.version;
+  }
+
+  @Override
+  public boolean isOnBoard(int q, int r) {
+    if (q < 0 || q >= this.boardSize || r < 0 || r >= this.boardSize) {
+      return false;
+    }
+    //on a hexagonal board, as in BasicReversi, q + r must be between half and 3 * half
+    int half = this.boardSize / 2;
+    return !this.hexagonal || (q + r >= half && q + r <= half * 3);
+  }
+
+  @Override
+  public PlayerColor getContents(int q, int r) {
+    if (!isOnBoard(q, r)) {
+      throw new IllegalArgumentException("Coordinate is invalid.");
+    }
+    return this.cells.get(r * this.boardSize + q);
+  }
+
+  @Override
+  public PlayerColor getContents(int index) {
+    if (index < 0 || index >= this.boardSize * this.boardSize) {
+      throw new IllegalArgumentException("Coordinate is invalid.");
+    }
+    return getContents(index % this.boardSize, index / this.boardSize);
+  }
+
+  /**
+   * Returns the Zobrist key the model gave the position when this snapshot was taken,
+   * as given by {@link ReadOnlyReversiModel#getPositionKey}.
+   * @return the key of the position
+   */
+  public long getPositionKey() {
+    return this.positionKey;
+  }
+
+  /**
+   * Returns the color of the player whose turn it was when this snapshot was taken.
+   * Unlike the model's getCurrentPlayer, this can be asked even if the game was over.
+   * @return the color of the player to move
+   */
+  public PlayerColor getCurrentPlayer() {
+    return PlayerColor.values()[this.currentPlayerIndex];
+  }
+
+  /**
+   * Returns the number of discs the given player had on the board when this snapshot was taken.
+   * @param color the color of the player
+   * @return the player's score
+   */
+  public int getPlayerScore(PlayerColor color) {
+    return color == PlayerColor.BLACK ? this.blackScore : this.whiteScore;
+  }
+
+  /**
+   * Returns whether the game was over when this snapshot was taken, by the same rules as the
+   * model's isGameOver.
+   * @return true iff the game had ended
+   */
+  public boolean isGameOver() {
+    return this.passCount >= 2 || this.emptyTiles == 0
+        || this.blackScore == 0 || this.whiteScore == 0;
+  }
+}
@@ -0,0 +1,255 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The symmetries of a Reversi board of one shape and size, used to recognize positions that
+ * are the same up to turning or mirroring the board.
+ * A hexagonal board has 12 symmetries (six rotations about the center, each with or without
+ * a reflection) and a square board has 8 (four rotations, each with or without a reflection).
+ * Every symmetry is stored as a table that maps the row-order index (r * boardSize + q) of each
+ * space to the index of the space it is moved to, and the tables for each shape and size are
+ * built once and shared, so canonicalizing a position costs one pass over its board.
+ * The canonical form of a position is the image of the position, over all the symmetries,
+ * that has the smallest Zobrist key. Positions that are turned or mirrored copies of each
+ * other therefore have the same canonical key, so a cache or opening book keyed on it stores
+ * them only once. The transform that maps a position to its canonical form is kept alongside
+ * the key, so a move found for the canonical position can be mapped back to the real board.
+ * Transform 0 is always the identity.
+ */
+public final class BoardSymmetry {
+  //the tables already built, by board size, for each shape
+  private static final Map<Integer, BoardSymmetry> HEX_TABLES = new ConcurrentHashMap<>();
+  private static final Map<Integer, BoardSymmetry> SQUARE_TABLES = new ConcurrentHashMap<>();
+
+  private final int boardSize;
+  //forward[t][i] is the index space i is moved to by transform t, or -1 if i is off the board
+  private final int[][] forward;
+  //backward[t] undoes forward[t]
+  private final int[][] backward;
+  //discNumbers[t][i * 2 + color] is the Zobrist number of that disc after transform t, so
+  //the key of a transformed position is found without transforming the position itself
+  private final long[][] discNumbers;
+
+  //builds the tables for a board of the given size and shape
+  private BoardSymmetry(int boardSize, boolean hexagonal) {
+    this.boardSize = boardSize;
+    int cells = boardSize * boardSize;
+    int rotations = hexagonal ? 6 : 4;
+    this.forward = new int[rotations * 2][cells];
+    this.backward = new int[rotations * 2][cells];
+    this.discNumbers = new long[rotations * 2][cells * 2];
+    int half = boardSize / 2;
+    for (int t = 0; t < rotations * 2; t++) {
+      for (int index = 0; index < cells; index++) {
+        int q = index % boardSize;
+        int r = index / boardSize;
+        if (hexagonal && (q + r < half || q + r > half * 3)) {
+          this.forward[t][index] = -1;
+          this.backward[t][index] = -1;
+          continue;
+        }
+        //work relative to the center of the board for the hexagon, or the corner for the square
+        int x = hexagonal ? q - half : q;
+        int y = hexagonal ? r - half : r;
+        if (t >= rotations) {
+          //mirror across the line through the center where q and r are equal
+          int swap = x;
+          x = y;
+          y = swap;
+        }
+        for (int turn = 0; turn < t % rotations; turn++) {
+          int oldX = x;
+          if (hexagonal) {
+            //a sixth of a turn in axial coordinates
+            x = -y;
+            y = oldX + y;
+          } else {
+            //a quarter of a turn on the grid
+            x = boardSize - 1 - y;
+            y = oldX;
+          }
+        }
+        int image = hexagonal ? (y + half) * boardSize + (x + half) : y * boardSize + x;
+        this.forward[t][index] = image;
+        this.backward[t][image] = index;
+      }
+      for (int index = 0; index < cells; index++) {
+        if (this.forward[t][index] >= 0) {
+          for (PlayerColor color : PlayerColor.values()) {
+            this.discNumbers[t][index * 2 + color.ordinal()] =
+                Zobrist.disc(this.forward[t][index], color);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the symmetries of a hexagonal board of the given size, as used by BasicReversi.
+   * @param boardSize the size of the board, as given by getBoardSize
+   * @return the symmetries of the board
+   * @throws IllegalArgumentException if the size is not that of a playable hexagonal board
+   */
+  public static BoardSymmetry forHexBoard(int boardSize) {
+    if (boardSize < 5 || boardSize % 2 == 0) {
+      throw new IllegalArgumentException("Hexagonal board sizes must be odd and at least 5.");
+    }
+    return HEX_TABLES.computeIfAbsent(boardSize, size -> new BoardSymmetry(size, true));
+  }
+
+  /**
+   * Returns the symmetries of a square board of the given size, as used by SquareBasicReversi.
+   * @param boardSize the size of the board, as given by getBoardSize
+   * @return the symmetries of the board
+   * @throws IllegalArgumentException if the size is not that of a playable square board
+   */
+  public static BoardSymmetry forSquareBoard(int boardSize) {
+    if (boardSize < 4 || boardSize % 2 != 0) {
+      throw new IllegalArgumentException("Square board sizes must be even and at least 4.");
+    }
+    return SQUARE_TABLES.computeIfAbsent(boardSize, size -> new BoardSymmetry(size, false));
+  }
+
+  /**
+   * Returns the size of the board these symmetries are for.
+   * @return the number of spaces in the longest row of the board
+   */
+  public int getBoardSize() {
+    return this.boardSize;
+  }
+
+  /**
+   * Returns the number of symmetries of the board, 12 for a hexagon and 8 for a square.
+   * @return the number of transforms, which are numbered from 0 (the identity)
+   */
+  public int getTransformCount() {
+    return this.forward.length;
+  }
+
+  /**
+   * Returns where the given transform moves the given space.
+   * @param transform the number of the transform
+   * @param coordinate the space to move
+   * @return the coordinate of the space it is moved to
+   * @throws IllegalArgumentException if the transform does not exist or the space is not on
+   *     the board
+   */
+  public Coordinate transform(int transform, Coordinate coordinate) {
+    int image = apply(this.forward, transform, coordinate);
+    return new Coordinate(image % this.boardSize, image / this.boardSize);
+  }
+
+  /**
+   * Returns the space the given transform moves to the given space, undoing the transform.
+   * @param transform the number of the transform
+   * @param coordinate the space to move back
+   * @return the coordinate of the space that is moved to the given one
+   * @throws IllegalArgumentException if the transform does not exist or the space is not on
+   *     the board
+   */
+  public Coordinate untransform(int transform, Coordinate coordinate) {
+    int image = apply(this.backward, transform, coordinate);
+    return new Coordinate(image % this.boardSize, image / this.boardSize);
+  }
+
+  /**
+   * Finds the canonical form of the current position of the given model, which may be a
+   * finished game.
+   * @param model the model to canonicalize the position of
+   * @return the canonical key of the position, and the transform that produces it
+   * @throws IllegalArgumentException if the model is null or its board is not this size
+   */
+  public CanonicalPosition canonicalize(ReadOnlyReversiModel model) {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    BoardView board = model.getBoardView();
+    if (board.getBoardSize() != this.boardSize) {
+      throw new IllegalArgumentException("Board is not the size of these symmetries.");
+    }
+    if (!model.isGameOver()) {
+      return canonicalize(board, model.getCurrentPlayer());
+    }
+    //once the game is over the model will not say whose turn it is, but its key still does
+    PlayerColor toMove = model.getPositionKey() == (boardKey(board) ^ Zobrist.WHITE_TO_MOVE)
+        ? PlayerColor.WHITE : PlayerColor.BLACK;
+    return canonicalize(board, toMove);
+  }
+
+  /**
+   * Finds the canonical form of the position with the given board and player to move, which
+   * can be the board of a model or of a {@link BoardSnapshot}.
+   * @param board the discs on the board
+   * @param toMove the player whose turn it is
+   * @return the canonical key of the position, and the transform that produces it
+   * @throws IllegalArgumentException if either argument is null or the board is not this size
+   */
+  public CanonicalPosition canonicalize(BoardView board, PlayerColor toMove) {
+    if (board == null || toMove == null) {
+      throw new IllegalArgumentException("Board and player cannot be null.");
+    }
+    if (board.getBoardSize() != this.boardSize) {
+      throw new IllegalArgumentException("Board is not the size of these symmetries.");
+    }
+    //the key of every transformed position, built at once in a single pass over the board
+    int transforms = this.forward.length;
+    long[] keys = new long[transforms];
+    int[] identity = this.forward[0];
+    for (int index = 0; index < identity.length; index++) {
+      if (identity[index] < 0) {
+        continue;
+      }
+      PlayerColor contents = board.getContents(index);
+      if (contents != null) {
+        int number = index * 2 + contents.ordinal();
+        for (int t = 0; t < transforms; t++) {
+          keys[t] ^= this.discNumbers[t][number];
+        }
+      }
+    }
+    //the player to move is the same under every transform, so it doesn't affect the choice
+    int best = 0;
+    for (int t = 1; t < transforms; t++) {
+      if (keys[t] < keys[best]) {
+        best = t;
+      }
+    }
+    return new CanonicalPosition(this, best, keys[best] ^ Zobrist.toMove(toMove.ordinal()));
+  }
+
+  //returns the key of the discs on the given board as they are, with no transform and no
+  //player to move
+  private long boardKey(BoardView board) {
+    long key = 0;
+    int[] identity = this.forward[0];
+    for (int index = 0; index < identity.length; index++) {
+      PlayerColor contents = identity[index] < 0 ? null : board.getContents(index);
+      if (contents != null) {
+        key ^= this.discNumbers[0][index * 2 + contents.ordinal()];
+      }
+    }
+    return key;
+  }
+
+  //maps a coordinate through one of the given tables, returning its row-order index
+  private int apply(int[][] tables, int transform, Coordinate coordinate) {
+    if (transform < 0 || transform >= tables.length) {
+      throw new IllegalArgumentException("Transform does not exist.");
+    }
+    if (coordinate == null) {
+      throw new IllegalArgumentException("Coordinate cannot be null.");
+    }
+    int q = coordinate.getQ();
+    int r = coordinate.getR();
+    if (q >= this.boardSize || r >= this.boardSize) {
+      throw new IllegalArgumentException("Coordinate is invalid.");
+    }
+    int image = tables[transform][r * this.boardSize + q];
+    if (image < 0) {
+      throw new IllegalArgumentException("Coordinate is invalid.");
+    }
+    return image;
+  }
+}
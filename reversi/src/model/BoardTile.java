@@ -0,0 +1,61 @@
+package model;
+
+/**
+ * A Tile that holds no contents of its own, and instead reads and writes a single cell
+ * of a {@link CellStore}. Models that keep their board in a compact form hand these out from
+ * getTileAt, so that placing or flipping a disc through the returned Tile changes the game
+ * exactly as it would on a model that stores Tile objects directly.
+ */
+class BoardTile extends Tile {
+  private final CellStore store;
+  private final int index;
+
+  /**
+   * Constructs a view of one cell of a board.
+   * @param q the q-coordinate of the cell
+   * @param r the r-coordinate of the cell
+   * @param store the board this tile reads from and writes to
+   * @param index the index of the cell within the store
+   */
+  BoardTile(int q, int r, CellStore store, int index) {
+    super(q, r);
+    this.store = store;
+    this.index = index;
+  }
+
+  @Override
+  public void flip() {
+    PlayerColor contents = this.store.getCell(this.index);
+    if (contents == null) {
+      throw new IllegalStateException("Cannot flip a nonexistent disc.");
+    }
+    this.store.setCell(this.index,
+        contents == PlayerColor.BLACK ? PlayerColor.WHITE : PlayerColor.BLACK);
+  }
+
+  @Override
+  public PlayerColor getContents() {
+    return this.store.getCell(this.index);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.store.getCell(this.index) == null;
+  }
+
+  @Override
+  public void placeDisc(PlayerColor color) {
+    if (this.store.getCell(this.index) != null) {
+      throw new IllegalStateException("Cannot place a disc on a nonempty tile.");
+    }
+    this.store.setCell(this.index, color);
+  }
+
+  @Override
+  void removeDisc() {
+    if (this.store.getCell(this.index) == null) {
+      throw new IllegalStateException("Cannot remove a nonexistent disc.");
+    }
+    this.store.setCell(this.index, null);
+  }
+}
@@ -0,0 +1,53 @@
+package model;
+
+/**
+ * A read-only view of the discs on the board of a game of Reversi.
+ * Unlike getBoard, which copies every Tile of the board, a BoardView reads the model's own
+ * board directly, so it never goes out of date and asking for it costs nothing. This makes it
+ * the cheap way for something like a view, which looks at the whole board every time it
+ * repaints, to read the board.
+ * Spaces can be found either by their (q, r) coordinates or by their index in row order,
+ * which is r * getBoardSize() + q, the same order the model lists its frontier in.
+ * Every change to the contents of a space changes the version of the view, so a caller that
+ * remembers the version it last saw can tell whether anything has changed since.
+ */
+public interface BoardView {
+  /**
+   * Returns the size of the board, as given by {@link ReadOnlyReversiModel#getBoardSize}.
+   * @return the number of spaces in the longest row of the board
+   */
+  int getBoardSize();
+
+  /**
+   * Returns the current version of the board. The version changes every time a disc is placed,
+   * flipped or taken off the board, and at no other time.
+   * @return the version of the board
+   */
+  long getVersion();
+
+  /**
+   * Returns whether the given coordinates are a space on the board. On a hexagonal board,
+   * the corners of the grid that are not part of the hexagon are not on the board.
+   * @param q the q-coordinate of the space
+   * @param r the r-coordinate of the space
+   * @return true iff the space is on the board
+   */
+  boolean isOnBoard(int q, int r);
+
+  /**
+   * Returns the color of the disc at the given space.
+   * @param q the q-coordinate of the space
+   * @param r the r-coordinate of the space
+   * @return the color of the disc, or null if the space is empty
+   * @throws IllegalArgumentException if the space is not on the board
+   */
+  PlayerColor getContents(int q, int r) throws IllegalArgumentException;
+
+  /**
+   * Returns the color of the disc at the space with the given index in row order.
+   * @param index the index of the space, r * getBoardSize() + q
+   * @return the color of the disc, or null if the space is empty
+   * @throws IllegalArgumentException if the space is not on the board
+   */
+  PlayerColor getContents(int index) throws IllegalArgumentException;
+}
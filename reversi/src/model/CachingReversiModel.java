@@ -0,0 +1,392 @@
+package model;
+
+import controller.ModelEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A model that wraps another model and remembers the answer to every read-only question asked
+ * of it until the game changes, so that the controllers, views and strategies asking the same
+ * questions over and over within a turn only make the wrapped model work out each answer once.
+ * The game changes when a move or pass is made through this model, and whenever the wrapped
+ * model's board changes in any way (which its BoardView's version tracks), so discs changed
+ * through a Tile from getTileAt are noticed too. Moves and passes should be made through this
+ * model rather than straight on the wrapped one, since a pass leaves the board as it was.
+ * Questions whose answers are live views or fresh copies (getTileAt, getBoard and
+ * getBoardView) are passed straight through, as is anything the wrapped model throws.
+ * The model counts how many times each kind of question was answered from its cache, and how
+ * many times it had to ask the wrapped model, which can be read with getHits and getMisses.
+ */
+public class CachingReversiModel implements ReversiModel {
+  /**
+   * The kinds of questions this model remembers the answers to, for reading its hit counts.
+   */
+  public enum Query {
+    CURRENT_PLAYER, GAME_OVER, CURRENT_WINNER, PLAYER_SCORE, MOVE_LEGAL, MOVE_SCORE, FLIPS,
+    POSITION_KEY, HAS_LEGAL_MOVES, FRONTIER, LEGAL_MOVES
+  }
+
+  private final ReversiModel model;
+  private final BoardView boardView;
+  private final int boardSize;
+
+  //the number of moves and passes made through this model, and the wrapped board's version and
+  //that number as of the last question asked. when either has moved on, every answer
+  //remembered so far is out of date
+  private long mutations;
+  private long seenVersion;
+  private long seenMutations;
+
+  //the generation of the game the answers are being remembered for, which goes up every time
+  //the game changes. each remembered answer is stamped with the generation it was worked out
+  //in, and is only used while that is still the current generation, so forgetting everything
+  //takes no more than adding one to it
+  private int generation;
+
+  //the remembered answers to the questions about the whole game, each with its stamp
+  private PlayerColor currentPlayer;
+  private int currentPlayerStamp;
+  private boolean gameOver;
+  private int gameOverStamp;
+  private int currentWinner;
+  private int currentWinnerStamp;
+  private final int[] scores;
+  private final int[] scoreStamps;
+  private long positionKey;
+  private int positionKeyStamp;
+  private boolean hasLegalMoves;
+  private int hasLegalMovesStamp;
+  private List<Coordinate> frontier;
+  private int frontierStamp;
+  private LegalMoves legalMoves;
+  private int legalMovesStamp;
+
+  //the remembered answers to the questions about each space, by row-order index, with their
+  //stamps. made the first time one of these questions is asked, since most games played
+  //through this model only ask about the whole game
+  private boolean[] moveLegal;
+  private int[] moveLegalStamps;
+  private int[] moveScores;
+  private int[] moveScoreStamps;
+  private int[][] flips;
+  private int[] flipStamps;
+
+  //the number of questions of each kind answered from the cache and from the wrapped model,
+  //indexed by Query ordinal
+  private final long[] hits;
+  private final long[] misses;
+
+  /**
+   * Constructs a model that remembers the answers of the given model.
+   * @param model the model to wrap, which does all of the actual work
+   * @throws IllegalArgumentException if the model is null
+   */
+  public CachingReversiModel(ReversiModel model) {
+    if (model == null) {
+      throw new IllegalArgumentException("Cannot wrap a null model.");
+    }
+    this.model = model;
+    this.boardView = model.getBoardView();
+    this.boardSize = model.getBoardSize();
+    this.mutations = 0;
+    this.seenVersion = this.boardView.getVersion();
+    this.seenMutations = 0;
+    //nothing has been stamped with the first generation, so nothing is remembered yet
+    this.generation = 1;
+    this.scores = new int[PlayerColor.values().length];
+    this.scoreStamps = new int[PlayerColor.values().length];
+    this.frontier = null;
+    this.legalMoves = null;
+    this.moveLegal = null;
+    this.moveLegalStamps = null;
+    this.moveScores = null;
+    this.moveScoreStamps = null;
+    this.flips = null;
+    this.flipStamps = null;
+    this.hits = new long[Query.values().length];
+    this.misses = new long[Query.values().length];
+  }
+
+  /**
+   * Returns the number of questions of the given kind answered from the cache.
+   * @param query the kind of question
+   * @return the number of cache hits
+   */
+  public long getHits(Query query) {
+    return this.hits[query.ordinal()];
+  }
+
+  /**
+   * Returns the number of questions of the given kind that had to be passed on to the wrapped
+   * model.
+   * @param query the kind of question
+   * @return the number of cache misses
+   */
+  public long getMisses(Query query) {
+    return this.misses[query.ordinal()];
+  }
+
+  /**
+   * Returns the fraction of questions of the given kind that were answered from the cache.
+   * @param query the kind of question
+   * @return the hit rate, from 0 to 1, which is 0 if no such question has been asked
+   */
+  public double getHitRate(Query query) {
+    long total = this.hits[query.ordinal()] + this.misses[query.ordinal()];
+    return total == 0 ? 0 : this.hits[query.ordinal()] / (double) total;
+  }
+
+  /**
+   * Returns the fraction of all questions that were answered from the cache.
+   * @return the hit rate, from 0 to 1, which is 0 if no question has been asked
+   */
+  public double getHitRate() {
+    long hits = 0;
+    long total = 0;
+    for (Query query : Query.values()) {
+      hits += this.hits[query.ordinal()];
+      total += this.hits[query.ordinal()] + this.misses[query.ordinal()];
+    }
+    return total == 0 ? 0 : hits / (double) total;
+  }
+
+  //moves on to a new generation if the game has changed since the last question, and returns
+  //the current generation
+  private int currentGeneration() {
+    long version = this.boardView.getVersion();
+    if (version != this.seenVersion || this.mutations != this.seenMutations) {
+      this.seenVersion = version;
+      this.seenMutations = this.mutations;
+      this.generation++;
+    }
+    return this.generation;
+  }
+
+  //counts a question as answered from the cache if its stamp is current, or from the wrapped
+  //model if not, and returns whether it was a hit
+  private boolean lookUp(Query query, int stamp) {
+    if (stamp == currentGeneration()) {
+      this.hits[query.ordinal()]++;
+      return true;
+    }
+    this.misses[query.ordinal()]++;
+    return false;
+  }
+
+  //returns whether the given row-order index is in the grid, making the caches for single
+  //spaces if they have not been made yet
+  private boolean cacheable(int index) {
+    if (index < 0 || index >= this.boardSize * this.boardSize) {
+      return false;
+    }
+    if (this.moveLegal == null) {
+      this.moveLegal = new boolean[this.boardSize * this.boardSize];
+      this.moveLegalStamps = new int[this.boardSize * this.boardSize];
+      this.moveScores = new int[this.boardSize * this.boardSize];
+      this.moveScoreStamps = new int[this.boardSize * this.boardSize];
+      this.flips = new int[this.boardSize * this.boardSize][];
+      this.flipStamps = new int[this.boardSize * this.boardSize];
+    }
+    return true;
+  }
+
+  //returns the row-order index of the given coordinate, or -1 if it is outside the grid
+  private int indexOf(Coordinate coordinate) {
+    int q = coordinate.getQ();
+    int r = coordinate.getR();
+    if (q < 0 || q >= this.boardSize || r < 0 || r >= this.boardSize) {
+      return -1;
+    }
+    return r * this.boardSize + q;
+  }
+
+  @Override
+  public PlayerColor getCurrentPlayer() throws IllegalStateException {
+    if (!lookUp(Query.CURRENT_PLAYER, this.currentPlayerStamp)) {
+      this.currentPlayer = this.model.getCurrentPlayer();
+      this.currentPlayerStamp = this.generation;
+    }
+    return this.currentPlayer;
+  }
+
+  @Override
+  public boolean isGameOver() {
+    if (!lookUp(Query.GAME_OVER, this.gameOverStamp)) {
+      this.gameOver = this.model.isGameOver();
+      this.gameOverStamp = this.generation;
+    }
+    return this.gameOver;
+  }
+
+  @Override
+  public int getCurrentWinner() {
+    if (!lookUp(Query.CURRENT_WINNER, this.currentWinnerStamp)) {
+      this.currentWinner = this.model.getCurrentWinner();
+      this.currentWinnerStamp = this.generation;
+    }
+    return this.currentWinner;
+  }
+
+  @Override
+  public int getPlayerScore(PlayerColor color) {
+    int i = color.ordinal();
+    if (!lookUp(Query.PLAYER_SCORE, this.scoreStamps[i])) {
+      this.scores[i] = this.model.getPlayerScore(color);
+      this.scoreStamps[i] = this.generation;
+    }
+    return this.scores[i];
+  }
+
+  @Override
+  public Tile getTileAt(Coordinate coordinate) throws IllegalArgumentException {
+    return this.model.getTileAt(coordinate);
+  }
+
+  @Override
+  public Tile getTileAt(int index) throws IllegalArgumentException {
+    return this.model.getTileAt(index);
+  }
+
+  @Override
+  public int getBoardSize() {
+    return this.boardSize;
+  }
+
+  @Override
+  public boolean isMoveLegal(Coordinate coordinate) {
+    int index = indexOf(coordinate);
+    return index < 0 ? this.model.isMoveLegal(coordinate) : isMoveLegal(index);
+  }
+
+  @Override
+  public boolean isMoveLegal(int index) {
+    if (!cacheable(index)) {
+      return this.model.isMoveLegal(index);
+    }
+    if (!lookUp(Query.MOVE_LEGAL, this.moveLegalStamps[index])) {
+      this.moveLegal[index] = this.model.isMoveLegal(index);
+      this.moveLegalStamps[index] = this.generation;
+    }
+    return this.moveLegal[index];
+  }
+
+  @Override
+  public int getMoveScore(Coordinate coordinate) {
+    int index = indexOf(coordinate);
+    return index < 0 ? this.model.getMoveScore(coordinate) : getMoveScore(index);
+  }
+
+  @Override
+  public int getMoveScore(int index) {
+    if (!cacheable(index)) {
+      return this.model.getMoveScore(index);
+    }
+    if (!lookUp(Query.MOVE_SCORE, this.moveScoreStamps[index])) {
+      this.moveScores[index] = this.model.getMoveScore(index);
+      this.moveScoreStamps[index] = this.generation;
+    }
+    return this.moveScores[index];
+  }
+
+  @Override
+  public int[] getFlips(Coordinate coordinate) {
+    int index = indexOf(coordinate);
+    return index < 0 ? this.model.getFlips(coordinate) : getFlips(index);
+  }
+
+  @Override
+  public int[] getFlips(int index) {
+    if (!cacheable(index)) {
+      return this.model.getFlips(index);
+    }
+    if (!lookUp(Query.FLIPS, this.flipStamps[index])) {
+      this.flips[index] = this.model.getFlips(index);
+      this.flipStamps[index] = this.generation;
+    }
+    //every caller gets an array of its own, as the wrapped model would give it
+    return this.flips[index].clone();
+  }
+
+  @Override
+  public Tile[][] getBoard() {
+    return this.model.getBoard();
+  }
+
+  @Override
+  public BoardView getBoardView() {
+    return this.boardView;
+  }
+
+  @Override
+  public long getPositionKey() {
+    if (!lookUp(Query.POSITION_KEY, this.positionKeyStamp)) {
+      this.positionKey = this.model.getPositionKey();
+      this.positionKeyStamp = this.generation;
+    }
+    return this.positionKey;
+  }
+
+  @Override
+  public boolean playerHasLegalMoves() {
+    if (!lookUp(Query.HAS_LEGAL_MOVES, this.hasLegalMovesStamp)) {
+      this.hasLegalMoves = this.model.playerHasLegalMoves();
+      this.hasLegalMovesStamp = this.generation;
+    }
+    return this.hasLegalMoves;
+  }
+
+  @Override
+  public List<Coordinate> getFrontier() {
+    if (!lookUp(Query.FRONTIER, this.frontierStamp)) {
+      this.frontier = this.model.getFrontier();
+      this.frontierStamp = this.generation;
+    }
+    //every caller gets a list of its own, since callers are free to change it
+    return new ArrayList<>(this.frontier);
+  }
+
+  @Override
+  public LegalMoves getLegalMoves() {
+    if (!lookUp(Query.LEGAL_MOVES, this.legalMovesStamp)) {
+      this.legalMoves = this.model.getLegalMoves();
+      this.legalMovesStamp = this.generation;
+    }
+    return this.legalMoves;
+  }
+
+  @Override
+  public void move(Coordinate coordinate) throws IllegalArgumentException, IllegalStateException {
+    //the wrapped model tells its listeners about the move before it returns, and they may ask
+    //this model about it, so everything is forgotten before the move rather than after
+    this.mutations++;
+    this.model.move(coordinate);
+  }
+
+  @Override
+  public void move(int index) throws IllegalArgumentException, IllegalStateException {
+    this.mutations++;
+    this.model.move(index);
+  }
+
+  @Override
+  public void pass() throws IllegalStateException {
+    this.mutations++;
+    this.model.pass();
+  }
+
+  @Override
+  public void startGame() {
+    this.model.startGame();
+  }
+
+  @Override
+  public void addListener(ModelEventListener listener) {
+    this.model.addListener(listener);
+  }
+
+  @Override
+  public void notifyTurn() {
+    this.model.notifyTurn();
+  }
+}
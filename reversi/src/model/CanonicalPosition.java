@@ -0,0 +1,59 @@
+package model;
+
+/**
+ * The canonical form of a Reversi position, as found by {@link BoardSymmetry#canonicalize}:
+ * the key of the canonical position, and the transform that turns the real board into it.
+ * Every turned or mirrored copy of a position has the same canonical key, so the key can be
+ * used to look the position up in a cache or opening book. Moves stored under the key are
+ * moves on the canonical board, and are mapped back to the real board with fromCanonical.
+ */
+public final class CanonicalPosition {
+  private final BoardSymmetry symmetry;
+  private final int transform;
+  private final long key;
+
+  //canonical positions are only made by BoardSymmetry
+  CanonicalPosition(BoardSymmetry symmetry, int transform, long key) {
+    this.symmetry = symmetry;
+    this.transform = transform;
+    this.key = key;
+  }
+
+  /**
+   * Returns the Zobrist key of the canonical position, including the player to move, which is
+   * the same for every turned or mirrored copy of the position.
+   * @return the canonical key
+   */
+  public long getKey() {
+    return this.key;
+  }
+
+  /**
+   * Returns the number of the transform, in the position's {@link BoardSymmetry}, that turns
+   * the real board into the canonical one.
+   * @return the transform, which is 0 if the real board is already canonical
+   */
+  public int getTransform() {
+    return this.transform;
+  }
+
+  /**
+   * Maps a space on the real board to the same space on the canonical board.
+   * @param coordinate the space on the real board
+   * @return the space on the canonical board
+   * @throws IllegalArgumentException if the space is not on the board
+   */
+  public Coordinate toCanonical(Coordinate coordinate) {
+    return this.symmetry.transform(this.transform, coordinate);
+  }
+
+  /**
+   * Maps a space on the canonical board back to the same space on the real board.
+   * @param coordinate the space on the canonical board
+   * @return the space on the real board
+   * @throws IllegalArgumentException if the space is not on the board
+   */
+  public Coordinate fromCanonical(Coordinate coordinate) {
+    return this.symmetry.untransform(this.transform, coordinate);
+  }
+}
@@ -0,0 +1,23 @@
+package model;
+
+/**
+ * Package-private access to the contents of a model's board by cell index, for models that
+ * do not keep a Tile object for every space on the board. A CellStore is what a {@link BoardTile}
+ * reads from and writes to, so that a Tile handed out by such a model is a live view of the board.
+ */
+interface CellStore {
+  /**
+   * Returns the color of the disc in the given cell, or null if the cell is empty.
+   * @param index the index of the cell in this store
+   * @return the contents of the cell
+   */
+  PlayerColor getCell(int index);
+
+  /**
+   * Sets the contents of the given cell. Callers are responsible for the legality of the change;
+   * the store only records it.
+   * @param index the index of the cell in this store
+   * @param color the new contents of the cell, or null to empty it
+   */
+  void setCell(int index, PlayerColor color);
+}
@@ -0,0 +1,451 @@
+package model;
+
+import controller.ModelEventListener;
+import controller.ReversiController;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A model that wraps another model so that it can be used from many threads at once, such as
+ * the Swing event thread drawing the board while AI players search on worker threads.
+ * Moves, passes and changes made through a Tile are made one at a time, each holding the
+ * write lock of a StampedLock for as long as it takes to change the wrapped model. While
+ * holding it, the change also publishes everything the queries need: the contents of every
+ * space, the scores, the player to move, the legal moves and the frontier. Queries answer from
+ * what was published using optimistic reads, which take no lock at all unless a change was
+ * made while they were reading, in which case they read again under the read lock. So readers
+ * never block each other, and only wait for a writer in the rare case that they overlap it.
+ * The only queries that still need the wrapped model to work something out (getFlips) take the
+ * write lock, since not every model can safely answer two questions at once.
+ * Listeners are kept in a concurrent list and are told about each move or pass after the lock
+ * has been let go, so they can ask this model about the move from inside updateTurn.
+ * The wrapped model should not be used directly once it has been wrapped.
+ */
+public class ConcurrentReversiModel implements ReversiModel {
+  //the value of a space in contents for each thing it can hold: no disc, a disc of the color
+  //with the ordinal one less, or nothing at all since the space is not on the board
+  private static final byte EMPTY = 0;
+  private static final byte OFF_BOARD = 3;
+  private static final PlayerColor[] COLORS = PlayerColor.values();
+
+  private final ReversiModel model;
+  private final int boardSize;
+  private final StampedLock lock;
+  private final List<ModelEventListener> listeners;
+
+  //what the last change published, all written only while holding the write lock.
+  //contents holds every space of the grid in row order (r * boardSize + q)
+  private final byte[] contents;
+  private final int[] scores;
+  private long version;
+  private long positionKey;
+  private boolean gameOver;
+  private int currentPlayerIndex;
+  private int currentWinner;
+  private LegalMoves legalMoves;
+  private List<Coordinate> frontier;
+
+  //the Tiles handed out by getTileAt, made the first time each space is asked for
+  private final AtomicReferenceArray<Tile> tiles;
+  private final CellStore cellStore;
+  private final BoardView boardView;
+
+  /**
+   * Constructs a model that lets the given model be used from many threads at once.
+   * @param model the model to wrap, which does all of the actual work
+   * @throws IllegalArgumentException if the model is null
+   */
+  public ConcurrentReversiModel(ReversiModel model) {
+    if (model == null) {
+      throw new IllegalArgumentException("Cannot wrap a null model.");
+    }
+    this.model = model;
+    this.boardSize = model.getBoardSize();
+    this.lock = new StampedLock();
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.contents = new byte[this.boardSize * this.boardSize];
+    this.scores = new int[COLORS.length];
+    this.tiles = new AtomicReferenceArray<>(this.boardSize * this.boardSize);
+    this.cellStore = new Cells();
+    this.boardView = new View();
+    //copy the whole board once, after which each change only copies the spaces it changed
+    BoardView wrappedView = model.getBoardView();
+    for (int r = 0; r < this.boardSize; r++) {
+      for (int q = 0; q < this.boardSize; q++) {
+        this.contents[r * this.boardSize + q] = wrappedView.isOnBoard(q, r)
+            ? toByte(wrappedView.getContents(q, r)) : OFF_BOARD;
+      }
+    }
+    publish();
+  }
+
+  //returns the value of a space in contents holding the given disc, or no disc if null
+  private static byte toByte(PlayerColor color) {
+    return color == null ? EMPTY : (byte) (color.ordinal() + 1);
+  }
+
+  //copies everything but the contents of the board from the wrapped model, for the queries to
+  //read. called after every change, while holding the write lock
+  private void publish() {
+    this.version = this.model.getBoardView().getVersion();
+    this.positionKey = this.model.getPositionKey();
+    this.gameOver = this.model.isGameOver();
+    this.currentPlayerIndex = this.gameOver ? -1 : this.model.getCurrentPlayer().ordinal();
+    this.currentWinner = this.model.getCurrentWinner();
+    for (PlayerColor color : COLORS) {
+      this.scores[color.ordinal()] = this.model.getPlayerScore(color);
+    }
+    this.legalMoves = this.model.getLegalMoves();
+    this.frontier = Collections.unmodifiableList(this.model.getFrontier());
+  }
+
+  //reads something the last change published, without locking unless a change overlaps
+  private <T> T read(Supplier<T> reader) {
+    long stamp = this.lock.tryOptimisticRead();
+    T result = reader.get();
+    if (!this.lock.validate(stamp)) {
+      stamp = this.lock.readLock();
+      try {
+        result = reader.get();
+      } finally {
+        this.lock.unlockRead(stamp);
+      }
+    }
+    return result;
+  }
+
+  //reads an int the last change published, the same way read does
+  private int readInt(IntSupplier reader) {
+    long stamp = this.lock.tryOptimisticRead();
+    int result = reader.getAsInt();
+    if (!this.lock.validate(stamp)) {
+      stamp = this.lock.readLock();
+      try {
+        result = reader.getAsInt();
+      } finally {
+        this.lock.unlockRead(stamp);
+      }
+    }
+    return result;
+  }
+
+  //reads a long the last change published, the same way read does
+  private long readLong(LongSupplier reader) {
+    long stamp = this.lock.tryOptimisticRead();
+    long result = reader.getAsLong();
+    if (!this.lock.validate(stamp)) {
+      stamp = this.lock.readLock();
+      try {
+        result = reader.getAsLong();
+      } finally {
+        this.lock.unlockRead(stamp);
+      }
+    }
+    return result;
+  }
+
+  //returns the row-order index of the given coordinates if they are a space on the board,
+  //throwing the same exception the models throw for a space that is not
+  private int indexOnBoard(int q, int r) {
+    if (q < 0 || q >= this.boardSize || r < 0 || r >= this.boardSize
+        || this.contents[r * this.boardSize + q] == OFF_BOARD) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    return r * this.boardSize + q;
+  }
+
+  //returns the given row-order index if it is a space on the board, throwing the same exception
+  //the models throw if it is not
+  private int indexOnBoard(int index) {
+    if (index < 0 || index >= this.contents.length || this.contents[index] == OFF_BOARD) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    return index;
+  }
+
+  @Override
+  public PlayerColor getCurrentPlayer() throws IllegalStateException {
+    int index = readInt(() -> this.currentPlayerIndex);
+    if (index < 0) {
+      throw new IllegalStateException("The game is over.");
+    }
+    return COLORS[index];
+  }
+
+  @Override
+  public boolean isGameOver() {
+    return read(() -> this.gameOver);
+  }
+
+  @Override
+  public int getCurrentWinner() {
+    return readInt(() -> this.currentWinner);
+  }
+
+  @Override
+  public int getPlayerScore(PlayerColor color) {
+    return readInt(() -> this.scores[color.ordinal()]);
+  }
+
+  @Override
+  public Tile getTileAt(Coordinate coordinate) throws IllegalArgumentException {
+    int q = coordinate.getQ();
+    int r = coordinate.getR();
+    if (q < 0 || q >= this.boardSize || r < 0 || r >= this.boardSize) {
+      throw new IllegalArgumentException("Coordinate is invalid.");
+    }
+    return getTileAt(r * this.boardSize + q);
+  }
+
+  @Override
+  public Tile getTileAt(int index) throws IllegalArgumentException {
+    if (index < 0 || index >= this.contents.length) {
+      throw new IllegalArgumentException("Coordinate is invalid.");
+    }
+    if (this.contents[index] == OFF_BOARD) {
+      return null;
+    }
+    //if two threads make the same Tile at once, both end up with the one that got there first
+    Tile tile = this.tiles.get(index);
+    if (tile == null) {
+      this.tiles.compareAndSet(index, null, new BoardTile(index % this.boardSize,
+          index / this.boardSize, this.cellStore, index));
+      tile = this.tiles.get(index);
+    }
+    return tile;
+  }
+
+  @Override
+  public int getBoardSize() {
+    return this.boardSize;
+  }
+
+  @Override
+  public boolean isMoveLegal(Coordinate coordinate) {
+    return isMoveLegal(indexOnBoard(coordinate.getQ(), coordinate.getR()));
+  }
+
+  @Override
+  public boolean isMoveLegal(int index) {
+    return getMoveScore(index) > 0;
+  }
+
+  @Override
+  public int getMoveScore(Coordinate coordinate) {
+    return getMoveScore(indexOnBoard(coordinate.getQ(), coordinate.getR()));
+  }
+
+  @Override
+  public int getMoveScore(int index) {
+    indexOnBoard(index);
+    //whether the game is over, the space and the legal moves are read together so they agree,
+    //and once the game is over no move scores anything, onto a disc or not, as in wrapped models
+    int score = readInt(() -> this.gameOver ? -1 : this.contents[index] != EMPTY ? 0
+        : this.legalMoves.getMoveScore(index % this.boardSize, index / this.boardSize));
+    if (score < 0) {
+      throw new IllegalStateException("The game is over.");
+    }
+    return score;
+  }
+
+  @Override
+  public int[] getFlips(Coordinate coordinate) {
+    return getFlips(indexOnBoard(coordinate.getQ(), coordinate.getR()));
+  }
+
+  @Override
+  public int[] getFlips(int index) {
+    long stamp = this.lock.writeLock();
+    try {
+      return this.model.getFlips(index);
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public Tile[][] getBoard() {
+    //copy the contents all at once, so the copy is of one moment of the game
+    byte[] copy = read(this.contents::clone);
+    Tile[][] board = new Tile[this.boardSize][this.boardSize];
+    for (int index = 0; index < copy.length; index++) {
+      if (copy[index] != OFF_BOARD) {
+        int q = index % this.boardSize;
+        int r = index / this.boardSize;
+        board[q][r] = new Tile(q, r);
+        if (copy[index] != EMPTY) {
+          board[q][r].placeDisc(COLORS[copy[index] - 1]);
+        }
+      }
+    }
+    return board;
+  }
+
+  @Override
+  public BoardView getBoardView() {
+    return this.boardView;
+  }
+
+  @Override
+  public long getPositionKey() {
+    return readLong(() -> this.positionKey);
+  }
+
+  @Override
+  public boolean playerHasLegalMoves() {
+    return read(() -> this.legalMoves).size() > 0;
+  }
+
+  @Override
+  public List<Coordinate> getFrontier() {
+    //every caller gets a list of its own, since callers are free to change it
+    return new ArrayList<>(read(() -> this.frontier));
+  }
+
+  @Override
+  public LegalMoves getLegalMoves() {
+    return read(() -> this.legalMoves);
+  }
+
+  @Override
+  public void move(Coordinate coordinate) throws IllegalArgumentException, IllegalStateException {
+    int q = coordinate.getQ();
+    int r = coordinate.getR();
+    if (q < 0 || q >= this.boardSize || r < 0 || r >= this.boardSize) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    move(r * this.boardSize + q);
+  }
+
+  @Override
+  public void move(int index) throws IllegalArgumentException, IllegalStateException {
+    long stamp = this.lock.writeLock();
+    try {
+      //find the discs the move flips before making it, so only those have to be copied after
+      int[] flips = this.model.isGameOver() ? new int[0] : this.model.getFlips(index);
+      PlayerColor color = this.model.isGameOver() ? null : this.model.getCurrentPlayer();
+      this.model.move(index);
+      this.contents[index] = toByte(color);
+      for (int flipped : flips) {
+        this.contents[flipped] = toByte(color);
+      }
+      publish();
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+    notifyTurn();
+  }
+
+  @Override
+  public void pass() throws IllegalStateException {
+    long stamp = this.lock.writeLock();
+    try {
+      this.model.pass();
+      publish();
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+    notifyTurn();
+  }
+
+  @Override
+  public void startGame() {
+    for (ModelEventListener listener : this.listeners) {
+      listener.initializeGame();
+    }
+    //the first controller listening is the black player's, which moves first
+    for (ModelEventListener listener : this.listeners) {
+      if (listener instanceof ReversiController) {
+        listener.updateTurn();
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void addListener(ModelEventListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Cannot provide a null listener to the model.");
+    }
+    this.listeners.add(listener);
+  }
+
+  @Override
+  public void notifyTurn() {
+    for (ModelEventListener listener : this.listeners) {
+      listener.updateTurn();
+    }
+  }
+
+  //lets the Tiles handed out by getTileAt read the published board, and change the wrapped
+  //board while holding the write lock
+  private class Cells implements CellStore {
+    @Override
+    public PlayerColor getCell(int index) {
+      int value = readInt(() -> contents[index]);
+      return value == EMPTY ? null : COLORS[value - 1];
+    }
+
+    @Override
+    public void setCell(int index, PlayerColor color) {
+      long stamp = lock.writeLock();
+      try {
+        Tile tile = model.getTileAt(index);
+        if (color == null) {
+          tile.removeDisc();
+        } else if (tile.isEmpty()) {
+          tile.placeDisc(color);
+        } else if (tile.getContents() != color) {
+          tile.flip();
+        }
+        contents[index] = toByte(color);
+        publish();
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+  }
+
+  //lets callers read the published board through getBoardView without locking
+  private class View implements BoardView {
+    @Override
+    public int getBoardSize() {
+      return boardSize;
+    }
+
+    @Override
+    public long getVersion() {
+      return readLong(() -> version);
+    }
+
+    @Override
+    public boolean isOnBoard(int q, int r) {
+      return q >= 0 && q < boardSize && r >= 0 && r < boardSize
+          && contents[r * boardSize + q] != OFF_BOARD;
+    }
+
+    @Override
+    public PlayerColor getContents(int q, int r) {
+      if (!isOnBoard(q, r)) {
+        throw new IllegalArgumentException("Coordinate is invalid.");
+      }
+      return cellStore.getCell(r * boardSize + q);
+    }
+
+    @Override
+    public PlayerColor getContents(int index) {
+      if (index < 0 || index >= boardSize * boardSize) {
+        throw new IllegalArgumentException("Coordinate is invalid.");
+      }
+      return getContents(index % boardSize, index / boardSize);
+    }
+  }
+}
@@ -1,7 +1,5 @@
 package model;
 
-import java.util.Objects;
-
 /**
  * A class to represent axial coordinates in Reversi, using the system described at
  * <a href="https://www.redblobgames.com/grids/hexagons/">this link</a>. Q and R are values that
@@ -52,7 +50,9 @@ public class Coordinate {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(q, r);
+    //combines the two values directly, rather than through Objects.hash,
+    //which boxes both of them into a new array on every call
+    return 31 * this.q + this.r;
   }
 
   //a Coordinate's toString is represented by its q and r values, separated by a comma
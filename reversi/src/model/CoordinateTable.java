@@ -0,0 +1,144 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The packed coordinates of a board of one size: every space of the grid numbered by its index
+ * in row order, r * boardSize + q, which is the same numbering the models use for their
+ * frontier, their board view and their legal moves.
+ * An index is a plain int, so code that works through the whole board can pass spaces around
+ * without creating a Coordinate for each one. When a Coordinate is needed after all, the table
+ * hands out the one it made for that index when it was built, so converting costs nothing and
+ * creates no garbage. Coordinates are immutable, so sharing them is safe.
+ * The tables for each size are built once and shared. A very large board would need tens of
+ * bytes of table for every space, so for boards of more than MAX_TABLE_SIZE spaces a side the
+ * table works q and r out by dividing instead, and makes a new Coordinate each time one is
+ * asked for.
+ */
+public final class CoordinateTable {
+  //the tables already built, by board size
+  private static final Map<Integer, CoordinateTable> TABLES = new ConcurrentHashMap<>();
+
+  //the largest board size whose q values, r values and Coordinates are kept in arrays
+  private static final int MAX_TABLE_SIZE = 64;
+
+  private final int boardSize;
+  //the q and r values of every index, so they can be read without dividing, and the Coordinate
+  //of every index. all null if the board is too large to keep them for
+  private final int[] qs;
+  private final int[] rs;
+  private final Coordinate[] coordinates;
+
+  //builds the table for a board of the given size
+  private CoordinateTable(int boardSize) {
+    this.boardSize = boardSize;
+    if (boardSize > MAX_TABLE_SIZE) {
+      this.qs = null;
+      this.rs = null;
+      this.coordinates = null;
+      return;
+    }
+    this.qs = new int[boardSize * boardSize];
+    this.rs = new int[boardSize * boardSize];
+    this.coordinates = new Coordinate[boardSize * boardSize];
+    for (int r = 0; r < boardSize; r++) {
+      for (int q = 0; q < boardSize; q++) {
+        this.qs[r * boardSize + q] = q;
+        this.rs[r * boardSize + q] = r;
+        this.coordinates[r * boardSize + q] = new Coordinate(q, r);
+      }
+    }
+  }
+
+  /**
+   * Returns the table for a board of the given size.
+   * @param boardSize the size of the board, as given by getBoardSize
+   * @return the table of packed coordinates for the board
+   * @throws IllegalArgumentException if the size is not positive
+   */
+  public static CoordinateTable forSize(int boardSize) {
+    if (boardSize < 1) {
+      throw new IllegalArgumentException("Board size must be positive.");
+    }
+    return TABLES.computeIfAbsent(boardSize, CoordinateTable::new);
+  }
+
+  /**
+   * Returns the size of the board this table is for.
+   * @return the number of spaces in the longest row of the board
+   */
+  public int getBoardSize() {
+    return this.boardSize;
+  }
+
+  /**
+   * Returns the packed index of the given coordinates.
+   * @param q the q-coordinate of the space
+   * @param r the r-coordinate of the space
+   * @return the index of the space, r * boardSize + q, or -1 if it is outside the grid
+   */
+  public int index(int q, int r) {
+    if (q < 0 || q >= this.boardSize || r < 0 || r >= this.boardSize) {
+      return -1;
+    }
+    return r * this.boardSize + q;
+  }
+
+  /**
+   * Returns the packed index of the given coordinate.
+   * @param coordinate the coordinate of the space
+   * @return the index of the space, r * boardSize + q, or -1 if it is outside the grid
+   * @throws IllegalArgumentException if the coordinate is null
+   */
+  public int index(Coordinate coordinate) {
+    if (coordinate == null) {
+      throw new IllegalArgumentException("Coordinate cannot be null.");
+    }
+    return index(coordinate.getQ(), coordinate.getR());
+  }
+
+  /**
+   * Returns the q-coordinate of the space with the given index.
+   * @param index the index of the space
+   * @return the q-coordinate of the space
+   * @throws IllegalArgumentException if the index is outside the grid
+   */
+  public int q(int index) {
+    checkIndex(index);
+    return this.qs == null ? index % this.boardSize : this.qs[index];
+  }
+
+  /**
+   * Returns the r-coordinate of the space with the given index.
+   * @param index the index of the space
+   * @return the r-coordinate of the space
+   * @throws IllegalArgumentException if the index is outside the grid
+   */
+  public int r(int index) {
+    checkIndex(index);
+    return this.rs == null ? index / this.boardSize : this.rs[index];
+  }
+
+  /**
+   * Returns the shared Coordinate of the space with the given index, or a new one if the board
+   * is too large to keep them.
+   * @param index the index of the space
+   * @return the coordinate of the space
+   * @throws IllegalArgumentException if the index is outside the grid
+   */
+  public Coordinate coordinate(int index) {
+    checkIndex(index);
+    if (this.coordinates == null) {
+      return new Coordinate(index % this.boardSize, index / this.boardSize);
+    }
+    return this.coordinates[index];
+  }
+
+  //makes sure the given index is a space of the grid
+  private void checkIndex(int index) {
+    if (index < 0 || index >= this.boardSize * this.boardSize) {
+      throw new IllegalArgumentException("Coordinate is invalid.");
+    }
+  }
+}
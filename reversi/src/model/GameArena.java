@@ -0,0 +1,490 @@
+package model;
+
+import controller.ModelEventListener;
+import controller.ReversiController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hosts many games of Reversi at once, of any mix of hexagonal and square boards, for a server
+ * that plays thousands of games in one process.
+ * Instead of a model with its own board, tables and listener list for every game, the arena
+ * keeps every game's position in a handful of shared arrays of primitives, one slot per game,
+ * holding the same discs, player to move, passes and key a {@link GameState} does. A game is
+ * opened into a free slot, and played through the {@link Game} handle it is opened with, which is
+ * a ReversiModel like any other. Once the game is closed, its slot goes back to the arena to be
+ * used by the next game opened, and its handle can no longer be used.
+ * An idle game takes up only its slot and its handle, a little under two hundred bytes in all,
+ * where a model of its own takes well over a kilobyte. Everything that depends only on the board,
+ * such as which spaces are next to each other, is shared by every game on a board of the same
+ * size and shape.
+ * Games can be opened and closed from any thread. Each game can be played on any thread, but
+ * only one thread should play a given game at a time, as with any other model.
+ */
+public final class GameArena {
+  //the number of words of discs each slot holds, as numbered by GameState's word
+  private static final int WORDS = 4;
+
+  private final int capacity;
+
+  //each slot's discs, WORDS to a slot, and its position key
+  private final long[] discs;
+  private final long[] keys;
+
+  //each slot's player to move in the lowest bit, and the number of passes just made above it
+  private final byte[] turns;
+
+  //the version of each slot's board, which changes every time its contents change
+  private final long[] versions;
+
+  //the starting state of each slot's game, which the game goes back to when it is reset and
+  //which knows the size and shape of its board, or null if the slot is free
+  private final GameState[] starts;
+
+  //the number of times each slot has been opened, so a handle can tell if its game was closed
+  private final int[] generations;
+
+  //the slots no game is using, as a stack
+  private final int[] free;
+  private int freeCount;
+
+  /**
+   * Constructs an arena with room for the given number of games at once. All of the arena's
+   * storage is allocated up front, so it takes up the same memory however many games are open.
+   * @param capacity the largest number of games that can be open at once
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public GameArena(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("An arena must have room for at least one game.");
+    }
+    this.capacity = capacity;
+    this.discs = new long[capacity * WORDS];
+    this.keys = new long[capacity];
+    this.turns = new byte[capacity];
+    this.versions = new long[capacity];
+    this.starts = new GameState[capacity];
+    this.generations = new int[capacity];
+    this.free = new int[capacity];
+    //hand out the lowest slots first
+    for (int i = 0; i < capacity; i++) {
+      this.free[i] = capacity - 1 - i;
+    }
+    this.freeCount = capacity;
+  }
+
+  /**
+   * Opens a new game on a hexagonal board, starting as a new BasicReversi of the same side
+   * length does.
+   * @param sideLength the number of spaces on each side of the board
+   * @return the handle to play the game through
+   * @throws IllegalArgumentException if the side length is less than 3, or more than 7
+   * @throws IllegalStateException if every slot of the arena is in use
+   */
+  public Game openHex(int sideLength) {
+    return open(GameState.hex(sideLength));
+  }
+
+  /**
+   * Opens a new game on a square board, starting as a new SquareBasicReversi of the same side
+   * length does.
+   * @param boardSize the number of spaces on each side of the board
+   * @return the handle to play the game through
+   * @throws IllegalArgumentException if the side length is less than 4 or odd, or more than 10
+   * @throws IllegalStateException if every slot of the arena is in use
+   */
+  public Game openSquare(int boardSize) {
+    return open(GameState.square(boardSize));
+  }
+
+  /**
+   * Opens a new game starting from the given position, which is also the position the game
+   * goes back to when it is reset.
+   * @param start the position to start the game from
+   * @return the handle to play the game through
+   * @throws IllegalArgumentException if the given position is null
+   * @throws IllegalStateException if every slot of the arena is in use
+   */
+  public synchronized Game open(GameState start) {
+    if (start == null) {
+      throw new IllegalArgumentException("Cannot start a game from a null position.");
+    }
+    if (this.freeCount == 0) {
+      throw new IllegalStateException("Every game slot of the arena is in use.");
+    }
+    int slot = this.free[--this.freeCount];
+    this.starts[slot] = start;
+    this.generations[slot]++;
+    store(slot, start);
+    return new Game(slot, this.generations[slot]);
+  }
+
+  /**
+   * Returns the largest number of games that can be open at once.
+   * @return the capacity of the arena
+   */
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Returns the number of games open now.
+   * @return the number of slots in use
+   */
+  public synchronized int getOpenGames() {
+    return this.capacity - this.freeCount;
+  }
+
+  //frees the slot of a game being closed, if it is still that game's
+  private synchronized void close(int slot, int generation) {
+    if (this.generations[slot] == generation && this.starts[slot] != null) {
+      this.starts[slot] = null;
+      this.free[this.freeCount++] = slot;
+    }
+  }
+
+  //returns the state of the game in the given slot
+  private GameState load(int slot) {
+    int base = slot * WORDS;
+    return this.starts[slot].withWords(this.discs[base], this.discs[base + 1],
+        this.discs[base + 2], this.discs[base + 3], this.turns[slot] & 1, this.turns[slot] >> 1,
+        this.keys[slot]);
+  }
+
+  //writes the given state into the given slot
+  private void store(int slot, GameState state) {
+    int base = slot * WORDS;
+    for (int w = 0; w < WORDS; w++) {
+      this.discs[base + w] = state.word(w);
+    }
+    this.keys[slot] = state.getPositionKey();
+    this.turns[slot] = (byte) (state.getCurrentPlayer().ordinal() | state.getPassCount() << 1);
+    this.versions[slot]++;
+  }
+
+  /**
+   * A handle to one game in an arena, which plays the game as a {@link ReversiModel} with the
+   * same rules as BasicReversi or SquareBasicReversi. Each call reads the game's position out of
+   * the arena's arrays, and a move or pass writes the new one back, so the handle holds nothing
+   * but its slot, and its listeners once it has any.
+   * Tiles handed out by getTileAt are live views of the arena's storage, as in the other models,
+   * but a new one is made each time one is asked for rather than kept for the next time.
+   * Once the game is closed, every method other than isClosed throws an IllegalStateException.
+   */
+  public final class Game implements ReversiModel {
+    private final int slot;
+    private final int generation;
+
+    //the listeners to this game, the Tiles' view of its board and its BoardView, each made the
+    //first time they are needed, since most games in an arena are never watched
+    private List<ModelEventListener> listeners;
+    private CellStore cells;
+    private BoardView boardView;
+
+    //games are only made by their arena when they are opened
+    private Game(int slot, int generation) {
+      this.slot = slot;
+      this.generation = generation;
+      this.listeners = null;
+      this.cells = null;
+      this.boardView = null;
+    }
+
+    /**
+     * Puts the game back to the position it started from, keeping its listeners.
+     * @throws IllegalStateException if the game has been closed
+     */
+    public void reset() {
+      store(this.slot, start());
+    }
+
+    /**
+     * Closes the game, handing its slot back to the arena for the next game to use. Closing a
+     * game that is already closed does nothing.
+     */
+    public void close() {
+      GameArena.this.close(this.slot, this.generation);
+    }
+
+    /**
+     * Returns whether the game has been closed.
+     * @return true iff the game's slot has been handed back to the arena
+     */
+    public boolean isClosed() {
+      synchronized (GameArena.this) {
+        return generations[this.slot] != this.generation || starts[this.slot] == null;
+      }
+    }
+
+    /**
+     * Returns the game's current position, which will not change as the game goes on.
+     * @return the state of the game
+     * @throws IllegalStateException if the game has been closed
+     */
+    public GameState getState() {
+      start();
+      return load(this.slot);
+    }
+
+    //returns the game's starting state, or throws if the game has been closed. the slot's start
+    //and generation are read under the arena's lock, as open and close write them, so a handle
+    //used on another thread never sees one half of a slot being handed to the next game
+    private GameState start() {
+      synchronized (GameArena.this) {
+        GameState start = starts[this.slot];
+        if (start == null || generations[this.slot] != this.generation) {
+          throw new IllegalStateException("This game has been closed.");
+        }
+        return start;
+      }
+    }
+
+    @Override
+    public void move(Coordinate coordinate) {
+      store(this.slot, getState().apply(coordinate));
+      notifyTurn();
+    }
+
+    @Override
+    public void move(int index) {
+      store(this.slot, getState().apply(index));
+      notifyTurn();
+    }
+
+    @Override
+    public void pass() {
+      store(this.slot, getState().pass());
+      notifyTurn();
+    }
+
+    @Override
+    public PlayerColor getCurrentPlayer() {
+      GameState state = getState();
+      if (state.isGameOver()) {
+        throw new IllegalStateException("The game is over.");
+      }
+      return state.getCurrentPlayer();
+    }
+
+    @Override
+    public boolean isGameOver() {
+      return getState().isGameOver();
+    }
+
+    @Override
+    public int getCurrentWinner() {
+      return getState().getCurrentWinner();
+    }
+
+    @Override
+    public int getPlayerScore(PlayerColor color) {
+      return getState().getPlayerScore(color);
+    }
+
+    @Override
+    public Tile getTileAt(Coordinate coordinate) {
+      int size = getBoardSize();
+      if (coordinate.getQ() < 0 || coordinate.getQ() >= size
+          || coordinate.getR() < 0 || coordinate.getR() >= size) {
+        throw new IllegalArgumentException("Coordinate is invalid.");
+      }
+      return getTileAt(coordinate.getR() * size + coordinate.getQ());
+    }
+
+    @Override
+    public Tile getTileAt(int index) {
+      int size = getBoardSize();
+      if (index < 0 || index >= size * size) {
+        throw new IllegalArgumentException("Coordinate is invalid.");
+      }
+      if (!getBoardView().isOnBoard(index % size, index / size)) {
+        return null;
+      }
+      if (this.cells == null) {
+        this.cells = new Cells();
+      }
+      return new BoardTile(index % size, index / size, this.cells, index);
+    }
+
+    @Override
+    public Tile[][] getBoard() {
+      GameState state = getState();
+      int size = state.getBoardSize();
+      BoardView view = getBoardView();
+      Tile[][] board = new Tile[size][size];
+      for (int r = 0; r < size; r++) {
+        for (int q = 0; q < size; q++) {
+          if (view.isOnBoard(q, r)) {
+            board[q][r] = new Tile(q, r);
+            if (state.getContents(q, r) != null) {
+              board[q][r].placeDisc(state.getContents(q, r));
+            }
+          }
+        }
+      }
+      return board;
+    }
+
+    @Override
+    public BoardView getBoardView() {
+      start();
+      if (this.boardView == null) {
+        this.boardView = new View();
+      }
+      return this.boardView;
+    }
+
+    @Override
+    public int getBoardSize() {
+      return start().getBoardSize();
+    }
+
+    @Override
+    public boolean isMoveLegal(Coordinate coordinate) {
+      return getState().isMoveLegal(coordinate);
+    }
+
+    @Override
+    public boolean isMoveLegal(int index) {
+      return getState().isMoveLegal(index);
+    }
+
+    @Override
+    public int getMoveScore(Coordinate coordinate) {
+      return getState().getMoveScore(coordinate);
+    }
+
+    @Override
+    public int getMoveScore(int index) {
+      return getState().getMoveScore(index);
+    }
+
+    @Override
+    public int[] getFlips(Coordinate coordinate) {
+      return getState().getFlips(coordinate);
+    }
+
+    @Override
+    public int[] getFlips(int index) {
+      return getState().getFlips(index);
+    }
+
+    @Override
+    public long getPositionKey() {
+      start();
+      return keys[this.slot];
+    }
+
+    @Override
+    public boolean playerHasLegalMoves() {
+      return getState().getLegalMoves().size() > 0;
+    }
+
+    @Override
+    public List<Coordinate> getFrontier() {
+      return getState().getFrontier();
+    }
+
+    @Override
+    public LegalMoves getLegalMoves() {
+      return getState().getLegalMoves();
+    }
+
+    @Override
+    public void startGame() {
+      start();
+      if (this.listeners == null) {
+        return;
+      }
+      for (ModelEventListener listener : this.listeners) {
+        listener.initializeGame();
+      }
+      //activate the first controller in the listener list as the black player
+      for (ModelEventListener listener : this.listeners) {
+        if (listener instanceof ReversiController) {
+          listener.updateTurn();
+          return;
+        }
+      }
+    }
+
+    @Override
+    public void addListener(ModelEventListener listener) {
+      if (listener == null) {
+        throw new IllegalArgumentException("Cannot provide a null listener to the model.");
+      }
+      start();
+      if (this.listeners == null) {
+        this.listeners = new ArrayList<>();
+      }
+      this.listeners.add(listener);
+    }
+
+    @Override
+    public void notifyTurn() {
+      if (this.listeners == null) {
+        return;
+      }
+      for (ModelEventListener listener : this.listeners) {
+        listener.updateTurn();
+      }
+    }
+
+    //lets the Tiles handed out by getTileAt read and write the game's slot, by row-order index
+    private class Cells implements CellStore {
+      @Override
+      public PlayerColor getCell(int index) {
+        return getState().getContents(index);
+      }
+
+      @Override
+      public void setCell(int index, PlayerColor color) {
+        store(slot, getState().withContents(index, color));
+      }
+    }
+
+    //lets callers read the game's slot through getBoardView
+    private class View implements BoardView {
+      @Override
+      public int getBoardSize() {
+        return start().getBoardSize();
+      }
+
+      @Override
+      public long getVersion() {
+        start();
+        return versions[slot];
+      }
+
+      @Override
+      public boolean isOnBoard(int q, int r) {
+        GameState start = start();
+        int size = start.getBoardSize();
+        if (q < 0 || q >= size || r < 0 || r >= size) {
+          return false;
+        }
+        //on a hexagonal board, as in BasicReversi, q + r must be between half and 3 * half
+        int half = size / 2;
+        return !start.isHexagonal() || (q + r >= half && q + r <= half * 3);
+      }
+
+      @Override
+      public PlayerColor getContents(int q, int r) {
+        if (!isOnBoard(q, r)) {
+          throw new IllegalArgumentException("Coordinate is invalid.");
+        }
+        return getState().getContents(q, r);
+      }
+
+      @Override
+      public PlayerColor getContents(int index) {
+        int size = getBoardSize();
+        if (index < 0 || index >= size * size) {
+          throw new IllegalArgumentException("Coordinate is invalid.");
+        }
+        return getContents(index % size, index / size);
+      }
+    }
+  }
+}
@@ -0,0 +1,218 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads the games of a game record file written by a {@link GameRecordWriter}.
+ * The file is memory-mapped rather than read in, so opening even a very large file only reads
+ * the length of each game, to find where each one starts. After that, any turn of any game is
+ * read straight out of the mapping when it is asked for, and a game is only replayed into a
+ * model when replay is called.
+ * A reader sees the games that were in the file when it was opened; games added after that
+ * need a new reader. Files of up to two gigabytes can be read.
+ * If a writer stopped partway through adding a game, the file ends with part of a game. The
+ * reader reads every game before it and leaves out that part, whose length getTornBytes gives,
+ * so one broken write does not lose the rest of the file.
+ */
+public final class GameRecordReader implements Closeable {
+  private final FileChannel channel;
+  private final MappedByteBuffer mapping;
+  private final boolean hexagonal;
+  private final int boardSize;
+  private final int turnBytes;
+  private final int pass;
+
+  //the offset in the file of each game's first turn, the number of games, and the number of
+  //bytes after the last whole game
+  private final int[] offsets;
+  private final int size;
+  private final int tornBytes;
+
+  /**
+   * Opens a game record file for reading.
+   * @param file the file to read
+   * @throws IllegalArgumentException if the file is null, is not a game record file, or is too
+   *     large to map
+   * @throws IOException if the file cannot be opened or read
+   */
+  public GameRecordReader(Path file) throws IOException {
+    if (file == null) {
+      throw new IllegalArgumentException("Cannot read games from a null file.");
+    }
+    this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      long length = this.channel.size();
+      if (length > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("The file is too large to read.");
+      }
+      this.mapping = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+      if (length < GameRecordWriter.HEADER_BYTES
+          || this.mapping.getInt(0) != GameRecordWriter.MAGIC
+          || this.mapping.get(4) != GameRecordWriter.VERSION
+          || (this.mapping.get(5) != 0 && this.mapping.get(5) != 1)) {
+        throw new IllegalArgumentException("The file is not a game record file.");
+      }
+      this.hexagonal = this.mapping.get(5) == 0;
+      this.boardSize = this.mapping.getShort(6) & 0xFFFF;
+      this.turnBytes = GameRecordWriter.turnBytes(this.boardSize);
+      this.pass = GameRecordWriter.passValue(this.turnBytes);
+      //find where every game starts by skipping from one length to the next, stopping at the
+      //first game the file ends partway through
+      int[] offsets = new int[16];
+      int size = 0;
+      long offset = GameRecordWriter.HEADER_BYTES;
+      while (offset + 4 <= length) {
+        long turns = this.mapping.getInt((int) offset) & 0xFFFFFFFFL;
+        long end = offset + 4 + turns * this.turnBytes;
+        if (end > length) {
+          break;
+        }
+        if (size == offsets.length) {
+          offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        offsets[size++] = (int) offset + 4;
+        offset = end;
+      }
+      this.offsets = offsets;
+      this.size = size;
+      this.tornBytes = (int) (length - offset);
+    } catch (IOException | RuntimeException e) {
+      this.channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the number of games in the file.
+   * @return the number of games
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the number of bytes at the end of the file that are part of a game that was not
+   * finished being written, and so were left out.
+   * @return the number of bytes left out, which is 0 unless a write was cut off
+   */
+  public int getTornBytes() {
+    return this.tornBytes;
+  }
+
+  /**
+   * Returns whether the games in the file are on a hexagonal board, or a square one.
+   * @return true iff the board is hexagonal
+   */
+  public boolean isHexagonal() {
+    return this.hexagonal;
+  }
+
+  /**
+   * Returns the size of the board the games in the file are on, as given by getBoardSize.
+   * @return the size of the board
+   */
+  public int getBoardSize() {
+    return this.boardSize;
+  }
+
+  /**
+   * Returns the number of turns in the given game.
+   * @param game the number of the game, from 0 to size() - 1, in the order they were added
+   * @return the number of moves and passes in the game
+   * @throws IllegalArgumentException if there is no such game
+   */
+  public int getTurnCount(int game) {
+    checkGame(game);
+    return this.mapping.getInt(this.offsets[game] - 4);
+  }
+
+  /**
+   * Returns one turn of the given game.
+   * @param game the number of the game
+   * @param turn the number of the turn within the game, from 0
+   * @return the row-order index of the space moved to, or -1 if the turn was a pass
+   * @throws IllegalArgumentException if there is no such game or turn
+   */
+  public int getTurn(int game, int turn) {
+    if (turn < 0 || turn >= getTurnCount(game)) {
+      throw new IllegalArgumentException("There is no turn " + turn + " in game " + game + ".");
+    }
+    int offset = this.offsets[game] + turn * this.turnBytes;
+    int value = 0;
+    for (int b = 0; b < this.turnBytes; b++) {
+      value = value << 8 | (this.mapping.get(offset + b) & 0xFF);
+    }
+    return value == this.pass ? -1 : value;
+  }
+
+  /**
+   * Returns every turn of the given game, as getTurn gives them.
+   * @param game the number of the game
+   * @return the turns of the game, in order
+   * @throws IllegalArgumentException if there is no such game
+   */
+  public int[] getTurns(int game) {
+    int[] turns = new int[getTurnCount(game)];
+    for (int turn = 0; turn < turns.length; turn++) {
+      turns[turn] = getTurn(game, turn);
+    }
+    return turns;
+  }
+
+  /**
+   * Plays the given game from the starting position of its board on a new model: a BasicReversi
+   * for a hexagonal board, or a SquareBasicReversi for a square one.
+   * @param game the number of the game
+   * @return a new model in the position the game ended in, with no listeners
+   * @throws IllegalArgumentException if there is no such game
+   * @throws IllegalStateException if one of the game's turns is not legal
+   */
+  public SearchableReversiModel replay(int game) {
+    return replay(game, getTurnCount(game));
+  }
+
+  /**
+   * Plays the first turns of the given game from the starting position of its board on a new
+   * model, as replay does.
+   * @param game the number of the game
+   * @param turns the number of turns to play
+   * @return a new model in the position the game was in after that many turns
+   * @throws IllegalArgumentException if there is no such game, or it has fewer turns
+   * @throws IllegalStateException if one of the game's turns is not legal
+   */
+  public SearchableReversiModel replay(int game, int turns) {
+    if (turns < 0 || turns > getTurnCount(game)) {
+      throw new IllegalArgumentException("Game " + game + " has fewer than " + turns
+          + " turns.");
+    }
+    SearchableReversiModel model = this.hexagonal
+        ? new BasicReversi(this.boardSize / 2 + 1) : new SquareBasicReversi(this.boardSize);
+    for (int turn = 0; turn < turns; turn++) {
+      int index = getTurn(game, turn);
+      if (index == -1) {
+        model.pass();
+      } else {
+        model.move(index);
+      }
+    }
+    return model;
+  }
+
+  //makes sure there is a game with the given number
+  private void checkGame(int game) {
+    if (game < 0 || game >= this.size) {
+      throw new IllegalArgumentException("There is no game " + game + " in the file.");
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+}
@@ -0,0 +1,176 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends finished games to a game record file, which a {@link GameRecordReader} can then read
+ * any game of without reading the rest of the file.
+ * A game record file starts with a header of eight bytes:
+ * <ul>
+ *   <li>bytes 0 to 3: the letters RVGR</li>
+ *   <li>byte 4: the version of the format, which is 1</li>
+ *   <li>byte 5: the variant, 0 for a hexagonal board and 1 for a square one, as in
+ *       {@link PositionCodec}</li>
+ *   <li>bytes 6 and 7: the size of the board, as given by getBoardSize, high byte first</li>
+ * </ul>
+ * Every game after it is the number of turns in the game, as four bytes, then each turn in
+ * order. A move is the row-order index of its space, r * boardSize + q, and a pass is the
+ * largest number that fits in a turn. Turns take up as few whole bytes as can hold every index
+ * on the board and the pass, so the games of a standard board take one byte a turn.
+ * Every game in a file is played from the starting position of its board.
+ * If a writer stops partway through adding a game, the file is left ending with part of it.
+ * Readers leave that part out, and the next writer to open the file cuts it off before adding
+ * games after it.
+ */
+public final class GameRecordWriter implements Closeable {
+  //the letters RVGR, which every game record file starts with
+  static final int MAGIC = 0x52564752;
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 8;
+
+  private final FileChannel channel;
+  private final boolean hexagonal;
+  private final int boardSize;
+  private final int turnBytes;
+
+  /**
+   * Opens a game record file to add games of the given board to, creating the file if it does
+   * not exist yet. If the file ends partway through a game, that part is cut off.
+   * @param file the file to write to
+   * @param hexagonal whether the games are on a hexagonal board, or a square one
+   * @param boardSize the size of the board, as given by getBoardSize
+   * @throws IllegalArgumentException if the file is null, the board size is not positive or
+   *     too large to record, or the file already holds games of another board
+   * @throws IOException if the file cannot be opened, read or written
+   */
+  public GameRecordWriter(Path file, boolean hexagonal, int boardSize) throws IOException {
+    if (file == null) {
+      throw new IllegalArgumentException("Cannot write games to a null file.");
+    }
+    if (boardSize < 1 || boardSize > 0xFFFF) {
+      throw new IllegalArgumentException("Board size cannot be recorded.");
+    }
+    this.hexagonal = hexagonal;
+    this.boardSize = boardSize;
+    this.turnBytes = turnBytes(boardSize);
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    try {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+      header.putInt(MAGIC).put((byte) VERSION).put((byte) (hexagonal ? 0 : 1))
+          .putShort((short) boardSize).flip();
+      if (this.channel.size() == 0) {
+        this.channel.write(header, 0);
+      } else {
+        //games can only be added to a file of the same board
+        ByteBuffer existing = ByteBuffer.allocate(HEADER_BYTES);
+        this.channel.read(existing, 0);
+        if (!existing.flip().equals(header)) {
+          throw new IllegalArgumentException("The file holds games of another board.");
+        }
+      }
+      this.channel.truncate(wholeGamesLength());
+      this.channel.position(this.channel.size());
+    } catch (IOException | RuntimeException e) {
+      this.channel.close();
+      throw e;
+    }
+  }
+
+  //returns the length of the file up to the end of its last whole game, reading only the number
+  //of turns in each game to skip from one to the next
+  private long wholeGamesLength() throws IOException {
+    long length = this.channel.size();
+    long offset = HEADER_BYTES;
+    ByteBuffer turns = ByteBuffer.allocate(4);
+    while (offset + 4 <= length) {
+      turns.clear();
+      while (turns.hasRemaining()) {
+        this.channel.read(turns, offset + turns.position());
+      }
+      long end = offset + 4 + (turns.getInt(0) & 0xFFFFFFFFL) * this.turnBytes;
+      if (end > length) {
+        break;
+      }
+      offset = end;
+    }
+    return offset;
+  }
+
+  //returns the number of bytes each turn of a game on a board of the given size takes up,
+  //which is the fewest that can hold every index on the board and the pass after them
+  static int turnBytes(int boardSize) {
+    long values = (long) boardSize * boardSize + 1;
+    int bytes = 1;
+    while (values > 1L << (bytes * 8)) {
+      bytes++;
+    }
+    return bytes;
+  }
+
+  //returns the value of a pass, which is the largest a turn can hold
+  static int passValue(int turnBytes) {
+    return (int) ((1L << (turnBytes * 8)) - 1);
+  }
+
+  /**
+   * Adds a game to the end of the file.
+   * @param turns every turn of the game in order: the row-order index of each move, or -1 for
+   *     a pass
+   * @throws IllegalArgumentException if the turns are null, or one of them is neither a pass
+   *     nor a space on the board
+   * @throws IOException if the file cannot be written
+   */
+  public void append(int[] turns) throws IOException {
+    if (turns == null) {
+      throw new IllegalArgumentException("Cannot record a null game.");
+    }
+    ByteBuffer record = ByteBuffer.allocate(4 + turns.length * this.turnBytes);
+    record.putInt(turns.length);
+    int pass = passValue(this.turnBytes);
+    for (int turn : turns) {
+      if (turn != -1 && !isOnBoard(turn)) {
+        throw new IllegalArgumentException("A turn must be a pass or a space on the board.");
+      }
+      int value = turn == -1 ? pass : turn;
+      //high byte first, as in the header
+      for (int b = this.turnBytes - 1; b >= 0; b--) {
+        record.put((byte) (value >>> (b * 8)));
+      }
+    }
+    record.flip();
+    while (record.hasRemaining()) {
+      this.channel.write(record);
+    }
+  }
+
+  //returns whether the given row-order index is a space on the board, which on a hexagonal
+  //board, as in BasicReversi, is one whose q + r is between half and 3 * half
+  private boolean isOnBoard(int index) {
+    if (index < 0 || index >= (long) this.boardSize * this.boardSize) {
+      return false;
+    }
+    int q = index % this.boardSize;
+    int r = index / this.boardSize;
+    int half = this.boardSize / 2;
+    return !this.hexagonal || (q + r >= half && q + r <= half * 3);
+  }
+
+  /**
+   * Makes sure every game added so far has been written to the file.
+   * @throws IOException if the file cannot be written
+   */
+  public void flush() throws IOException {
+    this.channel.force(false);
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+}
@@ -0,0 +1,808 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable position in a game of Reversi: the discs on the board, the player to move, the
+ * number of passes just made, and the position's Zobrist key. Playing a move or a pass on a
+ * state never changes it, but returns the new state, so states can be handed freely between
+ * threads, kept in search trees, and compared without copying.
+ * States follow the same rules as {@link BasicReversi} on a hexagonal board and
+ * {@link SquareBasicReversi} on a square one, and their keys are the same as those models give
+ * the same position, as given by {@link ReadOnlyReversiModel#getPositionKey}.
+ * The board is held as two 64-bit words of discs per color, with the spaces on the board
+ * numbered in row order, so a state holds boards of up to 128 spaces: every hexagonal board
+ * with a side length of up to 7, and every square board of up to 10x10, which includes both
+ * standard boards. Everything else about a board, such as which spaces are next to each other,
+ * is kept once per board size and shared by every state on that board, so playing a move
+ * creates the new state and nothing else.
+ */
+public final class GameState {
+  /**
+   * The largest number of spaces a board may have to fit in a state, two words per color.
+   */
+  public static final int MAX_SPACES = 128;
+
+  //the change in q and r for each of the directions a row can run in on a square board,
+  //as in SquareBasicReversi. hexagonal boards use the six directions of HexLayout
+  private static final int[] SQUARE_DELTA_Q = {0, 0, -1, 1, -1, 1, -1, 1};
+  private static final int[] SQUARE_DELTA_R = {1, -1, 0, 0, 1, -1, -1, 1};
+
+  //the board of each size and shape a state has been made for, shared by every state on it
+  private static final Map<Integer, Board> BOARDS = new ConcurrentHashMap<>();
+
+  private final Board board;
+  //one bit per space on the board, the low word holding spaces 0 to 63 and the high word the
+  //rest, set if that space holds a disc of the given color
+  //INVARIANT: no bit is set for both colors
+  private final long blackLow;
+  private final long blackHigh;
+  private final long whiteLow;
+  private final long whiteHigh;
+  //INVARIANT: currentPlayerIndex is less than 2
+  private final int currentPlayerIndex;
+  private final int passCount;
+  private final long positionKey;
+
+  //states are only made by the factory methods and by playing on another state
+  private GameState(Board board, long blackLow, long blackHigh, long whiteLow, long whiteHigh,
+                    int currentPlayerIndex, int passCount, long positionKey) {
+    this.board = board;
+    this.blackLow = blackLow;
+    this.blackHigh = blackHigh;
+    this.whiteLow = whiteLow;
+    this.whiteHigh = whiteHigh;
+    this.currentPlayerIndex = currentPlayerIndex;
+    this.passCount = passCount;
+    this.positionKey = positionKey;
+  }
+
+  /**
+   * Returns the starting position of a game on a hexagonal board, which is the same as that of
+   * a new BasicReversi with the given side length.
+   * @param sideLength the number of spaces on each side of the board
+   * @return the starting state, with black to move
+   * @throws IllegalArgumentException if the side length is less than 3, or more than 7
+   */
+  public static GameState hex(int sideLength) {
+    if (sideLength < 3) {
+      throw new IllegalArgumentException("Minimum side length of 3 required"
+          + "for a playable game of Reversi.");
+    }
+    Board board = boardFor(true, sideLength * 2 - 1);
+    GameState state = board.empty;
+    //black on every other space around the center, starting to its right, as in BasicReversi
+    int center = board.cellAt(board.size / 2, board.size / 2);
+    for (int d = 0; d < board.directions; d++) {
+      state = state.with(board.neighbor(center, d),
+          d % 2 == 0 ? PlayerColor.BLACK : PlayerColor.WHITE);
+    }
+    return state;
+  }
+
+  /**
+   * Returns the starting position of a game on a square board, which is the same as that of
+   * a new SquareBasicReversi with the given side length.
+   * @param boardSize the number of spaces on each side of the board
+   * @return the starting state, with black to move
+   * @throws IllegalArgumentException if the side length is less than 4 or odd, or more than 10
+   */
+  public static GameState square(int boardSize) {
+    if (boardSize < 4) {
+      throw new IllegalArgumentException("Minimum side length of 4 required"
+          + "for a playable game of Reversi.");
+    }
+    if (boardSize % 2 != 0) {
+      throw new IllegalArgumentException("Side length must be even"
+          + "for a playable game of Reversi.");
+    }
+    Board board = boardFor(false, boardSize);
+    int half = boardSize / 2;
+    return board.empty
+        .with(board.cellAt(half - 1, half - 1), PlayerColor.BLACK)
+        .with(board.cellAt(half, half - 1), PlayerColor.WHITE)
+        .with(board.cellAt(half - 1, half), PlayerColor.WHITE)
+        .with(board.cellAt(half, half), PlayerColor.BLACK);
+  }
+
+  /**
+   * Returns the position a model is in now. A model does not say whether the last turn was a
+   * pass, so the state takes it not to have been, unless the game ended that way. A snapshot
+   * of the model, which does know, can be read exactly with {@link #of(BoardSnapshot)}.
+   * The model's board is hexagonal if the upper-left corner of its grid is not on the board.
+   * @param model the model to read
+   * @return the state of the model's game
+   * @throws IllegalArgumentException if the model is null or its board has more than 128 spaces
+   */
+  public static GameState of(ReadOnlyReversiModel model) {
+    if (model == null) {
+      throw new IllegalArgumentException("Cannot read the state of a null model.");
+    }
+    BoardView view = model.getBoardView();
+    GameState state = read(view);
+    int blackScore = state.getPlayerScore(PlayerColor.BLACK);
+    int whiteScore = state.getPlayerScore(PlayerColor.WHITE);
+    if (!model.isGameOver()) {
+      return state.withTurn(model.getCurrentPlayer().ordinal(), 0);
+    }
+    //once the game is over the model will not say whose turn it is, but its key still does
+    int playerIndex = model.getPositionKey() == (state.positionKey ^ Zobrist.WHITE_TO_MOVE)
+        ? PlayerColor.WHITE.ordinal() : PlayerColor.BLACK.ordinal();
+    //a game that ended with spaces left and both colors on the board ended with two passes
+    boolean endedByPasses = blackScore + whiteScore < state.board.cellCount
+        && blackScore > 0 && whiteScore > 0;
+    return state.withTurn(playerIndex, endedByPasses ? 2 : 0);
+  }
+
+  /**
+   * Returns the position a model was in when the given snapshot of it was taken.
+   * @param snapshot the snapshot to read
+   * @return the state of the game when the snapshot was taken
+   * @throws IllegalArgumentException if the snapshot is null or its board has more than
+   *     128 spaces
+   */
+  public static GameState of(BoardSnapshot snapshot) {
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Cannot read the state of a null snapshot.");
+    }
+    return read(snapshot).withTurn(snapshot.getCurrentPlayer().ordinal(),
+        snapshot.passCount());
+  }
+
+  //returns the state with the discs of the given board, black to move and no passes made
+  private static GameState read(BoardView view) {
+    int size = view.getBoardSize();
+    Board board = boardFor(!view.isOnBoard(0, 0), size);
+    GameState state = board.empty;
+    for (int cell = 0; cell < board.cellCount; cell++) {
+      PlayerColor contents = view.getContents(board.rowOrder[cell]);
+      if (contents != null) {
+        state = state.with(cell, contents);
+      }
+    }
+    return state;
+  }
+
+  //returns the shared board of the given shape and size, making it the first time it is needed
+  private static Board boardFor(boolean hexagonal, int size) {
+    return BOARDS.computeIfAbsent(size * 2 + (hexagonal ? 1 : 0),
+        key -> new Board(hexagonal, size));
+  }
+
+  /**
+   * Makes a new model playing the game from this position, with the same board, player to move
+   * and passes made. The model is a BasicReversi on a hexagonal board, and a SquareBasicReversi
+   * on a square one.
+   * @return a new model in this state, with no listeners
+   */
+  public SearchableReversiModel toModel() {
+    if (this.board.hexagonal) {
+      BasicReversi model = new BasicReversi(this.board.size / 2 + 1);
+      copyDiscsTo(model);
+      model.setTurn(this.currentPlayerIndex, this.passCount);
+      return model;
+    }
+    SquareBasicReversi model = new SquareBasicReversi(this.board.size);
+    copyDiscsTo(model);
+    model.setTurn(this.currentPlayerIndex, this.passCount);
+    return model;
+  }
+
+  //sets every space of a new model's board, which starts out with its own starting discs,
+  //to hold what the same space of this state does
+  private void copyDiscsTo(ReversiModel model) {
+    for (int cell = 0; cell < this.board.cellCount; cell++) {
+      Tile tile = model.getTileAt(this.board.rowOrder[cell]);
+      PlayerColor contents = contentsAt(cell);
+      if (tile.getContents() != contents) {
+        if (!tile.isEmpty()) {
+          tile.removeDisc();
+        }
+        if (contents != null) {
+          tile.placeDisc(contents);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the state after the current player places a disc at the given coordinate.
+   * @param coordinate the coordinate to move to
+   * @return the new state, with the other player to move
+   * @throws IllegalArgumentException if the given coordinate is not on the game board
+   * @throws IllegalStateException if the space already has a disc in it, if the move is
+   *     illegal, or if the game is over
+   */
+  public GameState apply(Coordinate coordinate) {
+    throwIfGameOver();
+    return applyAt(cellAt(coordinate.getQ(), coordinate.getR()));
+  }
+
+  /**
+   * Returns the state after the current player places a disc in the space with the given
+   * row-order index, r * getBoardSize() + q, without needing a Coordinate.
+   * @param index the row-order index of the space to move to
+   * @return the new state, with the other player to move
+   * @throws IllegalArgumentException if the space is not on the game board
+   * @throws IllegalStateException if the space already has a disc in it, if the move is
+   *     illegal, or if the game is over
+   */
+  public GameState apply(int index) {
+    throwIfGameOver();
+    return applyAt(cellAt(index));
+  }
+
+  //plays a move at the given cell, once it is known to be on the board. the flipped discs are
+  //gathered into a pair of local words rather than a mask, so nothing but the new state is made
+  private GameState applyAt(int cell) {
+    boolean blackToMove = this.currentPlayerIndex == PlayerColor.BLACK.ordinal();
+    long ownLow = blackToMove ? this.blackLow : this.whiteLow;
+    long ownHigh = blackToMove ? this.blackHigh : this.whiteHigh;
+    long opponentLow = blackToMove ? this.whiteLow : this.blackLow;
+    long opponentHigh = blackToMove ? this.whiteHigh : this.blackHigh;
+    long flipsLow = 0;
+    long flipsHigh = 0;
+    //walk out from the move in each direction for as long as there are opponent discs, and
+    //flip them if one of the player's own discs closes off the row
+    for (int d = 0; d < this.board.directions; d++) {
+      long rowLow = 0;
+      long rowHigh = 0;
+      int next = this.board.neighbor(cell, d);
+      while (next >= 0 && has(opponentLow, opponentHigh, next)) {
+        if (next < 64) {
+          rowLow |= 1L << next;
+        } else {
+          rowHigh |= 1L << next;
+        }
+        next = this.board.neighbor(next, d);
+      }
+      if (next >= 0 && has(ownLow, ownHigh, next)) {
+        flipsLow |= rowLow;
+        flipsHigh |= rowHigh;
+      }
+    }
+    if (flipsLow == 0 && flipsHigh == 0) {
+      throw new IllegalStateException("Invalid move.");
+    }
+    if (isOccupied(cell)) {
+      throw new IllegalStateException("Cannot place a disc on a nonempty tile.");
+    }
+    //the key loses the player to move and gains the other, the new disc and every flip
+    long key = this.positionKey ^ Zobrist.WHITE_TO_MOVE
+        ^ this.board.discKey(cell, this.currentPlayerIndex);
+    for (long bits = flipsLow; bits != 0; bits &= bits - 1) {
+      key ^= this.board.flipKeys[Long.numberOfTrailingZeros(bits)];
+    }
+    for (long bits = flipsHigh; bits != 0; bits &= bits - 1) {
+      key ^= this.board.flipKeys[64 + Long.numberOfTrailingZeros(bits)];
+    }
+    if (cell < 64) {
+      ownLow |= 1L << cell;
+    } else {
+      ownHigh |= 1L << cell;
+    }
+    ownLow |= flipsLow;
+    ownHigh |= flipsHigh;
+    opponentLow &= ~flipsLow;
+    opponentHigh &= ~flipsHigh;
+    int nextPlayer = 1 - this.currentPlayerIndex;
+    //after every move, the most recent action was a move so pass count should be zero
+    return blackToMove
+        ? new GameState(this.board, ownLow, ownHigh, opponentLow, opponentHigh, nextPlayer, 0, key)
+        : new GameState(this.board, opponentLow, opponentHigh, ownLow, ownHigh, nextPlayer, 0,
+            key);
+  }
+
+  /**
+   * Returns the state after the current player passes their turn.
+   * @return the new state, with the other player to move and one more pass made
+   * @throws IllegalStateException if the game is over
+   */
+  public GameState pass() {
+    throwIfGameOver();
+    return new GameState(this.board, this.blackLow, this.blackHigh, this.whiteLow,
+        this.whiteHigh, 1 - this.currentPlayerIndex, this.passCount + 1,
+        this.positionKey ^ Zobrist.WHITE_TO_MOVE);
+  }
+
+  /**
+   * Determines if a move at the given coordinate is legal.
+   * @param coordinate the coordinate to check
+   * @return true iff the move is legal
+   * @throws IllegalArgumentException if the coordinate is not on the board
+   * @throws IllegalStateException if the game is over
+   */
+  public boolean isMoveLegal(Coordinate coordinate) {
+    return getMoveScore(coordinate) > 0;
+  }
+
+  /**
+   * Determines if a move at the space with the given row-order index is legal.
+   * @param index the row-order index of the space to check
+   * @return true iff the move is legal
+   * @throws IllegalArgumentException if the space is not on the board
+   * @throws IllegalStateException if the game is over
+   */
+  public boolean isMoveLegal(int index) {
+    return getMoveScore(index) > 0;
+  }
+
+  /**
+   * Returns the number of discs a move at the given coordinate would flip.
+   * @param coordinate the coordinate to check
+   * @return the number of discs the move would flip, or 0 if the space already has a disc
+   * @throws IllegalArgumentException if the coordinate is not on the board
+   * @throws IllegalStateException if the game is over
+   */
+  public int getMoveScore(Coordinate coordinate) {
+    int cell = cellAt(coordinate.getQ(), coordinate.getR());
+    throwIfGameOver();
+    return isOccupied(cell) ? 0 : countFlips(cell);
+  }
+
+  /**
+   * Returns the number of discs a move at the space with the given row-order index would flip.
+   * @param index the row-order index of the space to check
+   * @return the number of discs the move would flip, or 0 if the space already has a disc
+   * @throws IllegalArgumentException if the space is not on the board
+   * @throws IllegalStateException if the game is over
+   */
+  public int getMoveScore(int index) {
+    int cell = cellAt(index);
+    throwIfGameOver();
+    return isOccupied(cell) ? 0 : countFlips(cell);
+  }
+
+  /**
+   * Returns every legal move for the player to move, with the number of discs each would flip.
+   * @return the legal moves, in row order, which are none if the player has to pass or the
+   *     game is over
+   */
+  public LegalMoves getLegalMoves() {
+    int[] indices = new int[this.board.cellCount];
+    int[] flipCounts = new int[this.board.cellCount];
+    int size = 0;
+    if (!isGameOver()) {
+      //cells are numbered in row order, so the moves come out in row order too
+      for (int cell = 0; cell < this.board.cellCount; cell++) {
+        int flipCount = isOccupied(cell) ? 0 : countFlips(cell);
+        if (flipCount > 0) {
+          indices[size] = this.board.rowOrder[cell];
+          flipCounts[size] = flipCount;
+          size++;
+        }
+      }
+    }
+    return new LegalMoves(this.board.size, indices, flipCounts, size);
+  }
+
+  /**
+   * Returns the spaces whose discs a move at the given coordinate would flip, as given by
+   * {@link ReadOnlyReversiModel#getFlips}.
+   * @param coordinate the coordinate to check
+   * @return the row-order index of every disc the move would flip, in increasing order, which
+   *     is empty if the move is illegal or the space already has a disc
+   * @throws IllegalArgumentException if the coordinate is not on the board
+   * @throws IllegalStateException if the game is over
+   */
+  public int[] getFlips(Coordinate coordinate) {
+    return getFlipsAt(cellAt(coordinate.getQ(), coordinate.getR()));
+  }
+
+  /**
+   * Returns the spaces whose discs a move at the space with the given row-order index would
+   * flip, as given by {@link ReadOnlyReversiModel#getFlips}.
+   * @param index the row-order index of the space to check
+   * @return the row-order index of every disc the move would flip, in increasing order, which
+   *     is empty if the move is illegal or the space already has a disc
+   * @throws IllegalArgumentException if the space is not on the board
+   * @throws IllegalStateException if the game is over
+   */
+  public int[] getFlips(int index) {
+    return getFlipsAt(cellAt(index));
+  }
+
+  //returns the row-order indices of the discs a move at the given cell would flip
+  private int[] getFlipsAt(int cell) {
+    throwIfGameOver();
+    if (isOccupied(cell)) {
+      return new int[0];
+    }
+    int[] flips = new int[countFlips(cell)];
+    int size = 0;
+    int opponentIndex = 1 - this.currentPlayerIndex;
+    //walk each row again, recording the discs on it if it is closed off
+    for (int d = 0; d < this.board.directions; d++) {
+      int next = this.board.neighbor(cell, d);
+      int rowLength = 0;
+      while (next >= 0 && colorIndexAt(next) == opponentIndex) {
+        rowLength++;
+        next = this.board.neighbor(next, d);
+      }
+      if (next >= 0 && colorIndexAt(next) == this.currentPlayerIndex) {
+        for (int i = 0, flipped = this.board.neighbor(cell, d); i < rowLength; i++) {
+          flips[size++] = this.board.rowOrder[flipped];
+          flipped = this.board.neighbor(flipped, d);
+        }
+      }
+    }
+    //the rows go off in every direction, so the discs have to be put back in row order
+    Arrays.sort(flips);
+    return flips;
+  }
+
+  /**
+   * Returns the coordinates of every empty space next to at least one disc, as given by
+   * {@link ReadOnlyReversiModel#getFrontier}.
+   * @return the coordinates of the frontier, in row order
+   */
+  public List<Coordinate> getFrontier() {
+    CoordinateTable coordinateTable = CoordinateTable.forSize(this.board.size);
+    List<Coordinate> frontier = new ArrayList<>();
+    for (int cell = 0; cell < this.board.cellCount; cell++) {
+      if (!isOccupied(cell) && nextToDisc(cell)) {
+        frontier.add(coordinateTable.coordinate(this.board.rowOrder[cell]));
+      }
+    }
+    return frontier;
+  }
+
+  //returns whether any neighbor of the given cell has a disc in it
+  private boolean nextToDisc(int cell) {
+    for (int d = 0; d < this.board.directions; d++) {
+      int neighbor = this.board.neighbor(cell, d);
+      if (neighbor >= 0 && isOccupied(neighbor)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  //returns the number of discs a move at the given empty cell would flip
+  private int countFlips(int cell) {
+    boolean blackToMove = this.currentPlayerIndex == PlayerColor.BLACK.ordinal();
+    long ownLow = blackToMove ? this.blackLow : this.whiteLow;
+    long ownHigh = blackToMove ? this.blackHigh : this.whiteHigh;
+    long opponentLow = blackToMove ? this.whiteLow : this.blackLow;
+    long opponentHigh = blackToMove ? this.whiteHigh : this.blackHigh;
+    int flips = 0;
+    for (int d = 0; d < this.board.directions; d++) {
+      int rowLength = 0;
+      int next = this.board.neighbor(cell, d);
+      while (next >= 0 && has(opponentLow, opponentHigh, next)) {
+        rowLength++;
+        next = this.board.neighbor(next, d);
+      }
+      if (next >= 0 && has(ownLow, ownHigh, next)) {
+        flips += rowLength;
+      }
+    }
+    return flips;
+  }
+
+  /**
+   * Returns the size of the board, as given by {@link ReadOnlyReversiModel#getBoardSize}.
+   * @return the number of spaces in the longest row of the board
+   */
+  public int getBoardSize() {
+    return this.board.size;
+  }
+
+  /**
+   * Returns whether the board is hexagonal, as BasicReversi's is, or square.
+   * @return true iff the board is hexagonal
+   */
+  public boolean isHexagonal() {
+    return this.board.hexagonal;
+  }
+
+  /**
+   * Returns the color of the disc at the given coordinates.
+   * @param q the q-coordinate of the space
+   * @param r the r-coordinate of the space
+   * @return the color of the disc, or null if the space is empty
+   * @throws IllegalArgumentException if the space is not on the board
+   */
+  public PlayerColor getContents(int q, int r) {
+    return contentsAt(cellAt(q, r));
+  }
+
+  /**
+   * Returns the color of the disc in the space with the given row-order index.
+   * @param index the row-order index of the space
+   * @return the color of the disc, or null if the space is empty
+   * @throws IllegalArgumentException if the space is not on the board
+   */
+  public PlayerColor getContents(int index) {
+    return contentsAt(cellAt(index));
+  }
+
+  /**
+   * Returns the color of the player to move. Unlike the model's getCurrentPlayer, this can
+   * be asked even once the game is over.
+   * @return the color of the player to move
+   */
+  public PlayerColor getCurrentPlayer() {
+    return PlayerColor.values()[this.currentPlayerIndex];
+  }
+
+  /**
+   * Returns the number of passes made since the last move, which ends the game once it is 2.
+   * @return the number of passes in a row just made
+   */
+  public int getPassCount() {
+    return this.passCount;
+  }
+
+  /**
+   * Returns the Zobrist key of this position, which is the same as the key a model gives the
+   * same position, as given by {@link ReadOnlyReversiModel#getPositionKey}.
+   * @return the key of the position
+   */
+  public long getPositionKey() {
+    return this.positionKey;
+  }
+
+  /**
+   * Returns the number of discs of the given color on the board.
+   * @param color the color of the player
+   * @return the player's score
+   */
+  public int getPlayerScore(PlayerColor color) {
+    return color == PlayerColor.BLACK
+        ? Long.bitCount(this.blackLow) + Long.bitCount(this.blackHigh)
+        : Long.bitCount(this.whiteLow) + Long.bitCount(this.whiteHigh);
+  }
+
+  /**
+   * Returns the player with the most discs on the board, by the same rules as the model's
+   * getCurrentWinner.
+   * @return the ordinal of the winning color, or 2 if the scores are tied
+   */
+  public int getCurrentWinner() {
+    int blackScore = getPlayerScore(PlayerColor.BLACK);
+    int whiteScore = getPlayerScore(PlayerColor.WHITE);
+    if (blackScore > whiteScore) {
+      return PlayerColor.BLACK.ordinal();
+    }
+    if (whiteScore > blackScore) {
+      return PlayerColor.WHITE.ordinal();
+    }
+    return 2;
+  }
+
+  /**
+   * Returns whether the game is over, by the same rules as the model's isGameOver: two passes
+   * in a row, a full board, or a player with no discs left.
+   * @return true iff the game has ended
+   */
+  public boolean isGameOver() {
+    int blackScore = getPlayerScore(PlayerColor.BLACK);
+    int whiteScore = getPlayerScore(PlayerColor.WHITE);
+    return this.passCount >= 2 || blackScore + whiteScore == this.board.cellCount
+        || blackScore == 0 || whiteScore == 0;
+  }
+
+  /**
+   * Two states are equal if they are on the same board, with the same discs, the same player
+   * to move and the same number of passes just made.
+   * @param other the object to compare to
+   * @return true iff the other object is an equal state
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof GameState)) {
+      return false;
+    }
+    GameState that = (GameState) other;
+    return this.board == that.board && this.blackLow == that.blackLow
+        && this.blackHigh == that.blackHigh && this.whiteLow == that.whiteLow
+        && this.whiteHigh == that.whiteHigh && this.currentPlayerIndex == that.currentPlayerIndex
+        && this.passCount == that.passCount;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(this.positionKey) * 3 + this.passCount;
+  }
+
+  //returns a copy of this state with a disc of the given color added to the given empty cell
+  private GameState with(int cell, PlayerColor color) {
+    long bit = 1L << cell;
+    boolean low = cell < 64;
+    boolean black = color == PlayerColor.BLACK;
+    return new GameState(this.board,
+        this.blackLow | (black && low ? bit : 0), this.blackHigh | (black && !low ? bit : 0),
+        this.whiteLow | (!black && low ? bit : 0), this.whiteHigh | (!black && !low ? bit : 0),
+        this.currentPlayerIndex, this.passCount,
+        this.positionKey ^ this.board.discKey(cell, color.ordinal()));
+  }
+
+  //returns a copy of this state with the given player to move and passes made
+  private GameState withTurn(int playerIndex, int passes) {
+    return new GameState(this.board, this.blackLow, this.blackHigh, this.whiteLow,
+        this.whiteHigh, playerIndex, passes,
+        this.positionKey ^ Zobrist.toMove(this.currentPlayerIndex) ^ Zobrist.toMove(playerIndex));
+  }
+
+  //returns one of the four words this state keeps its discs in: 0 and 1 are the low and high
+  //words of black's discs, and 2 and 3 are white's. together with the player to move, the
+  //passes made and the key, they are everything needed to make the state again with withWords,
+  //for a GameArena, which keeps many games in shared arrays
+  long word(int word) {
+    switch (word) {
+      case 0:
+        return this.blackLow;
+      case 1:
+        return this.blackHigh;
+      case 2:
+        return this.whiteLow;
+      default:
+        return this.whiteHigh;
+    }
+  }
+
+  //returns a state on the same board as this one with the given words (as returned by word),
+  //player to move, passes made and key. nothing is checked, so the caller is responsible for
+  //handing back what an earlier state gave it
+  GameState withWords(long blackLow, long blackHigh, long whiteLow, long whiteHigh,
+                      int currentPlayerIndex, int passCount, long positionKey) {
+    return new GameState(this.board, blackLow, blackHigh, whiteLow, whiteHigh,
+        currentPlayerIndex, passCount, positionKey);
+  }
+
+  //returns a copy of this state with the contents of the space with the given row-order index
+  //changed, or emptied if the color is null, for a GameArena writing through one of its Tiles
+  GameState withContents(int index, PlayerColor color) {
+    int cell = cellAt(index);
+    long bit = 1L << cell;
+    boolean low = cell < 64;
+    long key = this.positionKey;
+    PlayerColor contents = contentsAt(cell);
+    if (contents != null) {
+      key ^= this.board.discKey(cell, contents.ordinal());
+    }
+    GameState cleared = new GameState(this.board,
+        low ? this.blackLow & ~bit : this.blackLow, low ? this.blackHigh : this.blackHigh & ~bit,
+        low ? this.whiteLow & ~bit : this.whiteLow, low ? this.whiteHigh : this.whiteHigh & ~bit,
+        this.currentPlayerIndex, this.passCount, key);
+    return color == null ? cleared : cleared.with(cell, color);
+  }
+
+  //returns the ordinal of the color of the disc in the given cell, or -1 if it is empty
+  private int colorIndexAt(int cell) {
+    PlayerColor contents = contentsAt(cell);
+    return contents == null ? -1 : contents.ordinal();
+  }
+
+  //returns the color of the disc in the given cell, or null if it is empty
+  private PlayerColor contentsAt(int cell) {
+    if (has(this.blackLow, this.blackHigh, cell)) {
+      return PlayerColor.BLACK;
+    }
+    if (has(this.whiteLow, this.whiteHigh, cell)) {
+      return PlayerColor.WHITE;
+    }
+    return null;
+  }
+
+  //returns whether either player has a disc in the given cell
+  private boolean isOccupied(int cell) {
+    return has(this.blackLow | this.whiteLow, this.blackHigh | this.whiteHigh, cell);
+  }
+
+  //returns whether the given cell's bit is set in the pair of words. a shift only looks at the
+  //low six bits of its distance, so 1L << cell is the cell's bit in whichever word holds it
+  private static boolean has(long low, long high, int cell) {
+    return ((cell < 64 ? low : high) & (1L << cell)) != 0;
+  }
+
+  //returns the cell at the given coordinates, or throws if they are not on the board
+  private int cellAt(int q, int r) {
+    if (q < 0 || q >= this.board.size || r < 0 || r >= this.board.size
+        || this.board.cellOf[r * this.board.size + q] < 0) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    return this.board.cellOf[r * this.board.size + q];
+  }
+
+  //returns the cell with the given row-order index, or throws if it is not on the board
+  private int cellAt(int index) {
+    if (index < 0 || index >= this.board.cellOf.length || this.board.cellOf[index] < 0) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    return this.board.cellOf[index];
+  }
+
+  //throws an exception if it is called once the game is over
+  private void throwIfGameOver() {
+    if (isGameOver()) {
+      throw new IllegalStateException("The game is over.");
+    }
+  }
+
+  //the tables for one size and shape of board, made once and shared by every state on it.
+  //the spaces on the board are numbered in row order as cells, which on a square board are
+  //just the row-order indices, and on a hexagonal one skip the corners of the grid
+  private static final class Board {
+    private final boolean hexagonal;
+    private final int size;
+    private final int cellCount;
+    private final int directions;
+    //for each cell, its row-order index, and for each row-order index, its cell or -1
+    private final int[] rowOrder;
+    private final int[] cellOf;
+    //for each cell and direction, the neighboring cell that way, or -1 at the edge of the board
+    private final int[] neighbors;
+    //for each cell, the Zobrist numbers of a black disc in it and of flipping the disc in it
+    private final long[] blackKeys;
+    private final long[] flipKeys;
+    //the state with no discs, black to move and no passes made
+    private final GameState empty;
+
+    private Board(boolean hexagonal, int size) {
+      this.hexagonal = hexagonal;
+      this.size = size;
+      this.cellOf = new int[size * size];
+      int count = 0;
+      int half = size / 2;
+      for (int r = 0; r < size; r++) {
+        for (int q = 0; q < size; q++) {
+          //on a hexagonal board, as in BasicReversi, q + r must be between half and 3 * half
+          boolean onBoard = !hexagonal || (q + r >= half && q + r <= half * 3);
+          this.cellOf[r * size + q] = onBoard ? count++ : -1;
+        }
+      }
+      if (count > MAX_SPACES) {
+        throw new IllegalArgumentException("A GameState can only hold a board of up to "
+            + MAX_SPACES + " spaces.");
+      }
+      this.cellCount = count;
+      this.rowOrder = new int[count];
+      for (int index = 0; index < size * size; index++) {
+        if (this.cellOf[index] >= 0) {
+          this.rowOrder[this.cellOf[index]] = index;
+        }
+      }
+      int[] deltaQ = hexagonal ? HexLayout.DELTA_Q : SQUARE_DELTA_Q;
+      int[] deltaR = hexagonal ? HexLayout.DELTA_R : SQUARE_DELTA_R;
+      this.directions = deltaQ.length;
+      this.neighbors = new int[count * this.directions];
+      this.blackKeys = new long[count];
+      this.flipKeys = new long[count];
+      for (int cell = 0; cell < count; cell++) {
+        int q = this.rowOrder[cell] % size;
+        int r = this.rowOrder[cell] / size;
+        for (int d = 0; d < this.directions; d++) {
+          this.neighbors[cell * this.directions + d] = cellAt(q + deltaQ[d], r + deltaR[d]);
+        }
+        this.blackKeys[cell] = Zobrist.disc(this.rowOrder[cell], PlayerColor.BLACK);
+        this.flipKeys[cell] = Zobrist.flip(this.rowOrder[cell]);
+      }
+      this.empty = new GameState(this, 0, 0, 0, 0, PlayerColor.BLACK.ordinal(), 0, 0);
+    }
+
+    //returns the cell at the given coordinates, or -1 if they are not on the board
+    private int cellAt(int q, int r) {
+      if (q < 0 || q >= this.size || r < 0 || r >= this.size) {
+        return -1;
+      }
+      return this.cellOf[r * this.size + q];
+    }
+
+    //returns the neighbor of a cell in the given direction, or -1 if there is none
+    private int neighbor(int cell, int direction) {
+      return this.neighbors[cell * this.directions + direction];
+    }
+
+    //returns the Zobrist number of a disc of the color with the given ordinal in the given cell
+    private long discKey(int cell, int colorIndex) {
+      return colorIndex == PlayerColor.BLACK.ordinal()
+          ? this.blackKeys[cell] : this.blackKeys[cell] ^ this.flipKeys[cell];
+    }
+  }
+}
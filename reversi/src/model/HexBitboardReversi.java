@@ -0,0 +1,889 @@
+package model;
+
+import controller.ModelEventListener;
+import controller.ReversiController;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Holds the model for a game of hexagonal Reversi, with the same rules as {@link BasicReversi},
+ * but with the board stored as a pair of bitboards instead of a 2D array of Tiles.
+ * The cells of the hexagon are numbered in row order (see {@link HexLayout}), and each color
+ * owns one bit per cell. The standard board, with a side length of 6, has 91 cells and so fits
+ * in two 64-bit words per color; larger boards use as many words as they need.
+ * For every cell and each of the six directions, the model precomputes a ray mask holding every
+ * cell from that one to the edge of the board. A row that would be flipped is then found
+ * with mask operations: the first cell along the ray that is not an opponent's disc is the
+ * lowest (or highest) set bit of the ray without the opponent's discs, and if it is one of the
+ * player's own discs, everything on the ray before it is flipped.
+ * Ray masks grow with the square of the board, so on very large boards the model instead walks
+ * each row through a precomputed neighbor table. Either way, checking or making a move does not
+ * allocate anything.
+ * Tiles returned by getTileAt are live views of the bitboards, so this model can be used
+ * anywhere a BasicReversi is used.
+ */
+public class HexBitboardReversi implements SearchableReversiModel {
+  private static final PlayerColor[] COLORS = PlayerColor.values();
+
+  //the largest number of words the ray mask table may take up before the model falls back
+  //to walking rows through the neighbor table instead (two megabytes)
+  private static final int MAX_RAY_WORDS = 1 << 18;
+
+  //the numbering of the cells of the board
+  private final HexLayout layout;
+
+  //the packed coordinates of the board, for going between row-order indices and coordinates
+  //without creating a Coordinate each time
+  private final CoordinateTable coordinateTable;
+
+  //represents the number of 64-bit words needed to hold one bit per cell
+  private final int words;
+
+  //one bit per cell, set if that cell holds a disc of the given color
+  //INVARIANT: no bit is set in both masks
+  private final long[] black;
+  private final long[] white;
+
+  //for each cell and direction, the cells from that cell (exclusive) to the edge of the board,
+  //stored at ((cell * 6) + direction) * words; null if the board is too large to store them
+  private final long[] rays;
+
+  //scratch mask holding the discs a move would flip, reused on every call
+  private final long[] flips;
+
+  //for each cell, the number of discs next to it, and one bit per cell set if the cell is
+  //empty and next to at least one disc. only these frontier cells can be legal moves, so
+  //looking for a legal move only checks them. both are updated whenever a cell gains or
+  //loses a disc
+  private final int[] adjacentDiscs;
+  private final long[] frontier;
+
+  //live Tile views of the board, created the first time each cell is asked for
+  private final Tile[] tiles;
+  private final CellStore cells;
+
+  //represents the number of recent player actions that were a pass
+  private int passCount;
+
+  //represents the index in the PlayerColor enum of the player whose turn it is
+  //INVARIANT: currentPlayerIndex is less than 2
+  private int currentPlayerIndex;
+
+  //holds the two controllers which listen to the model
+  private final List<ModelEventListener> listeners;
+
+  //the undo log for moves made with makeMove and makePass. each recorded move is pushed as the
+  //index of every cell it flipped, then the index of the cell it placed a disc in (or -1 for a
+  //pass), the number of cells flipped, and the pass count and player index from before the move
+  private int[] undoLog;
+  private int undoSize;
+
+  //a live view of the bitboards for getBoardView, and the version it reports, which changes
+  //every time the contents of any cell change
+  private final BoardView boardView;
+  private long version;
+
+  //the Zobrist key of the discs on the board (see Zobrist), kept up to date as discs are placed
+  //and flipped. the key of the position also depends on the player to move, which is added
+  //when it is asked for
+  private long discKey;
+
+  //the legal moves of the current player as of the last time they were asked for, and the
+  //version of the board, player and pass count they were found for. they are only searched for
+  //again once one of those changes (the pass count ends the game after two passes, which leave
+  //the board and the player to move as they were)
+  private LegalMoves legalMoves;
+  private long legalMovesVersion;
+  private int legalMovesPlayer;
+  private int legalMovesPassCount;
+
+  /**
+   * Constructs a bitboard model for a game of Reversi with 6 tiles on each side,
+   * which is the standard board size.
+   */
+  public HexBitboardReversi() {
+    this(6);
+  }
+
+  /**
+   * Constructs a bitboard model for a game of Reversi, given a side length.
+   * @param sideLength the custom side length
+   * @throws IllegalArgumentException if the given side length is less than 3
+   */
+  public HexBitboardReversi(int sideLength) {
+    this(checkSideLength(sideLength) * 2 - 1, null);
+  }
+
+  /**
+   * Constructs a bitboard model for a game of Reversi, given a starting board for the game.
+   * The given board is read the same way as BasicReversi reads it: the tile at
+   * givenBoard[q][r] is the cell (q, r), and cells off the hexagon are ignored.
+   * @param givenBoard the board with which to start the game
+   */
+  public HexBitboardReversi(Tile[][] givenBoard) {
+    this(checkGivenBoard(givenBoard), givenBoard);
+  }
+
+  //sets up every field of the model, then places the discs of the given board on it,
+  //or the six starting discs if there is no given board
+  private HexBitboardReversi(int boardSize, Tile[][] givenBoard) {
+    this.layout = new HexLayout(boardSize);
+    this.coordinateTable = CoordinateTable.forSize(boardSize);
+    this.words = (this.layout.cellCount + 63) / 64;
+    this.black = new long[this.words];
+    this.white = new long[this.words];
+    this.flips = new long[this.words];
+    this.adjacentDiscs = new int[this.layout.cellCount];
+    this.frontier = new long[this.words];
+    long rayWords = (long) this.layout.cellCount * HexLayout.DELTA_Q.length * this.words;
+    this.rays = rayWords <= MAX_RAY_WORDS ? buildRays() : null;
+    this.tiles = new Tile[this.layout.cellCount];
+    this.cells = new Cells();
+    this.passCount = 0;
+    this.currentPlayerIndex = 0;
+    this.listeners = new ArrayList<>();
+    this.undoLog = new int[this.layout.cellCount * 4];
+    this.undoSize = 0;
+    this.boardView = new View();
+    this.version = 0;
+    this.discKey = 0;
+    this.legalMoves = null;
+    if (givenBoard == null) {
+      placeStartingTiles();
+    } else {
+      for (int cell = 0; cell < this.layout.cellCount; cell++) {
+        Tile tile = givenBoard[this.layout.q(cell)][this.layout.r(cell)];
+        if (!tile.isEmpty()) {
+          setBit(discsOf(tile.getContents()), cell);
+          this.discKey ^= discKey(cell, tile.getContents());
+          occupancyChanged(cell, 1);
+        }
+      }
+    }
+  }
+
+  //side lengths of less than 3 result in an invalid/unplayable board
+  private static int checkSideLength(int sideLength) {
+    if (sideLength < 3) {
+      throw new IllegalArgumentException("Minimum side length of 3 required"
+          + "for a playable game of Reversi.");
+    }
+    return sideLength;
+  }
+
+  //makes sure a given starting board can be played on, and returns its size
+  private static int checkGivenBoard(Tile[][] givenBoard) {
+    if (givenBoard == null || givenBoard.length < 5) {
+      throw new IllegalArgumentException("Minimum side length of 3 required"
+          + "for a playable game of Reversi.");
+    }
+    return givenBoard.length;
+  }
+
+  //builds the ray mask of every cell in every direction by walking the neighbor table
+  private long[] buildRays() {
+    int directions = HexLayout.DELTA_Q.length;
+    long[] rays = new long[this.layout.cellCount * directions * this.words];
+    for (int cell = 0; cell < this.layout.cellCount; cell++) {
+      for (int d = 0; d < directions; d++) {
+        int offset = (cell * directions + d) * this.words;
+        for (int next = this.layout.neighbor(cell, d); next >= 0;
+             next = this.layout.neighbor(next, d)) {
+          rays[offset + (next >>> 6)] |= 1L << next;
+        }
+      }
+    }
+    return rays;
+  }
+
+  //sets up game state by placing alternating discs in the tiles around the center of the board
+  private void placeStartingTiles() {
+    int center = this.layout.index(this.layout.boardSize / 2, this.layout.boardSize / 2);
+    for (int d = 0; d < HexLayout.DELTA_Q.length; d++) {
+      //black on even directions (right, bottom left, top left), white on the others
+      int cell = this.layout.neighbor(center, d);
+      setBit(d % 2 == 0 ? this.black : this.white, cell);
+      this.discKey ^= discKey(cell, d % 2 == 0 ? PlayerColor.BLACK : PlayerColor.WHITE);
+      occupancyChanged(cell, 1);
+    }
+  }
+
+  @Override
+  public void move(Coordinate coordinate) {
+    throwIfGameOver();
+    moveTo(cellAt(coordinate));
+  }
+
+  @Override
+  public void move(int index) {
+    throwIfGameOver();
+    moveTo(cellAt(index));
+  }
+
+  //makes a move at the given cell, once it is known to be on the board
+  private void moveTo(int cell) {
+    long[] own = discsOf(getCurrentPlayer());
+    long[] opponent = own == this.black ? this.white : this.black;
+    if (findFlips(cell, own, opponent) == 0) {
+      throw new IllegalStateException("Invalid move.");
+    }
+    if (isOccupied(cell)) {
+      throw new IllegalStateException("Cannot place a disc on a nonempty tile.");
+    }
+    //place the disc, then move every flipped disc from the opponent's mask to the player's
+    this.discKey ^= discKey(cell, getCurrentPlayer()) ^ flipsKey();
+    setBit(own, cell);
+    for (int w = 0; w < this.words; w++) {
+      own[w] |= this.flips[w];
+      opponent[w] &= ~this.flips[w];
+    }
+    occupancyChanged(cell, 1);
+
+    this.version++;
+
+    //after every move, the most recent action was a move so pass count should be zero
+    this.passCount = 0;
+    updatePlayer();
+    //a move made for real can't be undone, and neither can anything recorded before it
+    this.undoSize = 0;
+    notifyTurn();
+  }
+
+  @Override
+  public boolean isMoveLegal(Coordinate coordinate) {
+    return isMoveLegalAt(cellAt(coordinate));
+  }
+
+  @Override
+  public boolean isMoveLegal(int index) {
+    return isMoveLegalAt(cellAt(index));
+  }
+
+  //returns whether a move at the given cell is legal
+  private boolean isMoveLegalAt(int cell) {
+    long[] own = discsOf(getCurrentPlayer());
+    return findFlips(cell, own, own == this.black ? this.white : this.black) > 0
+        && !isOccupied(cell);
+  }
+
+  @Override
+  public boolean playerHasLegalMoves() {
+    return getLegalMoves().size() > 0;
+  }
+
+  @Override
+  public List<Coordinate> getFrontier() {
+    List<Coordinate> coordinates = new ArrayList<>();
+    for (int w = 0; w < this.words; w++) {
+      for (long bits = this.frontier[w]; bits != 0; bits &= bits - 1) {
+        int cell = (w << 6) + Long.numberOfTrailingZeros(bits);
+        coordinates.add(this.coordinateTable.coordinate(rowOrder(cell)));
+      }
+    }
+    return coordinates;
+  }
+
+  @Override
+  public LegalMoves getLegalMoves() {
+    if (this.legalMoves == null || this.legalMovesVersion != this.version
+        || this.legalMovesPlayer != this.currentPlayerIndex
+        || this.legalMovesPassCount != this.passCount) {
+      if (isGameOver()) {
+        //nobody can move once the game is over
+        this.legalMoves = new LegalMoves(this.layout.boardSize, new int[0], new int[0], 0);
+      } else {
+        long[] own = discsOf(getCurrentPlayer());
+        long[] opponent = own == this.black ? this.white : this.black;
+        int candidates = 0;
+        for (int w = 0; w < this.words; w++) {
+          candidates += Long.bitCount(this.frontier[w]);
+        }
+        int[] indices = new int[candidates];
+        int[] flipCounts = new int[candidates];
+        int size = 0;
+        //cells are numbered in row order, so the moves come out in row order too
+        for (int w = 0; w < this.words; w++) {
+          for (long bits = this.frontier[w]; bits != 0; bits &= bits - 1) {
+            int cell = (w << 6) + Long.numberOfTrailingZeros(bits);
+            int flipCount = findFlips(cell, own, opponent);
+            if (flipCount > 0) {
+              indices[size] = rowOrder(cell);
+              flipCounts[size] = flipCount;
+              size++;
+            }
+          }
+        }
+        this.legalMoves = new LegalMoves(this.layout.boardSize, indices, flipCounts, size);
+      }
+      this.legalMovesVersion = this.version;
+      this.legalMovesPlayer = this.currentPlayerIndex;
+      this.legalMovesPassCount = this.passCount;
+    }
+    return this.legalMoves;
+  }
+
+  //updates the frontier after the given cell gains (change = 1) or loses (change = -1) a disc
+  private void occupancyChanged(int cell, int change) {
+    for (int d = 0; d < HexLayout.DELTA_Q.length; d++) {
+      int neighbor = this.layout.neighbor(cell, d);
+      if (neighbor >= 0) {
+        this.adjacentDiscs[neighbor] += change;
+        updateFrontier(neighbor);
+      }
+    }
+    updateFrontier(cell);
+  }
+
+  //sets the frontier bit of the given cell if it is empty and next to a disc, or clears it if not
+  private void updateFrontier(int cell) {
+    if (!isOccupied(cell) && this.adjacentDiscs[cell] > 0) {
+      setBit(this.frontier, cell);
+    } else {
+      clearBit(this.frontier, cell);
+    }
+  }
+
+  @Override
+  public int getMoveScore(Coordinate coordinate) {
+    return getMoveScoreAt(cellAt(coordinate));
+  }
+
+  @Override
+  public int getMoveScore(int index) {
+    return getMoveScoreAt(cellAt(index));
+  }
+
+  //returns the number of discs a move at the given cell would flip, or 0 if it is occupied
+  private int getMoveScoreAt(int cell) {
+    if (isOccupied(cell)) {
+      return 0;
+    }
+    long[] own = discsOf(getCurrentPlayer());
+    return findFlips(cell, own, own == this.black ? this.white : this.black);
+  }
+
+  @Override
+  public int[] getFlips(Coordinate coordinate) {
+    return getFlipsAt(cellAt(coordinate));
+  }
+
+  @Override
+  public int[] getFlips(int index) {
+    return getFlipsAt(cellAt(index));
+  }
+
+  //returns the row-order indices of the discs a move at the given cell would flip, which the
+  //flips mask already has in order, since the cells are numbered in row order
+  private int[] getFlipsAt(int cell) {
+    if (isOccupied(cell)) {
+      return new int[0];
+    }
+    long[] own = discsOf(getCurrentPlayer());
+    int[] indices = new int[findFlips(cell, own, own == this.black ? this.white : this.black)];
+    int size = 0;
+    for (int w = 0; w < this.words; w++) {
+      for (long bits = this.flips[w]; bits != 0; bits &= bits - 1) {
+        indices[size++] = rowOrder((w << 6) + Long.numberOfTrailingZeros(bits));
+      }
+    }
+    return indices;
+  }
+
+  //finds every disc that a move at the given cell would flip, and leaves them in the flips mask.
+  //returns the number of discs that would be flipped
+  private int findFlips(int cell, long[] own, long[] opponent) {
+    for (int w = 0; w < this.words; w++) {
+      this.flips[w] = 0L;
+    }
+    int count = 0;
+    for (int d = 0; d < HexLayout.DELTA_Q.length; d++) {
+      count += this.rays == null
+          ? walkRow(cell, d, own, opponent)
+          : maskRow(cell, d, own, opponent);
+    }
+    return count;
+  }
+
+  //adds the discs flipped in one direction to the flips mask using the ray masks, and returns
+  //how many there are. the first three directions always lead to higher-numbered cells and the
+  //last three to lower-numbered cells, so the cell that ends the run of opponent discs is the
+  //lowest or highest bit of the ray that is not an opponent's disc.
+  private int maskRow(int cell, int direction, long[] own, long[] opponent) {
+    int directions = HexLayout.DELTA_Q.length;
+    int ray = (cell * directions + direction) * this.words;
+    int end = -1;
+    if (direction < directions / 2) {
+      for (int w = 0; w < this.words && end < 0; w++) {
+        long open = this.rays[ray + w] & ~opponent[w];
+        if (open != 0) {
+          end = (w << 6) + Long.numberOfTrailingZeros(open);
+        }
+      }
+    } else {
+      for (int w = this.words - 1; w >= 0 && end < 0; w--) {
+        long open = this.rays[ray + w] & ~opponent[w];
+        if (open != 0) {
+          end = (w << 6) + 63 - Long.numberOfLeadingZeros(open);
+        }
+      }
+    }
+    //the run must be closed off by one of the player's own discs
+    if (end < 0 || !testBit(own, end)) {
+      return 0;
+    }
+    //everything on this cell's ray that is not on the end cell's ray is between the two
+    int endRay = (end * directions + direction) * this.words;
+    int count = 0;
+    for (int w = 0; w < this.words; w++) {
+      long between = this.rays[ray + w] & ~this.rays[endRay + w];
+      if (w == end >>> 6) {
+        between &= ~(1L << end);
+      }
+      this.flips[w] |= between;
+      count += Long.bitCount(between);
+    }
+    return count;
+  }
+
+  //adds the discs flipped in one direction to the flips mask by stepping from cell to cell,
+  //and returns how many there are. used when the board is too large to store ray masks.
+  private int walkRow(int cell, int direction, long[] own, long[] opponent) {
+    int count = 0;
+    int next = this.layout.neighbor(cell, direction);
+    while (next >= 0 && testBit(opponent, next)) {
+      count++;
+      next = this.layout.neighbor(next, direction);
+    }
+    if (count == 0 || next < 0 || !testBit(own, next)) {
+      return 0;
+    }
+    for (int flip = this.layout.neighbor(cell, direction); flip != next;
+         flip = this.layout.neighbor(flip, direction)) {
+      setBit(this.flips, flip);
+    }
+    return count;
+  }
+
+  //returns the cell at the given coordinate, which must be on the board
+  private int cellAt(Coordinate coordinate) {
+    int cell = this.layout.index(coordinate.getQ(), coordinate.getR());
+    if (cell < 0) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    return cell;
+  }
+
+  //returns the number of the cell with the given row-order index, throwing if it is not a cell
+  //of the board
+  private int cellAt(int index) {
+    int boardSize = this.layout.boardSize;
+    if (index < 0 || index >= boardSize * boardSize) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    int cell = this.layout.index(this.coordinateTable.q(index), this.coordinateTable.r(index));
+    if (cell < 0) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    return cell;
+  }
+
+  //returns the number of bits set in the given mask
+  private static int count(long[] mask) {
+    int count = 0;
+    for (long word : mask) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  //sets a single bit of the given mask
+  private static void setBit(long[] mask, int index) {
+    mask[index >>> 6] |= 1L << index;
+  }
+
+  //clears a single bit of the given mask
+  private static void clearBit(long[] mask, int index) {
+    mask[index >>> 6] &= ~(1L << index);
+  }
+
+  //returns whether a single bit of the given mask is set
+  private static boolean testBit(long[] mask, int index) {
+    return (mask[index >>> 6] & (1L << index)) != 0;
+  }
+
+  //returns whether either player has a disc in the given cell
+  private boolean isOccupied(int cell) {
+    return testBit(this.black, cell) || testBit(this.white, cell);
+  }
+
+  //returns the mask holding the discs of the given color
+  private long[] discsOf(PlayerColor color) {
+    return color == PlayerColor.BLACK ? this.black : this.white;
+  }
+
+  //returns the color of the disc in the given cell, or null if it is empty
+  private PlayerColor contentsAt(int cell) {
+    if (testBit(this.black, cell)) {
+      return PlayerColor.BLACK;
+    }
+    if (testBit(this.white, cell)) {
+      return PlayerColor.WHITE;
+    }
+    return null;
+  }
+
+  @Override
+  public long getPositionKey() {
+    return this.discKey ^ Zobrist.toMove(this.currentPlayerIndex);
+  }
+
+  //returns the row-order index of the given cell, which is how Zobrist numbers the spaces of
+  //the board, so that this model gives a position the same key as BasicReversi does
+  private int rowOrder(int cell) {
+    return this.layout.r(cell) * this.layout.boardSize + this.layout.q(cell);
+  }
+
+  //returns the Zobrist number of a disc of the given color in the given cell
+  private long discKey(int cell, PlayerColor color) {
+    return Zobrist.disc(rowOrder(cell), color);
+  }
+
+  //returns what flipping every disc in the flips mask does to the key
+  private long flipsKey() {
+    long key = 0;
+    for (int w = 0; w < this.words; w++) {
+      for (long bits = this.flips[w]; bits != 0; bits &= bits - 1) {
+        key ^= Zobrist.flip(rowOrder((w << 6) + Long.numberOfTrailingZeros(bits)));
+      }
+    }
+    return key;
+  }
+
+  @Override
+  public BoardView getBoardView() {
+    return this.boardView;
+  }
+
+  @Override
+  public Tile[][] getBoard() {
+    int boardSize = this.layout.boardSize;
+    //cells off the hexagon are left as null placeholders, as in BasicReversi
+    Tile[][] board = new Tile[boardSize][boardSize];
+    for (int cell = 0; cell < this.layout.cellCount; cell++) {
+      int q = this.layout.q(cell);
+      int r = this.layout.r(cell);
+      board[q][r] = new Tile(q, r);
+      PlayerColor contents = contentsAt(cell);
+      if (contents != null) {
+        board[q][r].placeDisc(contents);
+      }
+    }
+    return board;
+  }
+
+  @Override
+  public void pass() {
+    throwIfGameOver();
+    updatePlayer();
+    //after every pass, the most recent action was a pass so pass count increments
+    this.passCount++;
+    //a pass made for real can't be undone, and neither can anything recorded before it
+    this.undoSize = 0;
+    notifyTurn();
+  }
+
+  @Override
+  public void makeMove(Coordinate coordinate) {
+    throwIfGameOver();
+    makeMoveAt(cellAt(coordinate));
+  }
+
+  @Override
+  public void makeMove(int index) {
+    throwIfGameOver();
+    makeMoveAt(cellAt(index));
+  }
+
+  //makes and records a move at the given cell, once it is known to be on the board
+  private void makeMoveAt(int cell) {
+    long[] own = discsOf(getCurrentPlayer());
+    long[] opponent = own == this.black ? this.white : this.black;
+    int flipCount = findFlips(cell, own, opponent);
+    if (flipCount == 0) {
+      throw new IllegalStateException("Invalid move.");
+    }
+    if (isOccupied(cell)) {
+      throw new IllegalStateException("Cannot place a disc on a nonempty tile.");
+    }
+    ensureUndoCapacity(flipCount + 4);
+    this.discKey ^= discKey(cell, getCurrentPlayer()) ^ flipsKey();
+    //record every flipped disc as it is moved from the opponent's mask to the player's
+    for (int w = 0; w < this.words; w++) {
+      for (long bits = this.flips[w]; bits != 0; bits &= bits - 1) {
+        this.undoLog[this.undoSize++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+      }
+      own[w] |= this.flips[w];
+      opponent[w] &= ~this.flips[w];
+    }
+    setBit(own, cell);
+    occupancyChanged(cell, 1);
+    pushUndoFrame(cell, flipCount);
+    this.version++;
+    this.passCount = 0;
+    updatePlayer();
+  }
+
+  @Override
+  public int generateMoves(int[] moves) {
+    if (moves == null) {
+      throw new IllegalArgumentException("Cannot write moves to a null array.");
+    }
+    if (isGameOver()) {
+      return 0;
+    }
+    long[] own = discsOf(getCurrentPlayer());
+    long[] opponent = own == this.black ? this.white : this.black;
+    int size = 0;
+    //cells are numbered in row order, so the moves come out in row order too
+    for (int w = 0; w < this.words; w++) {
+      for (long bits = this.frontier[w]; bits != 0; bits &= bits - 1) {
+        int cell = (w << 6) + Long.numberOfTrailingZeros(bits);
+        if (findFlips(cell, own, opponent) > 0) {
+          if (size == moves.length) {
+            throw new IllegalArgumentException("The array is too short to hold every move.");
+          }
+          moves[size++] = rowOrder(cell);
+        }
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public void makePass() {
+    throwIfGameOver();
+    ensureUndoCapacity(4);
+    pushUndoFrame(-1, 0);
+    updatePlayer();
+    this.passCount++;
+  }
+
+  @Override
+  public void unmakeMove() {
+    if (this.undoSize == 0) {
+      throw new IllegalStateException("There is no move to undo.");
+    }
+    this.currentPlayerIndex = this.undoLog[--this.undoSize];
+    this.passCount = this.undoLog[--this.undoSize];
+    int flipCount = this.undoLog[--this.undoSize];
+    int placed = this.undoLog[--this.undoSize];
+    //every flipped disc changes color back, which toggles its bit in both masks
+    for (int i = 0; i < flipCount; i++) {
+      int flipped = this.undoLog[--this.undoSize];
+      this.discKey ^= Zobrist.flip(rowOrder(flipped));
+      this.black[flipped >>> 6] ^= 1L << flipped;
+      this.white[flipped >>> 6] ^= 1L << flipped;
+    }
+    if (placed >= 0) {
+      this.version++;
+      this.discKey ^= discKey(placed, contentsAt(placed));
+      clearBit(this.black, placed);
+      clearBit(this.white, placed);
+      occupancyChanged(placed, -1);
+    }
+  }
+
+  //makes sure the undo log has room for the given number of entries, growing it if not
+  private void ensureUndoCapacity(int entries) {
+    if (this.undoSize + entries > this.undoLog.length) {
+      this.undoLog = Arrays.copyOf(this.undoLog,
+          Math.max(this.undoLog.length * 2, this.undoSize + entries));
+    }
+  }
+
+  //finishes recording a move by pushing the cell it placed a disc in (or -1 for a pass),
+  //the number of discs it flipped, and the pass count and player index from before it
+  private void pushUndoFrame(int placed, int flipCount) {
+    this.undoLog[this.undoSize++] = placed;
+    this.undoLog[this.undoSize++] = flipCount;
+    this.undoLog[this.undoSize++] = this.passCount;
+    this.undoLog[this.undoSize++] = this.currentPlayerIndex;
+  }
+
+  @Override
+  public PlayerColor getCurrentPlayer() {
+    throwIfGameOver();
+    return COLORS[this.currentPlayerIndex];
+  }
+
+  //updates the player index so that the next move is made by the next player
+  private void updatePlayer() {
+    this.currentPlayerIndex = (this.currentPlayerIndex + 1) % COLORS.length;
+  }
+
+  @Override
+  public boolean isGameOver() {
+    int blackScore = count(this.black);
+    int whiteScore = count(this.white);
+    boolean boardFull = blackScore + whiteScore == this.layout.cellCount;
+    //if two both players have passed consecutively or the board is full, the game is over
+    return this.passCount >= 2 || boardFull || blackScore == 0 || whiteScore == 0;
+  }
+
+  @Override
+  public int getCurrentWinner() {
+    int blackScore = count(this.black);
+    int whiteScore = count(this.white);
+    if (blackScore > whiteScore) {
+      return PlayerColor.BLACK.ordinal();
+    }
+    if (whiteScore > blackScore) {
+      return PlayerColor.WHITE.ordinal();
+    }
+    return 2;
+  }
+
+  @Override
+  public int getPlayerScore(PlayerColor color) {
+    return count(discsOf(color));
+  }
+
+  @Override
+  public Tile getTileAt(Coordinate coordinate) {
+    int boardSize = this.layout.boardSize;
+    if (coordinate.getQ() >= boardSize || coordinate.getR() >= boardSize) {
+      throw new IllegalArgumentException("Coordinate is invalid.");
+    }
+    return getTileAt(coordinate.getR() * boardSize + coordinate.getQ());
+  }
+
+  @Override
+  public Tile getTileAt(int index) {
+    int boardSize = this.layout.boardSize;
+    if (index < 0 || index >= boardSize * boardSize) {
+      throw new IllegalArgumentException("Coordinate is invalid.");
+    }
+    int q = this.coordinateTable.q(index);
+    int r = this.coordinateTable.r(index);
+    int cell = this.layout.index(q, r);
+    //spaces in the corners of the array are not on the hexagon, and have no tile
+    if (cell < 0) {
+      return null;
+    }
+    if (this.tiles[cell] == null) {
+      this.tiles[cell] = new BoardTile(q, r, this.cells, cell);
+    }
+    return this.tiles[cell];
+  }
+
+  @Override
+  public int getBoardSize() {
+    return this.layout.boardSize;
+  }
+
+  //throws an exception if it is called once the game is over
+  private void throwIfGameOver() {
+    if (isGameOver()) {
+      throw new IllegalStateException("The game is over.");
+    }
+  }
+
+  @Override
+  public void startGame() {
+    for (ModelEventListener listener : this.listeners) {
+      listener.initializeGame();
+    }
+    activateFirstTurn();
+  }
+
+  //finds the first controller in the listener list and activates it as the black player.
+  private void activateFirstTurn() {
+    for (ModelEventListener listener : this.listeners) {
+      if (listener instanceof ReversiController) {
+        listener.updateTurn();
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void addListener(ModelEventListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Cannot provide a null listener to the model.");
+    }
+    this.listeners.add(listener);
+  }
+
+  @Override
+  public void notifyTurn() {
+    for (ModelEventListener listener : this.listeners) {
+      listener.updateTurn();
+    }
+  }
+
+  //lets the Tile views handed out by getTileAt read and write the bitboards
+  private class Cells implements CellStore {
+    @Override
+    public PlayerColor getCell(int index) {
+      return contentsAt(index);
+    }
+
+    @Override
+    public void setCell(int index, PlayerColor color) {
+      version++;
+      //XOR out the disc that was there, if any, and XOR in the new one
+      if (contentsAt(index) != null) {
+        discKey ^= discKey(index, contentsAt(index));
+      }
+      if (color != null) {
+        discKey ^= discKey(index, color);
+      }
+      boolean wasOccupied = isOccupied(index);
+      clearBit(black, index);
+      clearBit(white, index);
+      if (color != null) {
+        setBit(discsOf(color), index);
+      }
+      if (wasOccupied != (color != null)) {
+        occupancyChanged(index, color != null ? 1 : -1);
+      }
+    }
+  }
+
+  //lets callers read the bitboards through getBoardView without copying them
+  private class View implements BoardView {
+    @Override
+    public int getBoardSize() {
+      return layout.boardSize;
+    }
+
+    @Override
+    public long getVersion() {
+      return version;
+    }
+
+    @Override
+    public boolean isOnBoard(int q, int r) {
+      return layout.index(q, r) >= 0;
+    }
+
+    @Override
+    public PlayerColor getContents(int q, int r) {
+      int cell = layout.index(q, r);
+      if (cell < 0) {
+        throw new IllegalArgumentException("Coordinate is invalid.");
+      }
+      return contentsAt(cell);
+    }
+
+    @Override
+    public PlayerColor getContents(int index) {
+      if (index < 0) {
+        throw new IllegalArgumentException("Coordinate is invalid.");
+      }
+      return getContents(index % layout.boardSize, index / layout.boardSize);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package model;
+
+/**
+ * Package-private lookup tables for the cells of a hexagonal board of a given size, for models
+ * that number the cells of the board instead of storing them in a 2D array.
+ * The cells that are actually on the board (the ones BasicReversi's getTileAt does not return
+ * null for) are numbered in row order: every cell of row r = 0 from left to right,
+ * then every cell of row r = 1, and so on. Each row is a run of q values, so a cell's number is
+ * the start of its row plus how far its q value is from the first q value of the row.
+ */
+final class HexLayout {
+  //the change in q and r for each of the six directions a row can run in, in the same order as
+  //BasicReversi's: right, bottom right, bottom left, left, top left, top right
+  static final int[] DELTA_Q = {1, 0, -1, -1, 0, 1};
+  static final int[] DELTA_R = {0, 1, 1, 0, -1, -1};
+
+  //the number of tiles in the longest row of the board
+  final int boardSize;
+
+  //the number of cells on the board
+  final int cellCount;
+
+  //for each row, the number of its first cell, and the q value of that cell
+  private final int[] rowStart;
+  private final int[] rowFirstQ;
+
+  //for each row, the q value of its last cell
+  private final int[] rowLastQ;
+
+  //for each cell, its axial coordinates
+  private final int[] cellQ;
+  private final int[] cellR;
+
+  //for each cell and direction, the number of the neighboring cell that way,
+  //or -1 if the cell is on that edge of the board
+  private final int[] neighbors;
+
+  /**
+   * Builds the tables for a hexagonal board with the given number of tiles in its longest row.
+   * @param boardSize the size of the board, which is odd
+   */
+  HexLayout(int boardSize) {
+    this.boardSize = boardSize;
+    int half = boardSize / 2;
+    this.rowStart = new int[boardSize];
+    this.rowFirstQ = new int[boardSize];
+    this.rowLastQ = new int[boardSize];
+    int count = 0;
+    for (int r = 0; r < boardSize; r++) {
+      //a cell is on the board if q + r is between half and 3 * half, as in BasicReversi
+      this.rowFirstQ[r] = Math.max(0, half - r);
+      this.rowLastQ[r] = Math.min(boardSize - 1, 3 * half - r);
+      this.rowStart[r] = count;
+      count += this.rowLastQ[r] - this.rowFirstQ[r] + 1;
+    }
+    this.cellCount = count;
+    this.cellQ = new int[count];
+    this.cellR = new int[count];
+    for (int r = 0; r < boardSize; r++) {
+      for (int q = this.rowFirstQ[r]; q <= this.rowLastQ[r]; q++) {
+        this.cellQ[index(q, r)] = q;
+        this.cellR[index(q, r)] = r;
+      }
+    }
+    this.neighbors = new int[count * DELTA_Q.length];
+    for (int cell = 0; cell < count; cell++) {
+      for (int d = 0; d < DELTA_Q.length; d++) {
+        this.neighbors[cell * DELTA_Q.length + d] =
+            index(this.cellQ[cell] + DELTA_Q[d], this.cellR[cell] + DELTA_R[d]);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of the cell at the given coordinates, or -1 if they are not on the board.
+   * @param q the q-coordinate of the cell
+   * @param r the r-coordinate of the cell
+   * @return the cell's number
+   */
+  int index(int q, int r) {
+    if (r < 0 || r >= this.boardSize || q < this.rowFirstQ[r] || q > this.rowLastQ[r]) {
+      return -1;
+    }
+    return this.rowStart[r] + q - this.rowFirstQ[r];
+  }
+
+  /**
+   * Returns the q-coordinate of the given cell.
+   * @param cell the cell's number
+   * @return its q value
+   */
+  int q(int cell) {
+    return this.cellQ[cell];
+  }
+
+  /**
+   * Returns the r-coordinate of the given cell.
+   * @param cell the cell's number
+   * @return its r value
+   */
+  int r(int cell) {
+    return this.cellR[cell];
+  }
+
+  /**
+   * Returns the neighbor of a cell in the given direction.
+   * @param cell the cell's number
+   * @param direction the index of the direction in DELTA_Q and DELTA_R
+   * @return the neighboring cell's number, or -1 if there is none
+   */
+  int neighbor(int cell, int direction) {
+    return this.neighbors[cell * DELTA_Q.length + direction];
+  }
+}
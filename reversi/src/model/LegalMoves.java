@@ -0,0 +1,145 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Every legal move for the current player of a game of Reversi, with the number of discs each
+ * would flip, found in a single pass over the board by {@link ReadOnlyReversiModel#getLegalMoves}.
+ * The moves are kept in parallel arrays of primitives, in row order (upper-left-most first),
+ * and read by their position in the list, from 0 to size() - 1.
+ * A LegalMoves never changes once it is made. A model hands out the same one until its board
+ * or the player to move changes, so the controllers, views and strategies looking at the same
+ * turn all share one search for moves.
+ */
+public final class LegalMoves {
+  private final int boardSize;
+  private final CoordinateTable coordinateTable;
+  //the row-order index (r * boardSize + q) of each move, in increasing order
+  private final int[] indices;
+  //the number of discs each move would flip
+  private final int[] flipCounts;
+  private final int size;
+
+  /**
+   * Constructs a list of legal moves from the given moves, for anything other than a model
+   * that needs to hand out a list of legal moves of its own, such as a mock model in a test.
+   * @param boardSize the size of the board the moves are on
+   * @param indices the row-order index of each move, r * boardSize + q, in increasing order
+   * @param flipCounts the number of discs each move would flip
+   * @throws IllegalArgumentException if the arrays are null or of different lengths, or the
+   *     indices are not in increasing order on the board, or a move would flip nothing
+   */
+  public LegalMoves(int boardSize, int[] indices, int[] flipCounts) {
+    if (indices == null || flipCounts == null || indices.length != flipCounts.length) {
+      throw new IllegalArgumentException("Every move must have exactly one flip count.");
+    }
+    for (int i = 0; i < indices.length; i++) {
+      if (indices[i] < 0 || indices[i] >= boardSize * boardSize
+          || (i > 0 && indices[i] <= indices[i - 1])) {
+        throw new IllegalArgumentException("Moves must be on the board and in row order.");
+      }
+      if (flipCounts[i] < 1) {
+        throw new IllegalArgumentException("A legal move must flip at least one disc.");
+      }
+    }
+    this.boardSize = boardSize;
+    this.coordinateTable = CoordinateTable.forSize(boardSize);
+    this.indices = indices.clone();
+    this.flipCounts = flipCounts.clone();
+    this.size = indices.length;
+  }
+
+  //models use this instead, handing over arrays they no longer touch, of which only the first
+  //size entries are moves
+  LegalMoves(int boardSize, int[] indices, int[] flipCounts, int size) {
+    this.boardSize = boardSize;
+    this.coordinateTable = CoordinateTable.forSize(boardSize);
+    this.indices = indices;
+    this.flipCounts = flipCounts;
+    this.size = size;
+  }
+
+  /**
+   * Returns the number of legal moves.
+   * @return the number of legal moves, which is 0 if the current player has to pass
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the row-order index of the move at the given position in the list.
+   * @param i the position of the move in the list
+   * @return the index of the move's space, r * boardSize + q
+   * @throws IndexOutOfBoundsException if there is no move at that position
+   */
+  public int getIndex(int i) {
+    checkPosition(i);
+    return this.indices[i];
+  }
+
+  /**
+   * Returns the q-coordinate of the move at the given position in the list.
+   * @param i the position of the move in the list
+   * @return the q-coordinate of the move's space
+   * @throws IndexOutOfBoundsException if there is no move at that position
+   */
+  public int getQ(int i) {
+    return this.coordinateTable.q(getIndex(i));
+  }
+
+  /**
+   * Returns the r-coordinate of the move at the given position in the list.
+   * @param i the position of the move in the list
+   * @return the r-coordinate of the move's space
+   * @throws IndexOutOfBoundsException if there is no move at that position
+   */
+  public int getR(int i) {
+    return this.coordinateTable.r(getIndex(i));
+  }
+
+  /**
+   * Returns the coordinate of the move at the given position in the list, which is the one
+   * shared by every user of the board's {@link CoordinateTable}.
+   * @param i the position of the move in the list
+   * @return the coordinate of the move's space
+   * @throws IndexOutOfBoundsException if there is no move at that position
+   */
+  public Coordinate getCoordinate(int i) {
+    return this.coordinateTable.coordinate(getIndex(i));
+  }
+
+  /**
+   * Returns the number of discs the move at the given position in the list would flip.
+   * @param i the position of the move in the list
+   * @return the number of discs the move would flip, which is always at least 1
+   * @throws IndexOutOfBoundsException if there is no move at that position
+   */
+  public int getFlipCount(int i) {
+    checkPosition(i);
+    return this.flipCounts[i];
+  }
+
+  /**
+   * Returns the number of discs a move at the given space would flip, which, like the model's
+   * getMoveScore, is 0 if the move is not legal.
+   * @param q the q-coordinate of the space
+   * @param r the r-coordinate of the space
+   * @return the number of discs the move would flip, or 0 if it is not a legal move
+   */
+  public int getMoveScore(int q, int r) {
+    if (q < 0 || q >= this.boardSize || r < 0 || r >= this.boardSize) {
+      return 0;
+    }
+    //the indices are in increasing order, so the move can be found by binary search
+    int i = Arrays.binarySearch(this.indices, 0, this.size, r * this.boardSize + q);
+    return i < 0 ? 0 : this.flipCounts[i];
+  }
+
+  //makes sure there is a move at the given position in the list
+  private void checkPosition(int i) {
+    if (i < 0 || i >= this.size) {
+      throw new IndexOutOfBoundsException("There is no legal move at position " + i + ".");
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package model;
+
+/**
+ * An immutable array of cells, each holding nothing, a black disc or a white disc, which can be
+ * changed only by making a new array that shares every untouched part with the old one.
+ * The cells are kept in a tree. Each leaf of the tree is a block of eight 64-bit words holding
+ * two bits per cell, or 256 cells, and each node above the leaves holds eight children.
+ * Changing some cells copies only the leaves holding them and the nodes on the paths from those
+ * leaves to the root, so making a changed copy costs time and memory in proportion to the number
+ * of cells changed rather than the size of the board.
+ */
+final class PersistentCells {
+  //the number of children of each node, and the number of words in each leaf
+  private static final int WIDTH = 8;
+
+  //the colors a cell can hold, by their value in the cell's two bits minus one
+  private static final PlayerColor[] COLORS = PlayerColor.values();
+
+  //the number of cells held by one word and by one leaf
+  private static final int CELLS_PER_WORD = 32;
+  private static final int CELLS_PER_LEAF = WIDTH * CELLS_PER_WORD;
+
+  //the root of the tree, which is a leaf (a long[]) if levels is 0, and a node (an Object[])
+  //holding subtrees one level lower otherwise
+  private final Object root;
+
+  //the number of levels of nodes above the leaves
+  private final int levels;
+
+  private PersistentCells(Object root, int levels) {
+    this.root = root;
+    this.levels = levels;
+  }
+
+  /**
+   * Makes an array of the given number of cells, all of them empty.
+   * Every leaf and node of the empty tree at the same level is the same object, since none of
+   * them can ever be changed.
+   * @param cellCount the number of cells
+   * @return the empty array
+   */
+  static PersistentCells empty(int cellCount) {
+    Object node = new long[WIDTH];
+    int levels = 0;
+    for (long span = CELLS_PER_LEAF; span < cellCount; span *= WIDTH) {
+      Object[] parent = new Object[WIDTH];
+      for (int i = 0; i < WIDTH; i++) {
+        parent[i] = node;
+      }
+      node = parent;
+      levels++;
+    }
+    return new PersistentCells(node, levels);
+  }
+
+  /**
+   * Returns the contents of a cell.
+   * @param index the index of the cell
+   * @return the color in the cell, or null if it is empty
+   */
+  PlayerColor get(int index) {
+    Object node = this.root;
+    for (int level = this.levels; level > 0; level--) {
+      node = ((Object[]) node)[(int) (index / span(level - 1) % WIDTH)];
+    }
+    long word = ((long[]) node)[index % CELLS_PER_LEAF / CELLS_PER_WORD];
+    int value = (int) (word >>> (index % CELLS_PER_WORD * 2)) & 3;
+    return value == 0 ? null : COLORS[value - 1];
+  }
+
+  /**
+   * Makes a copy of this array with some of its cells changed.
+   * Each leaf and node touched by the changes is copied once, however many of the changed
+   * cells it holds.
+   * @param indices the indices of the cells to change, in increasing order
+   * @param contents the new contents of each of those cells, with null for empty
+   * @param count the number of cells to change
+   * @return the changed copy, which shares everything untouched with this one
+   */
+  PersistentCells with(int[] indices, PlayerColor[] contents, int count) {
+    if (count == 0) {
+      return this;
+    }
+    return new PersistentCells(
+        update(this.root, this.levels, 0, indices, contents, 0, count), this.levels);
+  }
+
+  //returns a copy of the given subtree, whose first cell is base, with the changes from
+  //from (inclusive) to to (exclusive) made to it
+  private static Object update(Object node, int level, long base, int[] indices,
+                               PlayerColor[] contents, int from, int to) {
+    if (level == 0) {
+      long[] words = ((long[]) node).clone();
+      for (int i = from; i < to; i++) {
+        int cell = (int) (indices[i] - base);
+        int shift = cell % CELLS_PER_WORD * 2;
+        long value = contents[i] == null ? 0 : contents[i].ordinal() + 1;
+        words[cell / CELLS_PER_WORD] =
+            (words[cell / CELLS_PER_WORD] & ~(3L << shift)) | (value << shift);
+      }
+      return words;
+    }
+    Object[] children = ((Object[]) node).clone();
+    long childSpan = span(level - 1);
+    int i = from;
+    while (i < to) {
+      //gather every change that falls in the same child, and copy that child once for all of them
+      int child = (int) ((indices[i] - base) / childSpan);
+      int end = i;
+      while (end < to && (indices[end] - base) / childSpan == child) {
+        end++;
+      }
+      children[child] = update(children[child], level - 1, base + child * childSpan,
+          indices, contents, i, end);
+      i = end;
+    }
+    return children;
+  }
+
+  //returns the number of cells held by a subtree whose root is at the given level
+  private static long span(int level) {
+    long span = CELLS_PER_LEAF;
+    for (int i = 0; i < level; i++) {
+      span *= WIDTH;
+    }
+    return span;
+  }
+}
@@ -0,0 +1,191 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Writes positions of BasicReversi and SquareBasicReversi games to a compact binary form, and
+ * reads them back into new models, for saving positions or sending them to another process.
+ * An encoded position is a four byte header followed by two bits for every space on the board:
+ * <ul>
+ *   <li>byte 0: the variant, 0 for a hexagonal board and 1 for a square one</li>
+ *   <li>bytes 1 and 2: the size of the board, as given by getBoardSize, high byte first</li>
+ *   <li>byte 3: the index of the player to move in the lowest bit, and the number of passes
+ *       just made in the bits above it</li>
+ *   <li>the rest: each space on the board, in row order, skipping the corners of the grid that
+ *       are not on a hexagonal board, as 0 if it is empty, or the ordinal of the color of its
+ *       disc plus one. the codes are packed four to a byte, the first in the lowest two bits,
+ *       and the unused bits of the last byte are 0</li>
+ * </ul>
+ * The standard hexagonal board takes 27 bytes, and the standard square board 20.
+ * Positions are read and written in place in the caller's buffer, which may be a direct or
+ * memory-mapped one: encoding reads the model's own board, and decoding writes straight into the
+ * new model's, with no arrays, Tiles or other copies of the board made along the way.
+ */
+public final class PositionCodec {
+  /**
+   * The number of bytes before the codes of the spaces.
+   */
+  public static final int HEADER_BYTES = 4;
+
+  //the values of the variant byte
+  private static final int HEXAGONAL = 0;
+  private static final int SQUARE = 1;
+
+  private PositionCodec() {
+  }
+
+  /**
+   * Returns the number of bytes a position of the given model takes up once encoded.
+   * @param model the model to measure
+   * @return the size of the model's encoded position
+   * @throws IllegalArgumentException if the model is null
+   */
+  public static int encodedSize(ReadOnlyReversiModel model) {
+    if (model == null) {
+      throw new IllegalArgumentException("Cannot encode a null model.");
+    }
+    BoardView view = model.getBoardView();
+    int spaces = 0;
+    for (int index = 0; index < view.getBoardSize() * view.getBoardSize(); index++) {
+      if (view.isOnBoard(index % view.getBoardSize(), index / view.getBoardSize())) {
+        spaces++;
+      }
+    }
+    return encodedSize(spaces);
+  }
+
+  //returns the size of an encoded position with the given number of spaces
+  private static int encodedSize(int spaces) {
+    return HEADER_BYTES + (spaces + 3) / 4;
+  }
+
+  /**
+   * Writes the position of a hexagonal game to the given buffer, at its position, and moves
+   * the position of the buffer past it.
+   * @param model the game to encode
+   * @param out the buffer to write to
+   * @throws IllegalArgumentException if either argument is null, or there is not enough room
+   *     left in the buffer for the position, in which case nothing is written
+   */
+  public static void encode(BasicReversi model, ByteBuffer out) {
+    if (model == null || out == null) {
+      throw new IllegalArgumentException("Cannot encode a null model or to a null buffer.");
+    }
+    write(out, HEXAGONAL, model.getBoardSize(), model.cellCount(), model::cellCode,
+        model.currentPlayerIndex(), model.passCount());
+  }
+
+  /**
+   * Writes the position of a square game to the given buffer, at its position, and moves
+   * the position of the buffer past it.
+   * @param model the game to encode
+   * @param out the buffer to write to
+   * @throws IllegalArgumentException if either argument is null, or there is not enough room
+   *     left in the buffer for the position, in which case nothing is written
+   */
+  public static void encode(SquareBasicReversi model, ByteBuffer out) {
+    if (model == null || out == null) {
+      throw new IllegalArgumentException("Cannot encode a null model or to a null buffer.");
+    }
+    write(out, SQUARE, model.getBoardSize(), model.cellCount(), model::cellCode,
+        model.currentPlayerIndex(), model.passCount());
+  }
+
+  //makes sure the buffer has room for a position with the given number of spaces, then writes
+  //its header and the codes of its spaces, and moves the position of the buffer past them
+  private static void write(ByteBuffer out, int variant, int boardSize, int spaces,
+                            IntUnaryOperator codes, int currentPlayerIndex, int passCount) {
+    if (out.remaining() < encodedSize(spaces)) {
+      throw new IllegalArgumentException("Not enough room left in the buffer for the position.");
+    }
+    int start = out.position();
+    out.put(start, (byte) variant);
+    out.put(start + 1, (byte) (boardSize >>> 8));
+    out.put(start + 2, (byte) boardSize);
+    out.put(start + 3, (byte) (currentPlayerIndex | passCount << 1));
+    int first = start + HEADER_BYTES;
+    int code = 0;
+    for (int cell = 0; cell < spaces; cell++) {
+      code |= codes.applyAsInt(cell) << ((cell & 3) << 1);
+      if ((cell & 3) == 3 || cell == spaces - 1) {
+        out.put(first + (cell >>> 2), (byte) code);
+        code = 0;
+      }
+    }
+    out.position(first + (spaces + 3) / 4);
+  }
+
+  /**
+   * Reads a position from the given buffer, at its position, into a new model, and moves the
+   * position of the buffer past it. The model is a BasicReversi for a hexagonal board and a
+   * SquareBasicReversi for a square one, with the same discs, player to move and passes made
+   * as the model that was encoded, and no listeners.
+   * @param in the buffer to read from
+   * @return a new model in the encoded position
+   * @throws IllegalArgumentException if the buffer is null, or does not hold a whole, valid
+   *     encoded position, in which case the position of the buffer is left where it was
+   */
+  public static SearchableReversiModel decode(ByteBuffer in) {
+    if (in == null || in.remaining() < HEADER_BYTES) {
+      throw new IllegalArgumentException("The buffer does not hold an encoded position.");
+    }
+    int start = in.position();
+    int variant = in.get(start);
+    int boardSize = (in.get(start + 1) & 0xFF) << 8 | (in.get(start + 2) & 0xFF);
+    int currentPlayerIndex = in.get(start + 3) & 1;
+    int passCount = (in.get(start + 3) & 0xFF) >>> 1;
+    if (variant == HEXAGONAL ? boardSize < 5 || boardSize % 2 == 0
+        : variant != SQUARE || boardSize < 4 || boardSize % 2 != 0) {
+      throw new IllegalArgumentException("The encoded position has an invalid board.");
+    }
+    if (passCount > 2) {
+      throw new IllegalArgumentException("The encoded position has an invalid turn.");
+    }
+    long half = boardSize / 2;
+    //a hexagonal board has every space of the grid but its two corners of half * (half + 1) / 2
+    //spaces each. the count is a long, since the largest sizes the header can give have more
+    //spaces than an int can count, though never more than a buffer could hold codes for
+    long spaceCount = variant == HEXAGONAL
+        ? (long) boardSize * boardSize - half * (half + 1) : (long) boardSize * boardSize;
+    if ((spaceCount + 3) / 4 > in.limit() - (start + HEADER_BYTES)) {
+      throw new IllegalArgumentException("The buffer does not hold a whole encoded position.");
+    }
+    int spaces = (int) spaceCount;
+    checkCodes(in, start + HEADER_BYTES, spaces);
+    if (variant == HEXAGONAL) {
+      BasicReversi model = new BasicReversi(boardSize / 2 + 1);
+      model.readCells(in, start + HEADER_BYTES);
+      model.setTurn(currentPlayerIndex, passCount);
+      in.position(start + encodedSize(spaces));
+      return model;
+    }
+    SquareBasicReversi model = new SquareBasicReversi(boardSize);
+    model.readCells(in, start + HEADER_BYTES);
+    model.setTurn(currentPlayerIndex, passCount);
+    in.position(start + encodedSize(spaces));
+    return model;
+  }
+
+  //makes sure that none of the given number of codes from the given byte on, which the buffer
+  //is known to hold, is 3, which is not a color, and that the bits after the last one are 0
+  private static void checkCodes(ByteBuffer in, int first, int spaces) {
+    int bytes = (spaces + 3) / 4;
+    for (int i = 0; i < bytes; i++) {
+      int codes = in.get(first + i) & 0xFF;
+      //a code is 3 if both of its bits are set
+      if ((codes & (codes >>> 1) & 0x55) != 0) {
+        throw new IllegalArgumentException("The encoded position has an invalid space.");
+      }
+    }
+    int used = spaces - (bytes - 1) * 4;
+    if ((in.get(first + bytes - 1) & 0xFF) >>> (used * 2) != 0) {
+      throw new IllegalArgumentException("The encoded position has an invalid space.");
+    }
+  }
+
+  //returns the code of the given cell from the codes starting at the given byte of the buffer
+  static int code(ByteBuffer in, int first, int cell) {
+    return (in.get(first + (cell >>> 2)) >>> ((cell & 3) << 1)) & 3;
+  }
+}
@@ -1,5 +1,7 @@
 package model;
 
+import java.util.List;
+
 /**
  * Represents the primary interface for playing a game of Reversi.
  * Holds all methods necessary for internal gameplay.
@@ -45,6 +47,15 @@ public interface ReadOnlyReversiModel extends TurnTaker {
    */
   Tile getTileAt(Coordinate coordinate) throws IllegalArgumentException;
 
+  /**
+   * Returns the Tile at the space with the given packed index, r * getBoardSize() + q, as
+   * numbered by {@link CoordinateTable}, without needing a Coordinate.
+   * @param index the row-order index of the tile to check
+   * @return the tile, or null if the index is one of the grid's spaces that is not on the board
+   * @throws IllegalArgumentException if the given index is outside the grid
+   */
+  Tile getTileAt(int index) throws IllegalArgumentException;
+
   /**
    * Returns the size of the board for this game of Reversi.
    * @return the board size field
@@ -58,6 +69,15 @@ public interface ReadOnlyReversiModel extends TurnTaker {
    */
   boolean isMoveLegal(Coordinate coordinate);
 
+  /**
+   * Determines if a move at the space with the given packed index, r * getBoardSize() + q,
+   * is legal, without needing a Coordinate.
+   * @param index the row-order index of the space to check
+   * @return true iff the move is legal
+   * @throws IllegalArgumentException if the space is not on the board
+   */
+  boolean isMoveLegal(int index);
+
   /**
    * Gets the score of a potential move. Is able to determine the number of tiles that would
    * be flipped by a move, and returns that value.
@@ -66,6 +86,36 @@ public interface ReadOnlyReversiModel extends TurnTaker {
    */
   int getMoveScore(Coordinate coordinate);
 
+  /**
+   * Gets the score of a potential move at the space with the given packed index,
+   * r * getBoardSize() + q, without needing a Coordinate.
+   * @param index the row-order index of the space to check
+   * @return the number of tiles that would be flipped by that move
+   * @throws IllegalArgumentException if the space is not on the board
+   */
+  int getMoveScore(int index);
+
+  /**
+   * Gets the spaces whose discs a move at the given coordinate would flip, without making
+   * the move. Nothing in the model changes and no one is notified, so hints and strategies
+   * can preview a move on the model itself instead of on a copy of it.
+   * @param coordinate the coordinate of the space to check
+   * @return a new array of the row-order indices (r * getBoardSize() + q) of the discs the
+   *     move would flip, in increasing order, which is empty if the move is not legal
+   * @throws IllegalArgumentException if the coordinate is null or not on the board
+   */
+  int[] getFlips(Coordinate coordinate);
+
+  /**
+   * Gets the spaces whose discs a move at the space with the given packed index,
+   * r * getBoardSize() + q, would flip, without making the move or needing a Coordinate.
+   * @param index the row-order index of the space to check
+   * @return a new array of the row-order indices of the discs the move would flip,
+   *     in increasing order, which is empty if the move is not legal
+   * @throws IllegalArgumentException if the space is not on the board
+   */
+  int[] getFlips(int index);
+
   /**
    * Returns a copy of the board stored in the model. Uses the private helper copyBoard()
    * to construct a deep copy of the model's board, which it then returns.
@@ -74,6 +124,24 @@ public interface ReadOnlyReversiModel extends TurnTaker {
    */
   Tile[][] getBoard();
 
+  /**
+   * Returns a read-only view of the board stored in the model. Unlike getBoard, this does not
+   * copy anything: the view reads the model's board as it is whenever it is asked, and the
+   * same view can be kept and read again after the board changes.
+   * @return a view of the board
+   */
+  BoardView getBoardView();
+
+  /**
+   * Returns a 64-bit Zobrist key identifying the current position: the discs on the board and
+   * the player to move. The model keeps the key up to date as discs are placed and flipped,
+   * so asking for it takes constant time. Two positions with the same discs and the same player
+   * to move always have the same key, even in different models, and different positions
+   * almost never do, so the key can be used to look positions up in a cache or table.
+   * @return the key of the current position
+   */
+  long getPositionKey();
+
   /**
    * Determines if a player has any legal moves. This is important in reversi because if a player
    * is unable to move, the game should force them to pass.
@@ -81,4 +149,24 @@ public interface ReadOnlyReversiModel extends TurnTaker {
    * @return true iff the player has at least one legal move.
    */
   boolean playerHasLegalMoves();
-}
\ No newline at end of file
+
+  /**
+   * Returns the coordinates of the frontier of the board: every empty tile that is next to at
+   * least one disc. A move can only flip discs if it is next to one, so these are the only tiles
+   * that can ever be legal moves, and they are usually a small part of a large board.
+   * The coordinates are in row order, from the top row to the bottom and left to right within
+   * each row, which is the same order the strategies scan the board in.
+   * @return the coordinates of every empty tile next to a disc
+   */
+  List<Coordinate> getFrontier();
+
+  /**
+   * Returns every legal move for the current player, with the number of discs each would flip,
+   * found in a single pass over the frontier. The result is kept until the board or the player
+   * to move changes, and the same one is returned to every caller until then, so asking for it
+   * more than once in a turn costs nothing.
+   * @return the legal moves of the current player, in row order, which is empty once the game
+   *     is over
+   */
+  LegalMoves getLegalMoves();
+}
@@ -16,6 +16,16 @@ public interface ReversiModel extends ReadOnlyReversiModel {
    */
   void move(Coordinate coordinate) throws IllegalArgumentException, IllegalStateException;
 
+  /**
+   * Makes a move at the space with the given packed index, r * getBoardSize() + q, as numbered
+   * by {@link CoordinateTable}, without needing a Coordinate.
+   * @param index the row-order index of the space to move to
+   * @throws IllegalArgumentException if the space is not on the game board.
+   * @throws IllegalStateException if the chosen tile already has a disc in it,
+   *     if the move is illegal, or if the game is over.
+   */
+  void move(int index) throws IllegalArgumentException, IllegalStateException;
+
   /**
    * Passes the current player's turn without placing a disc, skipping to the next player's turn.
    * @throws IllegalStateException if the game is over.
@@ -0,0 +1,58 @@
+package model;
+
+/**
+ * A Reversi model that a lookahead search can play moves on and then take them back, instead
+ * of copying the board for every position it looks at.
+ * Moves made with makeMove and makePass follow the same rules as move and pass, but they are
+ * recorded so that unmakeMove can undo them, most recent first, and they do not notify the
+ * model's listeners. Recording a move does not allocate anything, so a search can walk through
+ * millions of positions without creating garbage.
+ * Calling move or pass makes every recorded move permanent, so they can no longer be undone.
+ * Tiles should not be changed directly through getTileAt while there are recorded moves.
+ */
+public interface SearchableReversiModel extends ReversiModel {
+  /**
+   * Places a disc for the current player at the given coordinate, as move does, and records
+   * the move so that it can be undone.
+   * @param coordinate the coordinate to move to
+   * @throws IllegalArgumentException if the given coordinate is not on the game board
+   * @throws IllegalStateException if the chosen tile already has a disc in it,
+   *     if the move is illegal, or if the game is over
+   */
+  void makeMove(Coordinate coordinate) throws IllegalArgumentException, IllegalStateException;
+
+  /**
+   * Places a disc for the current player at the space with the given row-order index
+   * (r * getBoardSize() + q), as makeMove does with a coordinate, without making a Coordinate.
+   * @param index the row-order index of the space to move to
+   * @throws IllegalArgumentException if the given index is not a space on the game board
+   * @throws IllegalStateException if the chosen tile already has a disc in it,
+   *     if the move is illegal, or if the game is over
+   */
+  void makeMove(int index) throws IllegalArgumentException, IllegalStateException;
+
+  /**
+   * Writes the row-order index of every legal move for the current player into the given array,
+   * in row order, and returns how many there are. Unlike getLegalMoves, this neither allocates
+   * nor remembers anything, so a search can find the moves of every position it looks at into
+   * an array it keeps for each depth, without creating garbage.
+   * @param moves the array to write the moves to, from its start
+   * @return the number of legal moves, which is 0 once the game is over
+   * @throws IllegalArgumentException if the array is null or too short to hold every legal move
+   */
+  int generateMoves(int[] moves);
+
+  /**
+   * Passes the current player's turn, as pass does, and records the pass so that it can be
+   * undone.
+   * @throws IllegalStateException if the game is over
+   */
+  void makePass() throws IllegalStateException;
+
+  /**
+   * Undoes the most recent move or pass made with makeMove or makePass, putting the board,
+   * the current player and the count of consecutive passes back the way they were before it.
+   * @throws IllegalStateException if there is no recorded move to undo
+   */
+  void unmakeMove() throws IllegalStateException;
+}
@@ -3,7 +3,10 @@ package model;
 import controller.ModelEventListener;
 import controller.ReversiController;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -18,13 +21,41 @@ import java.util.List;
  * At the end of the game, the player with the most tiles on the board wins.
  * The BasicReversi class contains all fields and methods necessary for internal gameplay.
  */
-public class SquareBasicReversi implements ReversiModel {
+public class SquareBasicReversi implements SearchableReversiModel {
+  //the change in q and r for each of the eight directions a row can run in: down, up, left,
+  //right, down left, up right, up left, down right
+  private static final int[] DELTA_Q = {0, 0, -1, 1, -1, 1, -1, 1};
+  private static final int[] DELTA_R = {1, -1, 0, 0, 1, -1, -1, 1};
+
+  //the low two bits of a cell hold its contents: EMPTY, or the ordinal of the disc's color plus
+  //one. the bits above them count the discs next to it, so each neighboring disc adds NEIGHBOR
+  private static final int EMPTY = 0;
+  private static final int CONTENTS = 3;
+  private static final int NEIGHBOR = 4;
+  private static final PlayerColor[] COLORS = PlayerColor.values();
+
+  //the number of entries the undo log starts out with room for
+  private static final int UNDO_LOG_START = 256;
+
   //represents the size of the game board (the number of tiles in the longest row)
   //INVARIANT: boardSize is always positive and even
   private final int boardSize;
 
-  //represents the game board in a 2D array
-  private final Tile[][] board;
+  //the packed coordinates of the board, for going between row-order indices and coordinates
+  //without creating a Coordinate each time
+  private final CoordinateTable coordinateTable;
+
+  //the length of the row a move closes off in each direction, reused by every move
+  private final int[] rowLengths;
+
+  //represents the game board, one byte per tile, in row order (r * boardSize + q)
+  private final byte[] cells;
+
+  //the Tiles handed out by getTileAt, which are live views of cells. each is made the first time
+  //it is asked for, so asking for the same space again gives back the same Tile, and a game
+  //that never asks for any (such as one played by index) never makes the array at all
+  private Tile[] tiles;
+  private final CellStore cellStore;
 
   //represents the number of recent player actions that were a pass
   private int passCount;
@@ -36,6 +67,51 @@ public class SquareBasicReversi implements ReversiModel {
   //holds the two controllers which listen to the model
   private final List<ModelEventListener> listeners;
 
+  //represents the number of discs each player has on the board, indexed by PlayerColor ordinal,
+  //and the number of tiles with no disc. kept up to date by the board's tiles as they change
+  //so that scores and the end of the game can be checked without scanning the board
+  private final int[] scores;
+  private int emptyTiles;
+
+  //represents the frontier: one bit per tile, set if the tile is empty and next to at least one
+  //disc (as counted in its cell). bits are numbered in row order (r * boardSize + q), so walking
+  //the set bits visits the frontier in the same order the strategies scan the board. it is kept
+  //up to date as tiles change, so legal moves can be found without scanning the board
+  private final BitSet frontier;
+
+  //the undo log for moves made with makeMove and makePass. each recorded move is pushed as the
+  //row-order index of every tile it flipped, then the index of the tile it placed a disc on
+  //(or -1 for a pass), the number of tiles flipped, and the pass count and player index from
+  //before the move. it starts small and only grows when a search goes deeper than it has gone
+  //before, so a large board that is never searched doesn't pay for it
+  private int[] undoLog;
+  private int undoSize;
+
+  //a live view of the board for getBoardView, and the number of changes that have been made
+  //to the contents of its tiles, which is the version the view reports
+  private final BoardView boardView;
+  private long version;
+
+  //the Zobrist key of the discs on the board (see Zobrist), kept up to date as tiles change.
+  //the key of the position also depends on the player to move, which is added when it is
+  //asked for
+  private long discKey;
+
+  //the legal moves of the current player as of the last time they were asked for, and the
+  //version of the board, player and pass count they were found for. they are only searched for
+  //again once one of those changes (the pass count ends the game after two passes, which leave
+  //the board and the player to move as they were)
+  private LegalMoves legalMoves;
+  private long legalMovesVersion;
+  private int legalMovesPlayer;
+  private int legalMovesPassCount;
+
+  //the most recent snapshot of the game, or null if none has been taken, and the tiles that
+  //have changed since it was taken (by row-order index). the next snapshot starts from the
+  //last one and only copies the parts of its board that hold those tiles
+  private BoardSnapshot lastSnapshot;
+  private final BitSet changedSinceSnapshot;
+
   /**
    * Constructs a basic model object for playing a game of Reversi with 6 tiles on each side.
    * This will result in a board that has a longest center row length of 11,
@@ -69,11 +145,26 @@ public class SquareBasicReversi implements ReversiModel {
     //the size of the board holds the size of the longest row,
     //which is double each side length minus 1
     this.boardSize = boardSize;
-    this.board = new Tile[this.boardSize][this.boardSize];
+    this.coordinateTable = CoordinateTable.forSize(this.boardSize);
+    this.rowLengths = new int[DELTA_Q.length];
+    //create the cells for all the tiles of the board, which start out empty
+    this.cells = new byte[this.boardSize * this.boardSize];
+    this.tiles = null;
+    this.cellStore = new Cells();
     //no moves or passes have been made, so set the number of previous passes to 0
     this.passCount = 0;
-    //create all tiles for the board
-    fillBoard(this.boardSize);
+    //the board starts out empty, and the discs are counted as they are placed
+    this.scores = new int[PlayerColor.values().length];
+    this.emptyTiles = this.cells.length;
+    this.frontier = new BitSet(this.boardSize * this.boardSize);
+    this.undoLog = new int[UNDO_LOG_START];
+    this.undoSize = 0;
+    this.boardView = new View();
+    this.version = 0;
+    this.discKey = 0;
+    this.lastSnapshot = null;
+    this.legalMoves = null;
+    this.changedSinceSnapshot = new BitSet(this.boardSize * this.boardSize);
     //place the four starting tiles in the center
     placeStartingTiles();
     //black moves first, and their i
@@ -99,51 +190,207 @@ public class SquareBasicReversi implements ReversiModel {
           + "for a playable game of Reversi.");
     }
     this.boardSize = givenBoard.length;
-    this.board = copyBoard(givenBoard);
+    this.coordinateTable = CoordinateTable.forSize(this.boardSize);
+    this.rowLengths = new int[DELTA_Q.length];
+    this.cells = new byte[this.boardSize * this.boardSize];
+    this.tiles = null;
+    this.cellStore = new Cells();
+    this.scores = new int[PlayerColor.values().length];
+    this.emptyTiles = this.cells.length;
+    this.frontier = new BitSet(this.boardSize * this.boardSize);
+    this.undoLog = new int[UNDO_LOG_START];
+    this.undoSize = 0;
+    this.boardView = new View();
+    this.version = 0;
+    this.discKey = 0;
+    this.lastSnapshot = null;
+    this.legalMoves = null;
+    this.changedSinceSnapshot = new BitSet(this.boardSize * this.boardSize);
+    copyDiscs(givenBoard);
     this.passCount = 0;
     this.currentPlayerIndex = 0;
     this.listeners = new ArrayList<>();
   }
 
-  //constructs a deep copy of a Reversi board
-  //takes in a given board, made to be used with the constructor that does the same,
-  //and returns a deep copy of the board (same data, new reference)
-  private Tile[][] copyBoard(Tile[][] givenBoard) {
-    int boardSize = givenBoard.length;
-    Tile[][] board = new Tile[boardSize][boardSize];
-    for (int r = 0; r < boardSize; r++) {
-      for (int q = 0; q < boardSize; q++) {
-        board[r][q] = new Tile(r, q);
-        if (!givenBoard[r][q].isEmpty()) {
-          board[r][q].placeDisc(givenBoard[r][q].getContents());
+  //constructs a deep copy of the board as a 2D array of Tiles
+  //the copy shares nothing with this model (same data, new reference)
+  private Tile[][] copyBoard() {
+    Tile[][] board = new Tile[this.boardSize][this.boardSize];
+    for (int r = 0; r < this.boardSize; r++) {
+      for (int q = 0; q < this.boardSize; q++) {
+        board[q][r] = new Tile(q, r);
+        PlayerColor contents = contentsAt(q, r);
+        if (contents != null) {
+          board[q][r].placeDisc(contents);
         }
       }
     }
     return board;
   }
 
+  //places the discs of a given board onto this model's board, which must be empty and of the
+  //same size
+  private void copyDiscs(Tile[][] givenBoard) {
+    for (int r = 0; r < this.boardSize; r++) {
+      for (int q = 0; q < this.boardSize; q++) {
+        if (!givenBoard[q][r].isEmpty()) {
+          setContents(q, r, givenBoard[q][r].getContents());
+        }
+      }
+    }
+  }
+
   @Override
   public Tile[][] getBoard() {
-    return copyBoard(this.board);
+    return copyBoard();
+  }
+
+  @Override
+  public long getPositionKey() {
+    return this.discKey ^ Zobrist.toMove(this.currentPlayerIndex);
+  }
+
+  @Override
+  public BoardView getBoardView() {
+    return this.boardView;
+  }
+
+  /**
+   * Takes an immutable snapshot of the game as it is now, which will not change as the game
+   * goes on. The snapshot shares every part of the board that hasn't changed with the
+   * snapshot taken before it, so taking one after every move only costs as much as the number
+   * of tiles the move changed, rather than a copy of the whole board.
+   * @return a snapshot of the game
+   */
+  public BoardSnapshot snapshot() {
+    PersistentCells cells = this.lastSnapshot == null
+        ? PersistentCells.empty(this.boardSize * this.boardSize)
+        : this.lastSnapshot.cells();
+    //gather the tiles changed since the last snapshot, in increasing order, with their contents
+    int count = this.changedSinceSnapshot.cardinality();
+    int[] indices = new int[count];
+    PlayerColor[] contents = new PlayerColor[count];
+    int i = 0;
+    for (int index = this.changedSinceSnapshot.nextSetBit(0); index >= 0;
+         index = this.changedSinceSnapshot.nextSetBit(index + 1)) {
+      indices[i] = index;
+      contents[i] = contentsAt(index % this.boardSize, index / this.boardSize);
+      i++;
+    }
+    this.changedSinceSnapshot.clear();
+    this.lastSnapshot = new BoardSnapshot(this.boardSize, false,
+        cells.with(indices, contents, count), this.version, getPositionKey(),
+        this.currentPlayerIndex, this.passCount, this.scores[PlayerColor.BLACK.ordinal()],
+        this.scores[PlayerColor.WHITE.ordinal()], this.emptyTiles);
+    return this.lastSnapshot;
   }
 
-  //helps set up game state by filling the 2D array representing the game board
-  //with Tile objects representing each tile on the board
-  private void fillBoard(int size) {
-    for (int r = 0; r < size; r++) {
-      for (int q = 0; q < size; q++) {
-        //using a 2D array to represent the board
-        this.board[r][q] = new Tile(r, q);
+  //sets the contents of the tile at (q, r), which must be on the board. every change to the
+  //board goes through here, whether it comes from a move or from one of the Tiles handed out
+  //by getTileAt, so this keeps the version of the board, the running totals of discs and empty
+  //tiles, and the frontier up to date
+  private void setContents(int q, int r, PlayerColor color) {
+    int index = r * this.boardSize + q;
+    int before = this.cells[index] & CONTENTS;
+    int after = color == null ? EMPTY : color.ordinal() + 1;
+    this.cells[index] = (byte) ((this.cells[index] & ~CONTENTS) | after);
+    this.version++;
+    this.changedSinceSnapshot.set(index);
+    //XOR out the disc that was there, if any, and XOR in the one there now
+    if (before == EMPTY) {
+      this.emptyTiles--;
+    } else {
+      this.discKey ^= Zobrist.disc(index, COLORS[before - 1]);
+      this.scores[before - 1]--;
+    }
+    if (after == EMPTY) {
+      this.emptyTiles++;
+    } else {
+      this.discKey ^= Zobrist.disc(index, color);
+      this.scores[after - 1]++;
+    }
+    //flipping a disc doesn't change which tiles are next to a disc, so only a tile gaining or
+    //losing its disc moves the frontier
+    if ((before == EMPTY) != (after == EMPTY)) {
+      int change = after == EMPTY ? -NEIGHBOR : NEIGHBOR;
+      for (int d = 0; d < DELTA_Q.length; d++) {
+        int neighborQ = q + DELTA_Q[d];
+        int neighborR = r + DELTA_R[d];
+        if (tileInBoard(neighborQ, neighborR)) {
+          this.cells[neighborR * this.boardSize + neighborQ] += change;
+          updateFrontier(neighborR * this.boardSize + neighborQ);
+        }
+      }
+      updateFrontier(index);
+    }
+  }
+
+  //adds the tile with the given row-order index to the frontier if it is empty and next to a
+  //disc, or removes it if not
+  private void updateFrontier(int index) {
+    int cell = this.cells[index];
+    this.frontier.set(index, (cell & CONTENTS) == EMPTY && cell >= NEIGHBOR);
+  }
+
+  //returns the color of the disc at (q, r), which must be on the board, or null if it is empty
+  private PlayerColor contentsAt(int q, int r) {
+    int contents = this.cells[r * this.boardSize + q] & CONTENTS;
+    return contents == EMPTY ? null : COLORS[contents - 1];
+  }
+
+  //flips the disc at (q, r), which must be on the board and hold a disc
+  private void flipAt(int q, int r) {
+    setContents(q, r,
+        contentsAt(q, r) == PlayerColor.BLACK ? PlayerColor.WHITE : PlayerColor.BLACK);
+  }
+
+  @Override
+  public List<Coordinate> getFrontier() {
+    List<Coordinate> coordinates = new ArrayList<>(this.frontier.cardinality());
+    for (int i = this.frontier.nextSetBit(0); i >= 0; i = this.frontier.nextSetBit(i + 1)) {
+      coordinates.add(this.coordinateTable.coordinate(i));
+    }
+    return coordinates;
+  }
+
+  @Override
+  public LegalMoves getLegalMoves() {
+    if (this.legalMoves == null || this.legalMovesVersion != this.version
+        || this.legalMovesPlayer != this.currentPlayerIndex
+        || this.legalMovesPassCount != this.passCount) {
+      if (isGameOver()) {
+        //nobody can move once the game is over
+        this.legalMoves = new LegalMoves(this.boardSize, new int[0], new int[0], 0);
+      } else {
+        PlayerColor color = getCurrentPlayer();
+        int[] indices = new int[this.frontier.cardinality()];
+        int[] flipCounts = new int[indices.length];
+        int size = 0;
+        //only tiles on the frontier can be legal moves, and they are all empty
+        for (int i = this.frontier.nextSetBit(0); i >= 0; i = this.frontier.nextSetBit(i + 1)) {
+          int flipCount =
+              flipCount(this.coordinateTable.q(i), this.coordinateTable.r(i), color);
+          if (flipCount > 0) {
+            indices[size] = i;
+            flipCounts[size] = flipCount;
+            size++;
+          }
+        }
+        this.legalMoves = new LegalMoves(this.boardSize, indices, flipCounts, size);
       }
+      this.legalMovesVersion = this.version;
+      this.legalMovesPlayer = this.currentPlayerIndex;
+      this.legalMovesPassCount = this.passCount;
     }
+    return this.legalMoves;
   }
 
   //sets up game state by placing alternating discs in the four center tiles
   private void placeStartingTiles() {
-    board[boardSize / 2 - 1][boardSize / 2 - 1].placeDisc(PlayerColor.BLACK);
-    board[boardSize / 2][boardSize / 2 - 1].placeDisc(PlayerColor.WHITE);
-    board[boardSize / 2 - 1][boardSize / 2].placeDisc(PlayerColor.WHITE);
-    board[boardSize / 2][boardSize / 2].placeDisc(PlayerColor.BLACK);
+    setContents(boardSize / 2 - 1, boardSize / 2 - 1, PlayerColor.BLACK);
+    setContents(boardSize / 2, boardSize / 2 - 1, PlayerColor.WHITE);
+    setContents(boardSize / 2 - 1, boardSize / 2, PlayerColor.WHITE);
+    setContents(boardSize / 2, boardSize / 2, PlayerColor.BLACK);
   }
 
   @Override
@@ -153,22 +400,43 @@ public class SquareBasicReversi implements ReversiModel {
     if (!tileInBoard(coordinate.getQ(), coordinate.getR())) {
       throw new IllegalArgumentException("Given coordinate out of bounds of board.");
     }
-    //get the current player and increment the player index
+    move(coordinate.getR() * this.boardSize + coordinate.getQ());
+  }
+
+  @Override
+  public void move(int index) {
+    throwIfGameOver();
+    //cannot make a move to a space that is not a part of the board
+    if (!indexInBoard(index)) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    int q = this.coordinateTable.q(index);
+    int r = this.coordinateTable.r(index);
+    //cannot place a disc on a space that already has one
+    if (contentsAt(q, r) != null) {
+      throw new IllegalStateException("Cannot place a disc on a nonempty tile.");
+    }
+    //get the current player
     PlayerColor currentColor = getCurrentPlayer();
-    //get list of all rows that render this move legal
-    List<List<Tile>> validRows = getValidRows(coordinate, currentColor);
-    //as long as at least one row provides a valid sandwich:
-    if (!validRows.isEmpty()) {
-      //place a disc of the color of the current player at the requested coordinate,
-      getTileAt(coordinate).placeDisc(currentColor);
-      //and flip all non-current player's discs in the row
-      flipDiscs(validRows);
-    }
-    //if no rows fulfill valid move criteria, throw an exception
-    else {
+    //measure the row the move closes off in each direction, if any
+    int flipCount = 0;
+    for (int d = 0; d < DELTA_Q.length; d++) {
+      this.rowLengths[d] = rowLength(q, r, d, currentColor);
+      flipCount += this.rowLengths[d];
+    }
+    //if no rows provide a valid sandwich, the move is not legal
+    if (flipCount == 0) {
       System.out.println("Invalid move.");
       throw new IllegalStateException("Invalid move.");
     }
+    //place a disc of the color of the current player at the requested space,
+    setContents(q, r, currentColor);
+    //and flip all non-current player's discs in each row it closes off
+    for (int d = 0; d < DELTA_Q.length; d++) {
+      for (int i = 1; i <= this.rowLengths[d]; i++) {
+        flipAt(q + DELTA_Q[d] * i, r + DELTA_R[d] * i);
+      }
+    }
 
     //after every move, the most recent action was a move so pass count should be zero
     this.passCount = 0;
@@ -176,6 +444,9 @@ public class SquareBasicReversi implements ReversiModel {
     //update the player color
     updatePlayer();
 
+    //a move made for real can't be undone, and neither can anything recorded before it
+    this.undoSize = 0;
+
     //notify all listeners that a move has been made
     notifyTurn();
   }
@@ -185,23 +456,22 @@ public class SquareBasicReversi implements ReversiModel {
     if (!tileInBoard(coordinate.getQ(), coordinate.getR())) {
       throw new IllegalArgumentException("Given coordinate out of bounds of board.");
     }
-    List<List<Tile>> validRows = getValidRows(coordinate, getCurrentPlayer());
-    return !validRows.isEmpty() && getTileAt(coordinate).isEmpty();
+    return isMoveLegal(coordinate.getR() * this.boardSize + coordinate.getQ());
   }
 
   @Override
-  public boolean playerHasLegalMoves() {
-    boolean hasLegalMove = false;
-    for (Tile[] row : this.board) {
-      for (Tile tile : row) {
-        if (tile.isEmpty()) {
-          if (isMoveLegal(tile.getCoordinate())) {
-            hasLegalMove = true;
-          }
-        }
-      }
+  public boolean isMoveLegal(int index) {
+    if (!indexInBoard(index)) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
     }
-    return hasLegalMove;
+    int q = this.coordinateTable.q(index);
+    int r = this.coordinateTable.r(index);
+    return flipCount(q, r, getCurrentPlayer()) > 0 && contentsAt(q, r) == null;
+  }
+
+  @Override
+  public boolean playerHasLegalMoves() {
+    return getLegalMoves().size() > 0;
   }
 
   @Override
@@ -209,106 +479,53 @@ public class SquareBasicReversi implements ReversiModel {
     if (!tileInBoard(coordinate.getQ(), coordinate.getR())) {
       throw new IllegalArgumentException("Given coordinate out of bounds of board.");
     }
-    if (!getTileAt(new Coordinate(coordinate.getQ(), coordinate.getR())).isEmpty()) {
-      return 0;
-    }
-    int moveScore = 0;
-    List<List<Tile>> validRows = getValidRows(coordinate, getCurrentPlayer());
-    if (!validRows.isEmpty()) {
-      for (List<Tile> row : validRows) {
-        moveScore += row.size();
-      }
-    }
-    return moveScore;
-  }
-
-  //returns a list of all four rows emanating out from a coordinate
-  //that would render a move there legal
-  private List<List<Tile>> getValidRows(Coordinate coordinate, PlayerColor currentColor) {
-    //initialize a variable to return at the end of the function
-    List<List<Tile>> validRows = new ArrayList<>();
-    //get the neighbors of the given tile
-    List<Tile> neighbors = getNeighbors(coordinate);
-    //iterate over all four potential valid rows
-    for (Tile neighbor : neighbors) {
-      //if the neighbor is empty or the same as the color, it doesn't count - ignore it
-      if (!neighbor.isEmpty() && neighbor.getContents() != currentColor) {
-        //initialize a list to represent this specific row
-        List<Tile> row = new ArrayList<>();
-        //add the neighbor to the row
-        row.add(neighbor);
-        //get the next tile in the row
-        Tile nextTile = getNextInRow(getTileAt(coordinate), neighbor);
-        //while the next row is the opposite color, keep iterating and adding to the row
-        while (nextTile != null && !nextTile.isEmpty() && nextTile.getContents() != currentColor) {
-          row.add(nextTile);
-          nextTile = getNextInRow(row.get(row.size() - 2), row.get(row.size() - 1));
-        }
-        //if it's not empty and would be the correct color to create a sandwich, it's a valid row
-        if (nextTile != null && nextTile.getContents() == currentColor) {
-          validRows.add(row);
-        }
-      }
-    }
-    return validRows;
+    return getMoveScore(coordinate.getR() * this.boardSize + coordinate.getQ());
   }
 
-  //flips all the discs in each of the given rows
-  //uses each tile's flip() method, which will flip a black tile to white and vice versa
-  private void flipDiscs(List<List<Tile>> validRows) {
-    for (List<Tile> row : validRows) {
-      for (Tile tile : row) {
-        tile.flip();
-      }
+  @Override
+  public int getMoveScore(int index) {
+    if (!indexInBoard(index)) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
     }
-  }
-
-  //given two tiles, this method finds the pattern that connects them and applies that pattern
-  // to the board to get the next tile along the row
-  private Tile getNextInRow(Tile tile, Tile neighbor) {
-    //get the coordinate changes for finding the next tile in the sequence
-    int deltaQ = neighbor.getCoordinate().getQ() - tile.getCoordinate().getQ();
-    int deltaR = neighbor.getCoordinate().getR() - tile.getCoordinate().getR();
-    int nextTileQ = neighbor.getCoordinate().getQ() + deltaQ;
-    int nextTileR = neighbor.getCoordinate().getR() + deltaR;
-    //make sure this tile exists in the board before trying to access it
-    //to avoid index out of bounds exceptions
-    if (tileInBoard(nextTileQ, nextTileR)) {
-      return this.board[nextTileQ][nextTileR];
+    int q = this.coordinateTable.q(index);
+    int r = this.coordinateTable.r(index);
+    if (contentsAt(q, r) != null) {
+      return 0;
     }
-    //if the tile is not on the board, return null
-    return null;
+    return flipCount(q, r, getCurrentPlayer());
   }
 
-  //gets all eight neighbors of a tile at a given coordinate
-  private List<Tile> getNeighbors(Coordinate coordinate) {
-    List<Tile> neighbors = new ArrayList<>();
-
-    //tile above
-    addTileIfInBoard(neighbors, coordinate.getQ(), coordinate.getR() + 1);
-    //tile below
-    addTileIfInBoard(neighbors, coordinate.getQ(), coordinate.getR() - 1);
-    //tile to the left
-    addTileIfInBoard(neighbors, coordinate.getQ() - 1, coordinate.getR());
-    //tile to the right
-    addTileIfInBoard(neighbors, coordinate.getQ() + 1, coordinate.getR());
-    //tile to the top left
-    addTileIfInBoard(neighbors, coordinate.getQ() - 1, coordinate.getR() + 1);
-    //tile to the top right
-    addTileIfInBoard(neighbors, coordinate.getQ() + 1, coordinate.getR() - 1);
-    //tile to the bottom left
-    addTileIfInBoard(neighbors, coordinate.getQ() - 1, coordinate.getR() - 1);
-    //tile to the bottom right
-    addTileIfInBoard(neighbors, coordinate.getQ() + 1, coordinate.getR() + 1);
-
-    return neighbors;
+  @Override
+  public int[] getFlips(Coordinate coordinate) {
+    if (!tileInBoard(coordinate.getQ(), coordinate.getR())) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    return getFlips(coordinate.getR() * this.boardSize + coordinate.getQ());
   }
 
-  //tries to add a tile to a list of neighbors
-  private void addTileIfInBoard(List<Tile> neighbors, int q, int r) {
-    if (tileInBoard(q, r)) {
-      neighbors.add(board[q][r]);
+  @Override
+  public int[] getFlips(int index) {
+    if (!indexInBoard(index)) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    int q = this.coordinateTable.q(index);
+    int r = this.coordinateTable.r(index);
+    if (contentsAt(q, r) != null) {
+      return new int[0];
+    }
+    PlayerColor currentColor = getCurrentPlayer();
+    int[] flips = new int[flipCount(q, r, currentColor)];
+    int size = 0;
+    //walk each row again, recording the tiles on it instead of flipping them like move does
+    for (int d = 0; d < DELTA_Q.length; d++) {
+      int length = rowLength(q, r, d, currentColor);
+      for (int i = 1; i <= length; i++) {
+        flips[size++] = (r + i * DELTA_R[d]) * this.boardSize + q + i * DELTA_Q[d];
+      }
     }
+    //the rows go off in every direction, so the tiles have to be put back in row order
+    Arrays.sort(flips);
+    return flips;
   }
 
   //returns whether the given coordinates correspond to a tile on the game board.
@@ -318,6 +535,12 @@ public class SquareBasicReversi implements ReversiModel {
     return q >= 0 && q < this.boardSize && r >= 0 && r < this.boardSize;
   }
 
+  //returns whether the given row-order index corresponds to a tile on the game board
+  private boolean indexInBoard(int index) {
+    return index >= 0 && index < this.boardSize * this.boardSize
+        && tileInBoard(this.coordinateTable.q(index), this.coordinateTable.r(index));
+  }
+
   @Override
   public void pass() {
     throwIfGameOver();
@@ -325,47 +548,215 @@ public class SquareBasicReversi implements ReversiModel {
     updatePlayer();
     //after every pass, the most recent action was a pass so pass count increments
     this.passCount++;
+    //a pass made for real can't be undone, and neither can anything recorded before it
+    this.undoSize = 0;
     //notify all listeners of the model that a turn has been taken
     notifyTurn();
   }
 
+  @Override
+  public void makeMove(Coordinate coordinate) {
+    throwIfGameOver();
+    if (!tileInBoard(coordinate.getQ(), coordinate.getR())) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    makeMove(coordinate.getR() * this.boardSize + coordinate.getQ());
+  }
+
+  @Override
+  public void makeMove(int index) {
+    throwIfGameOver();
+    if (!indexInBoard(index)) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    int q = this.coordinateTable.q(index);
+    int r = this.coordinateTable.r(index);
+    PlayerColor currentColor = getCurrentPlayer();
+    //check the move the same way move does before changing anything
+    int flipCount = flipCount(q, r, currentColor);
+    if (flipCount == 0) {
+      throw new IllegalStateException("Invalid move.");
+    }
+    if (contentsAt(q, r) != null) {
+      throw new IllegalStateException("Cannot place a disc on a nonempty tile.");
+    }
+    ensureUndoCapacity(flipCount + 4);
+    //flip each row that the move closes off, recording every tile flipped
+    for (int d = 0; d < DELTA_Q.length; d++) {
+      int length = rowLength(q, r, d, currentColor);
+      for (int i = 1; i <= length; i++) {
+        int flipQ = q + DELTA_Q[d] * i;
+        int flipR = r + DELTA_R[d] * i;
+        flipAt(flipQ, flipR);
+        this.undoLog[this.undoSize++] = flipR * this.boardSize + flipQ;
+      }
+    }
+    setContents(q, r, currentColor);
+    pushUndoFrame(r * this.boardSize + q, flipCount);
+    this.passCount = 0;
+    updatePlayer();
+  }
+
+  @Override
+  public int generateMoves(int[] moves) {
+    if (moves == null) {
+      throw new IllegalArgumentException("Cannot write moves to a null array.");
+    }
+    if (isGameOver()) {
+      return 0;
+    }
+    PlayerColor color = COLORS[this.currentPlayerIndex];
+    int size = 0;
+    //only tiles on the frontier can be legal moves, and they are all empty
+    for (int i = this.frontier.nextSetBit(0); i >= 0; i = this.frontier.nextSetBit(i + 1)) {
+      if (flipCount(this.coordinateTable.q(i), this.coordinateTable.r(i), color) > 0) {
+        if (size == moves.length) {
+          throw new IllegalArgumentException("The array is too short to hold every move.");
+        }
+        moves[size++] = i;
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public void makePass() {
+    throwIfGameOver();
+    ensureUndoCapacity(4);
+    pushUndoFrame(-1, 0);
+    updatePlayer();
+    this.passCount++;
+  }
+
+  @Override
+  public void unmakeMove() {
+    if (this.undoSize == 0) {
+      throw new IllegalStateException("There is no move to undo.");
+    }
+    this.currentPlayerIndex = this.undoLog[--this.undoSize];
+    this.passCount = this.undoLog[--this.undoSize];
+    int flipCount = this.undoLog[--this.undoSize];
+    int placed = this.undoLog[--this.undoSize];
+    for (int i = 0; i < flipCount; i++) {
+      int flipped = this.undoLog[--this.undoSize];
+      flipAt(flipped % this.boardSize, flipped / this.boardSize);
+    }
+    if (placed >= 0) {
+      setContents(placed % this.boardSize, placed / this.boardSize, null);
+    }
+  }
+
+  //returns the total number of opponent discs a disc of the given color placed at (q, r) would
+  //flip, which is 0 if the move is not legal
+  private int flipCount(int q, int r, PlayerColor color) {
+    int flipCount = 0;
+    for (int d = 0; d < DELTA_Q.length; d++) {
+      flipCount += rowLength(q, r, d, color);
+    }
+    return flipCount;
+  }
+
+  //returns the number of opponent discs a disc of the given color placed at (q, r) would flip
+  //in the given direction, without allocating anything: the length of the run of opponent discs
+  //next to it that way if the run is closed off by one of the player's own discs, or 0 if not
+  private int rowLength(int q, int r, int direction, PlayerColor color) {
+    int own = color.ordinal() + 1;
+    int length = 0;
+    int nextQ = q + DELTA_Q[direction];
+    int nextR = r + DELTA_R[direction];
+    while (tileInBoard(nextQ, nextR)) {
+      int contents = this.cells[nextR * this.boardSize + nextQ] & CONTENTS;
+      if (contents == EMPTY) {
+        return 0;
+      }
+      if (contents == own) {
+        return length;
+      }
+      length++;
+      nextQ += DELTA_Q[direction];
+      nextR += DELTA_R[direction];
+    }
+    return 0;
+  }
+
+  //makes sure the undo log has room for the given number of entries, growing it if not
+  private void ensureUndoCapacity(int entries) {
+    if (this.undoSize + entries > this.undoLog.length) {
+      this.undoLog = Arrays.copyOf(this.undoLog,
+          Math.max(this.undoLog.length * 2, this.undoSize + entries));
+    }
+  }
+
+  //finishes recording a move by pushing the tile it placed a disc on (or -1 for a pass),
+  //the number of tiles it flipped, and the pass count and player index from before it
+  private void pushUndoFrame(int placed, int flipCount) {
+    this.undoLog[this.undoSize++] = placed;
+    this.undoLog[this.undoSize++] = flipCount;
+    this.undoLog[this.undoSize++] = this.passCount;
+    this.undoLog[this.undoSize++] = this.currentPlayerIndex;
+  }
+
   @Override
   public PlayerColor getCurrentPlayer() {
     throwIfGameOver();
-    PlayerColor[] playerColors = PlayerColor.values();
-    return playerColors[this.currentPlayerIndex];
+    return COLORS[this.currentPlayerIndex];
   }
 
   //updates the player index so that the next move is made by the next player
   private void updatePlayer() {
-    PlayerColor[] playerColors = PlayerColor.values();
     //modulo will set the index back to 0 once the length of the index is reached
-    this.currentPlayerIndex = (this.currentPlayerIndex + 1) % playerColors.length;
+    this.currentPlayerIndex = (this.currentPlayerIndex + 1) % COLORS.length;
   }
 
-  @Override
-  public boolean isGameOver() {
-    //assume the board is full
-    boolean boardFull = true;
-    List<Tile> whiteTiles = new ArrayList<>();
-    List<Tile> blackTiles = new ArrayList<>();
-    //iterate over the entire board, setting the boolean to false if any of the tiles are empty
+  //the number of spaces on the board, which is the number of cells PositionCodec stores
+  int cellCount() {
+    return this.cells.length;
+  }
+
+  //the code PositionCodec stores for the given cell, numbered in row order over the spaces on
+  //the board: EMPTY, or the ordinal of the color of its disc plus one
+  int cellCode(int cell) {
+    return this.cells[cell] & CONTENTS;
+  }
+
+  //the player to move and the number of passes just made, for PositionCodec, which needs them
+  //even once the game is over
+  int currentPlayerIndex() {
+    return this.currentPlayerIndex;
+  }
+
+  int passCount() {
+    return this.passCount;
+  }
+
+  //replaces the discs on the board with the ones PositionCodec packed into the given buffer,
+  //whose codes start at the given byte. the buffer is read in place, without copying it
+  void readCells(ByteBuffer in, int start) {
     for (int r = 0; r < this.boardSize; r++) {
       for (int q = 0; q < this.boardSize; q++) {
-        //only iterate over tiles that are actually on the board
-        if (tileInBoard(q, r) && getTileAt(new Coordinate(q, r)).isEmpty()) {
-          boardFull = false;
-        } else if (tileInBoard(q, r)
-            && getTileAt(new Coordinate(q, r)).getContents() == PlayerColor.WHITE) {
-          whiteTiles.add(getTileAt(new Coordinate(q, r)));
-        } else if (tileInBoard(q, r)
-            && getTileAt(new Coordinate(q, r)).getContents() == PlayerColor.BLACK) {
-          blackTiles.add(getTileAt(new Coordinate(q, r)));
+        int code = PositionCodec.code(in, start, r * this.boardSize + q);
+        if (code != (this.cells[r * this.boardSize + q] & CONTENTS)) {
+          setContents(q, r, code == EMPTY ? null : COLORS[code - 1]);
         }
       }
     }
+  }
+
+  //hands the turn to the player with the given index, with the given number of passes just
+  //made, for a GameState turning itself back into a model, which starts out with black to move
+  void setTurn(int currentPlayerIndex, int passCount) {
+    this.currentPlayerIndex = currentPlayerIndex;
+    this.passCount = passCount;
+  }
+
+  @Override
+  public boolean isGameOver() {
+    //the board is full when there are no empty tiles left
+    boolean boardFull = this.emptyTiles == 0;
     //if two both players have passed consecutively or the board is full, the game is over
-    return this.passCount >= 2 || boardFull || whiteTiles.isEmpty() || blackTiles.isEmpty();
+    return this.passCount >= 2 || boardFull
+        || this.scores[PlayerColor.WHITE.ordinal()] == 0
+        || this.scores[PlayerColor.BLACK.ordinal()] == 0;
   }
 
   @Override
@@ -395,27 +786,31 @@ public class SquareBasicReversi implements ReversiModel {
 
   @Override
   public int getPlayerScore(PlayerColor color) {
-    int score = 0;
-    //go through every index in the board (null or tile)
-    for (int r = 0; r < this.boardSize; r++) {
-      for (int q = 0; q < this.boardSize; q++) {
-        Tile tile = getTileAt(new Coordinate(q, r));
-        //if it holds a disc belonging to the given player
-        if (tile.getContents() == color) {
-          score++;
-        }
-      }
-    }
-    return score;
+    return this.scores[color.ordinal()];
   }
 
   @Override
   public Tile getTileAt(Coordinate coordinate) {
-    try {
-      return this.board[coordinate.getQ()][coordinate.getR()];
-    } catch (IndexOutOfBoundsException e) {
+    if (!tileInBoard(coordinate.getQ(), coordinate.getR())) {
       throw new IllegalArgumentException("Coordinate is invalid.");
     }
+    return getTileAt(coordinate.getR() * this.boardSize + coordinate.getQ());
+  }
+
+  @Override
+  public Tile getTileAt(int index) {
+    if (index < 0 || index >= this.boardSize * this.boardSize) {
+      throw new IllegalArgumentException("Coordinate is invalid.");
+    }
+    //the Tile viewing each space is made the first time it is asked for
+    if (this.tiles == null) {
+      this.tiles = new Tile[this.cells.length];
+    }
+    if (this.tiles[index] == null) {
+      this.tiles[index] = new BoardTile(this.coordinateTable.q(index),
+          this.coordinateTable.r(index), this.cellStore, index);
+    }
+    return this.tiles[index];
   }
 
   @Override
@@ -464,4 +859,51 @@ public class SquareBasicReversi implements ReversiModel {
       listener.updateTurn();
     }
   }
-}
\ No newline at end of file
+
+  //lets callers read the board through getBoardView without copying it
+  private class View implements BoardView {
+    @Override
+    public int getBoardSize() {
+      return boardSize;
+    }
+
+    @Override
+    public long getVersion() {
+      return version;
+    }
+
+    @Override
+    public boolean isOnBoard(int q, int r) {
+      return tileInBoard(q, r);
+    }
+
+    @Override
+    public PlayerColor getContents(int q, int r) {
+      if (!tileInBoard(q, r)) {
+        throw new IllegalArgumentException("Coordinate is invalid.");
+      }
+      return contentsAt(q, r);
+    }
+
+    @Override
+    public PlayerColor getContents(int index) {
+      if (index < 0 || index >= boardSize * boardSize) {
+        throw new IllegalArgumentException("Coordinate is invalid.");
+      }
+      return getContents(index % boardSize, index / boardSize);
+    }
+  }
+
+  //lets the Tiles handed out by getTileAt read and change the board, by row-order index
+  private class Cells implements CellStore {
+    @Override
+    public PlayerColor getCell(int index) {
+      return contentsAt(index % boardSize, index / boardSize);
+    }
+
+    @Override
+    public void setCell(int index, PlayerColor color) {
+      setContents(index % boardSize, index / boardSize, color);
+    }
+  }
+}
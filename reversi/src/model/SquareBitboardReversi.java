@@ -0,0 +1,895 @@
+package model;
+
+import controller.ModelEventListener;
+import controller.ReversiController;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Holds the model for a game of square Reversi, with the same rules as {@link SquareBasicReversi},
+ * but with the board stored as a pair of bitboards instead of a 2D array of Tiles.
+ * Each color owns one bit per space on the board, where the space (q, r) is bit r * size + q.
+ * A standard 8x8 board fits in a single 64-bit word per color; larger boards use as many
+ * words as they need.
+ * Legal moves and flips are found by shifting whole masks of discs one space at a time in each
+ * of the eight directions and keeping only the opponent's discs, rather than by walking rows
+ * of Tile objects. All of the masks used for this are allocated once, when the model is made,
+ * so checking or making a move does not create any garbage.
+ * Tiles returned by getTileAt are live views of the bitboards, so this model can be used
+ * anywhere a SquareBasicReversi is used.
+ */
+public class SquareBitboardReversi implements SearchableReversiModel {
+  //the change in q and r for each of the eight directions a row can run in
+  private static final int[] DELTA_Q = {0, 0, -1, 1, -1, 1, -1, 1};
+  private static final int[] DELTA_R = {1, -1, 0, 0, 1, -1, -1, 1};
+  private static final PlayerColor[] COLORS = PlayerColor.values();
+
+  //represents the size of the game board (the number of tiles in each row)
+  //INVARIANT: boardSize is always positive and even
+  private final int boardSize;
+
+  //the packed coordinates of the board, for going between row-order indices and coordinates
+  //without creating a Coordinate each time
+  private final CoordinateTable coordinateTable;
+
+  //represents the number of 64-bit words needed to hold one bit per space on the board
+  private final int words;
+
+  //one bit per space, set if that space holds a disc of the given color
+  //INVARIANT: no bit is set in both masks
+  private final long[] black;
+  private final long[] white;
+
+  //for each direction, the number of bits a mask is shifted by to move one space that way
+  private final int[] shifts;
+
+  //for each direction, the spaces which still have a neighbor on the board in that direction,
+  //so that a shift never wraps around the side of the board
+  private final long[][] edgeMasks;
+
+  //scratch masks for move generation, reused on every call
+  private final long[] run;
+  private final long[] line;
+  private final long[] next;
+  private final long[] flips;
+  private final long[] moves;
+
+  //live Tile views of the board, created the first time each space is asked for
+  private final Tile[] tiles;
+  private final CellStore cells;
+
+  //represents the number of recent player actions that were a pass
+  private int passCount;
+
+  //represents the index in the PlayerColor enum of the player whose turn it is
+  //INVARIANT: currentPlayerIndex is less than 2
+  private int currentPlayerIndex;
+
+  //holds the two controllers which listen to the model
+  private final List<ModelEventListener> listeners;
+
+  //the undo log for moves made with makeMove and makePass. each recorded move is pushed as the
+  //index of every space it flipped, then the index of the space it placed a disc in (or -1 for a
+  //pass), the number of spaces flipped, and the pass count and player index from before the move
+  private int[] undoLog;
+  private int undoSize;
+
+  //a live view of the bitboards for getBoardView, and the version it reports, which changes
+  //every time the contents of any space change
+  private final BoardView boardView;
+  private long version;
+
+  //the Zobrist key of the discs on the board (see Zobrist), kept up to date as discs are placed
+  //and flipped. the key of the position also depends on the player to move, which is added
+  //when it is asked for
+  private long discKey;
+
+  //the legal moves of the current player as of the last time they were asked for, and the
+  //version of the board, player and pass count they were found for. they are only searched for
+  //again once one of those changes (the pass count ends the game after two passes, which leave
+  //the board and the player to move as they were)
+  private LegalMoves legalMoves;
+  private long legalMovesVersion;
+  private int legalMovesPlayer;
+  private int legalMovesPassCount;
+
+  /**
+   * Constructs a bitboard model for a game of Reversi on the standard 8x8 board.
+   */
+  public SquareBitboardReversi() {
+    this(8);
+  }
+
+  /**
+   * Constructs a bitboard model for a game of Reversi, given a board size.
+   * @param boardSize the custom board size, which is the length of one side
+   * @throws IllegalArgumentException if the given side length is less than 4 or odd
+   */
+  public SquareBitboardReversi(int boardSize) {
+    this(boardSize, null);
+  }
+
+  /**
+   * Constructs a bitboard model for a game of Reversi, given a starting board for the game.
+   * The given board is read the same way as SquareBasicReversi reads it: the tile at
+   * givenBoard[q][r] is the space (q, r).
+   * @param givenBoard the board with which to start the game
+   */
+  public SquareBitboardReversi(Tile[][] givenBoard) {
+    this(checkGivenBoard(givenBoard), givenBoard);
+  }
+
+  //sets up every field of the model, then places the discs of the given board on it,
+  //or the four starting discs if there is no given board
+  private SquareBitboardReversi(int boardSize, Tile[][] givenBoard) {
+    if (boardSize < 4) {
+      throw new IllegalArgumentException("Minimum side length of 4 required"
+          + "for a playable game of Reversi.");
+    }
+    if (boardSize % 2 != 0) {
+      throw new IllegalArgumentException("Side length must be even"
+          + "for a playable game of Reversi.");
+    }
+    this.boardSize = boardSize;
+    this.coordinateTable = CoordinateTable.forSize(boardSize);
+    int cells = boardSize * boardSize;
+    this.words = (cells + 63) / 64;
+    this.black = new long[this.words];
+    this.white = new long[this.words];
+    this.shifts = new int[DELTA_Q.length];
+    this.edgeMasks = new long[DELTA_Q.length][this.words];
+    for (int r = 0; r < boardSize; r++) {
+      for (int q = 0; q < boardSize; q++) {
+        for (int d = 0; d < DELTA_Q.length; d++) {
+          if (inBoard(q + DELTA_Q[d], r + DELTA_R[d])) {
+            setBit(this.edgeMasks[d], index(q, r));
+          }
+        }
+      }
+    }
+    for (int d = 0; d < DELTA_Q.length; d++) {
+      this.shifts[d] = DELTA_R[d] * boardSize + DELTA_Q[d];
+    }
+    this.run = new long[this.words];
+    this.line = new long[this.words];
+    this.next = new long[this.words];
+    this.flips = new long[this.words];
+    this.moves = new long[this.words];
+    this.tiles = new Tile[cells];
+    this.cells = new Cells();
+    this.passCount = 0;
+    this.currentPlayerIndex = 0;
+    this.listeners = new ArrayList<>();
+    this.undoLog = new int[this.boardSize * this.boardSize * 4];
+    this.undoSize = 0;
+    this.boardView = new View();
+    this.version = 0;
+    this.discKey = 0;
+    this.legalMoves = null;
+    if (givenBoard == null) {
+      placeStartingTiles();
+    } else {
+      for (int q = 0; q < boardSize; q++) {
+        for (int r = 0; r < boardSize; r++) {
+          if (!givenBoard[q][r].isEmpty()) {
+            setBit(discsOf(givenBoard[q][r].getContents()), index(q, r));
+            this.discKey ^= discKey(index(q, r), givenBoard[q][r].getContents());
+          }
+        }
+      }
+    }
+  }
+
+  //makes sure a given starting board can be played on, and returns its size
+  private static int checkGivenBoard(Tile[][] givenBoard) {
+    if (givenBoard == null || givenBoard.length < 5) {
+      throw new IllegalArgumentException("Minimum side length of 4 required"
+          + "for a playable game of Reversi.");
+    }
+    return givenBoard.length;
+  }
+
+  //sets up game state by placing alternating discs in the four center tiles
+  private void placeStartingTiles() {
+    int half = this.boardSize / 2;
+    setBit(this.black, index(half - 1, half - 1));
+    setBit(this.white, index(half, half - 1));
+    setBit(this.white, index(half - 1, half));
+    setBit(this.black, index(half, half));
+    this.discKey = discKey(index(half - 1, half - 1), PlayerColor.BLACK)
+        ^ discKey(index(half, half - 1), PlayerColor.WHITE)
+        ^ discKey(index(half - 1, half), PlayerColor.WHITE)
+        ^ discKey(index(half, half), PlayerColor.BLACK);
+  }
+
+  @Override
+  public void move(Coordinate coordinate) {
+    throwIfGameOver();
+    //cannot make a move to a coordinate that is not a part of the board
+    if (!inBoard(coordinate.getQ(), coordinate.getR())) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    move(index(coordinate.getQ(), coordinate.getR()));
+  }
+
+  @Override
+  public void move(int index) {
+    throwIfGameOver();
+    //cannot make a move to a space that is not a part of the board
+    if (!indexInBoard(index)) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    long[] own = discsOf(getCurrentPlayer());
+    long[] opponent = own == this.black ? this.white : this.black;
+    if (findFlips(index, own, opponent) == 0) {
+      throw new IllegalStateException("Invalid move.");
+    }
+    if (isOccupied(index)) {
+      throw new IllegalStateException("Cannot place a disc on a nonempty tile.");
+    }
+    //place the disc, then move every flipped disc from the opponent's mask to the player's
+    this.discKey ^= discKey(index, getCurrentPlayer()) ^ flipsKey();
+    setBit(own, index);
+    for (int w = 0; w < this.words; w++) {
+      own[w] |= this.flips[w];
+      opponent[w] &= ~this.flips[w];
+    }
+
+    this.version++;
+
+    //after every move, the most recent action was a move so pass count should be zero
+    this.passCount = 0;
+    updatePlayer();
+    //a move made for real can't be undone, and neither can anything recorded before it
+    this.undoSize = 0;
+    notifyTurn();
+  }
+
+  @Override
+  public boolean isMoveLegal(Coordinate coordinate) {
+    if (!inBoard(coordinate.getQ(), coordinate.getR())) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    return isMoveLegal(index(coordinate.getQ(), coordinate.getR()));
+  }
+
+  @Override
+  public boolean isMoveLegal(int index) {
+    if (!indexInBoard(index)) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    long[] own = discsOf(getCurrentPlayer());
+    return findFlips(index, own, own == this.black ? this.white : this.black) > 0
+        && !isOccupied(index);
+  }
+
+  @Override
+  public boolean playerHasLegalMoves() {
+    return getLegalMoves().size() > 0;
+  }
+
+  @Override
+  public int getMoveScore(Coordinate coordinate) {
+    if (!inBoard(coordinate.getQ(), coordinate.getR())) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    return getMoveScore(index(coordinate.getQ(), coordinate.getR()));
+  }
+
+  @Override
+  public int getMoveScore(int index) {
+    if (!indexInBoard(index)) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    if (isOccupied(index)) {
+      return 0;
+    }
+    long[] own = discsOf(getCurrentPlayer());
+    return findFlips(index, own, own == this.black ? this.white : this.black);
+  }
+
+  @Override
+  public int[] getFlips(Coordinate coordinate) {
+    if (!inBoard(coordinate.getQ(), coordinate.getR())) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    return getFlips(index(coordinate.getQ(), coordinate.getR()));
+  }
+
+  @Override
+  public int[] getFlips(int index) {
+    if (!indexInBoard(index)) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    if (isOccupied(index)) {
+      return new int[0];
+    }
+    long[] own = discsOf(getCurrentPlayer());
+    int[] indices = new int[findFlips(index, own, own == this.black ? this.white : this.black)];
+    int size = 0;
+    //the bits of the flips mask are the row-order indices themselves
+    for (int w = 0; w < this.words; w++) {
+      for (long bits = this.flips[w]; bits != 0; bits &= bits - 1) {
+        indices[size++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+      }
+    }
+    return indices;
+  }
+
+  @Override
+  public List<Coordinate> getFrontier() {
+    //shifting every disc one space in each direction lands on every space next to a disc,
+    //and the frontier is the empty ones among those
+    for (int w = 0; w < this.words; w++) {
+      this.run[w] = this.black[w] | this.white[w];
+    }
+    clear(this.line);
+    for (int d = 0; d < this.shifts.length; d++) {
+      shift(this.run, d, this.next);
+      or(this.line, this.next);
+    }
+    List<Coordinate> coordinates = new ArrayList<>();
+    for (int w = 0; w < this.words; w++) {
+      for (long bits = this.line[w] & ~this.run[w]; bits != 0; bits &= bits - 1) {
+        int index = (w << 6) + Long.numberOfTrailingZeros(bits);
+        coordinates.add(this.coordinateTable.coordinate(index));
+      }
+    }
+    return coordinates;
+  }
+
+  @Override
+  public LegalMoves getLegalMoves() {
+    if (this.legalMoves == null || this.legalMovesVersion != this.version
+        || this.legalMovesPlayer != this.currentPlayerIndex
+        || this.legalMovesPassCount != this.passCount) {
+      if (isGameOver()) {
+        //nobody can move once the game is over
+        this.legalMoves = new LegalMoves(this.boardSize, new int[0], new int[0], 0);
+      } else {
+        long[] own = discsOf(getCurrentPlayer());
+        long[] opponent = own == this.black ? this.white : this.black;
+        //find every legal move at once, then count the flips of each
+        findMoves(own, opponent);
+        int size = count(this.moves);
+        int[] indices = new int[size];
+        int[] flipCounts = new int[size];
+        int i = 0;
+        for (int w = 0; w < this.words; w++) {
+          for (long bits = this.moves[w]; bits != 0; bits &= bits - 1) {
+            int index = (w << 6) + Long.numberOfTrailingZeros(bits);
+            indices[i] = index;
+            flipCounts[i] = findFlips(index, own, opponent);
+            i++;
+          }
+        }
+        this.legalMoves = new LegalMoves(this.boardSize, indices, flipCounts, size);
+      }
+      this.legalMovesVersion = this.version;
+      this.legalMovesPlayer = this.currentPlayerIndex;
+      this.legalMovesPassCount = this.passCount;
+    }
+    return this.legalMoves;
+  }
+
+  //finds every disc that a move at the given space would flip, and leaves them in the flips mask.
+  //for each direction, a single bit starting at the move is shifted along the row for as long as
+  //it lands on opponent discs. if the space just past that run holds one of the player's own
+  //discs, the whole run is flipped.
+  //returns the number of discs that would be flipped
+  private int findFlips(int index, long[] own, long[] opponent) {
+    clear(this.flips);
+    for (int d = 0; d < this.shifts.length; d++) {
+      clear(this.run);
+      setBit(this.run, index);
+      clear(this.line);
+      shift(this.run, d, this.run);
+      and(this.run, opponent);
+      while (!isEmpty(this.run)) {
+        or(this.line, this.run);
+        shift(this.run, d, this.run);
+        and(this.run, opponent);
+      }
+      //shifting the run once more lands every disc but the last on another disc of the run,
+      //and the last on the space that closes it off
+      shift(this.line, d, this.next);
+      if (intersects(this.next, own)) {
+        or(this.flips, this.line);
+      }
+    }
+    return count(this.flips);
+  }
+
+  //finds every empty space the player with the given discs could legally move to, and leaves
+  //them in the moves mask. for each direction, every run of opponent discs that starts next to
+  //one of the player's discs is grown one space at a time, and the empty spaces just past the
+  //ends of those runs are the legal moves in that direction.
+  private void findMoves(long[] own, long[] opponent) {
+    clear(this.moves);
+    for (int d = 0; d < this.shifts.length; d++) {
+      shift(own, d, this.run);
+      and(this.run, opponent);
+      clear(this.line);
+      while (!isEmpty(this.run)) {
+        or(this.line, this.run);
+        shift(this.run, d, this.run);
+        and(this.run, opponent);
+      }
+      shift(this.line, d, this.next);
+      for (int w = 0; w < this.words; w++) {
+        this.moves[w] |= this.next[w] & ~(own[w] | opponent[w]);
+      }
+    }
+  }
+
+  //moves every bit of the source mask one space in the given direction, and writes the result
+  //into the destination mask. the source and destination may be the same array.
+  //bits that would leave the board are dropped before shifting, so nothing wraps around an edge.
+  private void shift(long[] source, int direction, long[] destination) {
+    long[] edge = this.edgeMasks[direction];
+    int amount = this.shifts[direction];
+    int wordShift = Math.abs(amount) >>> 6;
+    int bitShift = Math.abs(amount) & 63;
+    if (amount > 0) {
+      //moving toward higher bits, so fill from the top word down
+      for (int w = this.words - 1; w >= 0; w--) {
+        long value = maskedWord(source, edge, w - wordShift) << bitShift;
+        if (bitShift != 0) {
+          value |= maskedWord(source, edge, w - wordShift - 1) >>> (64 - bitShift);
+        }
+        destination[w] = value;
+      }
+    } else {
+      //moving toward lower bits, so fill from the bottom word up
+      for (int w = 0; w < this.words; w++) {
+        long value = maskedWord(source, edge, w + wordShift) >>> bitShift;
+        if (bitShift != 0) {
+          value |= maskedWord(source, edge, w + wordShift + 1) << (64 - bitShift);
+        }
+        destination[w] = value;
+      }
+    }
+  }
+
+  //returns the given word of a mask with only the bits of the edge mask kept,
+  //or zero if the word is outside of the mask
+  private long maskedWord(long[] mask, long[] edge, int w) {
+    if (w < 0 || w >= this.words) {
+      return 0L;
+    }
+    return mask[w] & edge[w];
+  }
+
+  //clears every bit of the given mask
+  private static void clear(long[] mask) {
+    for (int w = 0; w < mask.length; w++) {
+      mask[w] = 0L;
+    }
+  }
+
+  //keeps only the bits of the given mask which are also set in the other mask
+  private static void and(long[] mask, long[] other) {
+    for (int w = 0; w < mask.length; w++) {
+      mask[w] &= other[w];
+    }
+  }
+
+  //adds every bit of the other mask to the given mask
+  private static void or(long[] mask, long[] other) {
+    for (int w = 0; w < mask.length; w++) {
+      mask[w] |= other[w];
+    }
+  }
+
+  //returns whether the two masks have any bits in common
+  private static boolean intersects(long[] mask, long[] other) {
+    for (int w = 0; w < mask.length; w++) {
+      if ((mask[w] & other[w]) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  //returns whether the given mask has no bits set
+  private static boolean isEmpty(long[] mask) {
+    for (long word : mask) {
+      if (word != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  //returns the number of bits set in the given mask
+  private static int count(long[] mask) {
+    int count = 0;
+    for (long word : mask) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  //sets a single bit of the given mask
+  private static void setBit(long[] mask, int index) {
+    mask[index >>> 6] |= 1L << index;
+  }
+
+  //clears a single bit of the given mask
+  private static void clearBit(long[] mask, int index) {
+    mask[index >>> 6] &= ~(1L << index);
+  }
+
+  //returns whether a single bit of the given mask is set
+  private static boolean testBit(long[] mask, int index) {
+    return (mask[index >>> 6] & (1L << index)) != 0;
+  }
+
+  //returns the bit index of the space at the given coordinates
+  private int index(int q, int r) {
+    return r * this.boardSize + q;
+  }
+
+  //returns whether the given coordinates correspond to a space on the game board
+  private boolean inBoard(int q, int r) {
+    return q >= 0 && q < this.boardSize && r >= 0 && r < this.boardSize;
+  }
+
+  //returns whether the given row-order index corresponds to a space on the game board
+  private boolean indexInBoard(int index) {
+    return index >= 0 && index < this.boardSize * this.boardSize;
+  }
+
+  //returns whether either player has a disc at the given index
+  private boolean isOccupied(int index) {
+    return testBit(this.black, index) || testBit(this.white, index);
+  }
+
+  //returns the mask holding the discs of the given color
+  private long[] discsOf(PlayerColor color) {
+    return color == PlayerColor.BLACK ? this.black : this.white;
+  }
+
+  @Override
+  public long getPositionKey() {
+    return this.discKey ^ Zobrist.toMove(this.currentPlayerIndex);
+  }
+
+  //returns the Zobrist number of a disc of the given color in the space with the given index.
+  //spaces are already numbered in row order, the same way Zobrist numbers them
+  private long discKey(int index, PlayerColor color) {
+    return Zobrist.disc(index, color);
+  }
+
+  //returns what flipping every disc in the flips mask does to the key
+  private long flipsKey() {
+    long key = 0;
+    for (int w = 0; w < this.words; w++) {
+      for (long bits = this.flips[w]; bits != 0; bits &= bits - 1) {
+        key ^= Zobrist.flip((w << 6) + Long.numberOfTrailingZeros(bits));
+      }
+    }
+    return key;
+  }
+
+  @Override
+  public BoardView getBoardView() {
+    return this.boardView;
+  }
+
+  @Override
+  public Tile[][] getBoard() {
+    Tile[][] board = new Tile[this.boardSize][this.boardSize];
+    for (int q = 0; q < this.boardSize; q++) {
+      for (int r = 0; r < this.boardSize; r++) {
+        board[q][r] = new Tile(q, r);
+        PlayerColor contents = contentsAt(index(q, r));
+        if (contents != null) {
+          board[q][r].placeDisc(contents);
+        }
+      }
+    }
+    return board;
+  }
+
+  //returns the color of the disc at the given index, or null if it is empty
+  private PlayerColor contentsAt(int index) {
+    if (testBit(this.black, index)) {
+      return PlayerColor.BLACK;
+    }
+    if (testBit(this.white, index)) {
+      return PlayerColor.WHITE;
+    }
+    return null;
+  }
+
+  @Override
+  public void pass() {
+    throwIfGameOver();
+    updatePlayer();
+    //after every pass, the most recent action was a pass so pass count increments
+    this.passCount++;
+    //a pass made for real can't be undone, and neither can anything recorded before it
+    this.undoSize = 0;
+    notifyTurn();
+  }
+
+  @Override
+  public void makeMove(Coordinate coordinate) {
+    throwIfGameOver();
+    if (!inBoard(coordinate.getQ(), coordinate.getR())) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    makeMove(index(coordinate.getQ(), coordinate.getR()));
+  }
+
+  @Override
+  public void makeMove(int index) {
+    throwIfGameOver();
+    if (!indexInBoard(index)) {
+      throw new IllegalArgumentException("Given coordinate out of bounds of board.");
+    }
+    long[] own = discsOf(getCurrentPlayer());
+    long[] opponent = own == this.black ? this.white : this.black;
+    int flipCount = findFlips(index, own, opponent);
+    if (flipCount == 0) {
+      throw new IllegalStateException("Invalid move.");
+    }
+    if (isOccupied(index)) {
+      throw new IllegalStateException("Cannot place a disc on a nonempty tile.");
+    }
+    ensureUndoCapacity(flipCount + 4);
+    this.discKey ^= discKey(index, getCurrentPlayer()) ^ flipsKey();
+    //record every flipped disc as it is moved from the opponent's mask to the player's
+    for (int w = 0; w < this.words; w++) {
+      for (long bits = this.flips[w]; bits != 0; bits &= bits - 1) {
+        this.undoLog[this.undoSize++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+      }
+      own[w] |= this.flips[w];
+      opponent[w] &= ~this.flips[w];
+    }
+    setBit(own, index);
+    pushUndoFrame(index, flipCount);
+    this.version++;
+    this.passCount = 0;
+    updatePlayer();
+  }
+
+  @Override
+  public int generateMoves(int[] moves) {
+    if (moves == null) {
+      throw new IllegalArgumentException("Cannot write moves to a null array.");
+    }
+    if (isGameOver()) {
+      return 0;
+    }
+    long[] own = discsOf(getCurrentPlayer());
+    long[] opponent = own == this.black ? this.white : this.black;
+    findMoves(own, opponent);
+    int size = 0;
+    for (int w = 0; w < this.words; w++) {
+      for (long bits = this.moves[w]; bits != 0; bits &= bits - 1) {
+        if (size == moves.length) {
+          throw new IllegalArgumentException("The array is too short to hold every move.");
+        }
+        moves[size++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public void makePass() {
+    throwIfGameOver();
+    ensureUndoCapacity(4);
+    pushUndoFrame(-1, 0);
+    updatePlayer();
+    this.passCount++;
+  }
+
+  @Override
+  public void unmakeMove() {
+    if (this.undoSize == 0) {
+      throw new IllegalStateException("There is no move to undo.");
+    }
+    this.currentPlayerIndex = this.undoLog[--this.undoSize];
+    this.passCount = this.undoLog[--this.undoSize];
+    int flipCount = this.undoLog[--this.undoSize];
+    int placed = this.undoLog[--this.undoSize];
+    //every flipped disc changes color back, which toggles its bit in both masks
+    for (int i = 0; i < flipCount; i++) {
+      int flipped = this.undoLog[--this.undoSize];
+      this.discKey ^= Zobrist.flip(flipped);
+      this.black[flipped >>> 6] ^= 1L << flipped;
+      this.white[flipped >>> 6] ^= 1L << flipped;
+    }
+    if (placed >= 0) {
+      this.version++;
+      this.discKey ^= discKey(placed, contentsAt(placed));
+      clearBit(this.black, placed);
+      clearBit(this.white, placed);
+    }
+  }
+
+  //makes sure the undo log has room for the given number of entries, growing it if not
+  private void ensureUndoCapacity(int entries) {
+    if (this.undoSize + entries > this.undoLog.length) {
+      this.undoLog = Arrays.copyOf(this.undoLog,
+          Math.max(this.undoLog.length * 2, this.undoSize + entries));
+    }
+  }
+
+  //finishes recording a move by pushing the space it placed a disc in (or -1 for a pass),
+  //the number of discs it flipped, and the pass count and player index from before it
+  private void pushUndoFrame(int placed, int flipCount) {
+    this.undoLog[this.undoSize++] = placed;
+    this.undoLog[this.undoSize++] = flipCount;
+    this.undoLog[this.undoSize++] = this.passCount;
+    this.undoLog[this.undoSize++] = this.currentPlayerIndex;
+  }
+
+  @Override
+  public PlayerColor getCurrentPlayer() {
+    throwIfGameOver();
+    return COLORS[this.currentPlayerIndex];
+  }
+
+  //updates the player index so that the next move is made by the next player
+  private void updatePlayer() {
+    this.currentPlayerIndex = (this.currentPlayerIndex + 1) % COLORS.length;
+  }
+
+  @Override
+  public boolean isGameOver() {
+    int blackScore = count(this.black);
+    int whiteScore = count(this.white);
+    boolean boardFull = blackScore + whiteScore == this.boardSize * this.boardSize;
+    //if two both players have passed consecutively or the board is full, the game is over
+    return this.passCount >= 2 || boardFull || blackScore == 0 || whiteScore == 0;
+  }
+
+  @Override
+  public int getCurrentWinner() {
+    int blackScore = count(this.black);
+    int whiteScore = count(this.white);
+    if (blackScore > whiteScore) {
+      return PlayerColor.BLACK.ordinal();
+    }
+    if (whiteScore > blackScore) {
+      return PlayerColor.WHITE.ordinal();
+    }
+    return 2;
+  }
+
+  @Override
+  public int getPlayerScore(PlayerColor color) {
+    return count(discsOf(color));
+  }
+
+  @Override
+  public Tile getTileAt(Coordinate coordinate) {
+    if (!inBoard(coordinate.getQ(), coordinate.getR())) {
+      throw new IllegalArgumentException("Coordinate is invalid.");
+    }
+    return getTileAt(index(coordinate.getQ(), coordinate.getR()));
+  }
+
+  @Override
+  public Tile getTileAt(int index) {
+    if (!indexInBoard(index)) {
+      throw new IllegalArgumentException("Coordinate is invalid.");
+    }
+    if (this.tiles[index] == null) {
+      this.tiles[index] = new BoardTile(this.coordinateTable.q(index),
+          this.coordinateTable.r(index), this.cells, index);
+    }
+    return this.tiles[index];
+  }
+
+  @Override
+  public int getBoardSize() {
+    return this.boardSize;
+  }
+
+  //throws an exception if it is called once the game is over
+  private void throwIfGameOver() {
+    if (isGameOver()) {
+      throw new IllegalStateException("The game is over.");
+    }
+  }
+
+  @Override
+  public void startGame() {
+    for (ModelEventListener listener : this.listeners) {
+      listener.initializeGame();
+    }
+    activateFirstTurn();
+  }
+
+  //finds the first controller in the listener list and activates it as the black player.
+  private void activateFirstTurn() {
+    for (ModelEventListener listener : this.listeners) {
+      if (listener instanceof ReversiController) {
+        listener.updateTurn();
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void addListener(ModelEventListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Cannot provide a null listener to the model.");
+    }
+    this.listeners.add(listener);
+  }
+
+  @Override
+  public void notifyTurn() {
+    for (ModelEventListener listener : this.listeners) {
+      listener.updateTurn();
+    }
+  }
+
+  //lets the Tile views handed out by getTileAt read and write the bitboards
+  private class Cells implements CellStore {
+    @Override
+    public PlayerColor getCell(int index) {
+      return contentsAt(index);
+    }
+
+    @Override
+    public void setCell(int index, PlayerColor color) {
+      version++;
+      //XOR out the disc that was there, if any, and XOR in the new one
+      if (contentsAt(index) != null) {
+        discKey ^= discKey(index, contentsAt(index));
+      }
+      if (color != null) {
+        discKey ^= discKey(index, color);
+      }
+      clearBit(black, index);
+      clearBit(white, index);
+      if (color != null) {
+        setBit(discsOf(color), index);
+      }
+    }
+  }
+
+  //lets callers read the bitboards through getBoardView without copying them. the bitboards
+  //already number the spaces in row order, so an index can be read straight from them
+  private class View implements BoardView {
+    @Override
+    public int getBoardSize() {
+      return boardSize;
+    }
+
+    @Override
+    public long getVersion() {
+      return version;
+    }
+
+    @Override
+    public boolean isOnBoard(int q, int r) {
+      return inBoard(q, r);
+    }
+
+    @Override
+    public PlayerColor getContents(int q, int r) {
+      if (!inBoard(q, r)) {
+        throw new IllegalArgumentException("Coordinate is invalid.");
+      }
+      return contentsAt(index(q, r));
+    }
+
+    @Override
+    public PlayerColor getContents(int index) {
+      if (index < 0 || index >= boardSize * boardSize) {
+        throw new IllegalArgumentException("Coordinate is invalid.");
+      }
+      return contentsAt(index);
+    }
+  }
+}
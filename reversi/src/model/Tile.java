@@ -52,6 +52,18 @@ public class Tile implements ReversiTile {
     this.contents = color;
   }
 
+  /**
+   * Takes the disc off this tile, leaving it empty. Players can never remove a disc, so this is
+   * only for models taking back a move they made while searching ahead.
+   * @throws IllegalStateException if there is no disc on this tile
+   */
+  void removeDisc() {
+    if (this.contents == null) {
+      throw new IllegalStateException("Cannot remove a nonexistent disc.");
+    }
+    this.contents = null;
+  }
+
   @Override
   public Coordinate getCoordinate() {
     return this.coordinate;
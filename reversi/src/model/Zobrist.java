@@ -0,0 +1,57 @@
+package model;
+
+/**
+ * The random numbers behind the Zobrist keys that models keep for their positions.
+ * Every possible disc, a color in a space, has its own 64-bit random number, and so does
+ * white being the player to move. The key of a position is all the numbers of the discs on its
+ * board, and white's number if it is white's turn, XORed together. Since XOR undoes itself,
+ * a model can keep the key up to date as the game goes on by XORing in a disc's number when
+ * it is placed, and XORing out the old color's number and in the new one's when it is flipped.
+ * Spaces are numbered in row order (r * boardSize + q), and the numbers come from a fixed
+ * mixing function of the space and color rather than a random table, so every model, of any
+ * kind, gives the same position the same key.
+ */
+final class Zobrist {
+  //the number XORed into the key when it is white's turn
+  static final long WHITE_TO_MOVE = mix(-1);
+
+  private Zobrist() {
+  }
+
+  /**
+   * Returns the number for a disc of the given color in the space with the given index.
+   * @param index the row-order index of the space
+   * @param color the color of the disc
+   * @return the disc's 64-bit number
+   */
+  static long disc(int index, PlayerColor color) {
+    return mix(index * 2L + color.ordinal());
+  }
+
+  /**
+   * Returns what flipping the disc in the space with the given index does to a key, which is
+   * the same whichever way the disc is flipped.
+   * @param index the row-order index of the space
+   * @return the number to XOR into the key
+   */
+  static long flip(int index) {
+    return disc(index, PlayerColor.BLACK) ^ disc(index, PlayerColor.WHITE);
+  }
+
+  /**
+   * Returns the number for the player to move, which is 0 for black and WHITE_TO_MOVE for white.
+   * @param currentPlayerIndex the index in the PlayerColor enum of the player to move
+   * @return the number to XOR into the key
+   */
+  static long toMove(int currentPlayerIndex) {
+    return currentPlayerIndex == PlayerColor.WHITE.ordinal() ? WHITE_TO_MOVE : 0;
+  }
+
+  //scrambles a number into a well-spread 64-bit value (the SplitMix64 generator's output step)
+  private static long mix(long value) {
+    long z = value * 0x9E3779B97F4A7C15L + 0x632BE59BD9B4E019L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,264 @@
+package strategy;
+
+import model.BasicReversi;
+import model.BoardView;
+import model.Coordinate;
+import model.GameState;
+import model.PlayerColor;
+import model.ReadOnlyReversiModel;
+import model.SearchableReversiModel;
+import model.SquareBasicReversi;
+import model.Tile;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A strategy that looks ahead a fixed number of moves, on a hexagonal or a square board, and
+ * picks the move that leads to the best position it can force, as scored by an evaluation.
+ * The search is a minimax search with alpha-beta pruning, in its negamax form, which stops
+ * looking at a move as soon as it is shown to be worse than one already found. It deepens one
+ * move at a time up to the full depth, trying the best move of each depth first at the next,
+ * and searches each depth after the first in an aspiration window around the score of the one
+ * before it, searching again with the full window only if the score falls outside. Below the
+ * first move of each position it uses principal-variation search: every other move is first
+ * searched with a null window, which only shows whether it is better, and searched in full only
+ * if it is.
+ * The search walks the tree on a private copy of the game, made once per call to chooseMove, with
+ * makeMove and unmakeMove, and finds the moves of each position into an array kept for each
+ * depth, so the walk itself allocates nothing. The number of positions visited by the last
+ * search and how fast they were visited are kept, to track the speed of the search.
+ * If there are no legal moves, the strategy returns the list it was given unchanged.
+ */
+public class AlphaBetaStrategy implements ReversiStrategy {
+  //more than any evaluation or final score can be, and a score for winning a game that is more
+  //than any evaluation, to which the final disc difference is added
+  private static final int INFINITY = Integer.MAX_VALUE / 2;
+  private static final int WIN = 1_000_000;
+  //how far either side of the last depth's score the aspiration window reaches
+  private static final int WINDOW = 50;
+
+  private final ReadOnlyReversiModel model;
+  private final int depth;
+  private final Evaluation evaluation;
+
+  //the moves of the position at each ply of the search, made again if the board size changes
+  private int[][] moves;
+  //the best move found at the root by the last search of a depth
+  private int bestMove;
+  //the positions visited by the last search, and how long it took
+  private long nodes;
+  private long nanos;
+
+  /**
+   * Constructs the strategy with a PositionalEvaluation.
+   * @param model the model of the game that this strategy is playing
+   * @param depth the number of moves to look ahead, at least 1
+   * @throws IllegalArgumentException if the depth is less than 1
+   * @throws NullPointerException if the model is null
+   */
+  public AlphaBetaStrategy(ReadOnlyReversiModel model, int depth) {
+    this(model, depth, new PositionalEvaluation());
+  }
+
+  /**
+   * Constructs the strategy.
+   * @param model the model of the game that this strategy is playing
+   * @param depth the number of moves to look ahead, at least 1
+   * @param evaluation how to score the positions where the search stops
+   * @throws IllegalArgumentException if the depth is less than 1
+   * @throws NullPointerException if the model or evaluation is null
+   */
+  public AlphaBetaStrategy(ReadOnlyReversiModel model, int depth, Evaluation evaluation) {
+    if (depth < 1) {
+      throw new IllegalArgumentException("Must look at least one move ahead.");
+    }
+    this.model = Objects.requireNonNull(model);
+    this.depth = depth;
+    this.evaluation = Objects.requireNonNull(evaluation);
+    this.moves = new int[0][];
+    this.bestMove = -1;
+    this.nodes = 0;
+    this.nanos = 0;
+  }
+
+  @Override
+  public List<Coordinate> chooseMove(List<Coordinate> moveList) {
+    if (this.model.isGameOver() || !this.model.playerHasLegalMoves()) {
+      return moveList;
+    }
+    long start = System.nanoTime();
+    this.nodes = 0;
+    SearchableReversiModel game = copyGame();
+    int boardSize = game.getBoardSize();
+    if (this.moves.length != this.depth + 1
+        || this.moves[0].length != boardSize * boardSize) {
+      this.moves = new int[this.depth + 1][boardSize * boardSize];
+    }
+    PlayerColor player = game.getCurrentPlayer();
+    int count = game.generateMoves(this.moves[0]);
+    this.bestMove = this.moves[0][0];
+    int score = searchRoot(game, 1, count, -INFINITY, INFINITY, player);
+    for (int depth = 2; depth <= this.depth; depth++) {
+      moveToFront(this.moves[0], count, this.bestMove);
+      int alpha = score - WINDOW;
+      int beta = score + WINDOW;
+      score = searchRoot(game, depth, count, alpha, beta, player);
+      if (score <= alpha || score >= beta) {
+        //the score fell outside the window, so it is only a bound; search again to find it
+        score = searchRoot(game, depth, count, -INFINITY, INFINITY, player);
+      }
+    }
+    this.nanos = System.nanoTime() - start;
+    moveList.clear();
+    moveList.add(new Coordinate(this.bestMove % boardSize, this.bestMove / boardSize));
+    return moveList;
+  }
+
+  /**
+   * Returns the number of positions the last search visited.
+   * @return the number of positions visited by the last call to chooseMove that searched
+   */
+  public long getNodeCount() {
+    return this.nodes;
+  }
+
+  /**
+   * Returns how many positions the last search visited a second.
+   * @return the speed of the last call to chooseMove that searched, or 0 if none has
+   */
+  public double getNodesPerSecond() {
+    return this.nanos == 0 ? 0 : this.nodes * 1e9 / this.nanos;
+  }
+
+  //copies the position of the game into a new model to search on, so the search never changes
+  //the game being played or anything reading it. the copy is made through a GameState, which
+  //keeps the player to move and works for every board it can hold, whatever its size. a model
+  //does not say how many passes were just made, but the search always moves at its root, so the
+  //copy not knowing cannot change the result. boards too big for a state are copied from their
+  //tiles into a new model, which is black to move, so if it is white's turn black passes in it
+  private SearchableReversiModel copyGame() {
+    BoardView view = this.model.getBoardView();
+    int spaces = 0;
+    for (int index = 0; index < view.getBoardSize() * view.getBoardSize(); index++) {
+      if (view.isOnBoard(index % view.getBoardSize(), index / view.getBoardSize())) {
+        spaces++;
+      }
+    }
+    if (spaces <= GameState.MAX_SPACES) {
+      return GameState.of(this.model).toModel();
+    }
+    Tile[][] board = this.model.getBoard();
+    SearchableReversiModel game = view.isOnBoard(0, 0)
+        ? new SquareBasicReversi(board) : new BasicReversi(board);
+    if (game.getCurrentPlayer() != this.model.getCurrentPlayer()) {
+      game.makePass();
+    }
+    return game;
+  }
+
+  //searches every move of the root to the given depth within the given window, leaving the best
+  //in bestMove, and returns its score for the player to move
+  private int searchRoot(SearchableReversiModel game, int depth, int count, int alpha, int beta,
+                         PlayerColor player) {
+    this.nodes++;
+    int[] rootMoves = this.moves[0];
+    int best = -INFINITY;
+    for (int i = 0; i < count; i++) {
+      game.makeMove(rootMoves[i]);
+      int score = searchChild(game, depth - 1, 1, i == 0, alpha, beta, opponent(player));
+      game.unmakeMove();
+      if (score > best) {
+        best = score;
+        this.bestMove = rootMoves[i];
+        alpha = Math.max(alpha, score);
+        if (alpha >= beta) {
+          break;
+        }
+      }
+    }
+    return best;
+  }
+
+  //searches a move just made, as principal-variation search does: the first move of a position
+  //is searched with the whole window, and every other with a null window first, then with the
+  //whole window only if it turns out better than the best so far. returns its score for the
+  //player who made it
+  private int searchChild(SearchableReversiModel game, int depth, int ply, boolean first,
+                          int alpha, int beta, PlayerColor toMove) {
+    if (first) {
+      return -search(game, depth, ply, -beta, -alpha, toMove);
+    }
+    int score = -search(game, depth, ply, -alpha - 1, -alpha, toMove);
+    if (score > alpha && score < beta) {
+      score = -search(game, depth, ply, -beta, -score, toMove);
+    }
+    return score;
+  }
+
+  //returns the score of the position for the given player to move, searching the given number
+  //of moves ahead within the window from alpha to beta. a score at or below alpha only shows the
+  //position is no better than alpha, and one at or above beta that it is no worse than beta
+  private int search(SearchableReversiModel game, int depth, int ply, int alpha, int beta,
+                     PlayerColor player) {
+    this.nodes++;
+    if (game.isGameOver()) {
+      return finalScore(game, player);
+    }
+    if (depth == 0) {
+      return this.evaluation.evaluate(game, player);
+    }
+    int[] plyMoves = this.moves[ply];
+    int count = game.generateMoves(plyMoves);
+    if (count == 0) {
+      //a pass uses up a move of the search, so the search always ends within its depth
+      game.makePass();
+      int score = -search(game, depth - 1, ply + 1, -beta, -alpha, opponent(player));
+      game.unmakeMove();
+      return score;
+    }
+    int best = -INFINITY;
+    for (int i = 0; i < count; i++) {
+      game.makeMove(plyMoves[i]);
+      int score = searchChild(game, depth - 1, ply + 1, i == 0, alpha, beta, opponent(player));
+      game.unmakeMove();
+      if (score > best) {
+        best = score;
+        alpha = Math.max(alpha, score);
+        if (alpha >= beta) {
+          break;
+        }
+      }
+    }
+    return best;
+  }
+
+  //returns the score of a finished game for the given player: more than any evaluation if they
+  //won and less than any if they lost, by as many discs as they won or lost by
+  private static int finalScore(SearchableReversiModel game, PlayerColor player) {
+    int discs = game.getPlayerScore(player) - game.getPlayerScore(opponent(player));
+    if (discs > 0) {
+      return WIN + discs;
+    }
+    if (discs < 0) {
+      return -WIN + discs;
+    }
+    return 0;
+  }
+
+  //returns the other player
+  private static PlayerColor opponent(PlayerColor player) {
+    return player == PlayerColor.BLACK ? PlayerColor.WHITE : PlayerColor.BLACK;
+  }
+
+  //moves the given move to the front of the first count moves, keeping the rest in order
+  private static void moveToFront(int[] moves, int count, int move) {
+    for (int i = 0; i < count; i++) {
+      if (moves[i] == move) {
+        System.arraycopy(moves, 0, moves, 1, i);
+        moves[0] = move;
+        return;
+      }
+    }
+  }
+}
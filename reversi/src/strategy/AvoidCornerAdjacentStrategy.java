@@ -86,8 +86,9 @@ public class AvoidCornerAdjacentStrategy implements ReversiStrategy {
   //checks for a null value because in our 2d array there are values in the top left
   //and bottom right which act as null placeholder values.
   private boolean tileInBoard(int q, int r) {
-    if (q >= 0 && q < this.model.getBoardSize() && r >= 0 && r < this.model.getBoardSize()) {
-      return model.getTileAt(new Coordinate(q, r)) != null;
+    int boardSize = this.model.getBoardSize();
+    if (q >= 0 && q < boardSize && r >= 0 && r < boardSize) {
+      return model.getTileAt(r * boardSize + q) != null;
     }
     return false;
   }
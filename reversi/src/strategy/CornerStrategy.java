@@ -1,6 +1,7 @@
 package strategy;
 
 import model.Coordinate;
+import model.LegalMoves;
 import model.ReadOnlyReversiModel;
 
 import java.util.List;
@@ -25,13 +26,15 @@ public class CornerStrategy implements ReversiStrategy {
     int boardSize = this.model.getBoardSize();
     int halfBoard = boardSize / 2;
     int topScore = 0;
+    LegalMoves legalMoves = this.model.getLegalMoves();
 
     for (int r = 0; r < boardSize; r += halfBoard) {
       for (int q = 0; q < boardSize; q += halfBoard) {
         if (q != r) {
-          Coordinate coordinate = new Coordinate(q, r);
-          if (model.isMoveLegal(coordinate)) {
-            int moveScore = model.getMoveScore(coordinate);
+          //a score of 0 means the move is not legal
+          int moveScore = legalMoves.getMoveScore(q, r);
+          if (moveScore > 0) {
+            Coordinate coordinate = new Coordinate(q, r);
             if (moveScore > topScore) {
               topScore = moveScore;
               moveList.clear();
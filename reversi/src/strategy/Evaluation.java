@@ -0,0 +1,25 @@
+package strategy;
+
+import model.PlayerColor;
+import model.SearchableReversiModel;
+
+/**
+ * A way of scoring a position that a lookahead search has stopped at, by how good it looks for
+ * one of the players without looking any further ahead.
+ * A search calls its evaluation once for every position at the edge of the tree it walks, so an
+ * evaluation should be quick and should not allocate anything. It may play moves or passes on
+ * the model with makeMove and makePass to look at the position, but must unmake them before it
+ * returns, leaving the model exactly as it was given.
+ */
+public interface Evaluation {
+  /**
+   * Returns how good the given position is for the given player: positive if it favors them,
+   * negative if it favors their opponent, and the further from 0 the more it does. A position
+   * should score the same for one player as the negative of its score for the other.
+   * The game in the model is never over when a search asks for its evaluation.
+   * @param model the model in the position to evaluate
+   * @param player the player to evaluate it for
+   * @return the score of the position for the player
+   */
+  int evaluate(SearchableReversiModel model, PlayerColor player);
+}
@@ -0,0 +1,118 @@
+package strategy;
+
+import model.BoardView;
+import model.PlayerColor;
+import model.SearchableReversiModel;
+
+import java.util.Arrays;
+
+/**
+ * An evaluation that scores a position by the corners each player holds, how many moves each
+ * has, and how many discs each has, in that order of importance, on either a hexagonal or a
+ * square board. A corner is a space with only three neighbors on the board, which can never be
+ * flipped once taken; having more moves than the opponent keeps the choice of good moves open;
+ * and discs only break ties between otherwise equal positions, since the count swings so much
+ * from move to move.
+ * Remembers the corners of the last board it scored, and keeps an array to find the moves in,
+ * so it should only be used by one search at a time.
+ */
+public class PositionalEvaluation implements Evaluation {
+  //the neighbors of a space in axial coordinates on a hexagonal board, and on a square board
+  private static final int[] HEX_DELTA_Q = {1, 1, 0, -1, -1, 0};
+  private static final int[] HEX_DELTA_R = {0, -1, -1, 0, 1, 1};
+  private static final int[] SQUARE_DELTA_Q = {1, 1, 0, -1, -1, -1, 0, 1};
+  private static final int[] SQUARE_DELTA_R = {0, -1, -1, -1, 0, 1, 1, 1};
+
+  private final int cornerWeight;
+  private final int mobilityWeight;
+  private final int discWeight;
+
+  //the row-order indices of the corners of the last board scored, and the size and shape of
+  //that board, so they are only worked out again when the board changes
+  private int[] corners;
+  private int boardSize;
+  private boolean hexagonal;
+  //where the moves of each player are found when counting them
+  private int[] moves;
+
+  /**
+   * Constructs the evaluation with weights that favor corners over moves over discs.
+   */
+  public PositionalEvaluation() {
+    this(100, 8, 1);
+  }
+
+  /**
+   * Constructs the evaluation with the given weights.
+   * @param cornerWeight what each corner a player holds more than its opponent is worth
+   * @param mobilityWeight what each move a player has more than its opponent is worth
+   * @param discWeight what each disc a player has more than its opponent is worth
+   */
+  public PositionalEvaluation(int cornerWeight, int mobilityWeight, int discWeight) {
+    this.cornerWeight = cornerWeight;
+    this.mobilityWeight = mobilityWeight;
+    this.discWeight = discWeight;
+    this.corners = new int[0];
+    this.boardSize = 0;
+    this.hexagonal = false;
+    this.moves = new int[0];
+  }
+
+  @Override
+  public int evaluate(SearchableReversiModel model, PlayerColor player) {
+    BoardView view = model.getBoardView();
+    if (view.getBoardSize() != this.boardSize || view.isOnBoard(0, 0) == this.hexagonal) {
+      findCorners(view);
+    }
+    PlayerColor opponent = player == PlayerColor.BLACK ? PlayerColor.WHITE : PlayerColor.BLACK;
+    int corners = 0;
+    for (int corner : this.corners) {
+      PlayerColor contents = view.getContents(corner);
+      if (contents == player) {
+        corners++;
+      } else if (contents == opponent) {
+        corners--;
+      }
+    }
+    //count the moves of the player to move, then pass to count the other player's. if the other
+    //player just passed, that pass ends the game and they are counted as having no moves, which
+    //is right, since the board has not changed since they had none
+    int mobility = model.generateMoves(this.moves);
+    model.makePass();
+    mobility -= model.generateMoves(this.moves);
+    model.unmakeMove();
+    if (model.getCurrentPlayer() != player) {
+      mobility = -mobility;
+    }
+    int discs = model.getPlayerScore(player) - model.getPlayerScore(opponent);
+    return this.cornerWeight * corners + this.mobilityWeight * mobility
+        + this.discWeight * discs;
+  }
+
+  //finds the corners of the given board: the spaces on it with only three neighbors on it
+  private void findCorners(BoardView view) {
+    this.boardSize = view.getBoardSize();
+    this.hexagonal = !view.isOnBoard(0, 0);
+    int[] deltaQ = this.hexagonal ? HEX_DELTA_Q : SQUARE_DELTA_Q;
+    int[] deltaR = this.hexagonal ? HEX_DELTA_R : SQUARE_DELTA_R;
+    int[] found = new int[8];
+    int count = 0;
+    for (int r = 0; r < this.boardSize; r++) {
+      for (int q = 0; q < this.boardSize; q++) {
+        if (view.isOnBoard(q, r)) {
+          int neighbors = 0;
+          for (int d = 0; d < deltaQ.length; d++) {
+            if (view.isOnBoard(q + deltaQ[d], r + deltaR[d])) {
+              neighbors++;
+            }
+          }
+          if (neighbors == 3 && count < found.length) {
+            found[count++] = r * this.boardSize + q;
+          }
+        }
+      }
+    }
+    this.corners = Arrays.copyOf(found, count);
+    this.moves = new int[this.boardSize * this.boardSize];
+  }
+}
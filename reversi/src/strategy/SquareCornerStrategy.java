@@ -1,6 +1,7 @@
 package strategy;
 
 import model.Coordinate;
+import model.LegalMoves;
 import model.ReadOnlyReversiModel;
 
 import java.util.List;
@@ -24,12 +25,14 @@ public class SquareCornerStrategy implements ReversiStrategy {
   public List<Coordinate> chooseMove(List<Coordinate> moveList) {
     int boardSize = this.model.getBoardSize();
     int topScore = 0;
+    LegalMoves legalMoves = this.model.getLegalMoves();
 
     for (int r = 0; r < boardSize; r += boardSize - 1) {
       for (int q = 0; q < boardSize; q += boardSize - 1) {
-        Coordinate coordinate = new Coordinate(q, r);
-        if (model.isMoveLegal(coordinate)) {
-          int moveScore = model.getMoveScore(coordinate);
+        //a score of 0 means the move is not legal
+        int moveScore = legalMoves.getMoveScore(q, r);
+        if (moveScore > 0) {
+          Coordinate coordinate = new Coordinate(q, r);
           if (moveScore > topScore) {
             topScore = moveScore;
             moveList.clear();
@@ -1,6 +1,7 @@
 package strategy;
 
 import model.Coordinate;
+import model.LegalMoves;
 import model.ReadOnlyReversiModel;
 
 import java.util.List;
@@ -30,21 +31,18 @@ public class SquareMaxCaptureStrategy implements ReversiStrategy {
   @Override
   public List<Coordinate> chooseMove(List<Coordinate> moveList) {
     int topScore = 0;
-    int boardSize = model.getBoardSize();
 
-    for (int r = 0; r < boardSize; r++) {
-      for (int q = 0; q < boardSize; q++) {
-        Coordinate coordinate = new Coordinate(q, r);
-        if (model.isMoveLegal(coordinate)) {
-          int moveScore = model.getMoveScore(coordinate);
-          if (moveScore > topScore) {
-            topScore = moveScore;
-            moveList.clear();
-            moveList.add(coordinate);
-          } else if (moveScore == topScore) {
-            moveList.add(coordinate);
-          }
-        }
+    //the model finds every legal move and its score in one pass, in row order,
+    //so the upper-left-most of any tied moves still comes first
+    LegalMoves legalMoves = model.getLegalMoves();
+    for (int i = 0; i < legalMoves.size(); i++) {
+      int moveScore = legalMoves.getFlipCount(i);
+      if (moveScore > topScore) {
+        topScore = moveScore;
+        moveList.clear();
+        moveList.add(legalMoves.getCoordinate(i));
+      } else if (moveScore == topScore) {
+        moveList.add(legalMoves.getCoordinate(i));
       }
     }
     return moveList;
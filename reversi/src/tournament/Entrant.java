@@ -0,0 +1,76 @@
+package tournament;
+
+import controller.player.EasyAIPlayer;
+import controller.player.HardAIPlayer;
+import controller.player.MediumAIPlayer;
+import controller.player.Player;
+import model.ReversiModel;
+
+import java.util.function.Function;
+
+/**
+ * A player entered into a tournament: a name to report it by, and a way of making a new player
+ * of its kind for each game, since a player reads the model of the one game it plays in.
+ */
+public final class Entrant {
+  private final String name;
+  private final Function<ReversiModel, Player> players;
+
+  /**
+   * Constructs an entrant.
+   * @param name the name to report the entrant by
+   * @param players makes a player of this entrant's kind to play on the given model
+   * @throws IllegalArgumentException if either argument is null
+   */
+  public Entrant(String name, Function<ReversiModel, Player> players) {
+    if (name == null || players == null) {
+      throw new IllegalArgumentException("An entrant needs a name and a way to make players.");
+    }
+    this.name = name;
+    this.players = players;
+  }
+
+  /**
+   * Makes the entrant for the AI with the given name, which is its difficulty. Humans are not
+   * offered, since tournaments are played with no windows for them to play in.
+   * @param name the name of the AI: easy, medium or hard
+   * @return the entrant for that AI, or null if there is no AI with that name
+   */
+  public static Entrant forAi(String name) {
+    if (name == null) {
+      return null;
+    }
+    switch (name) {
+      case "easy":
+        return new Entrant(name, EasyAIPlayer::new);
+      case "medium":
+        return new Entrant(name, MediumAIPlayer::new);
+      case "hard":
+        return new Entrant(name, HardAIPlayer::new);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Returns the name of the entrant.
+   * @return the entrant's name
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Makes a new player of this entrant's kind to play a game on the given model.
+   * @param model the model of the game the player will play
+   * @return a new player
+   */
+  public Player makePlayer(ReversiModel model) {
+    return this.players.apply(model);
+  }
+
+  @Override
+  public String toString() {
+    return this.name;
+  }
+}
@@ -0,0 +1,244 @@
+package tournament;
+
+import controller.MoveType;
+import controller.Pair;
+import controller.ReversiController;
+import controller.TurnScheduler;
+import controller.player.Player;
+import model.BasicReversi;
+import model.CachingReversiModel;
+import model.Coordinate;
+import model.LegalMoves;
+import model.PlayerColor;
+import model.ReversiModel;
+import model.SquareBasicReversi;
+import view.gui.HeadlessView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A match of many games between two entrants on the standard hexagonal or square board, played
+ * in parallel with no windows.
+ * Games are played in pairs. Both games of a pair start from the same opening, a few random
+ * legal moves played from the starting position, and the entrants swap colors between them, so
+ * neither gains from moving first or from a lucky opening, and the games differ even between
+ * AIs that always pick the same move in the same position. The openings come from a seed, so
+ * playing the same match again plays the same games.
+ * A match can be given a sequential probability ratio test, in which case it stops as soon as
+ * the test decides, rather than after every game it was allowed has been played. The match also
+ * measures how long each entrant takes to decide on its moves, as a measure of their cost.
+ */
+public final class Match {
+  private final Entrant first;
+  private final Entrant second;
+  private final boolean hexagonal;
+  private final int openingMoves;
+  private final long seed;
+
+  //the time each entrant has spent deciding on moves, and the number of moves it decided on
+  private final LongAdder[] thinkingNanos;
+  private final LongAdder[] decisions;
+
+  //what the test decided the last time the match was played, if it was given one
+  private Sprt.Decision decision;
+
+  /**
+   * Constructs a match.
+   * @param first the first entrant, from whose point of view results are given
+   * @param second the second entrant
+   * @param hexagonal whether to play on the standard hexagonal board, or the standard square one
+   * @param openingMoves the number of random moves each game starts with
+   * @param seed the seed the openings are chosen from
+   * @throws IllegalArgumentException if either entrant is null, or the number of opening moves
+   *     is negative
+   */
+  public Match(Entrant first, Entrant second, boolean hexagonal, int openingMoves, long seed) {
+    if (first == null || second == null) {
+      throw new IllegalArgumentException("A match needs two entrants.");
+    }
+    if (openingMoves < 0) {
+      throw new IllegalArgumentException("Cannot play a negative number of opening moves.");
+    }
+    this.first = first;
+    this.second = second;
+    this.hexagonal = hexagonal;
+    this.openingMoves = openingMoves;
+    this.seed = seed;
+    this.thinkingNanos = new LongAdder[] {new LongAdder(), new LongAdder()};
+    this.decisions = new LongAdder[] {new LongAdder(), new LongAdder()};
+    this.decision = Sprt.Decision.CONTINUE;
+  }
+
+  /**
+   * Plays the games of the match on the given pool, a batch of pairs the size of the number of
+   * cores at a time, until the test decides or the most games allowed have been played. The
+   * test is checked after every pair in the order the pairs were started, so the games counted
+   * do not depend on how many threads played them.
+   * @param pool the threads to play the games on
+   * @param maxGames the most games to play, which is rounded down to a whole number of pairs
+   * @param sprt the test to stop the match early with, or null to play every game
+   * @return the results of the games counted, from the first entrant's point of view
+   * @throws IllegalArgumentException if the pool is null, or fewer than two games are allowed
+   * @throws IllegalStateException if a game could not be played to the end
+   * @throws InterruptedException if interrupted while waiting for the games to finish
+   */
+  public MatchResult play(ExecutorService pool, int maxGames, Sprt sprt)
+      throws InterruptedException {
+    if (pool == null) {
+      throw new IllegalArgumentException("Cannot play a match on a null pool.");
+    }
+    if (maxGames < 2) {
+      throw new IllegalArgumentException("A match must allow at least one pair of games.");
+    }
+    int pairs = maxGames / 2;
+    int batch = Runtime.getRuntime().availableProcessors();
+    MatchResult result = new MatchResult(0, 0, 0);
+    this.decision = Sprt.Decision.CONTINUE;
+    for (int start = 0; start < pairs; start += batch) {
+      List<Future<double[]>> futures = new ArrayList<>();
+      for (int pair = start; pair < Math.min(pairs, start + batch); pair++) {
+        long opening = this.seed + pair;
+        futures.add(pool.submit(() -> playPair(opening)));
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        double[] scores;
+        try {
+          scores = futures.get(i).get();
+        } catch (ExecutionException e) {
+          throw new IllegalStateException("A game between " + this.first + " and "
+              + this.second + " failed.", e.getCause());
+        }
+        result = result.add(scores[0]).add(scores[1]);
+        if (sprt != null) {
+          this.decision = sprt.decide(result);
+          if (this.decision != Sprt.Decision.CONTINUE) {
+            //the rest of the batch is not needed
+            for (Future<double[]> future : futures.subList(i + 1, futures.size())) {
+              future.cancel(true);
+            }
+            return result;
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns what the test decided the last time the match was played.
+   * @return H0 or H1 if the test decided, or CONTINUE if it did not or there was no test
+   */
+  public Sprt.Decision getDecision() {
+    return this.decision;
+  }
+
+  /**
+   * Returns the average time one of the entrants has taken to decide on a move, over every game
+   * it has played in this match, including any games started but not counted.
+   * @param entrant 0 for the first entrant, or 1 for the second
+   * @return the average time a move in milliseconds, or 0 if it has made no moves
+   * @throws IllegalArgumentException if the entrant is not 0 or 1
+   */
+  public double getMillisPerMove(int entrant) {
+    if (entrant != 0 && entrant != 1) {
+      throw new IllegalArgumentException("A match has entrants 0 and 1.");
+    }
+    long count = this.decisions[entrant].sum();
+    return count == 0 ? 0 : this.thinkingNanos[entrant].sum() / 1e6 / count;
+  }
+
+  /**
+   * Plays one game of the match on the calling thread, from the opening with the given seed:
+   * that many random legal moves played from the starting position, after which the entrants
+   * take their turns until the game is over. Games from the same seed start the same way.
+   * The time the entrants take to decide on their moves is added to the match's.
+   * @param blackEntrant 0 if the first entrant plays black, or 1 if the second does
+   * @param opening the seed of the opening to play from
+   * @return the model of the game, which is over
+   * @throws IllegalArgumentException if the entrant playing black is not 0 or 1
+   */
+  public ReversiModel playGame(int blackEntrant, long opening) {
+    if (blackEntrant != 0 && blackEntrant != 1) {
+      throw new IllegalArgumentException("A match has entrants 0 and 1.");
+    }
+    //both controllers and both players ask the model the same questions within each turn, and
+    //nothing else reads it from another thread, so it remembers its answers until the game changes
+    ReversiModel model = new CachingReversiModel(
+        this.hexagonal ? new BasicReversi() : new SquareBasicReversi());
+    //the opening is played before anyone listens, so no one takes a turn in it
+    Random random = new Random(opening);
+    for (int move = 0; move < this.openingMoves && !model.isGameOver(); move++) {
+      LegalMoves legalMoves = model.getLegalMoves();
+      if (legalMoves.size() == 0) {
+        model.pass();
+      } else {
+        model.move(legalMoves.getIndex(random.nextInt(legalMoves.size())));
+      }
+    }
+    if (model.isGameOver()) {
+      return model;
+    }
+    //the model starts the game with the first controller listening, so the entrant to move
+    //after the opening listens first
+    int toMove = model.getCurrentPlayer() == PlayerColor.BLACK
+        ? blackEntrant : 1 - blackEntrant;
+    TurnScheduler scheduler = new TurnScheduler();
+    new ReversiController(model, player(toMove, model), new HeadlessView(), scheduler);
+    new ReversiController(model, player(1 - toMove, model), new HeadlessView(), scheduler);
+    model.startGame();
+    return model;
+  }
+
+  //plays both games of a pair from the opening with the given seed, and returns what the first
+  //entrant scored in each
+  private double[] playPair(long opening) {
+    int firstAsBlack = playGame(0, opening).getCurrentWinner();
+    int firstAsWhite = playGame(1, opening).getCurrentWinner();
+    return new double[] {score(firstAsBlack, PlayerColor.BLACK),
+        score(firstAsWhite, PlayerColor.WHITE)};
+  }
+
+  //returns what the first entrant scored in a game with the given winner (as given by
+  //getCurrentWinner) while playing the given color
+  private static double score(int winner, PlayerColor color) {
+    if (winner == 2) {
+      return 0.5;
+    }
+    return winner == color.ordinal() ? 1 : 0;
+  }
+
+  //makes a player of the given entrant for the given model that records its thinking time
+  private Player player(int entrant, ReversiModel model) {
+    Entrant owner = entrant == 0 ? this.first : this.second;
+    return new TimedPlayer(owner.makePlayer(model), this.thinkingNanos[entrant],
+        this.decisions[entrant]);
+  }
+
+  //a player that adds up the time another player takes to decide on its moves
+  private static final class TimedPlayer implements Player {
+    private final Player player;
+    private final LongAdder nanos;
+    private final LongAdder count;
+
+    TimedPlayer(Player player, LongAdder nanos, LongAdder count) {
+      this.player = player;
+      this.nanos = nanos;
+      this.count = count;
+    }
+
+    @Override
+    public Pair<MoveType, Coordinate> move() {
+      long start = System.nanoTime();
+      Pair<MoveType, Coordinate> move = this.player.move();
+      this.nanos.add(System.nanoTime() - start);
+      this.count.increment();
+      return move;
+    }
+  }
+}
@@ -0,0 +1,148 @@
+package tournament;
+
+/**
+ * The results of the games of a match so far, from the point of view of its first entrant, with
+ * the Elo difference they suggest between the two entrants.
+ * Each game is worth 1 to the first entrant for a win, 1/2 for a draw and 0 for a loss, and the
+ * Elo difference is the one at which the first entrant would be expected to score as much as it
+ * did on average, under the logistic model Elo ratings use: an entrant rated d points higher
+ * than another is expected to score 1 / (1 + 10^(-d / 400)) a game against it.
+ */
+public final class MatchResult {
+  //the number of standard errors either side of the score that hold 95% of the normal curve
+  private static final double Z_95 = 1.959964;
+
+  private final int wins;
+  private final int draws;
+  private final int losses;
+
+  /**
+   * Constructs the results of a match.
+   * @param wins the number of games the first entrant won
+   * @param draws the number of games drawn
+   * @param losses the number of games the first entrant lost
+   * @throws IllegalArgumentException if any of the counts is negative
+   */
+  public MatchResult(int wins, int draws, int losses) {
+    if (wins < 0 || draws < 0 || losses < 0) {
+      throw new IllegalArgumentException("Cannot have a negative number of games.");
+    }
+    this.wins = wins;
+    this.draws = draws;
+    this.losses = losses;
+  }
+
+  /**
+   * Returns the results with one more game added.
+   * @param score what the first entrant scored in the game: 1 for a win, 0.5 for a draw or 0
+   *     for a loss
+   * @return the results including the game
+   * @throws IllegalArgumentException if the score is not one of those
+   */
+  public MatchResult add(double score) {
+    if (score == 1) {
+      return new MatchResult(this.wins + 1, this.draws, this.losses);
+    } else if (score == 0.5) {
+      return new MatchResult(this.wins, this.draws + 1, this.losses);
+    } else if (score == 0) {
+      return new MatchResult(this.wins, this.draws, this.losses + 1);
+    }
+    throw new IllegalArgumentException("A game is scored 1, 0.5 or 0.");
+  }
+
+  /**
+   * Returns the number of games the first entrant won.
+   * @return the number of wins
+   */
+  public int getWins() {
+    return this.wins;
+  }
+
+  /**
+   * Returns the number of games drawn.
+   * @return the number of draws
+   */
+  public int getDraws() {
+    return this.draws;
+  }
+
+  /**
+   * Returns the number of games the first entrant lost.
+   * @return the number of losses
+   */
+  public int getLosses() {
+    return this.losses;
+  }
+
+  /**
+   * Returns the number of games played.
+   * @return the number of games
+   */
+  public int getGames() {
+    return this.wins + this.draws + this.losses;
+  }
+
+  /**
+   * Returns the first entrant's average score a game.
+   * @return the average score, from 0 to 1, or 0.5 if no games have been played
+   */
+  public double getScore() {
+    if (getGames() == 0) {
+      return 0.5;
+    }
+    return (this.wins + this.draws / 2.0) / getGames();
+  }
+
+  /**
+   * Returns how many Elo points stronger than the second entrant the first seems to be.
+   * @return the Elo difference, which is infinite if one entrant won every game
+   */
+  public double getElo() {
+    return eloOf(getScore());
+  }
+
+  /**
+   * Returns the Elo differences at either end of the 95% confidence interval of getElo, from
+   * the normal approximation to the spread of the average score.
+   * @return the lower and upper Elo differences, in that order
+   */
+  public double[] getEloInterval() {
+    int games = getGames();
+    if (games == 0) {
+      return new double[] {Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+    }
+    double score = getScore();
+    //the variance of the score of a single game, from how the games so far went
+    double variance = (this.wins * (1 - score) * (1 - score)
+        + this.draws * (0.5 - score) * (0.5 - score)
+        + this.losses * score * score) / games;
+    double error = Z_95 * Math.sqrt(variance / games);
+    return new double[] {eloOf(Math.max(0, score - error)), eloOf(Math.min(1, score + error))};
+  }
+
+  /**
+   * Returns the expected score a game of an entrant the given number of Elo points stronger
+   * than its opponent.
+   * @param elo the difference in Elo points
+   * @return the expected score, from 0 to 1
+   */
+  public static double expectedScore(double elo) {
+    return 1 / (1 + Math.pow(10, -elo / 400));
+  }
+
+  //returns the Elo difference that gives the given expected score
+  private static double eloOf(double score) {
+    if (score <= 0) {
+      return Double.NEGATIVE_INFINITY;
+    }
+    if (score >= 1) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return -400 * Math.log10(1 / score - 1);
+  }
+
+  @Override
+  public String toString() {
+    return "+" + this.wins + " =" + this.draws + " -" + this.losses;
+  }
+}
@@ -0,0 +1,176 @@
+package tournament;
+
+import java.util.Arrays;
+
+/**
+ * Elo ratings for every entrant of a tournament, fitted to the results of all the matches
+ * between them at once, so that entrants who never played each other are still compared
+ * through the entrants they both played.
+ * The ratings are the ones under which the results were most likely, under the same logistic
+ * model MatchResult uses, with draws counted as half a win for each side. They are found by
+ * the minorization-maximization method for the Bradley-Terry model, and are shifted so that
+ * they average 0, since only the differences between them mean anything. Each pair that played
+ * is given one extra drawn game, so an entrant who won or lost every game still gets a finite
+ * rating.
+ * The 95% confidence interval of each rating comes from the curvature of the likelihood at the
+ * fitted ratings. It treats the ratings of the other entrants as known, so it is a little
+ * narrower than the true interval when there are few entrants.
+ */
+public final class RatingList {
+  //the number of standard errors either side of a rating that hold 95% of the normal curve
+  private static final double Z_95 = 1.959964;
+  //the drawn games added between each pair that played
+  private static final double PRIOR_DRAWS = 1;
+  //the fit stops once no entrant's strength changes by more than this fraction in a step
+  private static final double TOLERANCE = 1e-10;
+  private static final int MAX_STEPS = 100_000;
+
+  private final int size;
+  //the number of games each pair of entrants played, and what the first of them scored
+  private final double[][] games;
+  private final double[][] scores;
+
+  //the fitted ratings and the half-widths of their intervals, or null if they need fitting again
+  private double[] ratings;
+  private double[] errors;
+
+  /**
+   * Constructs a list of ratings for the given number of entrants, who have played no games.
+   * @param size the number of entrants, numbered from 0
+   * @throws IllegalArgumentException if there are fewer than two entrants
+   */
+  public RatingList(int size) {
+    if (size < 2) {
+      throw new IllegalArgumentException("Ratings need at least two entrants.");
+    }
+    this.size = size;
+    this.games = new double[size][size];
+    this.scores = new double[size][size];
+    this.ratings = null;
+    this.errors = null;
+  }
+
+  /**
+   * Adds the results of a match between two entrants.
+   * @param first the entrant the results are given from the point of view of
+   * @param second the other entrant
+   * @param result the results of the match
+   * @throws IllegalArgumentException if either entrant is not in the list, they are the same
+   *     entrant, or the results are null
+   */
+  public void add(int first, int second, MatchResult result) {
+    if (first < 0 || first >= this.size || second < 0 || second >= this.size) {
+      throw new IllegalArgumentException("No such entrant.");
+    }
+    if (first == second) {
+      throw new IllegalArgumentException("An entrant cannot play itself.");
+    }
+    if (result == null) {
+      throw new IllegalArgumentException("Cannot add null results.");
+    }
+    double score = result.getWins() + result.getDraws() / 2.0;
+    this.games[first][second] += result.getGames();
+    this.games[second][first] += result.getGames();
+    this.scores[first][second] += score;
+    this.scores[second][first] += result.getGames() - score;
+    this.ratings = null;
+  }
+
+  /**
+   * Returns the Elo rating of an entrant, relative to the average of all the entrants.
+   * @param entrant the number of the entrant
+   * @return the entrant's rating
+   * @throws IllegalArgumentException if the entrant is not in the list
+   */
+  public double getRating(int entrant) {
+    checkEntrant(entrant);
+    fit();
+    return this.ratings[entrant];
+  }
+
+  /**
+   * Returns the ratings at either end of the 95% confidence interval of an entrant's rating.
+   * @param entrant the number of the entrant
+   * @return the lower and upper ratings, in that order, which are infinite if the entrant has
+   *     played no games
+   * @throws IllegalArgumentException if the entrant is not in the list
+   */
+  public double[] getRatingInterval(int entrant) {
+    checkEntrant(entrant);
+    fit();
+    return new double[] {this.ratings[entrant] - this.errors[entrant],
+        this.ratings[entrant] + this.errors[entrant]};
+  }
+
+  //throws if the given entrant is not in the list
+  private void checkEntrant(int entrant) {
+    if (entrant < 0 || entrant >= this.size) {
+      throw new IllegalArgumentException("No such entrant.");
+    }
+  }
+
+  //fits the ratings to the results, if they have changed since the last fit
+  private void fit() {
+    if (this.ratings != null) {
+      return;
+    }
+    //the games and scores with the prior draws added between every pair that played
+    double[][] played = new double[this.size][this.size];
+    double[] totals = new double[this.size];
+    for (int i = 0; i < this.size; i++) {
+      for (int j = 0; j < this.size; j++) {
+        if (this.games[i][j] > 0) {
+          played[i][j] = this.games[i][j] + PRIOR_DRAWS;
+          totals[i] += this.scores[i][j] + PRIOR_DRAWS / 2;
+        }
+      }
+    }
+    //each entrant's strength is 10^(rating / 400); every step sets each strength to the one that
+    //would make its expected total score match its real one, given everyone else's
+    double[] strengths = new double[this.size];
+    Arrays.fill(strengths, 1);
+    for (int step = 0; step < MAX_STEPS; step++) {
+      double change = 0;
+      for (int i = 0; i < this.size; i++) {
+        double expected = 0;
+        for (int j = 0; j < this.size; j++) {
+          if (played[i][j] > 0) {
+            expected += played[i][j] / (strengths[i] + strengths[j]);
+          }
+        }
+        if (expected > 0) {
+          double strength = totals[i] / expected;
+          change = Math.max(change, Math.abs(strength / strengths[i] - 1));
+          strengths[i] = strength;
+        }
+      }
+      //keep the strengths around 1, so they average a rating of 0
+      double logMean = 0;
+      for (double strength : strengths) {
+        logMean += Math.log(strength) / this.size;
+      }
+      for (int i = 0; i < this.size; i++) {
+        strengths[i] /= Math.exp(logMean);
+      }
+      if (change < TOLERANCE) {
+        break;
+      }
+    }
+    this.ratings = new double[this.size];
+    this.errors = new double[this.size];
+    for (int i = 0; i < this.size; i++) {
+      this.ratings[i] = 400 * Math.log10(strengths[i]);
+      //the information each game gives about a rating, per Elo point squared
+      double information = 0;
+      for (int j = 0; j < this.size; j++) {
+        if (played[i][j] > 0) {
+          double expected = strengths[i] / (strengths[i] + strengths[j]);
+          information += played[i][j] * expected * (1 - expected);
+        }
+      }
+      information *= Math.pow(Math.log(10) / 400, 2);
+      this.errors[i] = information == 0
+          ? Double.POSITIVE_INFINITY : Z_95 / Math.sqrt(information);
+    }
+  }
+}
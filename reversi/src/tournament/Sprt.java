@@ -0,0 +1,106 @@
+package tournament;
+
+/**
+ * A sequential probability ratio test, which decides between two Elo differences of the entrants
+ * of a match from its results as they come in, so that a match can be stopped as soon as the
+ * results are clear rather than after a fixed number of games.
+ * The test weighs the hypothesis H0, that the first entrant is elo0 points stronger than the
+ * second, against H1, that it is elo1 points stronger, where elo0 is less than elo1. Each game
+ * adds the log of how much more likely its result is under H1 than under H0 to a running total,
+ * treating a game as a trial the first entrant wins with probability equal to its expected
+ * score, and a draw as half a win and half a loss. H1 is accepted once the total rises to
+ * log((1 - beta) / alpha), and H0 once it falls to log(beta / (1 - alpha)), so that the chance of
+ * accepting H1 when H0 is true is at most alpha, and of accepting H0 when H1 is true at most beta.
+ */
+public final class Sprt {
+  /**
+   * What a test has decided so far.
+   */
+  public enum Decision {
+    /** The results favor elo0: the first entrant is not elo1 points stronger. */
+    H0,
+    /** The results favor elo1: the first entrant is at least elo1 points stronger. */
+    H1,
+    /** The results do not favor either yet, so more games are needed. */
+    CONTINUE
+  }
+
+  private final double elo0;
+  private final double elo1;
+  //what each win and each loss adds to the log likelihood ratio
+  private final double winWeight;
+  private final double lossWeight;
+  private final double lowerBound;
+  private final double upperBound;
+
+  /**
+   * Constructs a test.
+   * @param elo0 the Elo difference of H0
+   * @param elo1 the Elo difference of H1, which must be greater than elo0
+   * @param alpha the chance of accepting H1 when H0 is true, between 0 and 0.5
+   * @param beta the chance of accepting H0 when H1 is true, between 0 and 0.5
+   * @throws IllegalArgumentException if the Elo differences are out of order or either chance
+   *     is out of range
+   */
+  public Sprt(double elo0, double elo1, double alpha, double beta) {
+    if (!(elo0 < elo1) || Double.isInfinite(elo0) || Double.isInfinite(elo1)) {
+      throw new IllegalArgumentException("elo0 must be a finite difference less than elo1.");
+    }
+    if (!(alpha > 0 && alpha < 0.5 && beta > 0 && beta < 0.5)) {
+      throw new IllegalArgumentException("The chances of error must be between 0 and 0.5.");
+    }
+    this.elo0 = elo0;
+    this.elo1 = elo1;
+    double score0 = MatchResult.expectedScore(elo0);
+    double score1 = MatchResult.expectedScore(elo1);
+    this.winWeight = Math.log(score1 / score0);
+    this.lossWeight = Math.log((1 - score1) / (1 - score0));
+    this.lowerBound = Math.log(beta / (1 - alpha));
+    this.upperBound = Math.log((1 - beta) / alpha);
+  }
+
+  /**
+   * Returns the log likelihood ratio of H1 to H0 given the results of a match.
+   * @param result the results so far
+   * @return the log likelihood ratio, which is positive if the results favor H1
+   * @throws IllegalArgumentException if the result is null
+   */
+  public double getLlr(MatchResult result) {
+    if (result == null) {
+      throw new IllegalArgumentException("Cannot test a null result.");
+    }
+    return (result.getWins() + result.getDraws() / 2.0) * this.winWeight
+        + (result.getLosses() + result.getDraws() / 2.0) * this.lossWeight;
+  }
+
+  /**
+   * Decides between the hypotheses given the results of a match, if the results are clear.
+   * @param result the results so far
+   * @return H0 or H1 if the log likelihood ratio has reached its bound, or CONTINUE if not
+   * @throws IllegalArgumentException if the result is null
+   */
+  public Decision decide(MatchResult result) {
+    double llr = getLlr(result);
+    if (llr >= this.upperBound) {
+      return Decision.H1;
+    }
+    if (llr <= this.lowerBound) {
+      return Decision.H0;
+    }
+    return Decision.CONTINUE;
+  }
+
+  /**
+   * Returns the bounds the log likelihood ratio must fall to or rise to for the test to accept
+   * H0 or H1.
+   * @return the lower and upper bounds, in that order
+   */
+  public double[] getBounds() {
+    return new double[] {this.lowerBound, this.upperBound};
+  }
+
+  @Override
+  public String toString() {
+    return "SPRT(" + this.elo0 + ", " + this.elo1 + ")";
+  }
+}
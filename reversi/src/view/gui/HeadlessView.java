@@ -0,0 +1,30 @@
+package view.gui;
+
+import controller.ViewEventListener;
+
+/**
+ * A view that shows nothing and takes no input, for games played between AIs where no one is
+ * watching, such as large batches of games run to compare the AIs. Its controller still runs the
+ * game as usual; popups are dropped, and there is no board to show or window to close.
+ */
+public final class HeadlessView implements ReversiView {
+  @Override
+  public void displayPopup(String messageToDisplay) {
+    //there is no one to show it to
+  }
+
+  @Override
+  public void showBoard() {
+    //there is no board to show
+  }
+
+  @Override
+  public void addListener(ViewEventListener listener) {
+    //nothing can be clicked, so there is nothing to tell listeners
+  }
+
+  @Override
+  public void removeView() {
+    //there is no window to close
+  }
+}
@@ -3,10 +3,10 @@ package view.gui;
 import controller.ModelEventListener;
 import controller.Pair;
 import controller.ViewEventListener;
+import model.BoardView;
 import model.Coordinate;
 import model.PlayerColor;
 import model.ReadOnlyReversiModel;
-import model.Tile;
 
 import java.awt.Color;
 import java.awt.Dimension;
@@ -19,9 +19,7 @@ import java.awt.event.MouseListener;
 
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import javax.swing.JPanel;
@@ -43,7 +41,12 @@ public class ReversiPanel extends JPanel
   private final ReadOnlyReversiModel model;
   //represents all the tiles to be displayed
   //effectively the GUI counterpart of the board in the model
-  private final HashMap<Coordinate, ViewableTile> tileList;
+  //held by their index in row order (r * boardSize + q), as the model's
+  //BoardView numbers them, with nulls for indices that are not on the hexagon
+  private final ViewableTile[] tilesInRowOrder;
+  //represents the version of the model's board the last time the discs were updated,
+  //so they are only updated again when the board has changed
+  private long paintedVersion;
   //represents the radius of each hexagonal tile
   //the radius is the distance from the center to a corner
   private final double radius;
@@ -58,6 +61,8 @@ public class ReversiPanel extends JPanel
   private final Color baseColor = Color.GRAY;
   //when selected (via mouse click), tiles are cyan
   private final Color clickedColor = Color.CYAN;
+  //while hinting, the tiles the selected move would flip are light gray
+  private final Color flipColor = Color.LIGHT_GRAY;
   //the panel behind the board is black
   private final Color backgroundColor = Color.BLACK;
   //represents the tile that is selected at any given time, if one exists
@@ -96,14 +101,15 @@ public class ReversiPanel extends JPanel
     //add this as a listener to the model for repainting
     model.addListener(this);
     //set up the tiles and starting discs
-    this.tileList = new HashMap<Coordinate, ViewableTile>();
+    this.tilesInRowOrder = new ViewableTile[boardSize * boardSize];
     setTilePositions(boardSize);
+    this.paintedVersion = -1;
     this.selectedTile = null;
     drawStartingDiscs(boardSize);
     this.hinting = false;
   }
 
-  //adds all the board tiles to tileList
+  //adds all the board tiles to tilesInRowOrder
   private void setTilePositions(int boardSize) {
     int halfBoard = boardSize / 2;
     for (int row = 0; row >= -halfBoard; row--) {
@@ -112,14 +118,14 @@ public class ReversiPanel extends JPanel
             getCenter(boardSize).width + (tileWidth * index) - (tileWidth * (halfBoard + row) / 2),
             getCenter(boardSize).height - radius * (1.5 * (halfBoard + row)),
             radius, halfBoard + index, -row);
-        tileList.put(new Coordinate(tile.getQ(), tile.getR()), tile);
+        this.tilesInRowOrder[tile.getR() * boardSize + tile.getQ()] = tile;
         if (row != -halfBoard) {
           ViewableTile tile2 = new ViewableTile(baseColor,
               getCenter(boardSize).width + (tileWidth * index)
                   - (tileWidth * (halfBoard + row) / 2),
               getCenter(boardSize).height + radius * (1.5 * (halfBoard + row)),
               radius,index + Math.abs(row),boardSize + row - 1);
-          tileList.put(new Coordinate(tile2.getQ(), tile2.getR()), tile2);
+          this.tilesInRowOrder[tile2.getR() * boardSize + tile2.getQ()] = tile2;
         }
       }
     }
@@ -128,21 +134,21 @@ public class ReversiPanel extends JPanel
   //draws the six starting discs in the center of the board, alternating black and white.
   private void drawStartingDiscs(int boardSize) {
     int centerTileQR = boardSize / 2;
-    ViewableTile centerTile = tileList.get(new Coordinate(centerTileQR, centerTileQR));
+    ViewableTile centerTile = tileAt(centerTileQR, centerTileQR);
 
     List<ViewableTile> neighbors = new ArrayList<>();
     //tile to the right of center
-    neighbors.add(tileList.get(new Coordinate(centerTile.getQ() + 1, centerTile.getR())));
+    neighbors.add(tileAt(centerTile.getQ() + 1, centerTile.getR()));
     //tile to the bottom right of center
-    neighbors.add(tileList.get(new Coordinate(centerTile.getQ(), centerTile.getR() + 1)));
+    neighbors.add(tileAt(centerTile.getQ(), centerTile.getR() + 1));
     //tile to the bottom left of center
-    neighbors.add(tileList.get(new Coordinate(centerTile.getQ() - 1, centerTile.getR() + 1)));
+    neighbors.add(tileAt(centerTile.getQ() - 1, centerTile.getR() + 1));
     //tile to the left of center
-    neighbors.add(tileList.get(new Coordinate(centerTile.getQ() - 1, centerTile.getR())));
+    neighbors.add(tileAt(centerTile.getQ() - 1, centerTile.getR()));
     //tile to the top left of center
-    neighbors.add(tileList.get(new Coordinate(centerTile.getQ(), centerTile.getR() - 1)));
+    neighbors.add(tileAt(centerTile.getQ(), centerTile.getR() - 1));
     //tile to the top right of center
-    neighbors.add(tileList.get(new Coordinate(centerTile.getQ() + 1, centerTile.getR() - 1)));
+    neighbors.add(tileAt(centerTile.getQ() + 1, centerTile.getR() - 1));
 
     for (int i = 0; i < neighbors.size(); i++) {
       if (i % 2 == 0) {
@@ -155,6 +161,11 @@ public class ReversiPanel extends JPanel
     }
   }
 
+  //returns the tile at the given coordinates, looked up by its index in row order
+  private ViewableTile tileAt(int q, int r) {
+    return this.tilesInRowOrder[r * this.model.getBoardSize() + q];
+  }
+
   //returns the center-most tile of the board to allow for easier arrangement calculations.
   private Dimension getCenter(int boardSize) {
     int halfBoard = boardSize / 2;
@@ -168,32 +179,31 @@ public class ReversiPanel extends JPanel
   @Override
   public void paintComponent(Graphics g) {
     super.paintComponent(g);
-    Tile[][] board = model.getBoard();
-    //we iterate over the model's board, because going the other way created issues with
-    //trying to fetch before the board was populated with tiles.
-    for (Tile[] row : board) {
-      //for every tile in the board, we first do a null check to avoid the pitfalls of our
-      //2d array axial system, which has null values in the top left and bottom right.
-      for (Tile tile : row) {
-        //once we know it's not null, we get the matching viewable tile.
-        if (tile != null) {
-          ViewableTile viewTile = tileList.get(tile.getCoordinate());
-          //we check the contents of the BOARD tile and use a pair of if statements to
-          //change the VIEW tile accordingly.
-          if (!tile.isEmpty()) {
-            PlayerColor tileContents = tile.getContents();
-            if (tileContents == PlayerColor.BLACK) {
-              viewTile.setDisc(Color.BLACK);
-            }
-            else if (tileContents == PlayerColor.WHITE) {
-              viewTile.setDisc(Color.WHITE);
-            }
+    //we read the model's board through its view rather than a copy of the board, so that
+    //repainting doesn't allocate a new Tile for every space each time.
+    BoardView board = model.getBoardView();
+    //the discs only need updating when the board has changed since they were last updated.
+    boolean boardChanged = board.getVersion() != this.paintedVersion;
+    for (int index = 0; index < this.tilesInRowOrder.length; index++) {
+      ViewableTile viewTile = this.tilesInRowOrder[index];
+      //indices in the corners of the grid are not part of the hexagon, and have no tile.
+      if (viewTile != null) {
+        //we check the contents of the BOARD space and use a pair of if statements to
+        //change the VIEW tile accordingly.
+        if (boardChanged) {
+          PlayerColor tileContents = board.getContents(index);
+          if (tileContents == PlayerColor.BLACK) {
+            viewTile.setDisc(Color.BLACK);
+          }
+          else if (tileContents == PlayerColor.WHITE) {
+            viewTile.setDisc(Color.WHITE);
           }
-          //finally, we tell the view tile to draw itself.
-          viewTile.draw(g);
         }
+        //finally, we tell the view tile to draw itself.
+        viewTile.draw(g);
       }
     }
+    this.paintedVersion = board.getVersion();
   }
 
   /**
@@ -237,9 +247,11 @@ public class ReversiPanel extends JPanel
   public void mouseClicked(MouseEvent e) {
     Point pointClicked = e.getPoint();
     boolean tileClicked = false;
-    //for each tile in the tileList
-    for (Map.Entry<Coordinate, ViewableTile> pair : tileList.entrySet()) {
-      ViewableTile tile = pair.getValue();
+    //for each tile on the board
+    for (ViewableTile tile : this.tilesInRowOrder) {
+      if (tile == null) {
+        continue;
+      }
       //if this is the tile the click happened in
       if (tile.containsPoint(pointClicked)) {
         tileClicked = true;
@@ -248,12 +260,14 @@ public class ReversiPanel extends JPanel
         //so we are erring on the side of caution
         System.out.println("Clicked tile coordinates: " + tile.getQ() + ", " + tile.getR());
         //if the tile is not currently selected, it becomes the selected tile and changes color
-        if (tile.getColor() == this.baseColor) {
+        if (tile != this.selectedTile) {
           setAllTilesToBase();
           tile.setColor(this.clickedColor);
           this.selectedTile = tile;
+          //the model shares the legal moves it found for this turn with the strategies
           tile.setHint(new Pair<>(hinting,
-              model.getMoveScore(new Coordinate(tile.getQ(), tile.getR()))));
+              model.getLegalMoves().getMoveScore(tile.getQ(), tile.getR())));
+          showFlips(tile);
         }
         //else, i.e. if the clicked tile is already selected, all tiles are reset to base color
         //and there is no currently selected tile
@@ -273,10 +287,24 @@ public class ReversiPanel extends JPanel
     repaint();
   }
 
+  //while hinting, colors the tiles whose discs a move at the given tile would flip, which the
+  //model finds without making the move
+  private void showFlips(ViewableTile tile) {
+    if (!this.hinting || this.model.getLegalMoves().getMoveScore(tile.getQ(), tile.getR()) == 0) {
+      return;
+    }
+    int boardSize = this.model.getBoardSize();
+    for (int index : this.model.getFlips(tile.getR() * boardSize + tile.getQ())) {
+      this.tilesInRowOrder[index].setColor(this.flipColor);
+    }
+  }
+
   //repaints all tiles to their starting color
   private void setAllTilesToBase() {
-    for (Map.Entry<Coordinate, ViewableTile> pair : tileList.entrySet()) {
-      ViewableTile tile = pair.getValue();
+    for (ViewableTile tile : this.tilesInRowOrder) {
+      if (tile == null) {
+        continue;
+      }
       tile.setColor(this.baseColor);
       tile.setHint(new Pair<>(false, null));
     }
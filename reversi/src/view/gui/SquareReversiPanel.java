@@ -3,10 +3,10 @@ package view.gui;
 import controller.ModelEventListener;
 import controller.Pair;
 import controller.ViewEventListener;
+import model.BoardView;
 import model.Coordinate;
 import model.PlayerColor;
 import model.ReadOnlyReversiModel;
-import model.Tile;
 
 import java.awt.Color;
 import java.awt.Dimension;
@@ -19,9 +19,7 @@ import java.awt.event.MouseListener;
 
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import javax.swing.JPanel;
@@ -43,7 +41,12 @@ public class SquareReversiPanel extends JPanel
   private final ReadOnlyReversiModel model;
   //represents all the tiles to be displayed
   //effectively the GUI counterpart of the board in the model
-  private final HashMap<Coordinate, SquareViewableTile> tileList;
+  //held by their index in row order (r * boardSize + q), as the model's
+  //BoardView numbers them
+  private final SquareViewableTile[] tilesInRowOrder;
+  //represents the version of the model's board the last time the discs were updated,
+  //so they are only updated again when the board has changed
+  private long paintedVersion;
   //represents the side length of each square tile
   //the radius is the distance from the center to a corner
   private final int sideLength;
@@ -54,6 +57,8 @@ public class SquareReversiPanel extends JPanel
   private final Color baseColor = Color.GRAY;
   //when selected (via mouse click), tiles are cyan
   private final Color clickedColor = Color.CYAN;
+  //while hinting, the tiles the selected move would flip are light gray
+  private final Color flipColor = Color.LIGHT_GRAY;
   //the panel behind the board is black
   private final Color backgroundColor = Color.BLACK;
   //represents the tile that is selected at any given time, if one exists
@@ -87,21 +92,22 @@ public class SquareReversiPanel extends JPanel
     //add this as a listener to the model for repainting
     model.addListener(this);
     //set up the tiles and starting discs
-    this.tileList = new HashMap<Coordinate, SquareViewableTile>();
+    this.tilesInRowOrder = new SquareViewableTile[boardSize * boardSize];
     setTilePositions(boardSize);
+    this.paintedVersion = -1;
     this.selectedTile = null;
     drawStartingDiscs(boardSize);
 
     hinting = false;
   }
 
-  //adds all the board tiles to tileList
+  //adds all the board tiles to tilesInRowOrder
   private void setTilePositions(int boardSize) {
     for (int row = 0; row < boardSize; row++) {
       for (int col = 0; col < boardSize; col++) {
         SquareViewableTile tile = new SquareViewableTile(baseColor, col * this.sideLength,
             row * this.sideLength, this.sideLength, col, row);
-        tileList.put(new Coordinate(tile.getQ(), tile.getR()), tile);
+        this.tilesInRowOrder[tile.getR() * boardSize + tile.getQ()] = tile;
       }
     }
   }
@@ -109,17 +115,17 @@ public class SquareReversiPanel extends JPanel
   //draws the starting discs in the center of the board, alternating black and white.
   private void drawStartingDiscs(int boardSize) {
     int centerTileQR = boardSize / 2;
-    SquareViewableTile centerTile = tileList.get(new Coordinate(centerTileQR, centerTileQR));
+    SquareViewableTile centerTile = tileAt(centerTileQR, centerTileQR);
 
     List<SquareViewableTile> neighbors = new ArrayList<>();
     //tile to the top left
-    neighbors.add(tileList.get(new Coordinate(boardSize / 2 - 1, boardSize / 2 - 1)));
+    neighbors.add(tileAt(boardSize / 2 - 1, boardSize / 2 - 1));
     //tile to the bottom left
-    neighbors.add(tileList.get(new Coordinate(boardSize / 2, boardSize / 2 - 1)));
+    neighbors.add(tileAt(boardSize / 2, boardSize / 2 - 1));
     //tile to the bottom right
-    neighbors.add(tileList.get(new Coordinate(boardSize / 2, boardSize / 2)));
+    neighbors.add(tileAt(boardSize / 2, boardSize / 2));
     //tile to the top right
-    neighbors.add(tileList.get(new Coordinate(boardSize / 2 - 1, boardSize / 2)));
+    neighbors.add(tileAt(boardSize / 2 - 1, boardSize / 2));
 
     for (int i = 0; i < neighbors.size(); i++) {
       if (i % 2 == 0) {
@@ -132,32 +138,38 @@ public class SquareReversiPanel extends JPanel
     }
   }
 
+  //returns the tile at the given coordinates, looked up by its index in row order
+  private SquareViewableTile tileAt(int q, int r) {
+    return this.tilesInRowOrder[r * this.model.getBoardSize() + q];
+  }
+
   //we customized paintComponent in order to ensure that we draw the board correctly
   //whenever a change is made.
   @Override
   public void paintComponent(Graphics g) {
     super.paintComponent(g);
-    Tile[][] board = model.getBoard();
-    //we iterate over the model's board, because going the other way created issues with
-    //trying to fetch before the board was populated with tiles.
-    for (Tile[] row : board) {
-      for (Tile tile : row) {
-        SquareViewableTile viewTile = tileList.get(tile.getCoordinate());
-        //we check the contents of the BOARD tile and use a pair of if statements to
-        //change the VIEW tile accordingly.
-        if (!tile.isEmpty()) {
-          PlayerColor tileContents = tile.getContents();
-          if (tileContents == PlayerColor.BLACK) {
-            viewTile.setDisc(Color.BLACK);
-          }
-          else if (tileContents == PlayerColor.WHITE) {
-            viewTile.setDisc(Color.WHITE);
-          }
+    //we read the model's board through its view rather than a copy of the board, so that
+    //repainting doesn't allocate a new Tile for every space each time.
+    BoardView board = model.getBoardView();
+    //the discs only need updating when the board has changed since they were last updated.
+    boolean boardChanged = board.getVersion() != this.paintedVersion;
+    for (int index = 0; index < this.tilesInRowOrder.length; index++) {
+      SquareViewableTile viewTile = this.tilesInRowOrder[index];
+      //we check the contents of the BOARD space and use a pair of if statements to
+      //change the VIEW tile accordingly.
+      if (boardChanged) {
+        PlayerColor tileContents = board.getContents(index);
+        if (tileContents == PlayerColor.BLACK) {
+          viewTile.setDisc(Color.BLACK);
+        }
+        else if (tileContents == PlayerColor.WHITE) {
+          viewTile.setDisc(Color.WHITE);
         }
-        //finally, we tell the view tile to draw itself.
-        viewTile.draw(g);
       }
+      //finally, we tell the view tile to draw itself.
+      viewTile.draw(g);
     }
+    this.paintedVersion = board.getVersion();
   }
 
   /**
@@ -201,9 +213,11 @@ public class SquareReversiPanel extends JPanel
   public void mouseClicked(MouseEvent e) {
     Point pointClicked = e.getPoint();
     boolean tileClicked = false;
-    //for each tile in the tileList
-    for (Map.Entry<Coordinate, SquareViewableTile> pair : tileList.entrySet()) {
-      SquareViewableTile tile = pair.getValue();
+    //for each tile on the board
+    for (SquareViewableTile tile : this.tilesInRowOrder) {
+      if (tile == null) {
+        continue;
+      }
       //if this is the tile the click happened in
       if (tile.containsPoint(pointClicked)) {
         tileClicked = true;
@@ -212,12 +226,14 @@ public class SquareReversiPanel extends JPanel
         //so we are erring on the side of caution
         System.out.println("Clicked tile coordinates: " + tile.getQ() + ", " + tile.getR());
         //if the tile is not currently selected, it becomes the selected tile and changes color
-        if (tile.getColor() == this.baseColor) {
+        if (tile != this.selectedTile) {
           setAllTilesToBase();
           tile.setColor(this.clickedColor);
           this.selectedTile = tile;
-          tile.setHint(new Pair<>(hinting, model.getMoveScore(new Coordinate(tile.getQ(),
-              tile.getR()))));
+          //the model shares the legal moves it found for this turn with the strategies
+          tile.setHint(new Pair<>(hinting,
+              model.getLegalMoves().getMoveScore(tile.getQ(), tile.getR())));
+          showFlips(tile);
         }
         //else, i.e. if the clicked tile is already selected, all tiles are reset to base color
         //and there is no currently selected tile
@@ -237,10 +253,24 @@ public class SquareReversiPanel extends JPanel
     repaint();
   }
 
+  //while hinting, colors the tiles whose discs a move at the given tile would flip, which the
+  //model finds without making the move
+  private void showFlips(SquareViewableTile tile) {
+    if (!this.hinting || this.model.getLegalMoves().getMoveScore(tile.getQ(), tile.getR()) == 0) {
+      return;
+    }
+    int boardSize = this.model.getBoardSize();
+    for (int index : this.model.getFlips(tile.getR() * boardSize + tile.getQ())) {
+      this.tilesInRowOrder[index].setColor(this.flipColor);
+    }
+  }
+
   //repaints all tiles to their starting color
   private void setAllTilesToBase() {
-    for (Map.Entry<Coordinate, SquareViewableTile> pair : tileList.entrySet()) {
-      SquareViewableTile tile = pair.getValue();
+    for (SquareViewableTile tile : this.tilesInRowOrder) {
+      if (tile == null) {
+        continue;
+      }
       tile.setColor(this.baseColor);
       tile.setHint(new Pair<>(false, null));
     }
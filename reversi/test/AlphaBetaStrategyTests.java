@@ -0,0 +1,226 @@
+import model.BasicReversi;
+import model.Coordinate;
+import model.HexBitboardReversi;
+import model.LegalMoves;
+import model.PlayerColor;
+import model.ReversiModel;
+import model.SearchableReversiModel;
+import model.SquareBasicReversi;
+import model.SquareBitboardReversi;
+import org.junit.Assert;
+import org.junit.Test;
+import strategy.AlphaBetaStrategy;
+import strategy.Evaluation;
+import strategy.PositionalEvaluation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the alpha-beta search strategy, and the move generator it searches with.
+ */
+public class AlphaBetaStrategyTests {
+  //the score the strategy gives a won game, before the disc difference is added
+  private static final int WIN = 1_000_000;
+
+  //an evaluation that just counts discs, so the tests can work out the same scores by hand
+  private static final Evaluation DISCS = (model, player) -> model.getPlayerScore(player)
+      - model.getPlayerScore(player == PlayerColor.BLACK ? PlayerColor.WHITE : PlayerColor.BLACK);
+
+  @Test
+  public void testMoveGenerator() {
+    Random random = new Random(25);
+    checkMoveGenerator(new BasicReversi(), new BasicReversi(), random);
+    checkMoveGenerator(new HexBitboardReversi(6), new HexBitboardReversi(6), random);
+    checkMoveGenerator(new SquareBasicReversi(), new SquareBasicReversi(), random);
+    checkMoveGenerator(new SquareBitboardReversi(8), new SquareBitboardReversi(8), random);
+  }
+
+  //plays a random game on two models, one by index and one by coordinate, making sure the moves
+  //generated match the legal moves at every turn
+  private void checkMoveGenerator(SearchableReversiModel byIndex,
+                                  SearchableReversiModel byCoordinate, Random random) {
+    int[] moves = new int[byIndex.getBoardSize() * byIndex.getBoardSize()];
+    while (!byIndex.isGameOver()) {
+      LegalMoves legalMoves = byIndex.getLegalMoves();
+      int count = byIndex.generateMoves(moves);
+      Assert.assertEquals(legalMoves.size(), count);
+      for (int i = 0; i < count; i++) {
+        Assert.assertEquals(legalMoves.getIndex(i), moves[i]);
+      }
+      if (count == 0) {
+        byIndex.makePass();
+        byCoordinate.makePass();
+      } else {
+        int i = random.nextInt(count);
+        byIndex.makeMove(moves[i]);
+        byCoordinate.makeMove(legalMoves.getCoordinate(i));
+      }
+      Assert.assertEquals(byCoordinate.getPositionKey(), byIndex.getPositionKey());
+    }
+    Assert.assertEquals(0, byIndex.generateMoves(moves));
+    Assert.assertThrows(IllegalArgumentException.class, () -> byIndex.generateMoves(null));
+  }
+
+  @Test
+  public void testMoveGeneratorInvalid() {
+    SearchableReversiModel model = new SquareBasicReversi();
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.generateMoves(new int[3]));
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.makeMove(64));
+    Assert.assertThrows(IllegalStateException.class, () -> model.makeMove(0));
+    Assert.assertEquals(4, model.generateMoves(new int[4]));
+  }
+
+  @Test
+  public void testFindsBestMove() {
+    Random random = new Random(5);
+    //from positions part of the way through random games, the move the strategy picks is as
+    //good as the best a full minimax search finds
+    for (int game = 0; game < 6; game++) {
+      SearchableReversiModel model =
+          game % 2 == 0 ? new BasicReversi(4) : new SquareBasicReversi(6);
+      for (int turn = 0; turn < 4 + game * 2 && !model.isGameOver(); turn++) {
+        playRandom(model, random);
+      }
+      if (model.isGameOver() || !model.playerHasLegalMoves()) {
+        continue;
+      }
+      for (int depth = 1; depth <= 4; depth++) {
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(model, depth, DISCS);
+        List<Coordinate> chosen = strategy.chooseMove(new ArrayList<>());
+        Assert.assertEquals(1, chosen.size());
+        PlayerColor player = model.getCurrentPlayer();
+        int best = Integer.MIN_VALUE;
+        LegalMoves legalMoves = model.getLegalMoves();
+        for (int i = 0; i < legalMoves.size(); i++) {
+          model.makeMove(legalMoves.getIndex(i));
+          best = Math.max(best, -minimax(model, depth - 1, opponent(player)));
+          model.unmakeMove();
+        }
+        model.makeMove(chosen.get(0));
+        Assert.assertEquals(best, -minimax(model, depth - 1, opponent(player)));
+        model.unmakeMove();
+        Assert.assertTrue(strategy.getNodeCount() > 0);
+        Assert.assertTrue(strategy.getNodesPerSecond() > 0);
+      }
+    }
+  }
+
+  //scores the position for the player to move with a search that looks at every position
+  private int minimax(SearchableReversiModel model, int depth, PlayerColor player) {
+    if (model.isGameOver()) {
+      int discs = DISCS.evaluate(model, player);
+      return discs > 0 ? WIN + discs : discs < 0 ? -WIN + discs : 0;
+    }
+    if (depth == 0) {
+      return DISCS.evaluate(model, player);
+    }
+    LegalMoves legalMoves = model.getLegalMoves();
+    if (legalMoves.size() == 0) {
+      model.makePass();
+      int score = -minimax(model, depth - 1, opponent(player));
+      model.unmakeMove();
+      return score;
+    }
+    int[] indices = new int[legalMoves.size()];
+    for (int i = 0; i < indices.length; i++) {
+      indices[i] = legalMoves.getIndex(i);
+    }
+    int best = Integer.MIN_VALUE;
+    for (int index : indices) {
+      model.makeMove(index);
+      best = Math.max(best, -minimax(model, depth - 1, opponent(player)));
+      model.unmakeMove();
+    }
+    return best;
+  }
+
+  @Test
+  public void testLeavesGameAlone() {
+    ReversiModel model = new SquareBasicReversi();
+    model.move(new Coordinate(4, 2));
+    long key = model.getPositionKey();
+    List<Coordinate> chosen = new AlphaBetaStrategy(model, 4).chooseMove(new ArrayList<>());
+    Assert.assertEquals(1, chosen.size());
+    Assert.assertTrue(model.isMoveLegal(chosen.get(0)));
+    Assert.assertEquals(key, model.getPositionKey());
+    Assert.assertEquals(PlayerColor.WHITE, model.getCurrentPlayer());
+  }
+
+  @Test
+  public void testSmallAndLargeBoards() {
+    //the smallest square board, and a hexagonal board too big for a GameState, are searched
+    //for whichever player is to move until the game is over
+    for (ReversiModel model : new ReversiModel[] {new SquareBasicReversi(4),
+        new BasicReversi(8)}) {
+      AlphaBetaStrategy strategy = new AlphaBetaStrategy(model, 2);
+      for (int turn = 0; turn < 8 && !model.isGameOver(); turn++) {
+        if (!model.playerHasLegalMoves()) {
+          model.pass();
+          continue;
+        }
+        long key = model.getPositionKey();
+        List<Coordinate> chosen = strategy.chooseMove(new ArrayList<>());
+        Assert.assertEquals(key, model.getPositionKey());
+        Assert.assertEquals(1, chosen.size());
+        Assert.assertTrue(model.isMoveLegal(chosen.get(0)));
+        model.move(chosen.get(0));
+      }
+    }
+  }
+
+  @Test
+  public void testNoMoves() {
+    ReversiModel model = new BasicReversi();
+    model.pass();
+    model.pass();
+    List<Coordinate> moveList = new ArrayList<>();
+    moveList.add(new Coordinate(0, 0));
+    Assert.assertSame(moveList, new AlphaBetaStrategy(model, 3).chooseMove(moveList));
+    Assert.assertEquals(1, moveList.size());
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new AlphaBetaStrategy(model, 0));
+  }
+
+  @Test
+  public void testBeatsGreedyPlayer() {
+    //searching a few moves ahead should beat always taking the most discs, from either side
+    for (PlayerColor searcher : PlayerColor.values()) {
+      SearchableReversiModel model = new SquareBasicReversi(6);
+      AlphaBetaStrategy strategy = new AlphaBetaStrategy(model, 4, new PositionalEvaluation());
+      while (!model.isGameOver()) {
+        LegalMoves legalMoves = model.getLegalMoves();
+        if (legalMoves.size() == 0) {
+          model.pass();
+        } else if (model.getCurrentPlayer() == searcher) {
+          model.move(strategy.chooseMove(new ArrayList<>()).get(0));
+        } else {
+          int greedy = 0;
+          for (int i = 1; i < legalMoves.size(); i++) {
+            if (legalMoves.getFlipCount(i) > legalMoves.getFlipCount(greedy)) {
+              greedy = i;
+            }
+          }
+          model.move(legalMoves.getIndex(greedy));
+        }
+      }
+      Assert.assertEquals(searcher.ordinal(), model.getCurrentWinner());
+    }
+  }
+
+  //plays a random legal move, or passes if there is none
+  private void playRandom(ReversiModel model, Random random) {
+    LegalMoves legalMoves = model.getLegalMoves();
+    if (legalMoves.size() == 0) {
+      model.pass();
+    } else {
+      model.move(legalMoves.getIndex(random.nextInt(legalMoves.size())));
+    }
+  }
+
+  //returns the other player
+  private static PlayerColor opponent(PlayerColor player) {
+    return player == PlayerColor.BLACK ? PlayerColor.WHITE : PlayerColor.BLACK;
+  }
+}
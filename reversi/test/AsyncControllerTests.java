@@ -0,0 +1,182 @@
+import controller.ModelEventListener;
+import controller.MoveType;
+import controller.Pair;
+import controller.ReversiController;
+import controller.TurnScheduler;
+import controller.player.EasyAIPlayer;
+import controller.player.Player;
+import model.BasicReversi;
+import model.ConcurrentReversiModel;
+import model.Coordinate;
+import model.PlayerColor;
+import model.ReversiModel;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tests controllers whose players work out their moves on another thread.
+ */
+public class AsyncControllerTests {
+  ExecutorService game;
+  ExecutorService workers;
+
+  @Before
+  public void init() {
+    this.game = Executors.newSingleThreadExecutor(task -> new Thread(task, "game"));
+    this.workers = Executors.newFixedThreadPool(2, task -> new Thread(task, "worker"));
+  }
+
+  @After
+  public void shutDown() {
+    this.game.shutdownNow();
+    this.workers.shutdownNow();
+  }
+
+  @Test
+  public void testAIGameOffTheGameThread() throws InterruptedException {
+    ReversiModel model = new ConcurrentReversiModel(new BasicReversi(8));
+    List<String> moveThreads = new CopyOnWriteArrayList<>();
+    List<String> turnThreads = new CopyOnWriteArrayList<>();
+    model.addListener(new ModelEventListener() {
+      @Override
+      public void initializeGame() {
+        //only turns are recorded
+      }
+
+      @Override
+      public void updateTurn() {
+        turnThreads.add(Thread.currentThread().getName());
+      }
+    });
+    //the game ends from the controllers, so they listen after the turns are recorded
+    StubView view = new StubView();
+    new ReversiController(model, new ThreadPlayer(new EasyAIPlayer(model), moveThreads), view,
+        this.game, this.workers);
+    new ReversiController(model, new ThreadPlayer(new EasyAIPlayer(model), moveThreads),
+        new StubView(), this.game, this.workers);
+    this.game.execute(model::startGame);
+    Assert.assertTrue(view.awaitRemoval(10000));
+    Assert.assertTrue(model.isGameOver());
+    //the players thought on the workers, and every move was made on the game's thread
+    Assert.assertFalse(moveThreads.isEmpty());
+    Assert.assertEquals(moveThreads.size(), turnThreads.size());
+    for (String thread : moveThreads) {
+      Assert.assertEquals("worker", thread);
+    }
+    for (String thread : turnThreads) {
+      Assert.assertEquals("game", thread);
+    }
+  }
+
+  @Test
+  public void testQuitCancelsMove() {
+    ReversiModel model = new BasicReversi();
+    long start = model.getPositionKey();
+    WaitingPlayer black = new WaitingPlayer();
+    TurnScheduler scheduler = new TurnScheduler();
+    ReversiController controller = new ReversiController(model, black, new StubView(),
+        scheduler, this.workers);
+    new ReversiController(model, new WaitingPlayer(), new StubView(), scheduler, this.workers);
+    model.startGame();
+    Assert.assertFalse(black.future.isDone());
+    controller.quit();
+    Assert.assertTrue(black.future.isCancelled());
+    Assert.assertEquals(start, model.getPositionKey());
+    Assert.assertEquals("You have quit the game.", controller.moveMade(new Coordinate(6, 3)));
+  }
+
+  @Test
+  public void testGameOverCancelsMoves() {
+    ReversiModel model = new BasicReversi();
+    WaitingPlayer black = new WaitingPlayer();
+    WaitingPlayer white = new WaitingPlayer();
+    TurnScheduler scheduler = new TurnScheduler();
+    StubView view = new StubView();
+    new ReversiController(model, black, view, scheduler, this.workers);
+    new ReversiController(model, white, new StubView(), scheduler, this.workers);
+    model.startGame();
+    //black's turn is taken some other way, so its move is no longer wanted
+    CompletableFuture<Pair<MoveType, Coordinate>> first = black.future;
+    model.pass();
+    Assert.assertTrue(first.isCancelled());
+    Assert.assertFalse(white.future.isDone());
+    model.pass();
+    Assert.assertTrue(white.future.isCancelled());
+    Assert.assertTrue(model.isGameOver());
+  }
+
+  @Test
+  public void testLateMoveIsThrownAway() {
+    ReversiModel model = new BasicReversi();
+    WaitingPlayer black = new WaitingPlayer();
+    TurnScheduler scheduler = new TurnScheduler();
+    new ReversiController(model, black, new StubView(), scheduler, Runnable::run);
+    new ReversiController(model, new WaitingPlayer(), new StubView(), scheduler, Runnable::run);
+    model.startGame();
+    CompletableFuture<Pair<MoveType, Coordinate>> first = black.future;
+    model.pass();
+    long key = model.getPositionKey();
+    //a move that finishes after its turn is over changes nothing
+    first.obtrudeValue(new Pair<>(MoveType.VALID, new Coordinate(6, 3)));
+    Assert.assertEquals(key, model.getPositionKey());
+  }
+
+  @Test
+  public void testFailedMovePasses() {
+    ReversiModel model = new BasicReversi();
+    WaitingPlayer black = new WaitingPlayer();
+    WaitingPlayer white = new WaitingPlayer();
+    TurnScheduler scheduler = new TurnScheduler();
+    new ReversiController(model, black, new StubView(), scheduler, Runnable::run);
+    new ReversiController(model, white, new StubView(), scheduler, Runnable::run);
+    model.startGame();
+    //a player that can't work out a move passes instead of holding up the game
+    black.future.completeExceptionally(new IllegalStateException("No move."));
+    Assert.assertFalse(model.isGameOver());
+    Assert.assertEquals(PlayerColor.WHITE, model.getCurrentPlayer());
+    Assert.assertFalse(white.future.isDone());
+  }
+
+  //a player that records the thread it works out each move on
+  private static class ThreadPlayer implements Player {
+    private final Player player;
+    private final List<String> threads;
+
+    ThreadPlayer(Player player, List<String> threads) {
+      this.player = player;
+      this.threads = threads;
+    }
+
+    @Override
+    public Pair<MoveType, Coordinate> move() {
+      this.threads.add(Thread.currentThread().getName());
+      return this.player.move();
+    }
+  }
+
+  //a player that never finishes working out a move unless the test finishes it
+  private static class WaitingPlayer implements Player {
+    CompletableFuture<Pair<MoveType, Coordinate>> future;
+
+    @Override
+    public Pair<MoveType, Coordinate> move() {
+      return new Pair<>(MoveType.HUMAN, null);
+    }
+
+    @Override
+    public CompletableFuture<Pair<MoveType, Coordinate>> moveAsync(Executor executor) {
+      this.future = new CompletableFuture<>();
+      return this.future;
+    }
+  }
+}
@@ -0,0 +1,117 @@
+import common.SideBySide;
+import model.BasicReversi;
+import model.CachingReversiModel;
+import model.Coordinate;
+import model.PlayerColor;
+import model.ReversiModel;
+import model.SquareBasicReversi;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the caching decorator, by playing it alongside the model it wraps and checking that
+ * it always gives the same answers, and that it only asks the wrapped model once per change.
+ */
+public class CachingReversiModelTests {
+  ReversiModel basic;
+  CachingReversiModel model;
+
+  @Before
+  public void init() {
+    this.basic = new BasicReversi(6);
+    this.model = new CachingReversiModel(this.basic);
+  }
+
+  @Test
+  public void testNullModel() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new CachingReversiModel(null));
+  }
+
+  @Test
+  public void testRepeatedQuestionsAreHits() {
+    Assert.assertEquals(0, this.model.getHitRate(), 0);
+    for (int i = 0; i < 4; i++) {
+      Assert.assertFalse(this.model.isGameOver());
+      Assert.assertEquals(3, this.model.getPlayerScore(PlayerColor.BLACK));
+      Assert.assertEquals(1, this.model.getMoveScore(new Coordinate(4, 7)));
+    }
+    Assert.assertEquals(1, this.model.getMisses(CachingReversiModel.Query.GAME_OVER));
+    Assert.assertEquals(3, this.model.getHits(CachingReversiModel.Query.GAME_OVER));
+    Assert.assertEquals(0.75, this.model.getHitRate(CachingReversiModel.Query.MOVE_SCORE), 0);
+    Assert.assertEquals(0.75, this.model.getHitRate(), 0);
+    Assert.assertEquals(0, this.model.getHitRate(CachingReversiModel.Query.FLIPS), 0);
+  }
+
+  @Test
+  public void testMoveForgetsAnswers() {
+    Assert.assertEquals(3, this.model.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(PlayerColor.BLACK, this.model.getCurrentPlayer());
+    this.model.move(new Coordinate(4, 7));
+    Assert.assertEquals(5, this.model.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(PlayerColor.WHITE, this.model.getCurrentPlayer());
+    Assert.assertEquals(2, this.model.getMisses(CachingReversiModel.Query.PLAYER_SCORE));
+  }
+
+  @Test
+  public void testPassForgetsAnswers() {
+    Assert.assertEquals(PlayerColor.BLACK, this.model.getCurrentPlayer());
+    this.model.pass();
+    Assert.assertEquals(PlayerColor.WHITE, this.model.getCurrentPlayer());
+    this.model.pass();
+    Assert.assertTrue(this.model.isGameOver());
+    Assert.assertThrows(IllegalStateException.class, this.model::getCurrentPlayer);
+  }
+
+  @Test
+  public void testChangesThroughTilesAreNoticed() {
+    Assert.assertEquals(3, this.model.getPlayerScore(PlayerColor.WHITE));
+    this.model.getTileAt(new Coordinate(6, 5)).flip();
+    Assert.assertEquals(4, this.model.getPlayerScore(PlayerColor.WHITE));
+  }
+
+  @Test
+  public void testCallersGetTheirOwnCopies() {
+    List<Coordinate> frontier = this.model.getFrontier();
+    frontier.clear();
+    Assert.assertEquals(this.basic.getFrontier(), this.model.getFrontier());
+    int[] flips = this.model.getFlips(new Coordinate(4, 7));
+    flips[0] = -1;
+    Assert.assertArrayEquals(this.basic.getFlips(new Coordinate(4, 7)),
+        this.model.getFlips(new Coordinate(4, 7)));
+  }
+
+  @Test
+  public void testWrappedModelExceptionsPassThrough() {
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> this.model.isMoveLegal(new Coordinate(0, 0)));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> this.model.getMoveScore(new Coordinate(11, 0)));
+    Assert.assertThrows(IllegalArgumentException.class, () -> this.model.getFlips(-1));
+    Assert.assertThrows(IllegalStateException.class, () -> this.model.move(new Coordinate(0, 5)));
+  }
+
+  @Test
+  public void testMatchesWrappedModel() {
+    playAlongside(new BasicReversi(6), new BasicReversi(6), 1);
+    playAlongside(new SquareBasicReversi(8), new SquareBasicReversi(8), 2);
+  }
+
+  //plays a random game through a caching model, asking every question twice each turn and
+  //making sure the answers match those of a separate model playing the same game
+  private void playAlongside(ReversiModel expected, ReversiModel wrapped, long seed) {
+    CachingReversiModel caching = new CachingReversiModel(wrapped);
+    Random random = new Random(seed);
+    while (!expected.isGameOver()) {
+      SideBySide.assertSameAnswers(expected, caching);
+      SideBySide.assertSameAnswers(expected, caching);
+      SideBySide.playRandomTurn(expected, caching, random);
+    }
+    SideBySide.assertSameGame(expected, caching);
+    Assert.assertEquals(expected.getCurrentWinner(), caching.getCurrentWinner());
+    Assert.assertEquals(0.5, caching.getHitRate(CachingReversiModel.Query.POSITION_KEY), 0.01);
+  }
+}
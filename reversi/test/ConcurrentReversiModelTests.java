@@ -0,0 +1,180 @@
+import common.SideBySide;
+import controller.ModelEventListener;
+import model.BasicReversi;
+import model.ConcurrentReversiModel;
+import model.Coordinate;
+import model.LegalMoves;
+import model.PlayerColor;
+import model.ReversiModel;
+import model.SquareBitboardReversi;
+import model.Tile;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests the thread-safe model, first on one thread against the model it wraps, and then with
+ * a game being played while other threads read the board.
+ */
+public class ConcurrentReversiModelTests {
+  ReversiModel model;
+
+  @Before
+  public void init() {
+    this.model = new ConcurrentReversiModel(new BasicReversi(6));
+  }
+
+  @Test
+  public void testNullModel() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new ConcurrentReversiModel(null));
+  }
+
+  @Test
+  public void testStartingBoard() {
+    Assert.assertEquals(PlayerColor.BLACK, this.model.getTileAt(new Coordinate(6, 5)).getContents());
+    Assert.assertNull(this.model.getTileAt(new Coordinate(0, 0)));
+    Assert.assertEquals(3, this.model.getPlayerScore(PlayerColor.WHITE));
+    Assert.assertEquals(PlayerColor.BLACK, this.model.getCurrentPlayer());
+    Assert.assertSame(this.model.getTileAt(60), this.model.getTileAt(60));
+  }
+
+  @Test
+  public void testInvalidQueries() {
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> this.model.getTileAt(new Coordinate(11, 0)));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> this.model.isMoveLegal(new Coordinate(0, 0)));
+    Assert.assertThrows(IllegalArgumentException.class, () -> this.model.move(-1));
+    Assert.assertThrows(IllegalStateException.class, () -> this.model.move(new Coordinate(0, 5)));
+    this.model.pass();
+    this.model.pass();
+    Assert.assertThrows(IllegalStateException.class, this.model::getCurrentPlayer);
+    Assert.assertThrows(IllegalStateException.class, () -> this.model.isMoveLegal(4 + 7 * 11));
+    //a space with a disc on it is no different once the game is over, as in the wrapped model
+    Assert.assertThrows(IllegalStateException.class, () -> this.model.isMoveLegal(6 + 5 * 11));
+    Assert.assertThrows(IllegalStateException.class,
+        () -> this.model.getMoveScore(new Coordinate(6, 5)));
+    Assert.assertThrows(IllegalStateException.class, this.model::pass);
+  }
+
+  @Test
+  public void testChangesThroughTiles() {
+    Tile tile = this.model.getTileAt(new Coordinate(6, 5));
+    tile.flip();
+    Assert.assertEquals(PlayerColor.WHITE, tile.getContents());
+    Assert.assertEquals(4, this.model.getPlayerScore(PlayerColor.WHITE));
+    Assert.assertEquals(PlayerColor.WHITE, this.model.getBoardView().getContents(6, 5));
+  }
+
+  @Test
+  public void testListenersCanAskAboutTheMove() {
+    List<Integer> scores = new ArrayList<>();
+    this.model.addListener(new ModelEventListener() {
+      @Override
+      public void initializeGame() {
+        scores.add(-1);
+      }
+
+      @Override
+      public void updateTurn() {
+        scores.add(model.getPlayerScore(PlayerColor.BLACK));
+      }
+    });
+    this.model.startGame();
+    this.model.move(new Coordinate(4, 7));
+    this.model.pass();
+    Assert.assertEquals(List.of(-1, 5, 5), scores);
+    Assert.assertThrows(IllegalArgumentException.class, () -> this.model.addListener(null));
+  }
+
+  @Test
+  public void testMatchesWrappedModel() {
+    playAlongside(new BasicReversi(6), new ConcurrentReversiModel(new BasicReversi(6)), 1);
+    playAlongside(new SquareBitboardReversi(8),
+        new ConcurrentReversiModel(new SquareBitboardReversi(8)), 2);
+  }
+
+  //plays a random game on both models on this thread, making sure they agree on every query and
+  //on the version of the board
+  private void playAlongside(ReversiModel expected, ReversiModel actual, long seed) {
+    Random random = new Random(seed);
+    while (!expected.isGameOver()) {
+      SideBySide.assertSameAnswers(expected, actual);
+      Assert.assertEquals(expected.getBoardView().getVersion(),
+          actual.getBoardView().getVersion());
+      SideBySide.playRandomTurn(expected, actual, random);
+    }
+    SideBySide.assertSameGame(expected, actual);
+    Assert.assertEquals(expected.getCurrentWinner(), actual.getCurrentWinner());
+  }
+
+  @Test
+  public void testReadersDuringAGame() throws InterruptedException {
+    ReversiModel shared = new ConcurrentReversiModel(new BasicReversi(8));
+    AtomicBoolean done = new AtomicBoolean(false);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    List<Thread> readers = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Thread reader = new Thread(() -> {
+        try {
+          int lastDiscs = 0;
+          while (!done.get()) {
+            //every copy of the board is of one moment of the game, and moves only add discs
+            int discs = 0;
+            for (Tile[] row : shared.getBoard()) {
+              for (Tile tile : row) {
+                if (tile != null && !tile.isEmpty()) {
+                  discs++;
+                }
+              }
+            }
+            Assert.assertTrue(discs >= lastDiscs);
+            lastDiscs = discs;
+            shared.getLegalMoves();
+            shared.getPlayerScore(PlayerColor.BLACK);
+            shared.getBoardView().getContents(7, 7);
+          }
+        } catch (Throwable e) {
+          failure.compareAndSet(null, e);
+        }
+      });
+      readers.add(reader);
+      reader.start();
+    }
+    Random random = new Random(16);
+    while (!shared.isGameOver()) {
+      LegalMoves legalMoves = shared.getLegalMoves();
+      if (legalMoves.size() == 0) {
+        shared.pass();
+      } else {
+        shared.move(legalMoves.getIndex(random.nextInt(legalMoves.size())));
+      }
+    }
+    done.set(true);
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    Assert.assertNull(failure.get());
+    Assert.assertEquals(shared.getPlayerScore(PlayerColor.BLACK)
+        + shared.getPlayerScore(PlayerColor.WHITE), 169 - countEmpty(shared));
+  }
+
+  //counts the spaces on the model's board with no disc
+  private int countEmpty(ReversiModel model) {
+    int empty = 0;
+    for (Tile[] row : model.getBoard()) {
+      for (Tile tile : row) {
+        if (tile != null && tile.isEmpty()) {
+          empty++;
+        }
+      }
+    }
+    return empty;
+  }
+}
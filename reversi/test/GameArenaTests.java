@@ -0,0 +1,187 @@
+import common.SideBySide;
+import controller.ModelEventListener;
+import model.BasicReversi;
+import model.Coordinate;
+import model.GameArena;
+import model.GameState;
+import model.LegalMoves;
+import model.PlayerColor;
+import model.ReversiModel;
+import model.SquareBasicReversi;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests the arena, by opening, playing, resetting and closing games in it, and by playing its
+ * games alongside the models whose rules they follow.
+ */
+public class GameArenaTests {
+  GameArena arena;
+
+  @Before
+  public void init() {
+    this.arena = new GameArena(4);
+  }
+
+  @Test
+  public void testInvalidArena() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new GameArena(0));
+    Assert.assertThrows(IllegalArgumentException.class, () -> this.arena.open(null));
+    Assert.assertThrows(IllegalArgumentException.class, () -> this.arena.openHex(8));
+    Assert.assertEquals(0, this.arena.getOpenGames());
+  }
+
+  @Test
+  public void testOpenGamesStartAsNewModels() {
+    ReversiModel hex = this.arena.openHex(6);
+    ReversiModel square = this.arena.openSquare(8);
+    Assert.assertEquals(2, this.arena.getOpenGames());
+    Assert.assertEquals(new BasicReversi().getPositionKey(), hex.getPositionKey());
+    Assert.assertEquals(new SquareBasicReversi().getPositionKey(), square.getPositionKey());
+    Assert.assertEquals(11, hex.getBoardSize());
+    Assert.assertNull(hex.getTileAt(0));
+    Assert.assertEquals(PlayerColor.BLACK, hex.getTileAt(new Coordinate(6, 5)).getContents());
+    Assert.assertEquals(3, hex.getPlayerScore(PlayerColor.WHITE));
+  }
+
+  @Test
+  public void testGamesDoNotShareBoards() {
+    ReversiModel first = this.arena.openHex(6);
+    ReversiModel second = this.arena.openHex(6);
+    first.move(new Coordinate(4, 7));
+    Assert.assertEquals(5, first.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(3, second.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(PlayerColor.BLACK, second.getCurrentPlayer());
+  }
+
+  @Test
+  public void testFullArena() {
+    for (int i = 0; i < 4; i++) {
+      this.arena.openSquare(4);
+    }
+    Assert.assertThrows(IllegalStateException.class, () -> this.arena.openSquare(4));
+  }
+
+  @Test
+  public void testResetAndReuse() {
+    GameArena.Game game = this.arena.openHex(6);
+    long version = game.getBoardView().getVersion();
+    game.move(new Coordinate(4, 7));
+    game.pass();
+    Assert.assertTrue(game.getBoardView().getVersion() > version);
+    game.reset();
+    Assert.assertEquals(GameState.hex(6), game.getState());
+
+    game.close();
+    game.close();
+    Assert.assertTrue(game.isClosed());
+    Assert.assertEquals(0, this.arena.getOpenGames());
+    Assert.assertThrows(IllegalStateException.class, game::pass);
+    Assert.assertThrows(IllegalStateException.class, game::getPositionKey);
+    Assert.assertThrows(IllegalStateException.class, game::reset);
+
+    //the next game takes the freed slot, and the old handle still can't touch it
+    GameArena.Game next = this.arena.openSquare(8);
+    Assert.assertFalse(next.isClosed());
+    Assert.assertTrue(game.isClosed());
+    game.close();
+    Assert.assertEquals(1, this.arena.getOpenGames());
+    Assert.assertEquals(GameState.square(8), next.getState());
+  }
+
+  @Test
+  public void testOpenFromAState() {
+    GameState state = GameState.square(8).pass();
+    GameArena.Game game = this.arena.open(state);
+    Assert.assertEquals(PlayerColor.WHITE, game.getCurrentPlayer());
+    game.pass();
+    Assert.assertTrue(game.isGameOver());
+    game.reset();
+    Assert.assertEquals(state, game.getState());
+  }
+
+  @Test
+  public void testChangesThroughTiles() {
+    ReversiModel game = this.arena.openHex(6);
+    game.getTileAt(new Coordinate(6, 5)).flip();
+    Assert.assertEquals(4, game.getPlayerScore(PlayerColor.WHITE));
+    Assert.assertEquals(PlayerColor.WHITE, game.getBoardView().getContents(6, 5));
+    Assert.assertEquals(GameState.of(game).getPositionKey(), game.getPositionKey());
+  }
+
+  @Test
+  public void testListeners() {
+    ReversiModel game = this.arena.openHex(6);
+    List<String> events = new ArrayList<>();
+    game.addListener(new ModelEventListener() {
+      @Override
+      public void initializeGame() {
+        events.add("start");
+      }
+
+      @Override
+      public void updateTurn() {
+        events.add("turn");
+      }
+    });
+    game.startGame();
+    game.move(new Coordinate(4, 7));
+    Assert.assertEquals(List.of("start", "turn"), events);
+    Assert.assertThrows(IllegalArgumentException.class, () -> game.addListener(null));
+  }
+
+  @Test
+  public void testMatchesModels() {
+    SideBySide.playAlongside(new BasicReversi(6), this.arena.openHex(6), 1);
+    SideBySide.playAlongside(new SquareBasicReversi(8), this.arena.openSquare(8), 2);
+    SideBySide.playAlongside(new BasicReversi(3), this.arena.openHex(3), 3);
+  }
+
+  @Test
+  public void testManyGamesOnManyThreads() throws InterruptedException {
+    GameArena big = new GameArena(2000);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      long seed = t;
+      Thread thread = new Thread(() -> {
+        try {
+          Random random = new Random(seed);
+          //each thread opens its own games, plays them out, then closes them for the next
+          for (int round = 0; round < 2; round++) {
+            List<GameArena.Game> games = new ArrayList<>();
+            for (int i = 0; i < 250; i++) {
+              games.add(i % 2 == 0 ? big.openHex(6) : big.openSquare(8));
+            }
+            for (GameArena.Game game : games) {
+              while (!game.isGameOver()) {
+                LegalMoves legalMoves = game.getLegalMoves();
+                if (legalMoves.size() == 0) {
+                  game.pass();
+                } else {
+                  game.move(legalMoves.getIndex(random.nextInt(legalMoves.size())));
+                }
+              }
+              game.close();
+            }
+          }
+        } catch (Throwable e) {
+          failure.compareAndSet(null, e);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Assert.assertNull(failure.get());
+    Assert.assertEquals(0, big.getOpenGames());
+  }
+}
@@ -0,0 +1,183 @@
+import model.BasicReversi;
+import model.GameRecordReader;
+import model.GameRecordWriter;
+import model.LegalMoves;
+import model.ReversiModel;
+import model.SquareBasicReversi;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the game record files, by writing random games to them and making sure every game
+ * read back replays to the same position.
+ */
+public class GameRecordTests {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  Path file;
+
+  @Before
+  public void init() throws IOException {
+    this.file = this.folder.getRoot().toPath().resolve("games.rvgr");
+  }
+
+  @Test
+  public void testEmptyFile() throws IOException {
+    new GameRecordWriter(this.file, true, 11).close();
+    Assert.assertEquals(8, Files.size(this.file));
+    try (GameRecordReader reader = new GameRecordReader(this.file)) {
+      Assert.assertEquals(0, reader.size());
+      Assert.assertTrue(reader.isHexagonal());
+      Assert.assertEquals(11, reader.getBoardSize());
+      Assert.assertThrows(IllegalArgumentException.class, () -> reader.getTurnCount(0));
+    }
+  }
+
+  @Test
+  public void testHexGames() throws IOException {
+    checkGames(() -> new BasicReversi(6), true, 200);
+    //a standard board takes one byte a turn
+    try (GameRecordReader reader = new GameRecordReader(this.file)) {
+      long turns = 0;
+      for (int game = 0; game < reader.size(); game++) {
+        turns += reader.getTurnCount(game);
+      }
+      Assert.assertEquals(8 + 4 * 200 + turns, Files.size(this.file));
+    }
+  }
+
+  @Test
+  public void testSquareGames() throws IOException {
+    checkGames(() -> new SquareBasicReversi(8), false, 100);
+  }
+
+  @Test
+  public void testLargeBoardGames() throws IOException {
+    checkGames(() -> new SquareBasicReversi(20), false, 5);
+  }
+
+  //a way of making a new model for each game
+  private interface Models {
+    ReversiModel make();
+  }
+
+  //writes random games to the file, reopening it partway, and makes sure the reader gives back
+  //every turn of every game, and replays each to the position it ended in
+  private void checkGames(Models models, boolean hexagonal, int count) throws IOException {
+    Random random = new Random(count);
+    List<int[]> games = new ArrayList<>();
+    List<Long> keys = new ArrayList<>();
+    for (int half = 0; half < 2; half++) {
+      ReversiModel first = models.make();
+      try (GameRecordWriter writer =
+               new GameRecordWriter(this.file, hexagonal, first.getBoardSize())) {
+        for (int i = 0; i < count / 2; i++) {
+          ReversiModel model = models.make();
+          int[] turns = play(model, random);
+          writer.append(turns);
+          games.add(turns);
+          keys.add(model.getPositionKey());
+        }
+      }
+    }
+    try (GameRecordReader reader = new GameRecordReader(this.file)) {
+      Assert.assertEquals(games.size(), reader.size());
+      //read them out of order, to make sure each game is found on its own
+      for (int game = games.size() - 1; game >= 0; game--) {
+        Assert.assertArrayEquals(games.get(game), reader.getTurns(game));
+        Assert.assertEquals((long) keys.get(game), reader.replay(game).getPositionKey());
+      }
+      Assert.assertEquals(models.make().getPositionKey(), reader.replay(0, 0).getPositionKey());
+    }
+  }
+
+  //plays a random game on the model and returns its turns, with -1 for each pass
+  private int[] play(ReversiModel model, Random random) {
+    int[] turns = new int[model.getBoardSize() * model.getBoardSize() * 2];
+    int size = 0;
+    while (!model.isGameOver()) {
+      LegalMoves legalMoves = model.getLegalMoves();
+      if (legalMoves.size() == 0) {
+        model.pass();
+        turns[size++] = -1;
+      } else {
+        int index = legalMoves.getIndex(random.nextInt(legalMoves.size()));
+        model.move(index);
+        turns[size++] = index;
+      }
+    }
+    return Arrays.copyOf(turns, size);
+  }
+
+  @Test
+  public void testTornWrite() throws IOException {
+    try (GameRecordWriter writer = new GameRecordWriter(this.file, false, 8)) {
+      writer.append(new int[] {19, 18, 17});
+      writer.append(new int[] {-1, -1});
+      writer.append(new int[] {37, 43, 29});
+    }
+    byte[] bytes = Files.readAllBytes(this.file);
+    //a write cut off partway through the last game's turns, or partway through its length,
+    //only loses that game
+    for (int cut : new int[] {1, 5, 6}) {
+      Files.write(this.file, Arrays.copyOf(bytes, bytes.length - cut));
+      try (GameRecordReader reader = new GameRecordReader(this.file)) {
+        Assert.assertEquals(2, reader.size());
+        Assert.assertEquals(7 - cut, reader.getTornBytes());
+        Assert.assertArrayEquals(new int[] {-1, -1}, reader.getTurns(1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> reader.getTurnCount(2));
+      }
+    }
+    //the next writer cuts off the broken game before adding more
+    try (GameRecordWriter writer = new GameRecordWriter(this.file, false, 8)) {
+      writer.append(new int[] {44});
+    }
+    try (GameRecordReader reader = new GameRecordReader(this.file)) {
+      Assert.assertEquals(3, reader.size());
+      Assert.assertEquals(0, reader.getTornBytes());
+      Assert.assertArrayEquals(new int[] {19, 18, 17}, reader.getTurns(0));
+      Assert.assertArrayEquals(new int[] {44}, reader.getTurns(2));
+    }
+  }
+
+  @Test
+  public void testInvalidFiles() throws IOException {
+    try (GameRecordWriter writer = new GameRecordWriter(this.file, true, 11)) {
+      writer.append(new int[] {-1, -1});
+      Assert.assertThrows(IllegalArgumentException.class, () -> writer.append(new int[] {121}));
+      //the corners of the grid that are not on a hexagonal board
+      Assert.assertThrows(IllegalArgumentException.class, () -> writer.append(new int[] {0}));
+      Assert.assertThrows(IllegalArgumentException.class,
+          () -> writer.append(new int[] {-1, 120}));
+      Assert.assertThrows(IllegalArgumentException.class, () -> writer.append(null));
+    }
+    //a file can only hold games of one board
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new GameRecordWriter(this.file, false, 11));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new GameRecordWriter(this.file, true, 13));
+    try (GameRecordReader reader = new GameRecordReader(this.file)) {
+      Assert.assertEquals(1, reader.size());
+      Assert.assertTrue(reader.replay(0).isGameOver());
+      Assert.assertThrows(IllegalArgumentException.class, () -> reader.getTurn(0, 2));
+      Assert.assertThrows(IllegalArgumentException.class, () -> reader.replay(0, 3));
+    }
+
+    //a file that is not a game record file at all
+    Files.write(this.file, "not a game record".getBytes());
+    Assert.assertThrows(IllegalArgumentException.class, () -> new GameRecordReader(this.file));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new GameRecordReader(null));
+  }
+}
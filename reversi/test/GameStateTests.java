@@ -0,0 +1,151 @@
+import common.SideBySide;
+import model.BasicReversi;
+import model.Coordinate;
+import model.GameState;
+import model.LegalMoves;
+import model.PlayerColor;
+import model.ReversiModel;
+import model.SearchableReversiModel;
+import model.SquareBasicReversi;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests the immutable game state, on its own and by playing it alongside the models whose
+ * rules it follows.
+ */
+public class GameStateTests {
+
+  @Test
+  public void testStartingStatesMatchNewModels() {
+    Assert.assertEquals(GameState.of(new BasicReversi()), GameState.hex(6));
+    Assert.assertEquals(GameState.of(new BasicReversi(3)), GameState.hex(3));
+    Assert.assertEquals(GameState.of(new SquareBasicReversi()), GameState.square(8));
+    Assert.assertEquals(new BasicReversi().getPositionKey(), GameState.hex(6).getPositionKey());
+    Assert.assertTrue(GameState.hex(6).isHexagonal());
+    Assert.assertFalse(GameState.square(8).isHexagonal());
+    Assert.assertEquals(11, GameState.hex(6).getBoardSize());
+    Assert.assertEquals(PlayerColor.BLACK, GameState.square(8).getCurrentPlayer());
+  }
+
+  @Test
+  public void testInvalidBoards() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> GameState.hex(2));
+    Assert.assertThrows(IllegalArgumentException.class, () -> GameState.hex(8));
+    Assert.assertThrows(IllegalArgumentException.class, () -> GameState.square(7));
+    Assert.assertThrows(IllegalArgumentException.class, () -> GameState.square(12));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> GameState.of(new BasicReversi(8)));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> GameState.of((ReversiModel) null));
+  }
+
+  @Test
+  public void testApplyLeavesTheOldStateAlone() {
+    GameState start = GameState.hex(6);
+    GameState next = start.apply(new Coordinate(4, 7));
+    Assert.assertNull(start.getContents(4, 7));
+    Assert.assertEquals(PlayerColor.BLACK, next.getContents(4, 7));
+    Assert.assertEquals(3, start.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(5, next.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(PlayerColor.WHITE, next.getCurrentPlayer());
+    Assert.assertEquals(GameState.hex(6), start);
+    Assert.assertNotEquals(start, next);
+  }
+
+  @Test
+  public void testInvalidMoves() {
+    GameState start = GameState.hex(6);
+    Assert.assertThrows(IllegalArgumentException.class, () -> start.apply(new Coordinate(0, 0)));
+    Assert.assertThrows(IllegalArgumentException.class, () -> start.apply(-1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> start.getMoveScore(121));
+    Assert.assertThrows(IllegalStateException.class, () -> start.apply(new Coordinate(0, 5)));
+    Assert.assertThrows(IllegalStateException.class, () -> start.apply(new Coordinate(6, 5)));
+    Assert.assertEquals(0, start.getMoveScore(new Coordinate(6, 5)));
+    Assert.assertFalse(start.isMoveLegal(new Coordinate(0, 5)));
+    Assert.assertTrue(start.isMoveLegal(new Coordinate(4, 7)));
+  }
+
+  @Test
+  public void testTwoPassesEndTheGame() {
+    GameState passed = GameState.square(8).pass();
+    Assert.assertEquals(1, passed.getPassCount());
+    Assert.assertEquals(PlayerColor.WHITE, passed.getCurrentPlayer());
+    Assert.assertEquals(0, passed.apply(new Coordinate(3, 2)).getPassCount());
+    GameState over = passed.pass();
+    Assert.assertTrue(over.isGameOver());
+    Assert.assertEquals(2, over.getCurrentWinner());
+    Assert.assertEquals(0, over.getLegalMoves().size());
+    Assert.assertThrows(IllegalStateException.class, over::pass);
+    Assert.assertThrows(IllegalStateException.class, () -> over.apply(new Coordinate(4, 2)));
+    Assert.assertEquals(GameState.square(8).getPositionKey(), over.getPositionKey());
+    Assert.assertNotEquals(GameState.square(8), over);
+  }
+
+  @Test
+  public void testBackToAModel() {
+    GameState state = GameState.hex(6).apply(new Coordinate(4, 7)).pass();
+    SearchableReversiModel model = state.toModel();
+    Assert.assertEquals(PlayerColor.BLACK, model.getCurrentPlayer());
+    Assert.assertEquals(5, model.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(state.getPositionKey(), model.getPositionKey());
+    //the model knows it was just passed to, so one more pass ends the game
+    Assert.assertEquals(state, GameState.of(((BasicReversi) model).snapshot()));
+    model.pass();
+    Assert.assertTrue(model.isGameOver());
+    Assert.assertEquals(state.pass(), GameState.of(model));
+
+    GameState square = GameState.square(4).apply(new Coordinate(3, 1));
+    Assert.assertEquals(square, GameState.of(square.toModel()));
+    Assert.assertTrue(square.toModel() instanceof SquareBasicReversi);
+  }
+
+  @Test
+  public void testMatchesModels() {
+    playAlongside(new BasicReversi(6), GameState.hex(6), 1);
+    playAlongside(new BasicReversi(7), GameState.hex(7), 2);
+    playAlongside(new BasicReversi(3), GameState.hex(3), 3);
+    playAlongside(new SquareBasicReversi(8), GameState.square(8), 4);
+    playAlongside(new SquareBasicReversi(10), GameState.square(10), 5);
+    playAlongside(new SquareBasicReversi(4), GameState.square(4), 6);
+  }
+
+  //plays a random game on a model and a state, making sure they agree after every turn, and
+  //that turning the model into a state gives the same state
+  private void playAlongside(ReversiModel model, GameState state, long seed) {
+    Random random = new Random(seed);
+    while (!model.isGameOver()) {
+      Assert.assertFalse(state.isGameOver());
+      Assert.assertEquals(model.getCurrentPlayer(), state.getCurrentPlayer());
+      Assert.assertEquals(model.getPositionKey(), state.getPositionKey());
+      for (PlayerColor color : PlayerColor.values()) {
+        Assert.assertEquals(model.getPlayerScore(color), state.getPlayerScore(color));
+      }
+      Assert.assertEquals(model.getCurrentWinner(), state.getCurrentWinner());
+      LegalMoves expected = model.getLegalMoves();
+      SideBySide.assertSameMoves(expected, state.getLegalMoves());
+      for (int i = 0; i < expected.size(); i++) {
+        Assert.assertEquals(expected.getFlipCount(i), state.getMoveScore(expected.getIndex(i)));
+      }
+      if (expected.size() == 0) {
+        model.pass();
+        state = state.pass();
+      } else {
+        int index = expected.getIndex(random.nextInt(expected.size()));
+        model.move(index);
+        state = state.apply(index);
+        Assert.assertEquals(GameState.of(model), state);
+      }
+    }
+    Assert.assertTrue(state.isGameOver());
+    Assert.assertEquals(model.getCurrentWinner(), state.getCurrentWinner());
+    Assert.assertEquals(model.getPositionKey(), state.getPositionKey());
+    for (int index = 0; index < model.getBoardSize() * model.getBoardSize(); index++) {
+      if (model.getTileAt(index) != null) {
+        Assert.assertEquals(model.getTileAt(index).getContents(), state.getContents(index));
+      }
+    }
+  }
+}
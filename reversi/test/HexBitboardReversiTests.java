@@ -0,0 +1,102 @@
+import common.SideBySide;
+import model.BasicReversi;
+import model.Coordinate;
+import model.HexBitboardReversi;
+import model.PlayerColor;
+import model.ReversiModel;
+import model.Tile;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the bitboard hexagonal Reversi model, mostly by playing it side by side with
+ * the Tile-based hexagonal model and checking that the two always agree.
+ */
+public class HexBitboardReversiTests {
+  ReversiModel model;
+
+  @Before
+  public void init() {
+    this.model = new HexBitboardReversi(6);
+  }
+
+  @Test
+  public void testInvalidSideLengths() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new HexBitboardReversi(2));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new HexBitboardReversi(-1));
+  }
+
+  @Test
+  public void testStartingDiscs() {
+    Assert.assertEquals(PlayerColor.BLACK,
+        this.model.getTileAt(new Coordinate(6, 5)).getContents());
+    Assert.assertEquals(PlayerColor.WHITE,
+        this.model.getTileAt(new Coordinate(5, 6)).getContents());
+    Assert.assertEquals(3, this.model.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(3, this.model.getPlayerScore(PlayerColor.WHITE));
+  }
+
+  @Test
+  public void testTilesOffTheHexagon() {
+    Assert.assertNull(this.model.getTileAt(new Coordinate(0, 0)));
+    Assert.assertNull(this.model.getTileAt(new Coordinate(10, 10)));
+    Assert.assertNull(this.model.getTileAt(new Coordinate(0, 10)).getContents());
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> this.model.getTileAt(new Coordinate(0, 11)));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> this.model.move(new Coordinate(0, 0)));
+  }
+
+  @Test
+  public void testTilesAreLiveViews() {
+    Tile tile = this.model.getTileAt(new Coordinate(6, 5));
+    tile.flip();
+    Assert.assertEquals(PlayerColor.WHITE,
+        this.model.getTileAt(new Coordinate(6, 5)).getContents());
+    Assert.assertEquals(2, this.model.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(4, this.model.getPlayerScore(PlayerColor.WHITE));
+  }
+
+  @Test
+  public void testBoardCopyConstructor() {
+    this.model.move(new Coordinate(4, 7));
+    ReversiModel copy = new HexBitboardReversi(this.model.getBoard());
+    Assert.assertEquals(PlayerColor.BLACK, copy.getTileAt(new Coordinate(5, 6)).getContents());
+    Assert.assertEquals(5, copy.getPlayerScore(PlayerColor.BLACK));
+  }
+
+  @Test
+  public void testMatchesBasicModelOnStandardBoard() {
+    SideBySide.playAlongside(new BasicReversi(6), new HexBitboardReversi(6), 1);
+    SideBySide.playAlongside(new BasicReversi(6), new HexBitboardReversi(6), 2);
+  }
+
+  @Test
+  public void testMatchesBasicModelOnSmallBoards() {
+    SideBySide.playAlongside(new BasicReversi(3), new HexBitboardReversi(3), 3);
+    SideBySide.playAlongside(new BasicReversi(4), new HexBitboardReversi(4), 4);
+  }
+
+  @Test
+  public void testMatchesBasicModelOnLargerBoard() {
+    SideBySide.playAlongside(new BasicReversi(12), new HexBitboardReversi(12), 5);
+  }
+
+  //a board this large has too many cells to store ray masks, so the model walks rows instead
+  @Test
+  public void testMatchesBasicModelWithoutRayMasks() {
+    SideBySide.playAlongside(new BasicReversi(25), new HexBitboardReversi(25), 6, 10);
+  }
+
+  @Test
+  public void testMatchesBasicModelOnVeryLargeBoard() {
+    SideBySide.playAlongside(new BasicReversi(100), new HexBitboardReversi(100), 9, 40);
+  }
+
+  @Test
+  public void testMakeAndUnmakeMatchBasicModel() {
+    SideBySide.searchAlongside(new BasicReversi(6), new HexBitboardReversi(6), 7);
+    SideBySide.searchAlongside(new BasicReversi(4), new HexBitboardReversi(4), 8);
+  }
+}
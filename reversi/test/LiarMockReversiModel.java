@@ -1,4 +1,8 @@
 import model.Coordinate;
+import model.LegalMoves;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a mock Reversi model that lies to a strategy trying to play it,
@@ -13,4 +17,17 @@ public class LiarMockReversiModel extends MockReversiModel {
   public boolean isMoveLegal(Coordinate coordinate) {
     return coordinate.equals(new Coordinate(3, 3));
   }
+
+  //strategies only ask about tiles on the frontier, so the lie has to put the tile there too
+  @Override
+  public List<Coordinate> getFrontier() {
+    List<Coordinate> frontier = new ArrayList<>();
+    frontier.add(new Coordinate(3, 3));
+    return frontier;
+  }
+
+  @Override
+  public LegalMoves getLegalMoves() {
+    return new LegalMoves(getBoardSize(), new int[] {3 * getBoardSize() + 3}, new int[] {1});
+  }
 }
@@ -1,6 +1,7 @@
 import model.BasicReversi;
 import model.PlayerColor;
 import model.Coordinate;
+import model.LegalMoves;
 
 /**
  * Mock version of a Reversi model to help test the controller.
@@ -46,6 +47,14 @@ public class MockReversiModel extends BasicReversi {
     return super.getMoveScore(coordinate);
   }
 
+  @Override
+  public LegalMoves getLegalMoves() {
+    if (log != null) {
+      log.append("Getting legal moves.\n");
+    }
+    return super.getLegalMoves();
+  }
+
   @Override
   public void move(Coordinate coordinate) throws IllegalArgumentException, IllegalStateException {
     if (log != null) {
@@ -0,0 +1,155 @@
+import model.BasicReversi;
+import model.Coordinate;
+import model.LegalMoves;
+import model.PlayerColor;
+import model.PositionCodec;
+import model.ReversiModel;
+import model.SearchableReversiModel;
+import model.SquareBasicReversi;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Tests the binary position format, by encoding games at random points and making sure the
+ * models decoded from them are in the same position.
+ */
+public class PositionCodecTests {
+
+  @Test
+  public void testStandardSizes() {
+    Assert.assertEquals(27, PositionCodec.encodedSize(new BasicReversi()));
+    Assert.assertEquals(20, PositionCodec.encodedSize(new SquareBasicReversi()));
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+    PositionCodec.encode(new BasicReversi(), buffer);
+    Assert.assertEquals(27, buffer.position());
+    Assert.assertEquals(0, buffer.get(0));
+    Assert.assertEquals(11, buffer.get(2));
+    Assert.assertEquals(0, buffer.get(3));
+  }
+
+  @Test
+  public void testRoundTrips() {
+    Random random = new Random(19);
+    for (int game = 0; game < 20; game++) {
+      checkRoundTrips(new BasicReversi(3 + game % 4), random);
+      checkRoundTrips(new SquareBasicReversi(4 + 2 * (game % 4)), random);
+    }
+    checkRoundTrips(new BasicReversi(60), random);
+    checkRoundTrips(new SquareBasicReversi(100), random);
+  }
+
+  //plays a random game, encoding and decoding the model after every turn and making sure the
+  //decoded model is in the same position
+  private void checkRoundTrips(ReversiModel model, Random random) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(PositionCodec.encodedSize(model));
+    for (int turn = 0; turn < 60 && !model.isGameOver(); turn++) {
+      LegalMoves legalMoves = model.getLegalMoves();
+      if (legalMoves.size() == 0 || random.nextInt(10) == 0) {
+        model.pass();
+      } else {
+        model.move(legalMoves.getIndex(random.nextInt(legalMoves.size())));
+      }
+      buffer.clear();
+      encode(model, buffer);
+      Assert.assertFalse(buffer.hasRemaining());
+      buffer.flip();
+      SearchableReversiModel decoded = PositionCodec.decode(buffer);
+      Assert.assertFalse(buffer.hasRemaining());
+      Assert.assertEquals(model.getClass(), decoded.getClass());
+      Assert.assertEquals(model.getBoardSize(), decoded.getBoardSize());
+      Assert.assertEquals(model.getPositionKey(), decoded.getPositionKey());
+      Assert.assertEquals(model.isGameOver(), decoded.isGameOver());
+      Assert.assertEquals(model.getFrontier(), decoded.getFrontier());
+      for (PlayerColor color : PlayerColor.values()) {
+        Assert.assertEquals(model.getPlayerScore(color), decoded.getPlayerScore(color));
+      }
+    }
+  }
+
+  //encodes a model with the overload for its kind
+  private void encode(ReversiModel model, ByteBuffer buffer) {
+    if (model instanceof BasicReversi) {
+      PositionCodec.encode((BasicReversi) model, buffer);
+    } else {
+      PositionCodec.encode((SquareBasicReversi) model, buffer);
+    }
+  }
+
+  @Test
+  public void testPassesSurviveARoundTrip() {
+    SquareBasicReversi model = new SquareBasicReversi();
+    model.pass();
+    ByteBuffer buffer = ByteBuffer.allocate(20);
+    PositionCodec.encode(model, buffer);
+    buffer.flip();
+    SearchableReversiModel decoded = PositionCodec.decode(buffer);
+    Assert.assertEquals(PlayerColor.WHITE, decoded.getCurrentPlayer());
+    decoded.pass();
+    Assert.assertTrue(decoded.isGameOver());
+  }
+
+  @Test
+  public void testPositionsSideBySide() {
+    BasicReversi first = new BasicReversi();
+    SquareBasicReversi second = new SquareBasicReversi();
+    second.move(new Coordinate(4, 2));
+    ByteBuffer buffer = ByteBuffer.allocate(100);
+    buffer.position(3);
+    PositionCodec.encode(first, buffer);
+    PositionCodec.encode(second, buffer);
+    Assert.assertEquals(50, buffer.position());
+    buffer.flip();
+    buffer.position(3);
+    Assert.assertEquals(first.getPositionKey(), PositionCodec.decode(buffer).getPositionKey());
+    Assert.assertEquals(second.getPositionKey(), PositionCodec.decode(buffer).getPositionKey());
+  }
+
+  @Test
+  public void testInvalidBuffers() {
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> PositionCodec.encode(new BasicReversi(), ByteBuffer.allocate(26)));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> PositionCodec.encode((BasicReversi) null, ByteBuffer.allocate(26)));
+    Assert.assertThrows(IllegalArgumentException.class, () -> PositionCodec.decode(null));
+
+    ByteBuffer buffer = ByteBuffer.allocate(27);
+    PositionCodec.encode(new BasicReversi(), buffer);
+    //a position cut short
+    buffer.flip();
+    buffer.limit(26);
+    Assert.assertThrows(IllegalArgumentException.class, () -> PositionCodec.decode(buffer));
+    Assert.assertEquals(0, buffer.position());
+    buffer.limit(27);
+    //an unknown variant, an even hexagonal board, three passes and a code of 3
+    checkInvalid(buffer, 0, (byte) 2);
+    checkInvalid(buffer, 2, (byte) 10);
+    checkInvalid(buffer, 3, (byte) 6);
+    checkInvalid(buffer, 10, (byte) 3);
+    //bits set after the last space
+    checkInvalid(buffer, 26, (byte) 64);
+    Assert.assertEquals(new BasicReversi().getPositionKey(),
+        PositionCodec.decode(buffer).getPositionKey());
+
+    //boards with more spaces than an int can count
+    for (byte[] header : new byte[][] {{1, (byte) 0xFF, (byte) 0xFE, 0},
+        {0, (byte) 0xFF, (byte) 0xFF, 0}}) {
+      ByteBuffer huge = ByteBuffer.allocate(64);
+      huge.put(header);
+      huge.flip();
+      Assert.assertThrows(IllegalArgumentException.class, () -> PositionCodec.decode(huge));
+      Assert.assertEquals(0, huge.position());
+    }
+  }
+
+  //makes sure a position with the given byte changed can't be decoded, then puts it back
+  private void checkInvalid(ByteBuffer buffer, int index, byte value) {
+    byte before = buffer.get(index);
+    buffer.put(index, value);
+    Assert.assertThrows(IllegalArgumentException.class, () -> PositionCodec.decode(buffer));
+    Assert.assertEquals(0, buffer.position());
+    buffer.put(index, before);
+  }
+}
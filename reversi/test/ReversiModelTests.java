@@ -1,11 +1,25 @@
 import model.BasicReversi;
+import model.BoardSnapshot;
+import model.BoardSymmetry;
+import model.BoardView;
+import model.CanonicalPosition;
 import model.Coordinate;
+import model.CoordinateTable;
+import model.LegalMoves;
 import model.PlayerColor;
 import model.ReversiModel;
+import model.SearchableReversiModel;
+import model.Tile;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
 /**
  * Tests the methods of the basic Reversi model.
  */
@@ -62,6 +76,17 @@ public class ReversiModelTests {
         () -> this.model.move(new Coordinate(5, 6)));
   }
 
+  @Test
+  public void testMoveOntoDiscThatClosesRowThrowsState() {
+    //white moving onto black's new disc would close off a row, but the space is taken
+    this.model.move(new Coordinate(6, 3));
+    long key = this.model.getPositionKey();
+    Assert.assertThrows(IllegalStateException.class,
+        () -> this.model.move(new Coordinate(6, 3)));
+    Assert.assertEquals(key, this.model.getPositionKey());
+    Assert.assertEquals(PlayerColor.BLACK, this.model.getBoardView().getContents(6, 3));
+  }
+
   @Test
   public void testMoveOutsideBoardThrowsArgument() {
     //within the array but outside the hexagonal board
@@ -236,6 +261,22 @@ public class ReversiModelTests {
     Assert.assertEquals(4, this.model.getPlayerScore(PlayerColor.WHITE));
   }
 
+  @Test
+  public void testScoreFollowsTilesChangedDirectly() {
+    this.model.getTileAt(new Coordinate(6, 5)).flip();
+    Assert.assertEquals(2, this.model.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(4, this.model.getPlayerScore(PlayerColor.WHITE));
+  }
+
+  @Test
+  public void testScoreOfGivenBoard() {
+    this.model.move(new Coordinate(4, 7));
+    ReversiModel copy = new BasicReversi(this.model.getBoard());
+    Assert.assertEquals(5, copy.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(2, copy.getPlayerScore(PlayerColor.WHITE));
+    Assert.assertFalse(copy.isGameOver());
+  }
+
   //getTileAt() test
   @Test
   public void testTileAlignmentNull() {
@@ -265,6 +306,576 @@ public class ReversiModelTests {
             this.model.getTileAt(new Coordinate(5, 6)).getContents());
   }
 
+  //getFrontier() tests
+  @Test
+  public void testFrontierOfStartingBoard() {
+    List<Coordinate> frontier = this.model.getFrontier();
+    //the center and the ring of twelve tiles around the starting discs
+    Assert.assertEquals(13, frontier.size());
+    Assert.assertEquals(new Coordinate(5, 3), frontier.get(0));
+    Assert.assertTrue(frontier.contains(new Coordinate(5, 5)));
+    Assert.assertFalse(frontier.contains(new Coordinate(6, 5)));
+  }
+
+  @Test
+  public void testFrontierAfterMove() {
+    this.model.move(new Coordinate(4, 7));
+    List<Coordinate> frontier = this.model.getFrontier();
+    Assert.assertEquals(14, frontier.size());
+    Assert.assertFalse(frontier.contains(new Coordinate(4, 7)));
+    Assert.assertTrue(frontier.contains(new Coordinate(3, 8)));
+    Assert.assertTrue(frontier.contains(new Coordinate(4, 8)));
+  }
+
+  @Test
+  public void testFrontierFollowsTilesChangedDirectly() {
+    this.model.getTileAt(new Coordinate(0, 10)).placeDisc(PlayerColor.WHITE);
+    List<Coordinate> frontier = this.model.getFrontier();
+    Assert.assertEquals(16, frontier.size());
+    Assert.assertEquals(new Coordinate(0, 9), frontier.get(13));
+    Assert.assertEquals(new Coordinate(1, 9), frontier.get(14));
+    Assert.assertEquals(new Coordinate(1, 10), frontier.get(15));
+  }
+
+  //makeMove(), makePass() and unmakeMove() tests
+  @Test
+  public void testMakeMoveMatchesMove() {
+    SearchableReversiModel searchable = new BasicReversi(6);
+    searchable.makeMove(new Coordinate(4, 7));
+    this.model.move(new Coordinate(4, 7));
+    assertSameBoard(this.model, searchable);
+    Assert.assertEquals(PlayerColor.WHITE, searchable.getCurrentPlayer());
+    Assert.assertEquals(this.model.getFrontier(), searchable.getFrontier());
+  }
+
+  @Test
+  public void testUnmakeMoveRestoresGame() {
+    SearchableReversiModel searchable = new BasicReversi(6);
+    searchable.makeMove(new Coordinate(4, 7));
+    searchable.makeMove(new Coordinate(4, 8));
+    searchable.unmakeMove();
+    searchable.unmakeMove();
+    assertSameBoard(this.model, searchable);
+    Assert.assertEquals(3, searchable.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(PlayerColor.BLACK, searchable.getCurrentPlayer());
+    Assert.assertEquals(this.model.getFrontier(), searchable.getFrontier());
+  }
+
+  @Test
+  public void testUnmakePassRestoresGame() {
+    SearchableReversiModel searchable = new BasicReversi(6);
+    searchable.makePass();
+    searchable.makePass();
+    Assert.assertTrue(searchable.isGameOver());
+    searchable.unmakeMove();
+    Assert.assertFalse(searchable.isGameOver());
+    Assert.assertEquals(PlayerColor.WHITE, searchable.getCurrentPlayer());
+    searchable.pass();
+    Assert.assertTrue(searchable.isGameOver());
+  }
+
+  @Test
+  public void testInvalidMakeMoveRecordsNothing() {
+    SearchableReversiModel searchable = new BasicReversi(6);
+    Assert.assertThrows(IllegalStateException.class,
+        () -> searchable.makeMove(new Coordinate(11 / 2, 11 / 2 - 3)));
+    Assert.assertThrows(IllegalStateException.class, searchable::unmakeMove);
+  }
+
+  @Test
+  public void testMoveMakesRecordedMovesPermanent() {
+    SearchableReversiModel searchable = new BasicReversi(6);
+    searchable.makeMove(new Coordinate(4, 7));
+    searchable.move(new Coordinate(4, 8));
+    Assert.assertThrows(IllegalStateException.class, searchable::unmakeMove);
+  }
+
+  @Test
+  public void testUnmakeWholeGame() {
+    SearchableReversiModel searchable = new BasicReversi(6);
+    Random random = new Random(3500);
+    int turns = 0;
+    while (!searchable.isGameOver()) {
+      List<Coordinate> frontier = searchable.getFrontier();
+      frontier.removeIf(coordinate -> !searchable.isMoveLegal(coordinate));
+      if (frontier.isEmpty()) {
+        searchable.makePass();
+      } else {
+        searchable.makeMove(frontier.get(random.nextInt(frontier.size())));
+      }
+      turns++;
+    }
+    for (int i = 0; i < turns; i++) {
+      searchable.unmakeMove();
+    }
+    assertSameBoard(this.model, searchable);
+    Assert.assertEquals(PlayerColor.BLACK, searchable.getCurrentPlayer());
+    Assert.assertEquals(this.model.getFrontier(), searchable.getFrontier());
+  }
+
+  //checks that every tile of the two models holds the same contents
+  private void assertSameBoard(ReversiModel expected, ReversiModel actual) {
+    for (int r = 0; r < expected.getBoardSize(); r++) {
+      for (int q = 0; q < expected.getBoardSize(); q++) {
+        Coordinate coordinate = new Coordinate(q, r);
+        if (expected.getTileAt(coordinate) != null) {
+          Assert.assertEquals(expected.getTileAt(coordinate).getContents(),
+              actual.getTileAt(coordinate).getContents());
+        }
+      }
+    }
+  }
+
+  //getBoardView() tests
+  @Test
+  public void testBoardViewFollowsMoves() {
+    BoardView view = this.model.getBoardView();
+    Assert.assertNull(view.getContents(4, 7));
+    this.model.move(new Coordinate(4, 7));
+    Assert.assertEquals(PlayerColor.BLACK, view.getContents(4, 7));
+    Assert.assertEquals(PlayerColor.BLACK,
+        view.getContents(7 * view.getBoardSize() + 4));
+    Assert.assertEquals(this.model.getTileAt(new Coordinate(5, 6)).getContents(),
+        view.getContents(5, 6));
+  }
+
+  @Test
+  public void testBoardViewVersion() {
+    BoardView view = this.model.getBoardView();
+    long version = view.getVersion();
+    this.model.move(new Coordinate(4, 7));
+    Assert.assertNotEquals(version, view.getVersion());
+    version = view.getVersion();
+    this.model.pass();
+    Assert.assertEquals(version, view.getVersion());
+    this.model.getTileAt(new Coordinate(5, 6)).flip();
+    Assert.assertNotEquals(version, view.getVersion());
+  }
+
+  @Test
+  public void testBoardViewOffTheBoard() {
+    BoardView view = this.model.getBoardView();
+    Assert.assertEquals(this.model.getBoardSize(), view.getBoardSize());
+    Assert.assertFalse(view.isOnBoard(0, 0));
+    Assert.assertTrue(view.isOnBoard(0, 10));
+    Assert.assertThrows(IllegalArgumentException.class, () -> view.getContents(0, 0));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> view.getContents(view.getBoardSize(), 0));
+    Assert.assertThrows(IllegalArgumentException.class, () -> view.getContents(-1));
+  }
+
+  //snapshot() tests
+  @Test
+  public void testSnapshotMatchesGame() {
+    BasicReversi game = new BasicReversi(6);
+    game.move(new Coordinate(4, 7));
+    BoardSnapshot snapshot = game.snapshot();
+    assertSameBoard(game, snapshot);
+    Assert.assertEquals(PlayerColor.WHITE, snapshot.getCurrentPlayer());
+    Assert.assertEquals(game.getPlayerScore(PlayerColor.BLACK),
+        snapshot.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(game.getBoardView().getVersion(), snapshot.getVersion());
+    Assert.assertFalse(snapshot.isGameOver());
+  }
+
+  @Test
+  public void testSnapshotUnchangedByLaterMoves() {
+    BasicReversi game = new BasicReversi(6);
+    BoardSnapshot before = game.snapshot();
+    game.move(new Coordinate(4, 7));
+    BoardSnapshot after = game.snapshot();
+    Assert.assertNull(before.getContents(4, 7));
+    Assert.assertEquals(PlayerColor.BLACK, after.getContents(4, 7));
+    Assert.assertEquals(PlayerColor.BLACK, before.getCurrentPlayer());
+    Assert.assertNotEquals(before.getPlayerScore(PlayerColor.BLACK),
+        after.getPlayerScore(PlayerColor.BLACK));
+    game.pass();
+    game.pass();
+    Assert.assertFalse(after.isGameOver());
+    Assert.assertTrue(game.snapshot().isGameOver());
+    Assert.assertEquals(after.getVersion(), game.snapshot().getVersion());
+  }
+
+  @Test
+  public void testSnapshotsOfWholeGame() {
+    BasicReversi game = new BasicReversi(6);
+    Random random = new Random(3500);
+    List<BoardSnapshot> snapshots = new ArrayList<>();
+    List<ReversiModel> copies = new ArrayList<>();
+    while (!game.isGameOver()) {
+      snapshots.add(game.snapshot());
+      copies.add(new BasicReversi(game.getBoard()));
+      List<Coordinate> legal = game.getFrontier();
+      legal.removeIf(coordinate -> !game.isMoveLegal(coordinate));
+      if (legal.isEmpty()) {
+        game.pass();
+      } else {
+        game.move(legal.get(random.nextInt(legal.size())));
+      }
+    }
+    for (int i = 0; i < snapshots.size(); i++) {
+      assertSameBoard(copies.get(i), snapshots.get(i));
+    }
+  }
+
+  //a board this large is split into several blocks, so moves copy only some of them
+  @Test
+  public void testSnapshotsOfLargeBoard() {
+    BasicReversi game = new BasicReversi(20);
+    BoardSnapshot first = game.snapshot();
+    Random random = new Random(3500);
+    for (int turn = 0; turn < 60 && !game.isGameOver(); turn++) {
+      List<Coordinate> legal = game.getFrontier();
+      legal.removeIf(coordinate -> !game.isMoveLegal(coordinate));
+      game.move(legal.get(random.nextInt(legal.size())));
+      assertSameBoard(game, game.snapshot());
+    }
+    assertSameBoard(new BasicReversi(20), first);
+  }
+
+  //checks that every tile of the model holds the same contents as the board view
+  private void assertSameBoard(ReversiModel expected, BoardView actual) {
+    for (int r = 0; r < expected.getBoardSize(); r++) {
+      for (int q = 0; q < expected.getBoardSize(); q++) {
+        Coordinate coordinate = new Coordinate(q, r);
+        Assert.assertEquals(expected.getTileAt(coordinate) != null, actual.isOnBoard(q, r));
+        if (expected.getTileAt(coordinate) != null) {
+          Assert.assertEquals(expected.getTileAt(coordinate).getContents(),
+              actual.getContents(q, r));
+        }
+      }
+    }
+  }
+
+  //getPositionKey() tests
+  @Test
+  public void testPositionKeyChangesWithPosition() {
+    long start = this.model.getPositionKey();
+    this.model.move(new Coordinate(4, 7));
+    long afterMove = this.model.getPositionKey();
+    Assert.assertNotEquals(start, afterMove);
+    this.model.pass();
+    Assert.assertNotEquals(afterMove, this.model.getPositionKey());
+  }
+
+  @Test
+  public void testPositionKeyOfSamePosition() {
+    this.model.move(new Coordinate(4, 7));
+    //the copy starts with black to move, so it passes to match the original
+    ReversiModel copy = new BasicReversi(this.model.getBoard());
+    Assert.assertNotEquals(this.model.getPositionKey(), copy.getPositionKey());
+    copy.pass();
+    Assert.assertEquals(this.model.getPositionKey(), copy.getPositionKey());
+  }
+
+  @Test
+  public void testPositionKeyFollowsTilesChangedDirectly() {
+    long start = this.model.getPositionKey();
+    this.model.getTileAt(new Coordinate(6, 5)).flip();
+    Assert.assertNotEquals(start, this.model.getPositionKey());
+    this.model.getTileAt(new Coordinate(6, 5)).flip();
+    Assert.assertEquals(start, this.model.getPositionKey());
+  }
+
+  @Test
+  public void testPositionKeyRestoredByUnmakeMove() {
+    SearchableReversiModel searchable = new BasicReversi(6);
+    long start = searchable.getPositionKey();
+    searchable.makeMove(new Coordinate(4, 7));
+    searchable.makePass();
+    searchable.unmakeMove();
+    searchable.unmakeMove();
+    Assert.assertEquals(start, searchable.getPositionKey());
+    Assert.assertEquals(this.model.getPositionKey(), searchable.getPositionKey());
+  }
+
+  //packed index tests
+  @Test
+  public void testPackedIndexOverloadsMatchCoordinates() {
+    CoordinateTable table = CoordinateTable.forSize(11);
+    for (int index = 0; index < 11 * 11; index++) {
+      Coordinate coordinate = table.coordinate(index);
+      Assert.assertEquals(index, table.index(coordinate));
+      Assert.assertEquals(coordinate.getQ(), table.q(index));
+      Assert.assertEquals(coordinate.getR(), table.r(index));
+      Assert.assertSame(this.model.getTileAt(coordinate), this.model.getTileAt(index));
+      if (this.model.getTileAt(index) != null) {
+        Assert.assertEquals(this.model.isMoveLegal(coordinate), this.model.isMoveLegal(index));
+        Assert.assertEquals(this.model.getMoveScore(coordinate), this.model.getMoveScore(index));
+      }
+    }
+    //the frontier hands out the table's own coordinates rather than new ones
+    for (Coordinate coordinate : this.model.getFrontier()) {
+      Assert.assertSame(table.coordinate(table.index(coordinate)), coordinate);
+    }
+  }
+
+  @Test
+  public void testMoveByPackedIndex() {
+    ReversiModel other = new BasicReversi(6);
+    for (int turn = 0; turn < 6; turn++) {
+      int index = this.model.getLegalMoves().getIndex(0);
+      this.model.move(index);
+      other.move(CoordinateTable.forSize(11).coordinate(index));
+      Assert.assertEquals(other.getPositionKey(), this.model.getPositionKey());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetTileAtIndexOutsideGrid() {
+    this.model.getTileAt(11 * 11);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMoveByIndexOffBoard() {
+    this.model.move(0);
+  }
+
+  //getFlips() tests
+  @Test
+  public void testGetFlipsMatchesMove() {
+    BoardView view = this.model.getBoardView();
+    int size = this.model.getBoardSize();
+    for (int turn = 0; turn < 8; turn++) {
+      LegalMoves legalMoves = this.model.getLegalMoves();
+      int last = legalMoves.size() - 1;
+      int index = legalMoves.getIndex(last);
+      int[] flips = this.model.getFlips(index);
+      Assert.assertArrayEquals(flips, this.model.getFlips(legalMoves.getCoordinate(last)));
+      Assert.assertEquals(legalMoves.getFlipCount(last), flips.length);
+      PlayerColor[] before = new PlayerColor[size * size];
+      for (int i = 0; i < size * size; i++) {
+        if (this.model.getTileAt(i) != null) {
+          before[i] = view.getContents(i);
+        }
+      }
+      this.model.move(index);
+      //exactly the discs listed, in row order, are the ones the move flipped
+      int next = 0;
+      for (int i = 0; i < size * size; i++) {
+        if (this.model.getTileAt(i) == null || i == index) {
+          continue;
+        }
+        if (next < flips.length && flips[next] == i) {
+          Assert.assertNotNull(before[i]);
+          Assert.assertNotEquals(before[i], view.getContents(i));
+          next++;
+        } else {
+          Assert.assertEquals(before[i], view.getContents(i));
+        }
+      }
+      Assert.assertEquals(flips.length, next);
+    }
+  }
+
+  @Test
+  public void testGetFlipsDoesNotChangeTheModel() {
+    long version = this.model.getBoardView().getVersion();
+    long key = this.model.getPositionKey();
+    int size = this.model.getBoardSize();
+    for (int index = 0; index < size * size; index++) {
+      if (this.model.getTileAt(index) != null) {
+        Assert.assertEquals(this.model.getMoveScore(index), this.model.getFlips(index).length);
+      }
+    }
+    Assert.assertEquals(version, this.model.getBoardView().getVersion());
+    Assert.assertEquals(key, this.model.getPositionKey());
+    Assert.assertEquals(PlayerColor.BLACK, this.model.getCurrentPlayer());
+  }
+
+  @Test
+  public void testGetFlipsOfIllegalMoves() {
+    Assert.assertEquals(0, this.model.getFlips(new Coordinate(6, 5)).length);
+    Assert.assertEquals(0, this.model.getFlips(new Coordinate(0, 10)).length);
+  }
+
+  @Test
+  public void testGetFlipsOffBoard() {
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> this.model.getFlips(new Coordinate(0, 0)));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> this.model.getFlips(11 * 11));
+  }
+
+  //getLegalMoves() tests
+  @Test
+  public void testLegalMovesMatchEveryTile() {
+    for (int turn = 0; turn < 4; turn++) {
+      LegalMoves legalMoves = this.model.getLegalMoves();
+      int i = 0;
+      int size = this.model.getBoardSize();
+      //every legal move is listed, in row order, with its score
+      for (int r = 0; r < size; r++) {
+        for (int q = 0; q < size; q++) {
+          Coordinate coordinate = new Coordinate(q, r);
+          if (this.model.getTileAt(coordinate) != null && this.model.isMoveLegal(coordinate)) {
+            Assert.assertEquals(coordinate, legalMoves.getCoordinate(i));
+            Assert.assertEquals(this.model.getMoveScore(coordinate), legalMoves.getFlipCount(i));
+            Assert.assertEquals(this.model.getMoveScore(coordinate),
+                legalMoves.getMoveScore(q, r));
+            i++;
+          } else {
+            Assert.assertEquals(0, legalMoves.getMoveScore(q, r));
+          }
+        }
+      }
+      Assert.assertEquals(i, legalMoves.size());
+      this.model.move(legalMoves.getCoordinate(0));
+    }
+  }
+
+  @Test
+  public void testLegalMovesAreShared() {
+    LegalMoves legalMoves = this.model.getLegalMoves();
+    Assert.assertSame(legalMoves, this.model.getLegalMoves());
+    Assert.assertTrue(this.model.playerHasLegalMoves());
+    Assert.assertSame(legalMoves, this.model.getLegalMoves());
+    //passing changes the player to move, so the moves are found again
+    this.model.pass();
+    LegalMoves afterPass = this.model.getLegalMoves();
+    Assert.assertNotSame(legalMoves, afterPass);
+    this.model.move(afterPass.getCoordinate(0));
+    Assert.assertNotSame(afterPass, this.model.getLegalMoves());
+  }
+
+  @Test
+  public void testLegalMovesFollowTilesChangedDirectly() {
+    LegalMoves legalMoves = this.model.getLegalMoves();
+    Coordinate move = legalMoves.getCoordinate(0);
+    this.model.getTileAt(move).placeDisc(PlayerColor.WHITE);
+    Assert.assertNotSame(legalMoves, this.model.getLegalMoves());
+    Assert.assertEquals(0, this.model.getLegalMoves().getMoveScore(move.getQ(), move.getR()));
+  }
+
+  @Test
+  public void testNoLegalMovesOnceGameIsOver() {
+    Assert.assertTrue(this.model.getLegalMoves().size() > 0);
+    this.model.pass();
+    this.model.getLegalMoves();
+    this.model.pass();
+    //two passes end the game without changing the board or, in the end, the player to move
+    Assert.assertEquals(0, this.model.getLegalMoves().size());
+    Assert.assertFalse(this.model.playerHasLegalMoves());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testLegalMoveOutOfList() {
+    LegalMoves legalMoves = this.model.getLegalMoves();
+    legalMoves.getCoordinate(legalMoves.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLegalMovesOutOfOrder() {
+    new LegalMoves(this.model.getBoardSize(), new int[] {40, 30}, new int[] {1, 1});
+  }
+
+  //BoardSymmetry tests
+  @Test
+  public void testSymmetryTransformsArePermutations() {
+    BoardSymmetry symmetry = BoardSymmetry.forHexBoard(11);
+    Assert.assertEquals(12, symmetry.getTransformCount());
+    for (int t = 0; t < symmetry.getTransformCount(); t++) {
+      Set<Coordinate> images = new HashSet<>();
+      for (int r = 0; r < 11; r++) {
+        for (int q = 0; q < 11; q++) {
+          Coordinate coordinate = new Coordinate(q, r);
+          if (this.model.getTileAt(coordinate) != null) {
+            Coordinate image = symmetry.transform(t, coordinate);
+            Assert.assertNotNull(this.model.getTileAt(image));
+            Assert.assertEquals(coordinate, symmetry.untransform(t, image));
+            if (t == 0) {
+              Assert.assertEquals(coordinate, image);
+            }
+            images.add(image);
+          }
+        }
+      }
+      Assert.assertEquals(91, images.size());
+    }
+  }
+
+  @Test
+  public void testCanonicalKeyOfTurnedBoards() {
+    //play a few moves so the position has no symmetry of its own, leaving white to move
+    for (int turn = 0; turn < 3; turn++) {
+      for (Coordinate coordinate : this.model.getFrontier()) {
+        if (this.model.isMoveLegal(coordinate)) {
+          this.model.move(coordinate);
+          break;
+        }
+      }
+    }
+    BoardSymmetry symmetry = BoardSymmetry.forHexBoard(11);
+    CanonicalPosition canonical = symmetry.canonicalize(this.model);
+    Coordinate move = this.model.getFrontier().get(0);
+    for (int t = 0; t < symmetry.getTransformCount(); t++) {
+      //turn the board and play the same position on it
+      Tile[][] turned = new Tile[11][11];
+      for (int r = 0; r < 11; r++) {
+        for (int q = 0; q < 11; q++) {
+          Tile tile = this.model.getTileAt(new Coordinate(q, r));
+          if (tile != null) {
+            Coordinate image = symmetry.transform(t, new Coordinate(q, r));
+            turned[image.getQ()][image.getR()] = new Tile(image.getQ(), image.getR());
+            if (!tile.isEmpty()) {
+              turned[image.getQ()][image.getR()].placeDisc(tile.getContents());
+            }
+          }
+        }
+      }
+      //the copy starts with black to move, so it passes to match the original
+      ReversiModel turnedModel = new BasicReversi(turned);
+      turnedModel.pass();
+      CanonicalPosition turnedCanonical = symmetry.canonicalize(turnedModel);
+      Assert.assertEquals(canonical.getKey(), turnedCanonical.getKey());
+      //the same move on either board is the same move on the canonical board
+      Coordinate turnedMove = symmetry.transform(t, move);
+      Assert.assertEquals(canonical.toCanonical(move), turnedCanonical.toCanonical(turnedMove));
+      Assert.assertEquals(turnedMove,
+          turnedCanonical.fromCanonical(canonical.toCanonical(move)));
+    }
+  }
+
+  @Test
+  public void testCanonicalKeyOfDifferentPositions() {
+    BoardSymmetry symmetry = BoardSymmetry.forHexBoard(11);
+    long start = symmetry.canonicalize(this.model).getKey();
+    Assert.assertEquals(start, symmetry.canonicalize(this.model.getBoardView(),
+        PlayerColor.BLACK).getKey());
+    this.model.pass();
+    Assert.assertNotEquals(start, symmetry.canonicalize(this.model).getKey());
+  }
+
+  @Test
+  public void testCanonicalizeFinishedGames() {
+    BoardSymmetry symmetry = BoardSymmetry.forHexBoard(11);
+    //two passes end the game with black to move
+    this.model.pass();
+    this.model.pass();
+    long key = symmetry.canonicalize(this.model).getKey();
+    Assert.assertEquals(symmetry.canonicalize(this.model.getBoardView(), PlayerColor.BLACK)
+        .getKey(), key);
+    Assert.assertNotEquals(symmetry.canonicalize(this.model.getBoardView(), PlayerColor.WHITE)
+        .getKey(), key);
+    //and after one move, with white to move
+    ReversiModel other = new BasicReversi(6);
+    other.move(new Coordinate(4, 7));
+    other.pass();
+    other.pass();
+    Assert.assertEquals(symmetry.canonicalize(other.getBoardView(), PlayerColor.WHITE)
+        .getKey(), symmetry.canonicalize(other).getKey());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCanonicalizeBoardOfOtherSize() {
+    BoardSymmetry.forHexBoard(13).canonicalize(this.model);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTransformCoordinateOffBoard() {
+    BoardSymmetry.forHexBoard(11).transform(1, new Coordinate(0, 0));
+  }
+
   //getBoardSize tests
   @Test
   public void testBoardSize() {
@@ -314,6 +925,23 @@ public class ReversiModelTests {
         () -> this.bigModel.getTileAt(new Coordinate(19, 0)));
   }
 
+  @Test
+  public void testVeryLargeModel() {
+    ReversiModel hugeModel = new BasicReversi(500);
+    Assert.assertEquals(999, hugeModel.getBoardSize());
+    Assert.assertNotNull(hugeModel.getTileAt(new Coordinate(0, 998)));
+    Assert.assertNotNull(hugeModel.getTileAt(new Coordinate(998, 0)));
+    Assert.assertNull(hugeModel.getTileAt(new Coordinate(0, 0)));
+    Assert.assertNull(hugeModel.getTileAt(new Coordinate(998, 998)));
+    Assert.assertEquals(PlayerColor.BLACK,
+        hugeModel.getTileAt(new Coordinate(500, 499)).getContents());
+    for (int turn = 0; turn < 20; turn++) {
+      hugeModel.move(hugeModel.getLegalMoves().getIndex(0));
+    }
+    Assert.assertEquals(26, hugeModel.getPlayerScore(PlayerColor.BLACK)
+        + hugeModel.getPlayerScore(PlayerColor.WHITE));
+  }
+
   @Test
   public void testBigModelPlacementWorks() {
     Assert.assertEquals(PlayerColor.BLACK,
@@ -0,0 +1,45 @@
+import controller.ViewEventListener;
+import view.gui.ReversiView;
+
+/**
+ * A view that shows nothing, so that games can be played through controllers without a display.
+ * Counts the times it is told to close, so tests can tell when a game has ended.
+ */
+public class StubView implements ReversiView {
+  private int removals;
+
+  @Override
+  public void displayPopup(String messageToDisplay) {
+    //nothing to show
+  }
+
+  @Override
+  public void showBoard() {
+    //nothing to show
+  }
+
+  @Override
+  public void addListener(ViewEventListener listener) {
+    //no one can click on it
+  }
+
+  @Override
+  public synchronized void removeView() {
+    this.removals++;
+    this.notifyAll();
+  }
+
+  /**
+   * Waits until the view has been told to close, as it is when the game ends.
+   * @param millis the longest to wait, in milliseconds
+   * @return true iff the view was told to close in time
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public synchronized boolean awaitRemoval(long millis) throws InterruptedException {
+    long end = System.currentTimeMillis() + millis;
+    while (this.removals == 0 && System.currentTimeMillis() < end) {
+      this.wait(Math.max(1, end - System.currentTimeMillis()));
+    }
+    return this.removals > 0;
+  }
+}
@@ -0,0 +1,184 @@
+import controller.MoveType;
+import controller.Pair;
+import controller.player.EasyAIPlayer;
+import controller.player.Player;
+import model.Coordinate;
+import tournament.Entrant;
+import tournament.Match;
+import tournament.MatchResult;
+import tournament.RatingList;
+import tournament.Sprt;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tests the tournament harness: the Elo estimates, the sequential test, and matches.
+ */
+public class TournamentTests {
+  ExecutorService pool;
+  Entrant easy;
+  Entrant passer;
+
+  @Before
+  public void init() {
+    this.pool = Executors.newFixedThreadPool(2);
+    this.easy = new Entrant("easy", EasyAIPlayer::new);
+    this.passer = new Entrant("passer", model -> new PassingPlayer());
+  }
+
+  @After
+  public void shutDown() {
+    this.pool.shutdownNow();
+  }
+
+  @Test
+  public void testElo() {
+    Assert.assertEquals(0.5, MatchResult.expectedScore(0), 1e-9);
+    Assert.assertEquals(0.5, new MatchResult(0, 0, 0).getScore(), 1e-9);
+    MatchResult result = new MatchResult(60, 30, 10);
+    Assert.assertEquals(0.75, result.getScore(), 1e-9);
+    Assert.assertEquals(100, result.getGames());
+    Assert.assertEquals(190.85, result.getElo(), 0.01);
+    Assert.assertEquals(0.75, MatchResult.expectedScore(result.getElo()), 1e-9);
+    double[] interval = result.getEloInterval();
+    Assert.assertTrue(interval[0] < result.getElo() && result.getElo() < interval[1]);
+    //more of the same results narrow the interval
+    double[] narrower = new MatchResult(600, 300, 100).getEloInterval();
+    Assert.assertTrue(narrower[0] > interval[0] && narrower[1] < interval[1]);
+    Assert.assertEquals(Double.POSITIVE_INFINITY, new MatchResult(3, 0, 0).getElo(), 0);
+    Assert.assertEquals("+61 =30 -10", result.add(1).toString());
+    Assert.assertThrows(IllegalArgumentException.class, () -> result.add(0.25));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new MatchResult(-1, 0, 0));
+  }
+
+  @Test
+  public void testRatingList() {
+    //with two entrants, the fitted difference is close to the one the match alone suggests,
+    //pulled a little toward 0 by the extra drawn game
+    RatingList two = new RatingList(2);
+    MatchResult result = new MatchResult(60, 30, 10);
+    two.add(0, 1, result);
+    double difference = two.getRating(0) - two.getRating(1);
+    Assert.assertEquals(0, two.getRating(0) + two.getRating(1), 1e-6);
+    Assert.assertTrue(difference > 0 && difference < result.getElo());
+    Assert.assertEquals(result.getElo(), difference, 5);
+    double[] interval = two.getRatingInterval(0);
+    Assert.assertTrue(interval[0] < two.getRating(0) && two.getRating(0) < interval[1]);
+    //entrants who never played each other are ranked through the one they both played, and an
+    //entrant who lost every game still gets a finite rating
+    RatingList three = new RatingList(3);
+    three.add(0, 1, new MatchResult(70, 0, 30));
+    three.add(1, 2, new MatchResult(20, 0, 0));
+    Assert.assertTrue(three.getRating(0) > three.getRating(1));
+    Assert.assertTrue(three.getRating(1) > three.getRating(2));
+    Assert.assertTrue(Double.isFinite(three.getRating(2)));
+    //more games narrow the interval, and an entrant with no games has no interval at all
+    double[] before = three.getRatingInterval(1);
+    three.add(0, 1, new MatchResult(70, 0, 30));
+    double[] after = three.getRatingInterval(1);
+    Assert.assertTrue(after[1] - after[0] < before[1] - before[0]);
+    Assert.assertEquals(Double.POSITIVE_INFINITY, new RatingList(3).getRatingInterval(2)[1], 0);
+    Assert.assertThrows(IllegalArgumentException.class, () -> three.add(1, 1, result));
+    Assert.assertThrows(IllegalArgumentException.class, () -> three.add(0, 3, result));
+    Assert.assertThrows(IllegalArgumentException.class, () -> three.getRating(-1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new RatingList(1));
+  }
+
+  @Test
+  public void testSprt() {
+    Sprt sprt = new Sprt(0, 50, 0.05, 0.05);
+    Assert.assertEquals(Sprt.Decision.CONTINUE, sprt.decide(new MatchResult(0, 0, 0)));
+    Assert.assertEquals(Sprt.Decision.CONTINUE, sprt.decide(new MatchResult(5, 0, 5)));
+    //draws are what an even match would give, so they lean towards H0
+    Assert.assertTrue(sprt.getLlr(new MatchResult(0, 10, 0)) < 0);
+    //winning every game is clear quickly, even with nothing to measure the spread by
+    Assert.assertEquals(Sprt.Decision.H1, sprt.decide(new MatchResult(60, 0, 0)));
+    Assert.assertEquals(Sprt.Decision.H0, sprt.decide(new MatchResult(0, 0, 60)));
+    //scoring right between the hypotheses stays undecided for a long time
+    Assert.assertEquals(Sprt.Decision.CONTINUE, sprt.decide(new MatchResult(536, 0, 464)));
+    Assert.assertEquals(Sprt.Decision.H1, sprt.decide(new MatchResult(600, 0, 400)));
+    Assert.assertEquals(Sprt.Decision.H0, sprt.decide(new MatchResult(500, 0, 500)));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new Sprt(50, 0, 0.05, 0.05));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new Sprt(0, 50, 0, 0.05));
+    Assert.assertThrows(IllegalArgumentException.class, () -> sprt.decide(null));
+  }
+
+  @Test
+  public void testSwappedColors() throws InterruptedException {
+    //the same AI plays both colors of the same opening in each pair, so each pair is split
+    Match match = new Match(this.easy, this.easy, true, 4, 7);
+    MatchResult result = match.play(this.pool, 40, null);
+    Assert.assertEquals(40, result.getGames());
+    Assert.assertEquals(result.getWins(), result.getLosses());
+    Assert.assertEquals(Sprt.Decision.CONTINUE, match.getDecision());
+    Assert.assertTrue(match.getMillisPerMove(0) > 0);
+  }
+
+  @Test
+  public void testMatchesRepeat() throws InterruptedException {
+    Match match = new Match(this.easy, new Entrant("easy", EasyAIPlayer::new), false, 6, 3);
+    String first = match.play(this.pool, 30, null).toString();
+    Assert.assertEquals(first, match.play(this.pool, 30, null).toString());
+    Assert.assertEquals(first,
+        new Match(this.easy, this.easy, false, 6, 3).play(this.pool, 30, null).toString());
+  }
+
+  @Test
+  public void testOpeningsVaryGames() {
+    //the same opening plays the same game, and different openings play different ones, even
+    //between AIs that always make the same move in the same position
+    Match match = new Match(this.easy, this.easy, true, 4, 0);
+    Assert.assertTrue(match.playGame(0, 7).isGameOver());
+    Assert.assertEquals(match.playGame(0, 7).getPositionKey(),
+        match.playGame(1, 7).getPositionKey());
+    Set<Long> games = new HashSet<>();
+    for (long opening = 0; opening < 10; opening++) {
+      games.add(match.playGame(0, opening).getPositionKey());
+    }
+    Assert.assertTrue(games.size() > 1);
+    Assert.assertThrows(IllegalArgumentException.class, () -> match.playGame(2, 0));
+  }
+
+  @Test
+  public void testForAi() {
+    Assert.assertEquals("hard", Entrant.forAi("hard").getName());
+    Assert.assertNull(Entrant.forAi("human"));
+    Assert.assertNull(Entrant.forAi(null));
+  }
+
+  @Test
+  public void testMatchStopsEarly() throws InterruptedException {
+    Sprt sprt = new Sprt(0, 50, 0.05, 0.05);
+    Match match = new Match(this.passer, this.easy, true, 2, 1);
+    MatchResult result = match.play(this.pool, 10000, sprt);
+    Assert.assertEquals(Sprt.Decision.H0, match.getDecision());
+    Assert.assertTrue(result.getGames() < 100);
+    Assert.assertEquals(result.getGames(), result.getLosses());
+    Assert.assertThrows(IllegalArgumentException.class, () -> match.play(this.pool, 1, sprt));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new Match(null, this.easy, true, 2, 1));
+  }
+
+  //a player that passes every turn, and so loses every game
+  private static class PassingPlayer implements Player {
+    @Override
+    public Pair<MoveType, Coordinate> move() {
+      return new Pair<>(MoveType.NOVALID, null);
+    }
+
+    @Override
+    public CompletableFuture<Pair<MoveType, Coordinate>> moveAsync(Executor executor) {
+      return CompletableFuture.completedFuture(move());
+    }
+  }
+}
@@ -0,0 +1,87 @@
+import controller.MoveType;
+import controller.Pair;
+import controller.ReversiController;
+import controller.TurnScheduler;
+import controller.player.EasyAIPlayer;
+import controller.player.Player;
+import model.BasicReversi;
+import model.Coordinate;
+import model.ReversiModel;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the turn scheduler, both on its own and running whole games between AIs.
+ */
+public class TurnSchedulerTests {
+
+  @Test
+  public void testTasksRunInOrderWithoutNesting() {
+    TurnScheduler scheduler = new TurnScheduler();
+    StringBuilder log = new StringBuilder();
+    scheduler.execute(() -> {
+      log.append("a ");
+      scheduler.execute(() -> log.append("c "));
+      Assert.assertEquals(1, scheduler.getPendingTasks());
+      log.append("b ");
+    });
+    Assert.assertEquals("a b c ", log.toString());
+    Assert.assertEquals(0, scheduler.getPendingTasks());
+    Assert.assertThrows(IllegalArgumentException.class, () -> scheduler.execute(null));
+  }
+
+  @Test
+  public void testTaskThrowing() {
+    TurnScheduler scheduler = new TurnScheduler();
+    StringBuilder log = new StringBuilder();
+    Assert.assertThrows(IllegalStateException.class, () -> scheduler.execute(() -> {
+      scheduler.execute(() -> log.append("a "));
+      throw new IllegalStateException();
+    }));
+    Assert.assertEquals("", log.toString());
+    Assert.assertEquals(1, scheduler.getPendingTasks());
+    //the next task runs the one left behind first
+    scheduler.execute(() -> log.append("b "));
+    Assert.assertEquals("a b ", log.toString());
+  }
+
+  @Test
+  public void testAIGameRunsFlat() {
+    //a game this long used to take one call stack a few frames deeper for every turn
+    ReversiModel model = new BasicReversi(20);
+    List<Integer> depths = new ArrayList<>();
+    TurnScheduler scheduler = new TurnScheduler();
+    new ReversiController(model, new DepthPlayer(new EasyAIPlayer(model), depths),
+        new StubView(), scheduler);
+    new ReversiController(model, new DepthPlayer(new EasyAIPlayer(model), depths),
+        new StubView(), scheduler);
+    model.startGame();
+    Assert.assertTrue(model.isGameOver());
+    Assert.assertTrue(depths.size() > 500);
+    //every turn was taken from the same depth of the scheduler's loop
+    for (int depth : depths) {
+      Assert.assertEquals(depths.get(0).intValue(), depth);
+    }
+  }
+
+  //a player that records how deep the stack is whenever it is asked for a move
+  private static class DepthPlayer implements Player {
+    private final Player player;
+    private final List<Integer> depths;
+
+    DepthPlayer(Player player, List<Integer> depths) {
+      this.player = player;
+      this.depths = depths;
+    }
+
+    @Override
+    public Pair<MoveType, Coordinate> move() {
+      this.depths.add(Thread.currentThread().getStackTrace().length);
+      return this.player.move();
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package benchmark;
+
+import model.BasicReversi;
+import model.LegalMoves;
+import model.ReversiModel;
+import model.SquareBasicReversi;
+import strategy.AlphaBetaStrategy;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * A rough benchmark of the speed of the alpha-beta search.
+ * Not a unit test - run the main method by hand to compare the cost of a change.
+ * The search picks a move at each of a few positions from random games on the standard board of
+ * each shape, and the total number of positions it visited per second is printed.
+ */
+public final class AlphaBetaBenchmark {
+  /**
+   * Runs the benchmark on the standard board of each shape.
+   * @param args unused
+   */
+  public static void main(String[] args) {
+    //warm up, then measure
+    run("hex", true, 4, false);
+    run("square", false, 4, false);
+    run("hex", true, 6, true);
+    run("square", false, 7, true);
+  }
+
+  //searches to the given depth at positions after every few random moves of a few games, and
+  //prints how fast it went if asked to
+  private static void run(String name, boolean hexagonal, int depth, boolean print) {
+    Random random = new Random(1);
+    long nodes = 0;
+    long nanos = 0;
+    int searches = 0;
+    for (int game = 0; game < 3; game++) {
+      ReversiModel model = hexagonal ? new BasicReversi() : new SquareBasicReversi();
+      AlphaBetaStrategy strategy = new AlphaBetaStrategy(model, depth);
+      while (!model.isGameOver()) {
+        LegalMoves legalMoves = model.getLegalMoves();
+        if (legalMoves.size() == 0) {
+          model.pass();
+          continue;
+        }
+        if (random.nextInt(8) == 0) {
+          long start = System.nanoTime();
+          strategy.chooseMove(new ArrayList<>());
+          nanos += System.nanoTime() - start;
+          nodes += strategy.getNodeCount();
+          searches++;
+        }
+        model.move(legalMoves.getIndex(random.nextInt(legalMoves.size())));
+      }
+    }
+    if (print) {
+      System.out.printf("%-7s depth %d, %3d searches, %,11d nodes: %,12.0f nodes/s%n", name,
+          depth, searches, nodes, nodes / (nanos / 1e9));
+    }
+  }
+}
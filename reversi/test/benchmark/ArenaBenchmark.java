@@ -0,0 +1,86 @@
+package benchmark;
+
+import model.BasicReversi;
+import model.GameArena;
+import model.LegalMoves;
+import model.ReversiModel;
+import model.SquareBasicReversi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A rough benchmark of hosting many games at once in a GameArena, against giving each game a
+ * model of its own.
+ * Not a unit test - run the main method by hand, ideally with a fixed heap size (such as
+ * -Xms2g -Xmx2g) so the collector settles the same way each time.
+ * For each way of hosting the games, half hexagonal and half square, the heap held per open
+ * game is measured, and then every game is played out one turn at a time, round robin, as a
+ * server taking turns from many clients would.
+ */
+public final class ArenaBenchmark {
+  //the number of games hosted at once
+  private static final int GAMES = 50_000;
+
+  /**
+   * Runs the benchmark, printing the bytes held per idle game and the turns played per second.
+   * @param args unused
+   */
+  public static void main(String[] args) {
+    for (int run = 0; run < 3; run++) {
+      long before = usedMemory();
+      GameArena arena = new GameArena(GAMES);
+      List<ReversiModel> games = new ArrayList<>();
+      for (int i = 0; i < GAMES; i++) {
+        games.add(i % 2 == 0 ? arena.openHex(6) : arena.openSquare(8));
+      }
+      report("arena", games, before);
+
+      before = usedMemory();
+      games = new ArrayList<>();
+      for (int i = 0; i < GAMES; i++) {
+        games.add(i % 2 == 0 ? new BasicReversi(6) : new SquareBasicReversi(8));
+      }
+      report("models", games, before);
+      System.out.println();
+    }
+  }
+
+  //prints the heap held per game since the given amount was in use, then plays every game out
+  //and prints how long that took
+  private static void report(String name, List<ReversiModel> games, long before) {
+    double bytes = (usedMemory() - before) / (double) games.size();
+    Random random = new Random(7);
+    long start = System.nanoTime();
+    int turns = 0;
+    boolean playing = true;
+    while (playing) {
+      playing = false;
+      for (ReversiModel game : games) {
+        if (!game.isGameOver()) {
+          LegalMoves legalMoves = game.getLegalMoves();
+          if (legalMoves.size() == 0) {
+            game.pass();
+          } else {
+            game.move(legalMoves.getIndex(random.nextInt(legalMoves.size())));
+          }
+          turns++;
+          playing = true;
+        }
+      }
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("%-8s %8d games %9.1f bytes/game %12.0f turns/s%n", name, games.size(),
+        bytes, turns / seconds);
+  }
+
+  //returns the heap in use after asking the collector to clear out everything unreachable
+  private static long usedMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 4; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
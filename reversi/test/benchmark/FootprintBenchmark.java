@@ -0,0 +1,106 @@
+package benchmark;
+
+import model.BasicReversi;
+import model.HexBitboardReversi;
+import model.LegalMoves;
+import model.ReversiModel;
+import model.SquareBasicReversi;
+import model.SquareBitboardReversi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A rough benchmark of the memory each kind of model takes up.
+ * Not a unit test - run the main method by hand to compare the footprint of a change, ideally
+ * with a fixed heap size (such as -Xms2g -Xmx2g) so the collector settles the same way each time.
+ * For each board, a few models are made and played for some turns, and the heap they hold on
+ * to is measured before and after every one of their Tiles has been asked for through
+ * getTileAt, since the Tile-based models only make a Tile once it is asked for.
+ */
+public final class FootprintBenchmark {
+  //the number of turns played on each model before it is measured
+  private static final int TURNS = 40;
+
+  /**
+   * Runs the benchmark on the standard, a larger and a very large board of each shape, printing
+   * the number of bytes held per space on the board.
+   * @param args unused
+   */
+  public static void main(String[] args) {
+    run("hex, side 6", () -> new BasicReversi(6), 200);
+    run("hex, side 12", () -> new BasicReversi(12), 50);
+    run("hex, side 100", () -> new BasicReversi(100), 4);
+    run("hex, side 500", () -> new BasicReversi(500), 1);
+    run("hex bits, side 6", () -> new HexBitboardReversi(6), 200);
+    run("hex bits, side 100", () -> new HexBitboardReversi(100), 4);
+    run("square, 8x8", () -> new SquareBasicReversi(8), 200);
+    run("square, 16x16", () -> new SquareBasicReversi(16), 50);
+    run("square, 200x200", () -> new SquareBasicReversi(200), 4);
+    run("square, 1000x1000", () -> new SquareBasicReversi(1000), 1);
+    run("square bits, 8x8", () -> new SquareBitboardReversi(8), 200);
+    run("square bits, 200x200", () -> new SquareBitboardReversi(200), 4);
+  }
+
+  //makes and plays the given number of models, printing the heap each holds per space on its
+  //board, first as played and then once all of its Tiles have been asked for
+  private static void run(String name, Supplier<ReversiModel> boards, int count) {
+    //make one first, so the tables shared by every model of a size are not counted
+    ReversiModel first = play(boards.get());
+    int spaces = spaces(first);
+    List<ReversiModel> models = new ArrayList<>();
+    long before = usedMemory();
+    for (int i = 0; i < count; i++) {
+      models.add(play(boards.get()));
+    }
+    long played = usedMemory();
+    for (ReversiModel model : models) {
+      for (int index = 0; index < model.getBoardSize() * model.getBoardSize(); index++) {
+        model.getTileAt(index);
+      }
+    }
+    long viewed = usedMemory();
+    System.out.printf("%-22s %9d spaces %10.1f bytes/space played %10.1f with Tiles%n", name,
+        spaces, (played - before) / (double) count / spaces,
+        (viewed - before) / (double) count / spaces);
+    if (models.size() != count) {
+      System.out.println();
+    }
+  }
+
+  //plays the first legal move of each turn, or passes if there are none, for a number of turns
+  private static ReversiModel play(ReversiModel model) {
+    for (int turn = 0; turn < TURNS && !model.isGameOver(); turn++) {
+      LegalMoves legalMoves = model.getLegalMoves();
+      if (legalMoves.size() == 0) {
+        model.pass();
+      } else {
+        model.move(legalMoves.getIndex(0));
+      }
+    }
+    return model;
+  }
+
+  //returns the number of spaces on the model's board
+  private static int spaces(ReversiModel model) {
+    int spaces = 0;
+    for (int r = 0; r < model.getBoardSize(); r++) {
+      for (int q = 0; q < model.getBoardSize(); q++) {
+        if (model.getBoardView().isOnBoard(q, r)) {
+          spaces++;
+        }
+      }
+    }
+    return spaces;
+  }
+
+  //returns the heap in use after asking the collector to clear out everything unreachable
+  private static long usedMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 4; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,108 @@
+package benchmark;
+
+import model.BasicReversi;
+import model.Coordinate;
+import model.PlayerColor;
+import model.ReversiModel;
+import model.SquareBasicReversi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * A rough benchmark of the bookkeeping a model does on every turn of a game.
+ * Not a unit test - run the main method by hand to compare the cost of a change.
+ * For each board, a handful of random games are recorded first, and then replayed over and over
+ * on fresh models. Every replayed turn asks the same questions the controllers and views ask
+ * (isGameOver, getCurrentPlayer, both scores and the current winner) before moving or passing,
+ * so the time per turn covers everything except searching for a move to make.
+ */
+public final class ModelBenchmark {
+  //the number of distinct games recorded for each board
+  private static final int GAMES = 20;
+
+  /**
+   * Runs the benchmark on the standard and a larger board of each shape, printing the average
+   * time taken per turn.
+   * @param args unused
+   */
+  public static void main(String[] args) {
+    run("hex, side 6", () -> new BasicReversi(6), 200);
+    run("hex, side 12", () -> new BasicReversi(12), 20);
+    run("square, 8x8", () -> new SquareBasicReversi(8), 200);
+    run("square, 16x16", () -> new SquareBasicReversi(16), 20);
+  }
+
+  //records games on the given kind of board, then times replaying them
+  private static void run(String name, Supplier<ReversiModel> boards, int rounds) {
+    List<List<Coordinate>> games = new ArrayList<>();
+    Random random = new Random(3500);
+    for (int i = 0; i < GAMES; i++) {
+      games.add(recordGame(boards.get(), random));
+    }
+    //warm up, then measure
+    replay(boards, games, rounds / 4 + 1);
+    long start = System.nanoTime();
+    long turns = replay(boards, games, rounds);
+    long elapsed = System.nanoTime() - start;
+    System.out.printf("%-16s %10.2f us/turn (%d turns)%n", name,
+        elapsed / 1000.0 / turns, turns);
+  }
+
+  //plays a game of random legal moves, returning each turn's move, or null for a pass
+  private static List<Coordinate> recordGame(ReversiModel model, Random random) {
+    List<Coordinate> turns = new ArrayList<>();
+    int size = model.getBoardSize();
+    while (!model.isGameOver()) {
+      List<Coordinate> legal = new ArrayList<>();
+      for (int r = 0; r < size; r++) {
+        for (int q = 0; q < size; q++) {
+          Coordinate coordinate = new Coordinate(q, r);
+          if (model.getTileAt(coordinate) != null && model.isMoveLegal(coordinate)) {
+            legal.add(coordinate);
+          }
+        }
+      }
+      Coordinate choice = legal.isEmpty() ? null : legal.get(random.nextInt(legal.size()));
+      if (choice == null) {
+        model.pass();
+      } else {
+        model.move(choice);
+      }
+      turns.add(choice);
+    }
+    return turns;
+  }
+
+  //replays every recorded game the given number of times, returning the number of turns played
+  private static long replay(Supplier<ReversiModel> boards, List<List<Coordinate>> games,
+                             int rounds) {
+    long turns = 0;
+    int sink = 0;
+    for (int round = 0; round < rounds; round++) {
+      for (List<Coordinate> game : games) {
+        ReversiModel model = boards.get();
+        for (Coordinate turn : game) {
+          if (model.isGameOver()) {
+            break;
+          }
+          sink += model.getCurrentPlayer().ordinal();
+          sink += model.getPlayerScore(PlayerColor.BLACK) + model.getPlayerScore(PlayerColor.WHITE);
+          sink += model.getCurrentWinner();
+          if (turn == null) {
+            model.pass();
+          } else {
+            model.move(turn);
+          }
+          turns++;
+        }
+      }
+    }
+    if (sink == 42) {
+      System.out.println();
+    }
+    return turns;
+  }
+}
@@ -0,0 +1,113 @@
+package benchmark;
+
+import model.BasicReversi;
+import model.Coordinate;
+import model.ReversiModel;
+import model.SquareBasicReversi;
+import strategy.MaxCaptureStrategy;
+import strategy.ReversiStrategy;
+import strategy.SquareMaxCaptureStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A rough benchmark of searching for a move, the way an AI player does on its turn.
+ * Not a unit test - run the main method by hand to compare the cost of a change.
+ * Random games are recorded first, and then replayed on fresh models. On every replayed turn,
+ * the model is asked whether the current player can move, and a max capture strategy picks
+ * a move, before the recorded move is made.
+ */
+public final class MoveSearchBenchmark {
+  //the number of distinct games recorded for each board
+  private static final int GAMES = 10;
+
+  /**
+   * Runs the benchmark on boards of increasing size, printing the average time taken per turn.
+   * @param args unused
+   */
+  public static void main(String[] args) {
+    run("hex, side 6", () -> new BasicReversi(6), MaxCaptureStrategy::new, 50);
+    run("hex, side 12", () -> new BasicReversi(12), MaxCaptureStrategy::new, 5);
+    run("hex, side 24", () -> new BasicReversi(24), MaxCaptureStrategy::new, 1);
+    run("square, 8x8", () -> new SquareBasicReversi(8), SquareMaxCaptureStrategy::new, 50);
+    run("square, 32x32", () -> new SquareBasicReversi(32), SquareMaxCaptureStrategy::new, 1);
+  }
+
+  //records games on the given kind of board, then times replaying them
+  private static void run(String name, Supplier<ReversiModel> boards,
+                          Function<ReversiModel, ReversiStrategy> strategies, int rounds) {
+    List<List<Coordinate>> games = new ArrayList<>();
+    Random random = new Random(3500);
+    for (int i = 0; i < GAMES; i++) {
+      games.add(recordGame(boards.get(), random));
+    }
+    //warm up, then measure
+    replay(boards, strategies, games, 1);
+    long start = System.nanoTime();
+    long turns = replay(boards, strategies, games, rounds);
+    long elapsed = System.nanoTime() - start;
+    System.out.printf("%-16s %10.2f us/turn (%d turns)%n", name,
+        elapsed / 1000.0 / turns, turns);
+  }
+
+  //plays a game of random legal moves, returning each turn's move, or null for a pass
+  private static List<Coordinate> recordGame(ReversiModel model, Random random) {
+    List<Coordinate> turns = new ArrayList<>();
+    int size = model.getBoardSize();
+    while (!model.isGameOver()) {
+      List<Coordinate> legal = new ArrayList<>();
+      for (int r = 0; r < size; r++) {
+        for (int q = 0; q < size; q++) {
+          Coordinate coordinate = new Coordinate(q, r);
+          if (model.getTileAt(coordinate) != null && model.isMoveLegal(coordinate)) {
+            legal.add(coordinate);
+          }
+        }
+      }
+      Coordinate choice = legal.isEmpty() ? null : legal.get(random.nextInt(legal.size()));
+      if (choice == null) {
+        model.pass();
+      } else {
+        model.move(choice);
+      }
+      turns.add(choice);
+    }
+    return turns;
+  }
+
+  //replays every recorded game the given number of times, searching for a move on every turn,
+  //and returns the number of turns played
+  private static long replay(Supplier<ReversiModel> boards,
+                             Function<ReversiModel, ReversiStrategy> strategies,
+                             List<List<Coordinate>> games, int rounds) {
+    long turns = 0;
+    int sink = 0;
+    for (int round = 0; round < rounds; round++) {
+      for (List<Coordinate> game : games) {
+        ReversiModel model = boards.get();
+        ReversiStrategy strategy = strategies.apply(model);
+        for (Coordinate turn : game) {
+          if (model.isGameOver()) {
+            break;
+          }
+          sink += model.playerHasLegalMoves() ? 1 : 0;
+          sink += strategy.chooseMove(new ArrayList<>()).size();
+          if (turn == null) {
+            model.pass();
+          } else {
+            model.move(turn);
+          }
+          turns++;
+        }
+      }
+    }
+    if (sink == 42) {
+      System.out.println();
+    }
+    return turns;
+  }
+}
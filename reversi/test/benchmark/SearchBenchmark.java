@@ -0,0 +1,90 @@
+package benchmark;
+
+import model.BasicReversi;
+import model.Coordinate;
+import model.HexBitboardReversi;
+import model.ReversiModel;
+import model.SearchableReversiModel;
+import model.SquareBasicReversi;
+import model.SquareBitboardReversi;
+import model.Tile;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A rough benchmark of walking the game tree the way a lookahead AI would.
+ * Not a unit test - run the main method by hand to compare the cost of a change.
+ * Every position up to a fixed depth from the start of the game is visited, once by copying the
+ * board into a new model for every child position, and once by making and unmaking moves on a
+ * single model, and the number of positions visited per second is printed for each.
+ */
+public final class SearchBenchmark {
+  /**
+   * Runs the benchmark on the standard board of each shape.
+   * @param args unused
+   */
+  public static void main(String[] args) {
+    run("hex, basic", new BasicReversi(6), BasicReversi::new, 7);
+    run("hex, bitboard", new HexBitboardReversi(6), HexBitboardReversi::new, 7);
+    run("square, basic", new SquareBasicReversi(8), SquareBasicReversi::new, 8);
+    run("square, bitboard", new SquareBitboardReversi(8), SquareBitboardReversi::new, 8);
+  }
+
+  //times both ways of walking the tree from the given model's starting position
+  private static void run(String name, SearchableReversiModel model,
+                          Function<Tile[][], ReversiModel> copies, int depth) {
+    //warm up, then measure
+    walkByCopying(model, copies, depth - 1);
+    walkByUnmaking(model, depth - 1);
+    long start = System.nanoTime();
+    long nodes = walkByCopying(model, copies, depth);
+    double copying = nodes / ((System.nanoTime() - start) / 1e9);
+    start = System.nanoTime();
+    nodes = walkByUnmaking(model, depth);
+    double unmaking = nodes / ((System.nanoTime() - start) / 1e9);
+    System.out.printf("%-18s depth %d, %9d nodes: copying %,12.0f nodes/s, "
+        + "make/unmake %,12.0f nodes/s%n", name, depth, nodes, copying, unmaking);
+  }
+
+  //visits every position to the given depth by building a new model for each child
+  private static long walkByCopying(ReversiModel model,
+                                    Function<Tile[][], ReversiModel> copies, int depth) {
+    if (depth == 0 || model.isGameOver()) {
+      return 1;
+    }
+    long nodes = 1;
+    List<Coordinate> moves = legalMoves(model);
+    for (Coordinate move : moves) {
+      ReversiModel child = copies.apply(model.getBoard());
+      if (child.getCurrentPlayer() != model.getCurrentPlayer()) {
+        child.pass();
+      }
+      child.move(move);
+      nodes += walkByCopying(child, copies, depth - 1);
+    }
+    return nodes;
+  }
+
+  //visits every position to the given depth by making and unmaking moves on one model
+  private static long walkByUnmaking(SearchableReversiModel model, int depth) {
+    if (depth == 0 || model.isGameOver()) {
+      return 1;
+    }
+    long nodes = 1;
+    List<Coordinate> moves = legalMoves(model);
+    for (Coordinate move : moves) {
+      model.makeMove(move);
+      nodes += walkByUnmaking(model, depth - 1);
+      model.unmakeMove();
+    }
+    return nodes;
+  }
+
+  //returns the current player's legal moves
+  private static List<Coordinate> legalMoves(ReversiModel model) {
+    List<Coordinate> moves = model.getFrontier();
+    moves.removeIf(coordinate -> !model.isMoveLegal(coordinate));
+    return moves;
+  }
+}
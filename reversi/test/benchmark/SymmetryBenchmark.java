@@ -0,0 +1,106 @@
+package benchmark;
+
+import model.BasicReversi;
+import model.BoardSnapshot;
+import model.BoardSymmetry;
+import model.Coordinate;
+import model.ReversiModel;
+import model.SquareBasicReversi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A rough benchmark of the cost of finding the canonical form of a position.
+ * Not a unit test - run the main method by hand to compare the cost of a change.
+ * For each board, a handful of random games are played, keeping a snapshot of every position
+ * along the way, and then every snapshot is canonicalized over and over, so the time per
+ * position covers reading the board and building the key of every turned and mirrored copy.
+ */
+public final class SymmetryBenchmark {
+  //the number of distinct games played on each board
+  private static final int GAMES = 20;
+
+  /**
+   * Runs the benchmark on the standard and a larger board of each shape, printing the average
+   * time taken per position.
+   * @param args unused
+   */
+  public static void main(String[] args) {
+    Random random = new Random(3500);
+    run("hex, side 6", record(() -> new BasicReversi(6), BasicReversi::snapshot, random),
+        BoardSymmetry.forHexBoard(11), 2000);
+    run("hex, side 12", record(() -> new BasicReversi(12), BasicReversi::snapshot, random),
+        BoardSymmetry.forHexBoard(23), 200);
+    run("square, 8x8", record(() -> new SquareBasicReversi(8), SquareBasicReversi::snapshot,
+        random), BoardSymmetry.forSquareBoard(8), 2000);
+    run("square, 16x16", record(() -> new SquareBasicReversi(16), SquareBasicReversi::snapshot,
+        random), BoardSymmetry.forSquareBoard(16), 200);
+  }
+
+  //times canonicalizing each of the given positions, printing the average time per position
+  private static void run(String name, List<BoardSnapshot> positions, BoardSymmetry symmetry,
+                          int rounds) {
+    //warm up, then measure
+    canonicalize(positions, symmetry, rounds / 4 + 1);
+    long start = System.nanoTime();
+    long count = canonicalize(positions, symmetry, rounds);
+    long elapsed = System.nanoTime() - start;
+    System.out.printf("%-16s %10.3f us/position (%d positions)%n", name,
+        elapsed / 1000.0 / count, count);
+  }
+
+  //plays random games on the given kind of board, returning a snapshot of every position
+  private static <M extends ReversiModel> List<BoardSnapshot> record(
+      Supplier<M> boards, Function<M, BoardSnapshot> snapshots, Random random) {
+    List<BoardSnapshot> positions = new ArrayList<>();
+    for (int i = 0; i < GAMES; i++) {
+      M model = boards.get();
+      positions.add(snapshots.apply(model));
+      while (playRandomTurn(model, random)) {
+        positions.add(snapshots.apply(model));
+      }
+    }
+    return positions;
+  }
+
+  //plays one random legal move, or passes if there are none, returning false once the game
+  //is over
+  private static boolean playRandomTurn(ReversiModel model, Random random) {
+    if (model.isGameOver()) {
+      return false;
+    }
+    List<Coordinate> legal = new ArrayList<>();
+    for (Coordinate coordinate : model.getFrontier()) {
+      if (model.isMoveLegal(coordinate)) {
+        legal.add(coordinate);
+      }
+    }
+    if (legal.isEmpty()) {
+      model.pass();
+    } else {
+      model.move(legal.get(random.nextInt(legal.size())));
+    }
+    return true;
+  }
+
+  //canonicalizes every position the given number of times, returning the number canonicalized
+  private static long canonicalize(List<BoardSnapshot> positions, BoardSymmetry symmetry,
+                                   int rounds) {
+    long count = 0;
+    long sink = 0;
+    for (int round = 0; round < rounds; round++) {
+      for (BoardSnapshot position : positions) {
+        sink ^= symmetry.canonicalize(position, position.getCurrentPlayer()).getKey();
+        count++;
+      }
+    }
+    if (sink == 42) {
+      System.out.println();
+    }
+    return count;
+  }
+}
@@ -0,0 +1,178 @@
+package common;
+
+import model.Coordinate;
+import model.LegalMoves;
+import model.PlayerColor;
+import model.ReversiModel;
+import model.SearchableReversiModel;
+import model.Tile;
+import org.junit.Assert;
+
+import java.util.Random;
+
+/**
+ * Checks that two models agree, by playing the same random game on both and asking them the
+ * same questions along the way. Shared by the tests of every model that is meant to play
+ * exactly like another, such as a faster version of a model or one that wraps it.
+ */
+public final class SideBySide {
+  private SideBySide() {
+    //only static helpers
+  }
+
+  /**
+   * Plays a random game on both models to the end, making sure they agree on every query
+   * before every turn and once the game is over.
+   * @param expected the model known to be right
+   * @param actual the model being tested, in the same position as the expected one
+   * @param seed the seed the moves are chosen from
+   */
+  public static void playAlongside(ReversiModel expected, ReversiModel actual, long seed) {
+    playAlongside(expected, actual, seed, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Plays a random game on both models as the other playAlongside does, stopping after the
+   * given number of turns if the game is not over by then, for boards too large to play out.
+   * @param expected the model known to be right
+   * @param actual the model being tested, in the same position as the expected one
+   * @param seed the seed the moves are chosen from
+   * @param maxTurns the most turns to play
+   */
+  public static void playAlongside(ReversiModel expected, ReversiModel actual, long seed,
+                                   int maxTurns) {
+    Random random = new Random(seed);
+    for (int turn = 0; turn < maxTurns && !expected.isGameOver(); turn++) {
+      assertSameAnswers(expected, actual);
+      playRandomTurn(expected, actual, random);
+    }
+    assertSameGame(expected, actual);
+    Assert.assertEquals(expected.getCurrentWinner(), actual.getCurrentWinner());
+  }
+
+  /**
+   * Plays the same random legal move on both models, or passes on both if there is none. The
+   * expected model is given the move by coordinate, and the actual one by index.
+   * @param expected the model known to be right, which the move is chosen from
+   * @param actual the model being tested
+   * @param random where the move is chosen from
+   */
+  public static void playRandomTurn(ReversiModel expected, ReversiModel actual, Random random) {
+    LegalMoves legalMoves = expected.getLegalMoves();
+    if (legalMoves.size() == 0) {
+      expected.pass();
+      actual.pass();
+    } else {
+      int choice = random.nextInt(legalMoves.size());
+      Assert.assertArrayEquals(expected.getFlips(legalMoves.getIndex(choice)),
+          actual.getFlips(legalMoves.getIndex(choice)));
+      expected.move(legalMoves.getCoordinate(choice));
+      actual.move(legalMoves.getIndex(choice));
+    }
+  }
+
+  /**
+   * Plays a random game on both models with makeMove and makePass, then takes every move back,
+   * making sure the two agree on the game at every step in both directions.
+   * @param expected the model known to be right
+   * @param actual the model being tested, in the same position as the expected one
+   * @param seed the seed the moves are chosen from
+   */
+  public static void searchAlongside(SearchableReversiModel expected,
+                                     SearchableReversiModel actual, long seed) {
+    Random random = new Random(seed);
+    int turns = 0;
+    while (!expected.isGameOver()) {
+      LegalMoves legalMoves = expected.getLegalMoves();
+      if (legalMoves.size() == 0) {
+        expected.makePass();
+        actual.makePass();
+      } else {
+        Coordinate choice = legalMoves.getCoordinate(random.nextInt(legalMoves.size()));
+        expected.makeMove(choice);
+        actual.makeMove(choice);
+      }
+      turns++;
+      assertSameGame(expected, actual);
+    }
+    for (int i = 0; i < turns; i++) {
+      expected.unmakeMove();
+      actual.unmakeMove();
+      assertSameGame(expected, actual);
+    }
+    Assert.assertThrows(IllegalStateException.class, actual::unmakeMove);
+  }
+
+  /**
+   * Checks that two models agree on the game and on every question that can be asked about
+   * each space of the board: whether it is on the board, what it holds, and whether a move
+   * there is legal, what it scores and which discs it flips, asked by coordinate and by index.
+   * @param expected the model known to be right
+   * @param actual the model being tested
+   */
+  public static void assertSameAnswers(ReversiModel expected, ReversiModel actual) {
+    assertSameGame(expected, actual);
+    Assert.assertEquals(expected.playerHasLegalMoves(), actual.playerHasLegalMoves());
+    Assert.assertEquals(expected.getCurrentWinner(), actual.getCurrentWinner());
+    int size = expected.getBoardSize();
+    Assert.assertEquals(size, actual.getBoardSize());
+    for (int index = 0; index < size * size; index++) {
+      Tile tile = expected.getTileAt(index);
+      if (tile == null) {
+        Assert.assertNull(actual.getTileAt(index));
+        continue;
+      }
+      Coordinate coordinate = new Coordinate(index % size, index / size);
+      Assert.assertEquals(tile.getContents(), actual.getTileAt(index).getContents());
+      Assert.assertEquals(expected.isMoveLegal(coordinate), actual.isMoveLegal(coordinate));
+      Assert.assertEquals(expected.isMoveLegal(coordinate), actual.isMoveLegal(index));
+      Assert.assertEquals(expected.getMoveScore(coordinate), actual.getMoveScore(coordinate));
+      Assert.assertEquals(expected.getMoveScore(coordinate), actual.getMoveScore(index));
+      Assert.assertArrayEquals(expected.getFlips(coordinate), actual.getFlips(coordinate));
+      Assert.assertArrayEquals(expected.getFlips(coordinate), actual.getFlips(index));
+    }
+  }
+
+  /**
+   * Checks that two models have the same discs, frontier, position key, legal moves, scores
+   * and current player, and agree on whether the game is over.
+   * @param expected the model known to be right
+   * @param actual the model being tested
+   */
+  public static void assertSameGame(ReversiModel expected, ReversiModel actual) {
+    for (Tile[] row : expected.getBoard()) {
+      for (Tile tile : row) {
+        if (tile != null) {
+          Assert.assertEquals(tile.getContents(),
+              actual.getTileAt(tile.getCoordinate()).getContents());
+          Assert.assertEquals(tile.getContents(), actual.getBoardView().getContents(
+              tile.getCoordinate().getQ(), tile.getCoordinate().getR()));
+        }
+      }
+    }
+    Assert.assertEquals(expected.getFrontier(), actual.getFrontier());
+    Assert.assertEquals(expected.getPositionKey(), actual.getPositionKey());
+    assertSameMoves(expected.getLegalMoves(), actual.getLegalMoves());
+    Assert.assertEquals(expected.isGameOver(), actual.isGameOver());
+    for (PlayerColor color : PlayerColor.values()) {
+      Assert.assertEquals(expected.getPlayerScore(color), actual.getPlayerScore(color));
+    }
+    if (!expected.isGameOver()) {
+      Assert.assertEquals(expected.getCurrentPlayer(), actual.getCurrentPlayer());
+    }
+  }
+
+  /**
+   * Checks that two lists of legal moves hold the same moves with the same flip counts, in the
+   * same order.
+   * @param expected the moves known to be right
+   * @param actual the moves being tested
+   */
+  public static void assertSameMoves(LegalMoves expected, LegalMoves actual) {
+    Assert.assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      Assert.assertEquals(expected.getIndex(i), actual.getIndex(i));
+      Assert.assertEquals(expected.getFlipCount(i), actual.getFlipCount(i));
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package squaretests;
+
+import common.SideBySide;
+import model.Coordinate;
+import model.PlayerColor;
+import model.ReversiModel;
+import model.SquareBasicReversi;
+import model.SquareBitboardReversi;
+import model.Tile;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the bitboard square Reversi model, mostly by playing it side by side with
+ * the Tile-based square model and checking that the two always agree.
+ */
+public class BitboardReversiModelTests {
+  ReversiModel model;
+
+  @Before
+  public void init() {
+    this.model = new SquareBitboardReversi(8);
+  }
+
+  @Test
+  public void testInvalidSideLengths() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new SquareBitboardReversi(2));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new SquareBitboardReversi(7));
+  }
+
+  @Test
+  public void testStartingDiscs() {
+    Assert.assertEquals(PlayerColor.BLACK,
+        this.model.getTileAt(new Coordinate(3, 3)).getContents());
+    Assert.assertEquals(PlayerColor.WHITE,
+        this.model.getTileAt(new Coordinate(4, 3)).getContents());
+    Assert.assertEquals(2, this.model.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(2, this.model.getPlayerScore(PlayerColor.WHITE));
+  }
+
+  @Test
+  public void testMoveDoesNotWrapAroundEdges() {
+    //a white disc on the right edge of one row and a black disc on the left edge of the next
+    //are next to each other in the bitboard, but not on the board
+    this.model.getTileAt(new Coordinate(7, 2)).placeDisc(PlayerColor.WHITE);
+    this.model.getTileAt(new Coordinate(0, 3)).placeDisc(PlayerColor.BLACK);
+    Assert.assertFalse(this.model.isMoveLegal(new Coordinate(6, 2)));
+    Assert.assertEquals(0, this.model.getMoveScore(new Coordinate(6, 2)));
+  }
+
+  @Test
+  public void testTilesAreLiveViews() {
+    Tile tile = this.model.getTileAt(new Coordinate(3, 3));
+    tile.flip();
+    Assert.assertEquals(PlayerColor.WHITE,
+        this.model.getTileAt(new Coordinate(3, 3)).getContents());
+    Assert.assertEquals(1, this.model.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(3, this.model.getPlayerScore(PlayerColor.WHITE));
+  }
+
+  @Test
+  public void testBoardCopyConstructor() {
+    ReversiModel copy = new SquareBitboardReversi(this.model.getBoard());
+    Assert.assertEquals(PlayerColor.WHITE, copy.getTileAt(new Coordinate(3, 4)).getContents());
+    Assert.assertEquals(2, copy.getPlayerScore(PlayerColor.BLACK));
+  }
+
+  @Test
+  public void testMatchesBasicModelOnStandardBoard() {
+    SideBySide.playAlongside(new SquareBasicReversi(8), new SquareBitboardReversi(8), 1);
+    SideBySide.playAlongside(new SquareBasicReversi(8), new SquareBitboardReversi(8), 2);
+  }
+
+  @Test
+  public void testMatchesBasicModelOnSmallBoard() {
+    SideBySide.playAlongside(new SquareBasicReversi(4), new SquareBitboardReversi(4), 3);
+  }
+
+  //a 12x12 board needs three words per color, so rows cross word boundaries
+  @Test
+  public void testMatchesBasicModelOnMultiWordBoards() {
+    SideBySide.playAlongside(new SquareBasicReversi(10), new SquareBitboardReversi(10), 4);
+    SideBySide.playAlongside(new SquareBasicReversi(12), new SquareBitboardReversi(12), 5);
+  }
+
+  @Test
+  public void testMakeAndUnmakeMatchBasicModel() {
+    SideBySide.searchAlongside(new SquareBasicReversi(8), new SquareBitboardReversi(8), 7);
+    SideBySide.searchAlongside(new SquareBasicReversi(12), new SquareBitboardReversi(12), 8);
+  }
+}
@@ -1,6 +1,10 @@
 package squaretests;
 
 import model.Coordinate;
+import model.LegalMoves;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a mock Reversi model that lies to a strategy trying to play it,
@@ -15,4 +19,17 @@ public class LiarMockReversiModel extends MockReversiModel {
   public boolean isMoveLegal(Coordinate coordinate) {
     return coordinate.equals(new Coordinate(0, 0));
   }
+
+  //strategies only ask about tiles on the frontier, so the lie has to put the tile there too
+  @Override
+  public List<Coordinate> getFrontier() {
+    List<Coordinate> frontier = new ArrayList<>();
+    frontier.add(new Coordinate(0, 0));
+    return frontier;
+  }
+
+  @Override
+  public LegalMoves getLegalMoves() {
+    return new LegalMoves(getBoardSize(), new int[] {0 * getBoardSize() + 0}, new int[] {1});
+  }
 }
@@ -3,6 +3,7 @@ package squaretests;
 import model.SquareBasicReversi;
 import model.PlayerColor;
 import model.Coordinate;
+import model.LegalMoves;
 
 /**
  * Mock version of a Reversi model to help test the controller.
@@ -48,6 +49,14 @@ public class MockReversiModel extends SquareBasicReversi {
     return super.getMoveScore(coordinate);
   }
 
+  @Override
+  public LegalMoves getLegalMoves() {
+    if (log != null) {
+      log.append("Getting legal moves.\n");
+    }
+    return super.getLegalMoves();
+  }
+
   @Override
   public void move(Coordinate coordinate) throws IllegalArgumentException, IllegalStateException {
     if (log != null) {
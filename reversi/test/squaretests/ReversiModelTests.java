@@ -1,34 +1,86 @@
 package squaretests;
 
+import model.BoardSnapshot;
+import model.BoardSymmetry;
+import model.BoardView;
+import model.CanonicalPosition;
 import model.SquareBasicReversi;
+import model.SquareBitboardReversi;
 import model.Coordinate;
+import model.CoordinateTable;
+import model.LegalMoves;
 import model.PlayerColor;
 import model.ReversiModel;
+import model.SearchableReversiModel;
+import model.Tile;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 /**
- * Tests the methods of the square Reversi model.
+ * Tests the methods of the square Reversi models, running every test against both the
+ * Tile-based model and the bitboard one. The snapshot tests are only run against the Tile-based
+ * model, since only it takes snapshots.
  */
+@RunWith(Parameterized.class)
 public class ReversiModelTests {
+  //makes a model of the kind being tested, of the given size or copied from the given board
+  private final IntFunction<SearchableReversiModel> sized;
+  private final Function<Tile[][], SearchableReversiModel> copied;
+
   ReversiModel model;
   ReversiModel smallModel;
   ReversiModel bigModel;
 
+  /**
+   * Constructs the tests for one kind of square model.
+   * @param name the name of the kind of model, to tell the runs apart
+   * @param sized makes a model of the given size
+   * @param copied makes a model from the given board
+   */
+  public ReversiModelTests(String name, IntFunction<SearchableReversiModel> sized,
+                           Function<Tile[][], SearchableReversiModel> copied) {
+    this.sized = sized;
+    this.copied = copied;
+  }
+
+  /**
+   * Returns the kinds of model to run the tests against.
+   * @return the name of each kind of model and the ways to make one
+   */
+  @Parameterized.Parameters(name = "{0}")
+  public static List<Object[]> models() {
+    IntFunction<SearchableReversiModel> basic = SquareBasicReversi::new;
+    Function<Tile[][], SearchableReversiModel> basicCopy = SquareBasicReversi::new;
+    IntFunction<SearchableReversiModel> bitboard = SquareBitboardReversi::new;
+    Function<Tile[][], SearchableReversiModel> bitboardCopy = SquareBitboardReversi::new;
+    return List.of(new Object[] {"SquareBasicReversi", basic, basicCopy},
+        new Object[] {"SquareBitboardReversi", bitboard, bitboardCopy});
+  }
+
   @Before
   public void init() {
-    this.model = new SquareBasicReversi(8);
-    this.smallModel = new SquareBasicReversi(4);
-    this.bigModel = new SquareBasicReversi(10);
+    this.model = this.sized.apply(8);
+    this.smallModel = this.sized.apply(4);
+    this.bigModel = this.sized.apply(10);
   }
 
   //constructor tests
   @Test
   public void testInvalidSideLengths() {
-    Assert.assertThrows(IllegalArgumentException.class, () -> new SquareBasicReversi(-1));
-    Assert.assertThrows(IllegalArgumentException.class, () -> new SquareBasicReversi(0));
-    Assert.assertThrows(IllegalArgumentException.class, () -> new SquareBasicReversi(3));
+    Assert.assertThrows(IllegalArgumentException.class, () -> this.sized.apply(-1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> this.sized.apply(0));
+    Assert.assertThrows(IllegalArgumentException.class, () -> this.sized.apply(3));
   }
 
   //move() tests
@@ -56,6 +108,18 @@ public class ReversiModelTests {
         () -> this.model.move(new Coordinate(3, 3)));
   }
 
+  @Test
+  public void testMoveOntoDiscThatClosesRowThrowsState() {
+    //black moving onto its own disc at (4, 4) would close off a row, but the space is taken
+    this.model.move(new Coordinate(4, 2));
+    this.model.move(new Coordinate(5, 2));
+    long key = this.model.getPositionKey();
+    Assert.assertThrows(IllegalStateException.class,
+        () -> this.model.move(new Coordinate(4, 4)));
+    Assert.assertEquals(key, this.model.getPositionKey());
+    Assert.assertEquals(PlayerColor.BLACK, this.model.getBoardView().getContents(4, 4));
+  }
+
   @Test
   public void testMoveOutsideBoardThrowsArgument() {
     Assert.assertThrows(IllegalArgumentException.class,
@@ -208,6 +272,22 @@ public class ReversiModelTests {
     Assert.assertEquals(3, this.model.getPlayerScore(PlayerColor.WHITE));
   }
 
+  @Test
+  public void testScoreFollowsTilesChangedDirectly() {
+    this.model.getTileAt(new Coordinate(3, 3)).flip();
+    Assert.assertEquals(1, this.model.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(3, this.model.getPlayerScore(PlayerColor.WHITE));
+  }
+
+  @Test
+  public void testScoreOfGivenBoard() {
+    this.model.move(new Coordinate(5, 3));
+    ReversiModel copy = this.copied.apply(this.model.getBoard());
+    Assert.assertEquals(4, copy.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(1, copy.getPlayerScore(PlayerColor.WHITE));
+    Assert.assertFalse(copy.isGameOver());
+  }
+
   //getTileAt() test
 
   @Test
@@ -232,6 +312,529 @@ public class ReversiModelTests {
         this.model.getTileAt(new Coordinate(4, 3)).getContents());
   }
 
+  //getFrontier() tests
+  @Test
+  public void testFrontierOfStartingBoard() {
+    List<Coordinate> frontier = this.model.getFrontier();
+    //the ring of twelve tiles around the starting discs
+    Assert.assertEquals(12, frontier.size());
+    Assert.assertEquals(new Coordinate(2, 2), frontier.get(0));
+    Assert.assertEquals(new Coordinate(5, 5), frontier.get(11));
+    Assert.assertFalse(frontier.contains(new Coordinate(3, 3)));
+  }
+
+  @Test
+  public void testFrontierAfterMove() {
+    this.model.move(new Coordinate(5, 3));
+    List<Coordinate> frontier = this.model.getFrontier();
+    Assert.assertEquals(14, frontier.size());
+    Assert.assertFalse(frontier.contains(new Coordinate(5, 3)));
+    Assert.assertTrue(frontier.contains(new Coordinate(6, 2)));
+  }
+
+  //makeMove(), makePass() and unmakeMove() tests
+  @Test
+  public void testMakeMoveMatchesMove() {
+    SearchableReversiModel searchable = this.sized.apply(8);
+    searchable.makeMove(new Coordinate(5, 3));
+    this.model.move(new Coordinate(5, 3));
+    assertSameBoard(this.model, searchable);
+    Assert.assertEquals(PlayerColor.WHITE, searchable.getCurrentPlayer());
+    Assert.assertEquals(this.model.getFrontier(), searchable.getFrontier());
+  }
+
+  @Test
+  public void testUnmakeMoveRestoresGame() {
+    SearchableReversiModel searchable = this.sized.apply(8);
+    searchable.makeMove(new Coordinate(5, 3));
+    searchable.makeMove(new Coordinate(5, 2));
+    searchable.unmakeMove();
+    searchable.unmakeMove();
+    assertSameBoard(this.model, searchable);
+    Assert.assertEquals(2, searchable.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(PlayerColor.BLACK, searchable.getCurrentPlayer());
+    Assert.assertEquals(this.model.getFrontier(), searchable.getFrontier());
+  }
+
+  @Test
+  public void testUnmakePassRestoresGame() {
+    SearchableReversiModel searchable = this.sized.apply(8);
+    searchable.makePass();
+    searchable.makePass();
+    Assert.assertTrue(searchable.isGameOver());
+    searchable.unmakeMove();
+    Assert.assertFalse(searchable.isGameOver());
+    Assert.assertEquals(PlayerColor.WHITE, searchable.getCurrentPlayer());
+    searchable.pass();
+    Assert.assertTrue(searchable.isGameOver());
+  }
+
+  @Test
+  public void testInvalidMakeMoveRecordsNothing() {
+    SearchableReversiModel searchable = this.sized.apply(8);
+    Assert.assertThrows(IllegalStateException.class,
+        () -> searchable.makeMove(new Coordinate(8 / 2, 8 / 2 - 3)));
+    Assert.assertThrows(IllegalStateException.class, searchable::unmakeMove);
+  }
+
+  @Test
+  public void testMoveMakesRecordedMovesPermanent() {
+    SearchableReversiModel searchable = this.sized.apply(8);
+    searchable.makeMove(new Coordinate(5, 3));
+    searchable.move(new Coordinate(5, 2));
+    Assert.assertThrows(IllegalStateException.class, searchable::unmakeMove);
+  }
+
+  @Test
+  public void testUnmakeWholeGame() {
+    SearchableReversiModel searchable = this.sized.apply(8);
+    Random random = new Random(3500);
+    int turns = 0;
+    while (!searchable.isGameOver()) {
+      List<Coordinate> frontier = searchable.getFrontier();
+      frontier.removeIf(coordinate -> !searchable.isMoveLegal(coordinate));
+      if (frontier.isEmpty()) {
+        searchable.makePass();
+      } else {
+        searchable.makeMove(frontier.get(random.nextInt(frontier.size())));
+      }
+      turns++;
+    }
+    for (int i = 0; i < turns; i++) {
+      searchable.unmakeMove();
+    }
+    assertSameBoard(this.model, searchable);
+    Assert.assertEquals(PlayerColor.BLACK, searchable.getCurrentPlayer());
+    Assert.assertEquals(this.model.getFrontier(), searchable.getFrontier());
+  }
+
+  //checks that every tile of the two models holds the same contents
+  private void assertSameBoard(ReversiModel expected, ReversiModel actual) {
+    for (int r = 0; r < expected.getBoardSize(); r++) {
+      for (int q = 0; q < expected.getBoardSize(); q++) {
+        Coordinate coordinate = new Coordinate(q, r);
+        if (expected.getTileAt(coordinate) != null) {
+          Assert.assertEquals(expected.getTileAt(coordinate).getContents(),
+              actual.getTileAt(coordinate).getContents());
+        }
+      }
+    }
+  }
+
+  //getBoardView() tests
+  @Test
+  public void testBoardViewFollowsMoves() {
+    BoardView view = this.model.getBoardView();
+    Assert.assertNull(view.getContents(5, 3));
+    this.model.move(new Coordinate(5, 3));
+    Assert.assertEquals(PlayerColor.BLACK, view.getContents(5, 3));
+    Assert.assertEquals(PlayerColor.BLACK,
+        view.getContents(3 * view.getBoardSize() + 5));
+    Assert.assertEquals(this.model.getTileAt(new Coordinate(4, 3)).getContents(),
+        view.getContents(4, 3));
+  }
+
+  @Test
+  public void testBoardViewVersion() {
+    BoardView view = this.model.getBoardView();
+    long version = view.getVersion();
+    this.model.move(new Coordinate(5, 3));
+    Assert.assertNotEquals(version, view.getVersion());
+    version = view.getVersion();
+    this.model.pass();
+    Assert.assertEquals(version, view.getVersion());
+    this.model.getTileAt(new Coordinate(4, 3)).flip();
+    Assert.assertNotEquals(version, view.getVersion());
+  }
+
+  @Test
+  public void testBoardViewOffTheBoard() {
+    BoardView view = this.model.getBoardView();
+    Assert.assertEquals(this.model.getBoardSize(), view.getBoardSize());
+    Assert.assertTrue(view.isOnBoard(0, 0));
+    Assert.assertFalse(view.isOnBoard(8, 0));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> view.getContents(view.getBoardSize(), 0));
+    Assert.assertThrows(IllegalArgumentException.class, () -> view.getContents(-1));
+  }
+
+  //snapshot() tests
+  @Test
+  public void testSnapshotMatchesGame() {
+    SquareBasicReversi game = new SquareBasicReversi(8);
+    game.move(new Coordinate(5, 3));
+    BoardSnapshot snapshot = game.snapshot();
+    assertSameBoard(game, snapshot);
+    Assert.assertEquals(PlayerColor.WHITE, snapshot.getCurrentPlayer());
+    Assert.assertEquals(game.getPlayerScore(PlayerColor.BLACK),
+        snapshot.getPlayerScore(PlayerColor.BLACK));
+    Assert.assertEquals(game.getBoardView().getVersion(), snapshot.getVersion());
+    Assert.assertFalse(snapshot.isGameOver());
+  }
+
+  @Test
+  public void testSnapshotUnchangedByLaterMoves() {
+    SquareBasicReversi game = new SquareBasicReversi(8);
+    BoardSnapshot before = game.snapshot();
+    game.move(new Coordinate(5, 3));
+    BoardSnapshot after = game.snapshot();
+    Assert.assertNull(before.getContents(5, 3));
+    Assert.assertEquals(PlayerColor.BLACK, after.getContents(5, 3));
+    Assert.assertEquals(PlayerColor.BLACK, before.getCurrentPlayer());
+    Assert.assertNotEquals(before.getPlayerScore(PlayerColor.BLACK),
+        after.getPlayerScore(PlayerColor.BLACK));
+    game.pass();
+    game.pass();
+    Assert.assertFalse(after.isGameOver());
+    Assert.assertTrue(game.snapshot().isGameOver());
+    Assert.assertEquals(after.getVersion(), game.snapshot().getVersion());
+  }
+
+  @Test
+  public void testSnapshotsOfWholeGame() {
+    SquareBasicReversi game = new SquareBasicReversi(8);
+    Random random = new Random(3500);
+    List<BoardSnapshot> snapshots = new ArrayList<>();
+    List<ReversiModel> copies = new ArrayList<>();
+    while (!game.isGameOver()) {
+      snapshots.add(game.snapshot());
+      copies.add(new SquareBasicReversi(game.getBoard()));
+      List<Coordinate> legal = game.getFrontier();
+      legal.removeIf(coordinate -> !game.isMoveLegal(coordinate));
+      if (legal.isEmpty()) {
+        game.pass();
+      } else {
+        game.move(legal.get(random.nextInt(legal.size())));
+      }
+    }
+    for (int i = 0; i < snapshots.size(); i++) {
+      assertSameBoard(copies.get(i), snapshots.get(i));
+    }
+  }
+
+  //checks that every tile of the model holds the same contents as the board view
+  private void assertSameBoard(ReversiModel expected, BoardView actual) {
+    for (int r = 0; r < expected.getBoardSize(); r++) {
+      for (int q = 0; q < expected.getBoardSize(); q++) {
+        Coordinate coordinate = new Coordinate(q, r);
+        Assert.assertEquals(expected.getTileAt(coordinate) != null, actual.isOnBoard(q, r));
+        if (expected.getTileAt(coordinate) != null) {
+          Assert.assertEquals(expected.getTileAt(coordinate).getContents(),
+              actual.getContents(q, r));
+        }
+      }
+    }
+  }
+
+  //getPositionKey() tests
+  @Test
+  public void testPositionKeyChangesWithPosition() {
+    long start = this.model.getPositionKey();
+    this.model.move(new Coordinate(5, 3));
+    long afterMove = this.model.getPositionKey();
+    Assert.assertNotEquals(start, afterMove);
+    this.model.pass();
+    Assert.assertNotEquals(afterMove, this.model.getPositionKey());
+  }
+
+  @Test
+  public void testPositionKeyOfSamePosition() {
+    this.model.move(new Coordinate(5, 3));
+    //the copy starts with black to move, so it passes to match the original
+    ReversiModel copy = this.copied.apply(this.model.getBoard());
+    Assert.assertNotEquals(this.model.getPositionKey(), copy.getPositionKey());
+    copy.pass();
+    Assert.assertEquals(this.model.getPositionKey(), copy.getPositionKey());
+  }
+
+  @Test
+  public void testPositionKeyFollowsTilesChangedDirectly() {
+    long start = this.model.getPositionKey();
+    this.model.getTileAt(new Coordinate(3, 3)).flip();
+    Assert.assertNotEquals(start, this.model.getPositionKey());
+    this.model.getTileAt(new Coordinate(3, 3)).flip();
+    Assert.assertEquals(start, this.model.getPositionKey());
+  }
+
+  @Test
+  public void testPositionKeyRestoredByUnmakeMove() {
+    SearchableReversiModel searchable = this.sized.apply(8);
+    long start = searchable.getPositionKey();
+    searchable.makeMove(new Coordinate(5, 3));
+    searchable.makePass();
+    searchable.unmakeMove();
+    searchable.unmakeMove();
+    Assert.assertEquals(start, searchable.getPositionKey());
+    Assert.assertEquals(this.model.getPositionKey(), searchable.getPositionKey());
+  }
+
+  //packed index tests
+  @Test
+  public void testPackedIndexOverloadsMatchCoordinates() {
+    CoordinateTable table = CoordinateTable.forSize(8);
+    for (int index = 0; index < 8 * 8; index++) {
+      Coordinate coordinate = table.coordinate(index);
+      Assert.assertEquals(index, table.index(coordinate));
+      Assert.assertEquals(coordinate.getQ(), table.q(index));
+      Assert.assertEquals(coordinate.getR(), table.r(index));
+      Assert.assertSame(this.model.getTileAt(coordinate), this.model.getTileAt(index));
+      if (this.model.getTileAt(index) != null) {
+        Assert.assertEquals(this.model.isMoveLegal(coordinate), this.model.isMoveLegal(index));
+        Assert.assertEquals(this.model.getMoveScore(coordinate), this.model.getMoveScore(index));
+      }
+    }
+    //the frontier hands out the table's own coordinates rather than new ones
+    for (Coordinate coordinate : this.model.getFrontier()) {
+      Assert.assertSame(table.coordinate(table.index(coordinate)), coordinate);
+    }
+  }
+
+  @Test
+  public void testMoveByPackedIndex() {
+    ReversiModel other = this.sized.apply(8);
+    for (int turn = 0; turn < 6; turn++) {
+      int index = this.model.getLegalMoves().getIndex(0);
+      this.model.move(index);
+      other.move(CoordinateTable.forSize(8).coordinate(index));
+      Assert.assertEquals(other.getPositionKey(), this.model.getPositionKey());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetTileAtIndexOutsideGrid() {
+    this.model.getTileAt(8 * 8);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMoveByIndexOffBoard() {
+    this.model.move(-1);
+  }
+
+  //getFlips() tests
+  @Test
+  public void testGetFlipsMatchesMove() {
+    BoardView view = this.model.getBoardView();
+    int size = this.model.getBoardSize();
+    for (int turn = 0; turn < 8; turn++) {
+      LegalMoves legalMoves = this.model.getLegalMoves();
+      int last = legalMoves.size() - 1;
+      int index = legalMoves.getIndex(last);
+      int[] flips = this.model.getFlips(index);
+      Assert.assertArrayEquals(flips, this.model.getFlips(legalMoves.getCoordinate(last)));
+      Assert.assertEquals(legalMoves.getFlipCount(last), flips.length);
+      PlayerColor[] before = new PlayerColor[size * size];
+      for (int i = 0; i < size * size; i++) {
+        if (this.model.getTileAt(i) != null) {
+          before[i] = view.getContents(i);
+        }
+      }
+      this.model.move(index);
+      //exactly the discs listed, in row order, are the ones the move flipped
+      int next = 0;
+      for (int i = 0; i < size * size; i++) {
+        if (this.model.getTileAt(i) == null || i == index) {
+          continue;
+        }
+        if (next < flips.length && flips[next] == i) {
+          Assert.assertNotNull(before[i]);
+          Assert.assertNotEquals(before[i], view.getContents(i));
+          next++;
+        } else {
+          Assert.assertEquals(before[i], view.getContents(i));
+        }
+      }
+      Assert.assertEquals(flips.length, next);
+    }
+  }
+
+  @Test
+  public void testGetFlipsDoesNotChangeTheModel() {
+    long version = this.model.getBoardView().getVersion();
+    long key = this.model.getPositionKey();
+    int size = this.model.getBoardSize();
+    for (int index = 0; index < size * size; index++) {
+      if (this.model.getTileAt(index) != null) {
+        Assert.assertEquals(this.model.getMoveScore(index), this.model.getFlips(index).length);
+      }
+    }
+    Assert.assertEquals(version, this.model.getBoardView().getVersion());
+    Assert.assertEquals(key, this.model.getPositionKey());
+    Assert.assertEquals(PlayerColor.BLACK, this.model.getCurrentPlayer());
+  }
+
+  @Test
+  public void testGetFlipsOfIllegalMoves() {
+    Assert.assertEquals(0, this.model.getFlips(new Coordinate(3, 3)).length);
+    Assert.assertEquals(0, this.model.getFlips(new Coordinate(0, 0)).length);
+  }
+
+  @Test
+  public void testGetFlipsOffBoard() {
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> this.model.getFlips(new Coordinate(8, 0)));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> this.model.getFlips(8 * 8));
+  }
+
+  //getLegalMoves() tests
+  @Test
+  public void testLegalMovesMatchEveryTile() {
+    for (int turn = 0; turn < 4; turn++) {
+      LegalMoves legalMoves = this.model.getLegalMoves();
+      int i = 0;
+      int size = this.model.getBoardSize();
+      //every legal move is listed, in row order, with its score
+      for (int r = 0; r < size; r++) {
+        for (int q = 0; q < size; q++) {
+          Coordinate coordinate = new Coordinate(q, r);
+          if (this.model.getTileAt(coordinate) != null && this.model.isMoveLegal(coordinate)) {
+            Assert.assertEquals(coordinate, legalMoves.getCoordinate(i));
+            Assert.assertEquals(this.model.getMoveScore(coordinate), legalMoves.getFlipCount(i));
+            Assert.assertEquals(this.model.getMoveScore(coordinate),
+                legalMoves.getMoveScore(q, r));
+            i++;
+          } else {
+            Assert.assertEquals(0, legalMoves.getMoveScore(q, r));
+          }
+        }
+      }
+      Assert.assertEquals(i, legalMoves.size());
+      this.model.move(legalMoves.getCoordinate(0));
+    }
+  }
+
+  @Test
+  public void testLegalMovesAreShared() {
+    LegalMoves legalMoves = this.model.getLegalMoves();
+    Assert.assertSame(legalMoves, this.model.getLegalMoves());
+    Assert.assertTrue(this.model.playerHasLegalMoves());
+    Assert.assertSame(legalMoves, this.model.getLegalMoves());
+    //passing changes the player to move, so the moves are found again
+    this.model.pass();
+    LegalMoves afterPass = this.model.getLegalMoves();
+    Assert.assertNotSame(legalMoves, afterPass);
+    this.model.move(afterPass.getCoordinate(0));
+    Assert.assertNotSame(afterPass, this.model.getLegalMoves());
+  }
+
+  @Test
+  public void testLegalMovesFollowTilesChangedDirectly() {
+    LegalMoves legalMoves = this.model.getLegalMoves();
+    Coordinate move = legalMoves.getCoordinate(0);
+    this.model.getTileAt(move).placeDisc(PlayerColor.WHITE);
+    Assert.assertNotSame(legalMoves, this.model.getLegalMoves());
+    Assert.assertEquals(0, this.model.getLegalMoves().getMoveScore(move.getQ(), move.getR()));
+  }
+
+  @Test
+  public void testNoLegalMovesOnceGameIsOver() {
+    Assert.assertTrue(this.model.getLegalMoves().size() > 0);
+    this.model.pass();
+    this.model.getLegalMoves();
+    this.model.pass();
+    //two passes end the game without changing the board or, in the end, the player to move
+    Assert.assertEquals(0, this.model.getLegalMoves().size());
+    Assert.assertFalse(this.model.playerHasLegalMoves());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testLegalMoveOutOfList() {
+    LegalMoves legalMoves = this.model.getLegalMoves();
+    legalMoves.getCoordinate(legalMoves.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLegalMovesOutOfOrder() {
+    new LegalMoves(this.model.getBoardSize(), new int[] {40, 30}, new int[] {1, 1});
+  }
+
+  //BoardSymmetry tests
+  @Test
+  public void testSymmetryTransformsArePermutations() {
+    BoardSymmetry symmetry = BoardSymmetry.forSquareBoard(8);
+    Assert.assertEquals(8, symmetry.getTransformCount());
+    for (int t = 0; t < symmetry.getTransformCount(); t++) {
+      Set<Coordinate> images = new HashSet<>();
+      for (int r = 0; r < 8; r++) {
+        for (int q = 0; q < 8; q++) {
+          Coordinate coordinate = new Coordinate(q, r);
+          if (this.model.getTileAt(coordinate) != null) {
+            Coordinate image = symmetry.transform(t, coordinate);
+            Assert.assertNotNull(this.model.getTileAt(image));
+            Assert.assertEquals(coordinate, symmetry.untransform(t, image));
+            if (t == 0) {
+              Assert.assertEquals(coordinate, image);
+            }
+            images.add(image);
+          }
+        }
+      }
+      Assert.assertEquals(64, images.size());
+    }
+  }
+
+  @Test
+  public void testCanonicalKeyOfTurnedBoards() {
+    //play a few moves so the position has no symmetry of its own, leaving white to move
+    for (int turn = 0; turn < 3; turn++) {
+      for (Coordinate coordinate : this.model.getFrontier()) {
+        if (this.model.isMoveLegal(coordinate)) {
+          this.model.move(coordinate);
+          break;
+        }
+      }
+    }
+    BoardSymmetry symmetry = BoardSymmetry.forSquareBoard(8);
+    CanonicalPosition canonical = symmetry.canonicalize(this.model);
+    Coordinate move = this.model.getFrontier().get(0);
+    for (int t = 0; t < symmetry.getTransformCount(); t++) {
+      //turn the board and play the same position on it
+      Tile[][] turned = new Tile[8][8];
+      for (int r = 0; r < 8; r++) {
+        for (int q = 0; q < 8; q++) {
+          Tile tile = this.model.getTileAt(new Coordinate(q, r));
+          if (tile != null) {
+            Coordinate image = symmetry.transform(t, new Coordinate(q, r));
+            turned[image.getQ()][image.getR()] = new Tile(image.getQ(), image.getR());
+            if (!tile.isEmpty()) {
+              turned[image.getQ()][image.getR()].placeDisc(tile.getContents());
+            }
+          }
+        }
+      }
+      //the copy starts with black to move, so it passes to match the original
+      ReversiModel turnedModel = this.copied.apply(turned);
+      turnedModel.pass();
+      CanonicalPosition turnedCanonical = symmetry.canonicalize(turnedModel);
+      Assert.assertEquals(canonical.getKey(), turnedCanonical.getKey());
+      //the same move on either board is the same move on the canonical board
+      Coordinate turnedMove = symmetry.transform(t, move);
+      Assert.assertEquals(canonical.toCanonical(move), turnedCanonical.toCanonical(turnedMove));
+      Assert.assertEquals(turnedMove,
+          turnedCanonical.fromCanonical(canonical.toCanonical(move)));
+    }
+  }
+
+  @Test
+  public void testCanonicalKeyOfDifferentPositions() {
+    BoardSymmetry symmetry = BoardSymmetry.forSquareBoard(8);
+    long start = symmetry.canonicalize(this.model).getKey();
+    Assert.assertEquals(start, symmetry.canonicalize(this.model.getBoardView(),
+        PlayerColor.BLACK).getKey());
+    this.model.pass();
+    Assert.assertNotEquals(start, symmetry.canonicalize(this.model).getKey());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCanonicalizeBoardOfOtherSize() {
+    BoardSymmetry.forSquareBoard(10).canonicalize(this.model);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTransformCoordinateOffBoard() {
+    BoardSymmetry.forSquareBoard(8).transform(1, new Coordinate(8, 0));
+  }
+
   //getBoardSize tests
   @Test
   public void testBoardSize() {